@@ -6,5 +6,37 @@ package local.model;
  */
 public enum CardType {
     EXPLODING_KITTEN, DEFUSE, ATTACK, FAVOR, NOPE, SKIP, SHUFFLE, SEE_THE_FUTURE, TACO_CAT, HAIRY_POTATO_CAT,
-    RAINBOW_RALPHING_CAT, BEARD_CAT, CATTERMELON
+    RAINBOW_RALPHING_CAT, BEARD_CAT, CATTERMELON;
+
+    /**
+     * Get the type of a card from the name used in the protocol messages.
+     * The name may still contain the ANSI color codes added by Card.toString(), these are ignored.
+     * @param cardName the name of the card, for example "See The Future"
+     * @requires cardName != null
+     * @return the type of the card, or null if no card type has this name
+     */
+    public static CardType fromCardName(String cardName) {
+        String plainName = cardName.replaceAll("\033\\[[;\\d]*m", "").trim();
+        for(CardType cardType : CardType.values()) {
+            if(cardType.name().replace("_", " ").equalsIgnoreCase(plainName)) {
+                return cardType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the name of the card used in the protocol messages, without ANSI color codes.
+     * @return the name of the card, for example "See The Future"
+     */
+    public String getCardName() {
+        StringBuilder cardName = new StringBuilder();
+        for(String word : this.name().split("_")) {
+            if(cardName.length() > 0) {
+                cardName.append(" ");
+            }
+            cardName.append(word.charAt(0)).append(word.substring(1).toLowerCase());
+        }
+        return cardName.toString();
+    }
 }
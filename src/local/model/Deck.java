@@ -1,6 +1,7 @@
 package local.model;
 
 import java.util.Collections;
+import java.util.Random;
 import java.util.Stack;
 
 /**
@@ -70,6 +71,16 @@ public class Deck {
      * @ensures shuffle the draw pile
      */
     public void setUpDeck(int numberOfPlayers) {
+        this.setUpDeck(numberOfPlayers, new Random());
+    }
+
+    /**
+     * Set up the draw pile for a new game, shuffled with a given source of randomness.
+     * @param numberOfPlayers the number of players for which the deck is set
+     * @param random the source of randomness of the shuffle
+     * @requires random != null
+     */
+    public void setUpDeck(int numberOfPlayers, Random random) {
         for(int i=0; i<numberOfPlayers-1; i++){
             this.getDrawPile().add(new Card(CardType.EXPLODING_KITTEN));
         }
@@ -82,7 +93,7 @@ public class Deck {
                 this.getDrawPile().add(new Card(CardType.DEFUSE));
                 break;
         }
-        this.shuffleDrawPile();
+        this.shuffleDrawPile(random);
     }
 
     /**
@@ -109,4 +120,13 @@ public class Deck {
     public void shuffleDrawPile() {
         Collections.shuffle(this.getDrawPile());
     }
+
+    /**
+     * Shuffle the cards from the draw pile with a given source of randomness, so the same seed gives the same order.
+     * @param random the source of randomness
+     * @requires random != null
+     */
+    public void shuffleDrawPile(Random random) {
+        Collections.shuffle(this.getDrawPile(), random);
+    }
 }
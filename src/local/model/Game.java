@@ -1,6 +1,7 @@
 package local.model;
 
 import java.util.ArrayList;
+import java.util.Random;
 
 /**
  * Abstract Game class used to implement the functionality of the Exploding Kittens game which is common to the LocalGame and NetworkGame.
@@ -13,6 +14,9 @@ public abstract class Game {
     protected int additionalTurnsToPlay;
     protected boolean attackOn;
     protected Deck deck;
+    protected final ArrayList<Player> seats;
+    protected final ZobristHash zobristHash;
+    protected Random random;
 
     /**
      * Create a game which can be either local or on network.
@@ -28,6 +32,20 @@ public abstract class Game {
         this.additionalTurnsToPlay = 0;
         this.attackOn = false;
         this.deck = new Deck();
+        this.seats = new ArrayList<>(players);
+        this.zobristHash = new ZobristHash();
+        this.zobristHash.reset(seats, players, deck, currentPlayer, additionalTurnsToPlay, attackOn);
+        this.random = new Random();
+    }
+
+    /**
+     * Set the source of randomness of the shuffles and of the random choices of the rules. A game set up with a Random of
+     * a given seed gives the same game again when the same moves are played.
+     * @param random the source of randomness
+     * @requires random != null
+     */
+    public void setRandom(Random random) {
+        this.random = random;
     }
 
     /**
@@ -50,6 +68,40 @@ public abstract class Game {
         return currentPlayer;
     }
 
+    /**
+     * Get the Zobrist hash of the state of the game, which is updated by every change of the game.
+     * @return the hash of the hands, the draw pile, the top of the discard pile, the current player and the attack state
+     */
+    public long getStateHash() {
+        return zobristHash.getHash();
+    }
+
+    /**
+     * Compute the Zobrist hash of the state of the game from the beginning. It is equal to getStateHash(), and is slower.
+     * @return the hash of the state
+     */
+    public long computeStateHash() {
+        ZobristHash fullHash = new ZobristHash();
+        fullHash.reset(seats, players, deck, currentPlayer, additionalTurnsToPlay, attackOn);
+        return fullHash.getHash();
+    }
+
+    /**
+     * Compute the hash of the state again, after the hands or the piles were changed without the methods of the game.
+     */
+    public void resetStateHash() {
+        zobristHash.reset(seats, players, deck, currentPlayer, additionalTurnsToPlay, attackOn);
+    }
+
+    /**
+     * Get the seat of a player, which is the index of the player in the list of players when the game was created.
+     * @param player the player
+     * @return the seat of the player, or -1 if the player is not in this game
+     */
+    public int getSeat(Player player) {
+        return seats.indexOf(player);
+    }
+
     /**
      * Create players for the Exploding Kittens game.
      * @param playersNames the names of the players which will be added to the game
@@ -68,14 +120,15 @@ public abstract class Game {
      * @ensures give 1 defuse card and 7 random cards to each player
      */
     public void setUpGame() {
-        deck.shuffleDrawPile();
+        deck.shuffleDrawPile(random);
         for(Player player : players) {
             player.addCard(new Card(CardType.DEFUSE));
             for(int i=0; i<7; i++) {
                 player.addCard(deck.takeCardFromDrawPile());
             }
         }
-        deck.setUpDeck(players.size());
+        deck.setUpDeck(players.size(), random);
+        zobristHash.reset(seats, players, deck, currentPlayer, additionalTurnsToPlay, attackOn);
     }
 
     /**
@@ -85,8 +138,8 @@ public abstract class Game {
      * @return the card taken by the player
      */
     public Card drawCard(Player player) {
-        Card card = deck.takeCardFromDrawPile();
-        player.addCard(card);
+        Card card = this.takeCardFromDrawPile();
+        this.addCardToHand(player, card);
         return card;
     }
 
@@ -97,8 +150,8 @@ public abstract class Game {
      * @requires card != null
      */
     public void discardCard(Card card) {
-        currentPlayer.getPlayerHandList().remove(card);
-        deck.addCardToDiscardPile(card);
+        this.removeCardFromHand(currentPlayer, card);
+        this.addCardToDiscardPile(card);
     }
 
     /**
@@ -109,8 +162,174 @@ public abstract class Game {
      * @requires player != null, card != null
      */
     public void discardCard(Player player, int cardIndex) {
+        Card card = this.removeCardFromHand(player, cardIndex);
+        this.addCardToDiscardPile(card);
+    }
+
+    /**
+     * Add a card to the hand of a player and update the hash of the state.
+     * @param player the player
+     * @param card the card
+     * @requires player != null, card != null
+     */
+    protected void addCardToHand(Player player, Card card) {
+        player.addCard(card);
+        zobristHash.addCardToHand(this.getSeat(player), card.getCardType());
+    }
+
+    /**
+     * Remove a card from the hand of a player and update the hash of the state.
+     * @param player the player
+     * @param cardIndex the index of the card in the hand of the player
+     * @requires player != null, 0 <= cardIndex < player.getPlayerHandList().size()
+     * @return the removed card
+     */
+    protected Card removeCardFromHand(Player player, int cardIndex) {
         Card card = player.getPlayerHandList().remove(cardIndex);
+        zobristHash.removeCardFromHand(this.getSeat(player), card.getCardType());
+        return card;
+    }
+
+    /**
+     * Remove a card from the hand of a player and update the hash of the state.
+     * @param player the player
+     * @param card the card
+     * @requires player != null, card != null
+     */
+    protected void removeCardFromHand(Player player, Card card) {
+        if(player.getPlayerHandList().remove(card)) {
+            zobristHash.removeCardFromHand(this.getSeat(player), card.getCardType());
+        }
+    }
+
+    /**
+     * Add a card to the hand of a player at an index and update the hash of the state.
+     * @param player the player
+     * @param cardIndex the index of the card in the hand of the player
+     * @param card the card
+     * @requires player != null, card != null, 0 <= cardIndex <= player.getPlayerHandList().size()
+     */
+    protected void addCardToHand(Player player, int cardIndex, Card card) {
+        player.getPlayerHandList().add(cardIndex, card);
+        zobristHash.addCardToHand(this.getSeat(player), card.getCardType());
+    }
+
+    /**
+     * Take the card on top of the draw pile and update the hash of the state.
+     * @return the card
+     */
+    protected Card takeCardFromDrawPile() {
+        Card card = deck.takeCardFromDrawPile();
+        zobristHash.removeCardFromDrawPile(deck.getDrawPile().size(), card.getCardType());
+        return card;
+    }
+
+    /**
+     * Insert a card in the draw pile and update the hash of the state.
+     * @param index the index of the card in the draw pile, 0 is the bottom and the size of the draw pile is the top
+     * @param card the card
+     * @requires card != null
+     * @throws IndexOutOfBoundsException if the index is not between 0 and the size of the draw pile, then nothing changes
+     */
+    protected void insertCardIntoDrawPile(int index, Card card) {
+        deck.getDrawPile().add(index, card);
+        if(index == deck.getDrawPile().size() - 1) {
+            zobristHash.addCardToDrawPile(index, card.getCardType());
+        } else {
+            zobristHash.rehashDrawPile(deck);
+        }
+    }
+
+    /**
+     * Remove a card from the draw pile and update the hash of the state.
+     * @param index the index of the card in the draw pile, 0 is the bottom
+     * @requires 0 <= index < deck.getDrawPile().size()
+     * @return the removed card
+     */
+    protected Card removeCardFromDrawPile(int index) {
+        Card card = deck.getDrawPile().remove(index);
+        if(index == deck.getDrawPile().size()) {
+            zobristHash.removeCardFromDrawPile(index, card.getCardType());
+        } else {
+            zobristHash.rehashDrawPile(deck);
+        }
+        return card;
+    }
+
+    /**
+     * Shuffle the draw pile and update the hash of the state.
+     */
+    protected void shuffleDrawPile() {
+        deck.shuffleDrawPile(random);
+        zobristHash.rehashDrawPile(deck);
+    }
+
+    /**
+     * Put a card on top of the discard pile and update the hash of the state.
+     * @param card the card
+     * @requires card != null
+     */
+    protected void addCardToDiscardPile(Card card) {
         deck.addCardToDiscardPile(card);
+        zobristHash.setDiscardTop(card.getCardType());
+    }
+
+    /**
+     * Take the card on top of the discard pile back and update the hash of the state.
+     * @requires !deck.getDiscardPile().isEmpty()
+     * @return the card
+     */
+    protected Card removeCardFromDiscardPile() {
+        Card card = deck.getDiscardPile().pop();
+        zobristHash.setDiscardTop(deck.getDiscardPile().isEmpty() ? null : deck.getDiscardPile().peek().getCardType());
+        return card;
+    }
+
+    /**
+     * Remove the current player from the game and update the hash of the state. The current player becomes the player
+     * at the given index of the remaining players.
+     * @param nextPlayerIndex the index of the new current player in the list of remaining players
+     * @requires 0 <= nextPlayerIndex < players.size() - 1
+     */
+    protected void removeCurrentPlayer(int nextPlayerIndex) {
+        zobristHash.setPlayerOut(this.getSeat(currentPlayer));
+        players.remove(currentPlayer);
+        currentPlayerIndex = nextPlayerIndex;
+        currentPlayer = players.get(currentPlayerIndex);
+        this.updateTurnHash();
+    }
+
+    /**
+     * Put a player who was removed from the game back in the list of players and update the hash of the state.
+     * @param playerIndex the index the player had in the list of players
+     * @param player the player
+     * @requires player != null, 0 <= playerIndex <= players.size()
+     */
+    protected void restorePlayer(int playerIndex, Player player) {
+        players.add(playerIndex, player);
+        zobristHash.setPlayerOut(this.getSeat(player));
+    }
+
+    /**
+     * Set the current player and the attack state, for example to undo a move, and update the hash of the state.
+     * @param currentPlayerIndex the index of the current player in the list of players
+     * @param additionalTurnsToPlay the number of turns the current player has to play after this turn
+     * @param attackOn true if the current player was attacked
+     * @requires 0 <= currentPlayerIndex < players.size()
+     */
+    protected void setTurnState(int currentPlayerIndex, int additionalTurnsToPlay, boolean attackOn) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentPlayer = players.get(currentPlayerIndex);
+        this.additionalTurnsToPlay = additionalTurnsToPlay;
+        this.attackOn = attackOn;
+        this.updateTurnHash();
+    }
+
+    /**
+     * Update the hash of the state after a change of the current player or the attack state.
+     */
+    protected void updateTurnHash() {
+        zobristHash.setTurnState(this.getSeat(currentPlayer), additionalTurnsToPlay, attackOn);
     }
 
     /**
@@ -120,6 +339,7 @@ public abstract class Game {
     public void changeTurnToNextPlayer() {
         currentPlayerIndex = this.getNextPlayerIndex();
         currentPlayer = players.get(currentPlayerIndex);
+        this.updateTurnHash();
     }
 
     /**
@@ -186,6 +406,7 @@ public abstract class Game {
             } else {
                 attackOn = false;
             }
+            this.updateTurnHash();
         }
     }
 
@@ -201,6 +422,7 @@ public abstract class Game {
             currentPlayerIndex -= 1;
         }
         currentPlayer = players.get(currentPlayerIndex);
+        this.updateTurnHash();
     }
 
     /**
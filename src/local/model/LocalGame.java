@@ -232,8 +232,8 @@ public class LocalGame extends Game {
             int randomCardIndex = (int) (Math.random() * numberOfCards);
 
             // remove a random card from playerToStealCardFrom and add it to current player's hand
-            Card randomCard = playerToStealCardFrom.getPlayerHandList().remove(randomCardIndex);
-            currentPlayer.addCard(randomCard);
+            Card randomCard = this.removeCardFromHand(playerToStealCardFrom, randomCardIndex);
+            this.addCardToHand(currentPlayer, randomCard);
             gameView.twoMatchingCardsPlayed(currentPlayer.getName(), playerToStealCardFrom.getName());
         }
 
@@ -262,8 +262,8 @@ public class LocalGame extends Game {
             int numberOfCardsBeforeCheck = playerToStealCardFrom.getPlayerHandList().size();
             for(Card card : playerToStealCardFrom.getPlayerHandList()) {
                         if(card.getCardType().equals(cardTypeToSteal)) {
-                            playerToStealCardFrom.getPlayerHandList().remove(card);
-                            currentPlayer.addCard(card);
+                            this.removeCardFromHand(playerToStealCardFrom, card);
+                            this.addCardToHand(currentPlayer, card);
                     gameView.threeMatchingCardsPlayed(currentPlayer.getName(), playerToStealCardFrom.getName(), card);
                     break;
                 }
@@ -318,8 +318,8 @@ public class LocalGame extends Game {
             String playerInput = gameController.getPlayerInput();
             try {
                 int cardIndex = Integer.parseInt(playerInput) - 1;
-                Card card = playerToTakeCardFrom.getPlayerHandList().remove(cardIndex);
-                currentPlayer.addCard(card);
+                Card card = this.removeCardFromHand(playerToTakeCardFrom, cardIndex);
+                this.addCardToHand(currentPlayer, card);
                 gameView.favorCardPlayed(currentPlayer.getName(), playerToTakeCardFrom.getName(), card);
                 correctInput = true;
             } catch (NumberFormatException e) {
@@ -375,7 +375,7 @@ public class LocalGame extends Game {
      */
     @Override
     public void playShuffleCard() {
-        deck.shuffleDrawPile();
+        this.shuffleDrawPile();
         gameView.shuffleCardPlayed(currentPlayer.getName());
     }
 
@@ -405,11 +405,7 @@ public class LocalGame extends Game {
             // if the player does not have a Defuse card
             if(playerInput.equalsIgnoreCase("I cannot defuse")) {
                 gameView.printPlayerOutOfTheGame(currentPlayer.getName());
-                players.remove(currentPlayer);
-                if(currentPlayerIndex == players.size()) {
-                    currentPlayerIndex = 0;
-                }
-                currentPlayer = players.get(currentPlayerIndex);
+                this.removeCurrentPlayer(currentPlayerIndex == players.size() - 1 ? 0 : currentPlayerIndex);
                 if(gameOver()) {
                     gameView.isWinner(currentPlayer.getName());
                 }
@@ -461,8 +457,8 @@ public class LocalGame extends Game {
                 try {
                     int indexToInsertExplodingKitten = Integer.parseInt(inputIndex);
                     int indexExplodingKittenPlayerHand = currentPlayer.getPlayerHandList().size() - 1;
-                    deck.getDrawPile().add(indexToInsertExplodingKitten, currentPlayer.getPlayerHandList().get(indexExplodingKittenPlayerHand));
-                    currentPlayer.getPlayerHandList().remove(indexExplodingKittenPlayerHand);
+                    this.insertCardIntoDrawPile(indexToInsertExplodingKitten, currentPlayer.getPlayerHandList().get(indexExplodingKittenPlayerHand));
+                    this.removeCardFromHand(currentPlayer, indexExplodingKittenPlayerHand);
                     correctInput = true;
                 } catch (NumberFormatException e) {
                     gameView.printWrongInputInsertExplodingKitten(currentPlayer.getName());
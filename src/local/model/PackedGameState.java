@@ -0,0 +1,394 @@
+package local.model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact representation of the state of a Game for simulations. The hand of each seat is a long in which every card type
+ * has 4 bits with its number of cards, the discarded cards are counted in the same way, and the draw pile is an array with
+ * the ordinal of the type of each card, whose top is at the end as in the Stack of the Deck. The current player and the
+ * attack state are a few ints.
+ * A copy of the state is a few long copies and one copy of the used part of the draw pile, so many simulations can run in
+ * parallel on small states which stay in the caches of the cores. The order of the cards in a hand and the order of the
+ * discard pile under its top card are not kept.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class PackedGameState {
+    public static final int MAX_SEATS = ZobristHash.MAX_SEATS;
+    public static final int MAX_DRAW_PILE_SIZE = ZobristHash.MAX_DRAW_PILE_SIZE;
+    private static final int BITS_PER_TYPE = 4;
+    private static final long TYPE_MASK = 0xF;
+    private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+    private static final CardType[] CARD_TYPES = CardType.values();
+
+    private final long[] hands;
+    private final byte[] drawPile;
+    private long discardedCards;
+    private int drawPileSize;
+    private int numberOfSeats;
+    private int currentSeat;
+    private int additionalTurnsToPlay;
+    private boolean attackOn;
+    private int seatsOut;
+    private int discardTop;
+
+    /**
+     * Create an empty PackedGameState.
+     */
+    public PackedGameState() {
+        this.hands = new long[MAX_SEATS];
+        this.drawPile = new byte[MAX_DRAW_PILE_SIZE];
+        this.discardTop = -1;
+    }
+
+    /**
+     * Pack the state of a game. A NetworkGame is locked while it is read.
+     * @param game the game
+     * @requires game != null, the game has at most MAX_SEATS seats and MAX_DRAW_PILE_SIZE cards in the draw pile,
+     * no hand has more than 15 cards of a type
+     * @return the packed state
+     */
+    public static PackedGameState fromGame(Game game) {
+        PackedGameState state = new PackedGameState();
+        state.readGame(game);
+        return state;
+    }
+
+    /**
+     * Replace this state with the state of a game. A NetworkGame is locked while it is read.
+     * @param game the game
+     * @requires game != null, the game has at most MAX_SEATS seats and MAX_DRAW_PILE_SIZE cards in the draw pile,
+     * no hand has more than 15 cards of a type
+     */
+    public void readGame(Game game) {
+        synchronized (game) {
+            numberOfSeats = game.seats.size();
+            seatsOut = 0;
+            for(int seat=0; seat<MAX_SEATS; seat++) {
+                hands[seat] = 0;
+                if(seat < numberOfSeats) {
+                    Player player = game.seats.get(seat);
+                    for(Card card : player.getPlayerHandList()) {
+                        this.addCard(seat, card.getCardType());
+                    }
+                    if(!game.players.contains(player)) {
+                        seatsOut |= 1 << seat;
+                    }
+                }
+            }
+            List<Card> gameDrawPile = game.deck.getDrawPile();
+            drawPileSize = gameDrawPile.size();
+            for(int i=0; i<drawPileSize; i++) {
+                drawPile[i] = (byte) gameDrawPile.get(i).getCardType().ordinal();
+            }
+            discardedCards = 0;
+            for(Card card : game.deck.getDiscardPile()) {
+                discardedCards += 1L << (card.getCardType().ordinal() * BITS_PER_TYPE);
+            }
+            discardTop = game.deck.getDiscardPile().isEmpty() ? -1 : game.deck.getDiscardPile().peek().getCardType().ordinal();
+            currentSeat = game.getSeat(game.currentPlayer);
+            additionalTurnsToPlay = game.additionalTurnsToPlay;
+            attackOn = game.attackOn;
+        }
+    }
+
+    /**
+     * Write this state into a game with the same seats, with new Card objects. The hash of the state of the game is
+     * computed again, and it is equal to the hash of the game which was packed.
+     * @param game the game
+     * @requires game != null, game has getNumberOfSeats() seats, the current seat is not out of the game
+     */
+    public void writeGame(Game game) {
+        synchronized (game) {
+            game.players.clear();
+            for(int seat=0; seat<numberOfSeats; seat++) {
+                Player player = game.seats.get(seat);
+                ArrayList<Card> hand = player.getPlayerHandList();
+                hand.clear();
+                for(CardType cardType : CARD_TYPES) {
+                    for(int i=this.getCards(seat, cardType); i>0; i--) {
+                        hand.add(new Card(cardType));
+                    }
+                }
+                if(!this.isOut(seat)) {
+                    game.players.add(player);
+                }
+            }
+            List<Card> gameDrawPile = game.deck.getDrawPile();
+            gameDrawPile.clear();
+            for(int i=0; i<drawPileSize; i++) {
+                gameDrawPile.add(new Card(CARD_TYPES[drawPile[i]]));
+            }
+            List<Card> gameDiscardPile = game.deck.getDiscardPile();
+            gameDiscardPile.clear();
+            for(CardType cardType : CARD_TYPES) {
+                int count = this.getDiscardedCards(cardType) - (cardType.ordinal() == discardTop ? 1 : 0);
+                for(int i=0; i<count; i++) {
+                    gameDiscardPile.add(new Card(cardType));
+                }
+            }
+            if(discardTop >= 0) {
+                gameDiscardPile.add(new Card(CARD_TYPES[discardTop]));
+            }
+            game.currentPlayer = game.seats.get(currentSeat);
+            game.currentPlayerIndex = game.players.indexOf(game.currentPlayer);
+            game.additionalTurnsToPlay = additionalTurnsToPlay;
+            game.attackOn = attackOn;
+            game.resetStateHash();
+        }
+    }
+
+    /**
+     * Make this state equal to another state.
+     * @param other the other state
+     * @requires other != null
+     */
+    public void copyFrom(PackedGameState other) {
+        System.arraycopy(other.hands, 0, hands, 0, MAX_SEATS);
+        System.arraycopy(other.drawPile, 0, drawPile, 0, other.drawPileSize);
+        discardedCards = other.discardedCards;
+        drawPileSize = other.drawPileSize;
+        numberOfSeats = other.numberOfSeats;
+        currentSeat = other.currentSeat;
+        additionalTurnsToPlay = other.additionalTurnsToPlay;
+        attackOn = other.attackOn;
+        seatsOut = other.seatsOut;
+        discardTop = other.discardTop;
+    }
+
+    /**
+     * Write this state to a buffer: the number of seats, the turn state, the seats out of the game, the discard pile,
+     * the hands of the seats and the used part of the draw pile.
+     * @param buffer the buffer
+     * @requires buffer != null, buffer has at least 16 + 8 * getNumberOfSeats() + getDrawPileSize() bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put((byte) numberOfSeats);
+        buffer.put((byte) currentSeat);
+        buffer.put((byte) additionalTurnsToPlay);
+        buffer.put((byte) (attackOn ? 1 : 0));
+        buffer.put((byte) seatsOut);
+        buffer.put((byte) discardTop);
+        buffer.putLong(discardedCards);
+        for(int seat=0; seat<numberOfSeats; seat++) {
+            buffer.putLong(hands[seat]);
+        }
+        buffer.put((byte) drawPileSize);
+        buffer.put(drawPile, 0, drawPileSize);
+    }
+
+    /**
+     * Replace this state with a state written by writeTo().
+     * @param buffer the buffer, positioned at the start of the state
+     * @requires buffer != null
+     */
+    public void readFrom(ByteBuffer buffer) {
+        numberOfSeats = buffer.get() & 0xFF;
+        currentSeat = buffer.get() & 0xFF;
+        additionalTurnsToPlay = buffer.get() & 0xFF;
+        attackOn = buffer.get() == 1;
+        seatsOut = buffer.get() & 0xFF;
+        discardTop = buffer.get();
+        discardedCards = buffer.getLong();
+        Arrays.fill(hands, 0);
+        for(int seat=0; seat<numberOfSeats; seat++) {
+            hands[seat] = buffer.getLong();
+        }
+        drawPileSize = buffer.get() & 0xFF;
+        buffer.get(drawPile, 0, drawPileSize);
+    }
+
+    /**
+     * Create a copy of this state.
+     * @return the copy
+     */
+    public PackedGameState copy() {
+        PackedGameState copy = new PackedGameState();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Get the packed hand of a seat.
+     * @param seat the seat
+     * @return the number of cards of each type, in 4 bits for each type in the order of CardType.values()
+     */
+    public long getHand(int seat) {
+        return hands[seat];
+    }
+
+    /**
+     * Get the number of cards of a type in the hand of a seat.
+     * @param seat the seat
+     * @param cardType the type of the cards
+     * @return the number of cards
+     */
+    public int getCards(int seat, CardType cardType) {
+        return (int) ((hands[seat] >>> (cardType.ordinal() * BITS_PER_TYPE)) & TYPE_MASK);
+    }
+
+    /**
+     * Get the number of cards in the hand of a seat, by adding the counts of all types at once.
+     * @param seat the seat
+     * @return the number of cards
+     */
+    public int getHandSize(int seat) {
+        long hand = hands[seat];
+        long bytes = (hand & LOW_NIBBLES) + ((hand >>> BITS_PER_TYPE) & LOW_NIBBLES);
+        return (int) ((bytes * 0x0101010101010101L) >>> 56);
+    }
+
+    /**
+     * Add a card to the hand of a seat.
+     * @param seat the seat
+     * @param cardType the type of the card
+     * @requires the seat has less than 15 cards of this type
+     */
+    public void addCard(int seat, CardType cardType) {
+        hands[seat] += 1L << (cardType.ordinal() * BITS_PER_TYPE);
+    }
+
+    /**
+     * Remove a card from the hand of a seat.
+     * @param seat the seat
+     * @param cardType the type of the card
+     * @requires the seat has a card of this type
+     */
+    public void removeCard(int seat, CardType cardType) {
+        hands[seat] -= 1L << (cardType.ordinal() * BITS_PER_TYPE);
+    }
+
+    /**
+     * The current seat discards a card of a type.
+     * @param cardType the type of the card
+     * @requires the current seat has a card of this type
+     */
+    public void discardCard(CardType cardType) {
+        this.removeCard(currentSeat, cardType);
+        discardedCards += 1L << (cardType.ordinal() * BITS_PER_TYPE);
+        discardTop = cardType.ordinal();
+    }
+
+    /**
+     * The current seat takes the card on top of the draw pile.
+     * @requires getDrawPileSize() > 0
+     * @return the type of the card
+     */
+    public CardType drawCard() {
+        drawPileSize -= 1;
+        CardType cardType = CARD_TYPES[drawPile[drawPileSize]];
+        this.addCard(currentSeat, cardType);
+        return cardType;
+    }
+
+    /**
+     * Insert a card in the draw pile.
+     * @param index the index of the card, 0 is the bottom and getDrawPileSize() is the top
+     * @param cardType the type of the card
+     * @requires 0 <= index <= getDrawPileSize() < MAX_DRAW_PILE_SIZE
+     */
+    public void insertIntoDrawPile(int index, CardType cardType) {
+        System.arraycopy(drawPile, index, drawPile, index + 1, drawPileSize - index);
+        drawPile[index] = (byte) cardType.ordinal();
+        drawPileSize += 1;
+    }
+
+    /**
+     * Get the type of a card in the draw pile.
+     * @param index the index of the card, 0 is the bottom and getDrawPileSize() - 1 is the top
+     * @return the type of the card
+     */
+    public CardType getCardInDrawPile(int index) {
+        return CARD_TYPES[drawPile[index]];
+    }
+
+    public int getDrawPileSize() {
+        return drawPileSize;
+    }
+
+    /**
+     * Get the number of discarded cards of a type.
+     * @param cardType the type of the cards
+     * @return the number of cards in the discard pile
+     */
+    public int getDiscardedCards(CardType cardType) {
+        return (int) ((discardedCards >>> (cardType.ordinal() * BITS_PER_TYPE)) & TYPE_MASK);
+    }
+
+    /**
+     * Get the type of the card on top of the discard pile.
+     * @return the type of the card, or null if the discard pile is empty
+     */
+    public CardType getDiscardTop() {
+        return discardTop < 0 ? null : CARD_TYPES[discardTop];
+    }
+
+    public int getNumberOfSeats() {
+        return numberOfSeats;
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public int getAdditionalTurnsToPlay() {
+        return additionalTurnsToPlay;
+    }
+
+    public boolean isAttackOn() {
+        return attackOn;
+    }
+
+    /**
+     * Set the current seat and the attack state.
+     * @param currentSeat the seat of the current player
+     * @param additionalTurnsToPlay the number of turns the current player has to play after this turn
+     * @param attackOn true if the current player was attacked
+     * @requires 0 <= currentSeat < getNumberOfSeats()
+     */
+    public void setTurnState(int currentSeat, int additionalTurnsToPlay, boolean attackOn) {
+        this.currentSeat = currentSeat;
+        this.additionalTurnsToPlay = additionalTurnsToPlay;
+        this.attackOn = attackOn;
+    }
+
+    /**
+     * Check if the player of a seat is out of the game.
+     * @param seat the seat
+     * @return true if the player is out of the game
+     */
+    public boolean isOut(int seat) {
+        return (seatsOut & (1 << seat)) != 0;
+    }
+
+    /**
+     * The player of a seat is out of the game.
+     * @param seat the seat
+     */
+    public void setOut(int seat) {
+        seatsOut |= 1 << seat;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof PackedGameState other)) {
+            return false;
+        }
+        return numberOfSeats == other.numberOfSeats && currentSeat == other.currentSeat &&
+                additionalTurnsToPlay == other.additionalTurnsToPlay && attackOn == other.attackOn &&
+                seatsOut == other.seatsOut && discardTop == other.discardTop && discardedCards == other.discardedCards &&
+                Arrays.equals(hands, other.hands) &&
+                Arrays.equals(drawPile, 0, drawPileSize, other.drawPile, 0, other.drawPileSize);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(hands);
+        for(int i=0; i<drawPileSize; i++) {
+            result = 31 * result + drawPile[i];
+        }
+        return 31 * result + currentSeat;
+    }
+}
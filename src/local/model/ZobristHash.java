@@ -0,0 +1,200 @@
+package local.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class which keeps a Zobrist hash of the state of a Game: the cards of each type in the hand of each seat, the card type at
+ * each position of the draw pile, the type of the card on top of the discard pile, the current player, the attack state
+ * and the players who are out of the game.
+ * Every part of the state has a fixed random key, and the hash is the XOR of the keys of the current state, so a change of
+ * the state only costs the XOR of the keys which change: moving a card between a hand, the draw pile and the discard pile
+ * costs 2 or 3 XORs. Shuffling the draw pile or inserting a card inside it rehashes the draw pile.
+ * The keys are the same in every process, so equal states have equal hashes on different machines.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class ZobristHash {
+    public static final int MAX_SEATS = 8;
+    public static final int MAX_COPIES = 8;
+    public static final int MAX_DRAW_PILE_SIZE = 64;
+    private static final int MAX_ADDITIONAL_TURNS = 32;
+    private static final int NUMBER_OF_TYPES = CardType.values().length;
+
+    private static final long[][][] HAND_KEYS = new long[MAX_SEATS][NUMBER_OF_TYPES][MAX_COPIES];
+    private static final long[][] DRAW_PILE_KEYS = new long[MAX_DRAW_PILE_SIZE][NUMBER_OF_TYPES];
+    private static final long[] DISCARD_TOP_KEYS = new long[NUMBER_OF_TYPES];
+    private static final long[] CURRENT_SEAT_KEYS = new long[MAX_SEATS];
+    private static final long[] ADDITIONAL_TURNS_KEYS = new long[MAX_ADDITIONAL_TURNS];
+    private static final long[] OUT_KEYS = new long[MAX_SEATS];
+    private static final long ATTACK_ON_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_CA75L);
+        for(int seat=0; seat<MAX_SEATS; seat++) {
+            for(int type=0; type<NUMBER_OF_TYPES; type++) {
+                for(int copy=0; copy<MAX_COPIES; copy++) {
+                    HAND_KEYS[seat][type][copy] = random.nextLong();
+                }
+            }
+            CURRENT_SEAT_KEYS[seat] = random.nextLong();
+            OUT_KEYS[seat] = random.nextLong();
+        }
+        for(int position=0; position<MAX_DRAW_PILE_SIZE; position++) {
+            for(int type=0; type<NUMBER_OF_TYPES; type++) {
+                DRAW_PILE_KEYS[position][type] = random.nextLong();
+            }
+        }
+        for(int type=0; type<NUMBER_OF_TYPES; type++) {
+            DISCARD_TOP_KEYS[type] = random.nextLong();
+        }
+        for(int turns=0; turns<MAX_ADDITIONAL_TURNS; turns++) {
+            ADDITIONAL_TURNS_KEYS[turns] = random.nextLong();
+        }
+        ATTACK_ON_KEY = random.nextLong();
+    }
+
+    private final int[][] handCounts;
+    private long hash;
+    private long drawPileHash;
+    private long discardTopHash;
+    private long turnHash;
+
+    /**
+     * Create a ZobristHash of an empty state.
+     */
+    public ZobristHash() {
+        this.handCounts = new int[MAX_SEATS][NUMBER_OF_TYPES];
+    }
+
+    /**
+     * Get the hash of the current state.
+     * @return the hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Compute the hash of a state from the beginning.
+     * @param seats the players in the order of their seats, including the players who are out of the game
+     * @param playersInGame the players who are still in the game
+     * @param deck the deck
+     * @param currentPlayer the current player
+     * @param additionalTurnsToPlay the number of turns the current player has to play after this turn
+     * @param attackOn true if the current player was attacked
+     * @requires seats.size() <= MAX_SEATS, deck.getDrawPile().size() <= MAX_DRAW_PILE_SIZE
+     */
+    public void reset(List<Player> seats, List<Player> playersInGame, Deck deck, Player currentPlayer,
+                      int additionalTurnsToPlay, boolean attackOn) {
+        hash = 0;
+        for(int[] counts : handCounts) {
+            Arrays.fill(counts, 0);
+        }
+        for(int seat=0; seat<seats.size(); seat++) {
+            for(Card card : seats.get(seat).getPlayerHandList()) {
+                this.addCardToHand(seat, card.getCardType());
+            }
+            if(!playersInGame.contains(seats.get(seat))) {
+                this.setPlayerOut(seat);
+            }
+        }
+        drawPileHash = 0;
+        this.rehashDrawPile(deck);
+        discardTopHash = 0;
+        this.setDiscardTop(deck.getDiscardPile().isEmpty() ? null : deck.getDiscardPile().peek().getCardType());
+        turnHash = 0;
+        this.setTurnState(seats.indexOf(currentPlayer), additionalTurnsToPlay, attackOn);
+    }
+
+    /**
+     * A card was added to the hand of a seat.
+     * @param seat the seat of the player
+     * @param cardType the type of the card
+     */
+    public void addCardToHand(int seat, CardType cardType) {
+        hash ^= HAND_KEYS[seat][cardType.ordinal()][handCounts[seat][cardType.ordinal()] % MAX_COPIES];
+        handCounts[seat][cardType.ordinal()] += 1;
+    }
+
+    /**
+     * A card was removed from the hand of a seat.
+     * @param seat the seat of the player
+     * @param cardType the type of the card
+     * If the card was added to the hand without this hash, nothing changes until the hash is reset.
+     */
+    public void removeCardFromHand(int seat, CardType cardType) {
+        if(handCounts[seat][cardType.ordinal()] == 0) {
+            return;
+        }
+        handCounts[seat][cardType.ordinal()] -= 1;
+        hash ^= HAND_KEYS[seat][cardType.ordinal()][handCounts[seat][cardType.ordinal()] % MAX_COPIES];
+    }
+
+    /**
+     * A card was added to the draw pile at a position, without moving the other cards, for example on top.
+     * @param position the index of the card in the draw pile, 0 is the bottom
+     * @param cardType the type of the card
+     */
+    public void addCardToDrawPile(int position, CardType cardType) {
+        long key = DRAW_PILE_KEYS[position % MAX_DRAW_PILE_SIZE][cardType.ordinal()];
+        drawPileHash ^= key;
+        hash ^= key;
+    }
+
+    /**
+     * A card was removed from the draw pile at a position, without moving the other cards, for example from the top.
+     * @param position the index the card had in the draw pile, 0 is the bottom
+     * @param cardType the type of the card
+     */
+    public void removeCardFromDrawPile(int position, CardType cardType) {
+        this.addCardToDrawPile(position, cardType);
+    }
+
+    /**
+     * The order of the draw pile changed, so the hash of the draw pile is computed again.
+     * @param deck the deck
+     */
+    public void rehashDrawPile(Deck deck) {
+        hash ^= drawPileHash;
+        drawPileHash = 0;
+        List<Card> drawPile = deck.getDrawPile();
+        for(int position=0; position<drawPile.size(); position++) {
+            drawPileHash ^= DRAW_PILE_KEYS[position % MAX_DRAW_PILE_SIZE][drawPile.get(position).getCardType().ordinal()];
+        }
+        hash ^= drawPileHash;
+    }
+
+    /**
+     * A card was put on top of the discard pile.
+     * @param cardType the type of the card, or null if the discard pile is empty
+     */
+    public void setDiscardTop(CardType cardType) {
+        hash ^= discardTopHash;
+        discardTopHash = cardType == null ? 0 : DISCARD_TOP_KEYS[cardType.ordinal()];
+        hash ^= discardTopHash;
+    }
+
+    /**
+     * The current player or the attack state changed.
+     * @param currentSeat the seat of the current player
+     * @param additionalTurnsToPlay the number of turns the current player has to play after this turn
+     * @param attackOn true if the current player was attacked
+     */
+    public void setTurnState(int currentSeat, int additionalTurnsToPlay, boolean attackOn) {
+        hash ^= turnHash;
+        turnHash = CURRENT_SEAT_KEYS[currentSeat] ^ ADDITIONAL_TURNS_KEYS[additionalTurnsToPlay % MAX_ADDITIONAL_TURNS];
+        if(attackOn) {
+            turnHash ^= ATTACK_ON_KEY;
+        }
+        hash ^= turnHash;
+    }
+
+    /**
+     * The player of a seat is out of the game.
+     * @param seat the seat of the player
+     */
+    public void setPlayerOut(int seat) {
+        hash ^= OUT_KEYS[seat];
+    }
+}
@@ -0,0 +1,303 @@
+package network.controller;
+
+import network.model.BotCpuBudget;
+import network.model.BotTier;
+import network.model.GameJournal;
+import network.model.Leaderboard;
+import network.model.PlayerStatsStore;
+import network.model.NetworkComputerPlayer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class which runs games between computer players only, one after the other, in several rooms at the same time.
+ * Every room is a Server with its own port and its own computer players, which connect over sockets, so the arena tests
+ * the whole server as a soak test and measures its throughput in games per second.
+ * When a game is over, the result is recorded and the next game of the room starts with the seats rotated by one place.
+ * A game which is not over after the stall timeout is counted as stalled and replaced by a new game.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class Arena {
+    private static final int MAX_PLAYERS = 5;
+    private static final long DEFAULT_STALL_TIMEOUT_MILLIS = 10_000;
+
+    private final int playersPerGame;
+    private final long stallTimeoutNanos;
+    private final ScheduledExecutorService scheduler;
+    private final List<Server> rooms;
+    private final Map<Server, RoomGame> currentGames;
+    private final LongAdder gamesPlayed;
+    private final LongAdder stalledGames;
+    private final LongAdder totalGameNanos;
+    private final AtomicLongArray winsBySeat;
+    private final Map<String, LongAdder> winsByPlayer;
+    private final BufferedWriter resultsWriter;
+    private final long startNanos;
+
+    /**
+     * Create an Arena.
+     * @param playersPerGame the number of computer players in the games of each room
+     * @param stallTimeoutMillis the time after which a game which is not over is replaced
+     * @param resultsPath the file which receives one line for each game, or null to only keep the statistics
+     * @requires 2 <= playersPerGame <= 5, stallTimeoutMillis >= 1
+     * @throws IOException if the file of the results cannot be opened
+     */
+    public Arena(int playersPerGame, long stallTimeoutMillis, Path resultsPath) throws IOException {
+        this.playersPerGame = playersPerGame;
+        this.stallTimeoutNanos = stallTimeoutMillis * 1_000_000L;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arena");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rooms = new ArrayList<>();
+        this.currentGames = new ConcurrentHashMap<>();
+        this.gamesPlayed = new LongAdder();
+        this.stalledGames = new LongAdder();
+        this.totalGameNanos = new LongAdder();
+        this.winsBySeat = new AtomicLongArray(MAX_PLAYERS);
+        this.winsByPlayer = new ConcurrentHashMap<>();
+        this.resultsWriter = resultsPath == null ? null : Files.newBufferedWriter(resultsPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.startNanos = System.nanoTime();
+        this.scheduler.scheduleWithFixedDelay(this::checkStalledGames, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Add a room whose computer players are connecting. The first game starts as soon as all of them are connected.
+     * @param room the server of the room
+     * @requires room != null
+     */
+    public void addRoom(Server room) {
+        synchronized (rooms) {
+            rooms.add(room);
+        }
+        room.setArena(this);
+        scheduler.execute(() -> this.startGame(room, false));
+    }
+
+    /**
+     * Called by a room when its game is over. The result is recorded and the next game is scheduled.
+     * @param room the room
+     * @param winner the name of the winner
+     */
+    void gameOver(Server room, String winner) {
+        RoomGame roomGame = currentGames.remove(room);
+        if(roomGame != null) {
+            long duration = System.nanoTime() - roomGame.startNanos;
+            int seat = roomGame.seats.indexOf(winner);
+            gamesPlayed.increment();
+            totalGameNanos.add(duration);
+            if(seat >= 0) {
+                winsBySeat.incrementAndGet(seat);
+            }
+            winsByPlayer.computeIfAbsent(winner, name -> new LongAdder()).increment();
+            this.writeResult(roomGame, winner, duration);
+        }
+        // the next game is started by the arena thread, after the room has sent GAME_OVER to all players
+        scheduler.execute(() -> this.startGame(room, false));
+    }
+
+    private void startGame(Server room, boolean abandonCurrentGame) {
+        List<String> seats = room.startArenaGame(playersPerGame, abandonCurrentGame);
+        if(seats == null) {
+            if(!currentGames.containsKey(room) && room.isGameInProgress()) {
+                // a game recovered from the journal of the room, which is replaced as any other game if it stalls
+                currentGames.put(room, new RoomGame(new ArrayList<>(), System.nanoTime()));
+            } else if(!currentGames.containsKey(room)) {
+                // the computer players are still connecting
+                scheduler.schedule(() -> this.startGame(room, false), 100, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+        currentGames.put(room, new RoomGame(seats, System.nanoTime()));
+    }
+
+    private void checkStalledGames() {
+        long now = System.nanoTime();
+        for(Map.Entry<Server, RoomGame> entry : currentGames.entrySet()) {
+            if(now - entry.getValue().startNanos > stallTimeoutNanos && currentGames.remove(entry.getKey(), entry.getValue())) {
+                stalledGames.increment();
+                this.startGame(entry.getKey(), true);
+            }
+        }
+    }
+
+    private void writeResult(RoomGame roomGame, String winner, long durationNanos) {
+        if(resultsWriter == null) {
+            return;
+        }
+        synchronized (resultsWriter) {
+            try {
+                resultsWriter.write(gamesPlayed.sum() + "," + String.join(";", roomGame.seats) + "," + winner + "," + durationNanos / 1_000_000);
+                resultsWriter.newLine();
+                resultsWriter.flush();
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        }
+    }
+
+    /**
+     * Get the number of games which are over.
+     * @return the number of games
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed.sum();
+    }
+
+    /**
+     * Get the number of games which were replaced because they were not over after the stall timeout.
+     * @return the number of stalled games
+     */
+    public long getStalledGames() {
+        return stalledGames.sum();
+    }
+
+    /**
+     * Get the number of games which are over per second, since the arena was created.
+     * @return the throughput in games per second
+     */
+    public double getGamesPerSecond() {
+        return gamesPlayed.sum() / ((System.nanoTime() - startNanos) / 1e9);
+    }
+
+    /**
+     * Get the share of the games won by the player of a seat. Seat 0 plays first.
+     * @param seat the seat
+     * @return the win rate of the seat, 0 if no game is over
+     */
+    public double getWinRate(int seat) {
+        long games = gamesPlayed.sum();
+        return games == 0 ? 0 : (double) winsBySeat.get(seat) / games;
+    }
+
+    /**
+     * Get the number of games won by a player.
+     * @param playerName the name of the player
+     * @return the number of wins
+     */
+    public long getWins(String playerName) {
+        LongAdder wins = winsByPlayer.get(playerName);
+        return wins == null ? 0 : wins.sum();
+    }
+
+    @Override
+    public String toString() {
+        long games = gamesPlayed.sum();
+        StringBuilder result = new StringBuilder(String.format("%d games, %.2f games/s, %.0f ms per game, %d stalled, win rate by seat:",
+                games, this.getGamesPerSecond(), games == 0 ? 0.0 : totalGameNanos.sum() / 1e6 / games, stalledGames.sum()));
+        for(int seat=0; seat<playersPerGame; seat++) {
+            result.append(String.format(" %d=%.1f%%", seat, 100 * this.getWinRate(seat)));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Stop scheduling games and close the file of the results.
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+        synchronized (rooms) {
+            for(Server room : rooms) {
+                room.setArena(null);
+            }
+        }
+        if(resultsWriter != null) {
+            synchronized (resultsWriter) {
+                try {
+                    resultsWriter.close();
+                } catch (IOException e) {
+                    System.out.println("Exception " + e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The seats and the start time of the game which is played in a room.
+     */
+    private static class RoomGame {
+        private final List<String> seats;
+        private final long startNanos;
+
+        private RoomGame(List<String> seats, long startNanos) {
+            this.seats = seats;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /**
+     * Run an arena. The arguments are optional: number of rooms, tiers of the computer players of a room separated by
+     * commas, first port, duration in seconds and file of the results.
+     * For example: 4 easy,easy,medium,hard 6000 60 arena.csv
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int numberOfRooms = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        String[] tiers = (args.length > 1 ? args[1] : "easy,easy,easy,easy").split(",");
+        int firstPort = args.length > 2 ? Integer.parseInt(args[2]) : 6000;
+        long durationSeconds = args.length > 3 ? Long.parseLong(args[3]) : 60;
+        Path resultsPath = args.length > 4 ? Paths.get(args[4]) : null;
+
+        Arena arena = new Arena(tiers.length, DEFAULT_STALL_TIMEOUT_MILLIS, resultsPath);
+        PlayerStatsStore statsStore = System.getProperty("stats.file") == null ? null : new PlayerStatsStore(Paths.get(System.getProperty("stats.file")));
+        Leaderboard leaderboard = new Leaderboard(statsStore);
+        for(int room=0; room<numberOfRooms; room++) {
+            Server server = new Server();
+            server.startServer(firstPort + room);
+            if(System.getProperty("journal.dir") != null) {
+                server.setJournal(new GameJournal(Paths.get(System.getProperty("journal.dir"), "room-" + room)));
+            }
+            server.setStatsStore(statsStore);
+            server.setLeaderboard(leaderboard);
+            Thread listener = new Thread(server::listenForConnections, "arena-room-" + room);
+            listener.setDaemon(true);
+            listener.start();
+            for(int seat=0; seat<tiers.length; seat++) {
+                BotTier tier = BotTier.fromName(tiers[seat]);
+                if(tier == null) {
+                    throw new IllegalArgumentException("Unknown tier: " + tiers[seat]);
+                }
+                NetworkComputerPlayer computerPlayer = new NetworkComputerPlayer("Computer " + tier.name().toLowerCase() +
+                        " " + room + "-" + seat, tier.createStrategy(BotCpuBudget.getSharedBudget()));
+                computerPlayer.connectToServer("localhost", firstPort + room);
+                Thread thread = new Thread(computerPlayer);
+                thread.setDaemon(true);
+                thread.start();
+            }
+            arena.addRoom(server);
+        }
+
+        long end = System.nanoTime() + durationSeconds * 1_000_000_000L;
+        while(System.nanoTime() < end) {
+            Thread.sleep(Math.min(5000, Math.max(1, (end - System.nanoTime()) / 1_000_000)));
+            System.err.println(arena);
+        }
+        arena.stop();
+        System.err.println(arena);
+        // the statistics of the last games may still be recorded by the listeners of the event buses of the rooms
+        synchronized (arena.rooms) {
+            for(Server room : arena.rooms) {
+                room.stopServer();
+            }
+        }
+        if(statsStore != null) {
+            statsStore.close();
+        }
+        System.exit(0);
+    }
+}
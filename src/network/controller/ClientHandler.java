@@ -1,10 +1,13 @@
 package network.controller;
 
 import exceptions.*;
+import network.model.EventLogger;
+import network.model.SessionBacklog;
 import protocol.ProtocolCommands;
 import java.io.*;
 import java.net.Socket;
-import static local.view.ANSI.*;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Class to represent the ClientHandler which receives and sends messages to the players.
@@ -16,6 +19,8 @@ public class ClientHandler implements Runnable {
     private BufferedWriter bufferedWriter;
     private String name;
     private final Server explodingKittensServer;
+    private final EventLogger logger;
+    private SessionBacklog session;
 
     /**
      * Create a ClientHandler and initialize its socket and server.
@@ -25,6 +30,7 @@ public class ClientHandler implements Runnable {
     public ClientHandler(Socket socket, Server explodingKittensServer) {
         this.socket = socket;
         this.explodingKittensServer = explodingKittensServer;
+        this.logger = EventLogger.getLogger();
         try {
             this.bufferedReader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
             this.bufferedWriter = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
@@ -57,24 +63,122 @@ public class ClientHandler implements Runnable {
         return explodingKittensServer;
     }
 
+    public synchronized BufferedReader getBufferedReader() {
+        return bufferedReader;
+    }
+
+    public synchronized BufferedWriter getBufferedWriter() {
+        return bufferedWriter;
+    }
+
+    public synchronized Socket getSocket() {
+        return socket;
+    }
+
+    /**
+     * Start the session of the player, after the HELLO message was sent. From now on, the messages sent to the player are
+     * kept in the session, so that they can be sent again if the player connects again.
+     * @param session the session of the player
+     * @requires session != null
+     */
+    public synchronized void startSession(SessionBacklog session) {
+        this.session = session;
+    }
+
+    public synchronized SessionBacklog getSession() {
+        return session;
+    }
+
+    /**
+     * Check if the player is connected. A player who lost the connection keeps the seat in the game until the player resumes
+     * the session with a new connection.
+     * @return true if this ClientHandler has a connection to the player
+     */
+    public synchronized boolean isConnected() {
+        return bufferedWriter != null;
+    }
+
+    /**
+     * Use the new connection of a player who resumes the session, then send the RESUMED message and the messages which
+     * the player missed. The previous connection is closed, in case the server did not notice yet that it was lost.
+     * The messages are sent while this ClientHandler is locked, so no other message is sent between them.
+     * @param socket the new socket
+     * @param bufferedReader the reader of the new socket
+     * @param bufferedWriter the writer of the new socket
+     * @param resumedMessage the RESUMED message
+     * @param missedMessages the messages which were kept in the session and are sent again
+     * @requires socket != null, bufferedReader != null, bufferedWriter != null, resumedMessage != null, missedMessages != null
+     */
+    public synchronized void reconnect(Socket socket, BufferedReader bufferedReader, BufferedWriter bufferedWriter, String resumedMessage, List<String> missedMessages) {
+        if(this.socket != null) {
+            try {
+                this.socket.close();
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        }
+        this.socket = socket;
+        this.bufferedReader = bufferedReader;
+        this.bufferedWriter = bufferedWriter;
+        try {
+            bufferedWriter.write(resumedMessage);
+            bufferedWriter.newLine();
+            for(String missedMessage : missedMessages) {
+                bufferedWriter.write(missedMessage);
+                bufferedWriter.newLine();
+            }
+            bufferedWriter.flush();
+        } catch (IOException e) {
+            System.out.println("Exception " + e);
+        }
+    }
+
+    /**
+     * Forget the connection after it was lost, if it is still the connection of this ClientHandler.
+     * @param lostBufferedReader the reader of the connection which was lost
+     * @return true if the connection was forgotten, false if the ClientHandler has another connection already
+     */
+    private synchronized boolean disconnect(BufferedReader lostBufferedReader) {
+        if(lostBufferedReader == null || lostBufferedReader != this.bufferedReader) {
+            return false;
+        }
+        try {
+            if(socket != null) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Exception " + e);
+        }
+        this.socket = null;
+        this.bufferedReader = null;
+        this.bufferedWriter = null;
+        return true;
+    }
+
+    /**
+     * Read the messages of the player until the connection is lost, or until the connection is given to the ClientHandler
+     * of a session which the player resumed. When the connection is lost, the server decides if the seat of the player is kept.
+     */
     @Override
     public void run() {
+        BufferedReader reader = this.getBufferedReader();
         String messageFromClient;
         try {
-            messageFromClient = bufferedReader.readLine();
+            messageFromClient = reader.readLine();
             while (messageFromClient != null) {
-                if(this.getName() == null) {
-                    System.out.println(YELLOW_BOLD + "Message received: " + RESET
-                            + WHITE_BOLD + messageFromClient + RESET);
-                } else {
-                    System.out.println(YELLOW_BOLD + this.getName() + " -> server: " + RESET
-                            + WHITE_BOLD + messageFromClient + RESET);
-                }
+                logger.log(EventLogger.DEBUG, "message.received", "player", this.getName(), "message", messageFromClient);
                 sendResponseToClient(messageFromClient);
-                messageFromClient = bufferedReader.readLine();
+                if(this.getBufferedReader() != reader) {
+                    // the connection was given to the ClientHandler of the resumed session, which reads it from now on
+                    return;
+                }
+                messageFromClient = reader.readLine();
             }
         } catch (IOException e) {
-            System.out.println("Exception " + e);
+            logger.log(EventLogger.WARN, "connection.closed", "player", this.getName(), "exception", e.toString());
+        }
+        if(this.disconnect(reader)) {
+            explodingKittensServer.handleDisconnect(this);
         }
     }
 
@@ -83,10 +187,13 @@ public class ClientHandler implements Runnable {
      * This method is used when the NetworkPlayer or NetworkComputerPlayer sends a message to the server.
      * In this case, a method of the ExplodingKittensServer class is called, which will make a change in the NetworkGame.
      * When the message from the player is read, a response is sent to the player.
+     * This method is only called by the thread of this ClientHandler, so it does not lock the ClientHandler. Otherwise, it
+     * would hold the lock of the ClientHandler while waiting for the lock of the server, while the server waits for the lock
+     * of the ClientHandler to send it a message.
      * @param previousMessageFromClient the message received from the player
      * @requires previousMessageFromClient != null
      */
-    public synchronized void sendResponseToClient(String previousMessageFromClient) throws IOException {
+    public void sendResponseToClient(String previousMessageFromClient) throws IOException {
         String[] messageToArray = previousMessageFromClient.split(ProtocolCommands.ARGUMENT_SEPARATOR);
 
         String command = messageToArray[0];
@@ -101,20 +208,36 @@ public class ClientHandler implements Runnable {
             argument2 = messageToArray[2];
         }
 
+        SessionBacklog currentSession = this.getSession();
+        if(currentSession != null && (command.startsWith("RESPOND_") || command.equals(ProtocolCommands.STOP_SHUFFLE))) {
+            currentSession.clearPendingQuestion();
+        }
+
         switch (command) {
             case ProtocolCommands.CONNECT_TO_SERVER:
                 try {
-                    if(explodingKittensServer.getConnectedPlayersNames().contains(argument1)) {
+                    if(Arrays.asList(explodingKittensServer.getConnectedPlayersNames().split(ProtocolCommands.ELEMENT_SEPARATOR)).contains(argument1)) {
                         throw new E02();
                     }
-                    this.name = argument1;
+                    this.setName(argument1);
                     explodingKittensServer.sendHello(this, argument2);
                 } catch (E09 | E02 e) {
                     sendMessageToClient(ProtocolCommands.ERROR + ProtocolCommands.ARGUMENT_SEPARATOR + e);
                 }
                 break;
+            case ProtocolCommands.RESUME_SESSION:
+                try {
+                    explodingKittensServer.resumeSession(argument1, argument2, this);
+                } catch (E13 | E08 | NumberFormatException e) {
+                    sendMessageToClient(ProtocolCommands.ERROR + ProtocolCommands.ARGUMENT_SEPARATOR + e);
+                }
+                break;
             case ProtocolCommands.ADD_COMPUTER_PLAYER:
-                explodingKittensServer.addComputerPlayer();
+                try {
+                    explodingKittensServer.addComputerPlayer(argument1);
+                } catch (E13 e) {
+                    sendMessageToClient(ProtocolCommands.ERROR + ProtocolCommands.ARGUMENT_SEPARATOR + e);
+                }
                 break;
             case ProtocolCommands.REMOVE_COMPUTER_PLAYER:
                 try {
@@ -180,6 +303,13 @@ public class ClientHandler implements Runnable {
                     sendMessageToClient(ProtocolCommands.ERROR + ProtocolCommands.ARGUMENT_SEPARATOR + e);
                 }
                 break;
+            case ProtocolCommands.REQUEST_LEADERBOARD:
+                try {
+                    sendMessageToClient(explodingKittensServer.getLeaderboardMessage(argument1, this.getName()));
+                } catch (NumberFormatException e) {
+                    sendMessageToClient(ProtocolCommands.ERROR + ProtocolCommands.ARGUMENT_SEPARATOR + e);
+                }
+                break;
             case ProtocolCommands.SEND_MESSAGE:
                 explodingKittensServer.sendMessageToPlayersChat(argument1, this);
                 break;
@@ -187,10 +317,17 @@ public class ClientHandler implements Runnable {
     }
 
     /**
-     * This method is used by the ExplodingKittensServer to send a message to the client.
+     * This method is used by the ExplodingKittensServer to send a message to the client. After the HELLO, the message is
+     * also kept in the session of the player, and it is only kept there while the player is not connected.
      * @param messageToSend the message to be sent
      */
     public synchronized void sendMessageToClient(String messageToSend) {
+        if(session != null) {
+            session.append(messageToSend);
+        }
+        if(bufferedWriter == null) {
+            return;
+        }
         try {
             bufferedWriter.write(messageToSend);
             bufferedWriter.newLine();
@@ -3,23 +3,42 @@ package network.controller;
 import exceptions.*;
 import local.model.CardType;
 import local.model.Player;
+import network.model.BotCpuBudget;
+import network.model.BotTier;
+import network.model.ChatHistory;
+import network.model.EventLogger;
+import network.model.GameEvent;
+import network.model.GameEventBus;
+import network.model.GameJournal;
+import network.model.GameStatsRecorder;
+import network.model.Leaderboard;
 import network.model.NetworkComputerPlayer;
 import network.model.NetworkGame;
+import network.model.PlayerStatsStore;
+import network.model.SessionBacklog;
 import network.model.ShuffleDeck;
 import protocol.ProtocolCommands;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to represent the Server which controls the Exploding Kittens game.
  * @author Alexandru-Cristian Enescu and Oliver Li
  */
 public class Server {
+    public static final long SNAPSHOT_INTERVAL_MILLIS = 1000;
     private ServerSocket serverSocket;
     private List<ClientHandler> clientHandlerList;
     private NetworkGame game;
@@ -34,8 +53,19 @@ public class Server {
     private boolean continueGame;
     private String playerResponseNotNeeded;
     private ArrayList<String> firstPlayerFlags;
-    private boolean chatActive;
+    private volatile boolean chatActive;
     private boolean specialCombosActive;
+    private Arena arena;
+    private GameJournal journal;
+    private NetworkGame recoveredGame;
+    private ScheduledExecutorService snapshotScheduler;
+    private long lastSnapshotRecords;
+    private volatile Leaderboard leaderboard;
+    private final GameEventBus eventBus;
+    private final GameStatsRecorder statsRecorder;
+    private final ChatHistory chatHistory;
+    private final List<ClientHandler> chatReceivers;
+    private final HashMap<String, ClientHandler> sessions;
 
     /**
      * Create an Exploding Kittens server, initialize the clientHandlersList.
@@ -52,6 +82,18 @@ public class Server {
         this.continueGame = false;
         this.chatActive = false;
         this.specialCombosActive = false;
+        this.leaderboard = new Leaderboard();
+        this.chatHistory = new ChatHistory();
+        this.chatReceivers = new CopyOnWriteArrayList<>();
+        this.sessions = new HashMap<>();
+        this.eventBus = new GameEventBus();
+        this.statsRecorder = new GameStatsRecorder(leaderboard);
+        eventBus.addListener("stats", statsRecorder);
+        EventLogger logger = EventLogger.getLogger();
+        if(logger.isEnabled(EventLogger.DEBUG)) {
+            eventBus.addListener("log", (event, sequence, endOfBatch) -> logger.log(EventLogger.DEBUG, "game." +
+                    GameEvent.getTypeName(event.getType()).toLowerCase(), "player", event.getPlayerName(), "cards", event.getCards()));
+        }
     }
 
     /**
@@ -96,18 +138,41 @@ public class Server {
     }
 
     /**
-     * Initialize the ServerSocket.
+     * Initialize the ServerSocket on port 5000.
      */
     public void startServer() {
+        this.startServer(5000);
+    }
+
+    /**
+     * Initialize the ServerSocket.
+     * @param port the port on which the server listens for connections
+     */
+    public void startServer(int port) {
+        try {
+            serverSocket = new ServerSocket(port);
+        } catch (IOException e) {
+            System.out.println("Exception " + e);
+        }
+    }
+
+    /**
+     * Stop the server: stop listening for connections and close the event bus. The events which were published are still
+     * handled by the listeners of the bus, so the statistics of the last game are recorded before this method returns.
+     */
+    public void stopServer() {
         try {
-            serverSocket = new ServerSocket(5000);
+            if(serverSocket != null) {
+                serverSocket.close();
+            }
         } catch (IOException e) {
             System.out.println("Exception " + e);
         }
+        eventBus.close();
     }
 
     /**
-     * Listen for connections and create a new ClientHandler thread for each connected player.
+     * Listen for connections and create a new ClientHandler thread for each connected player, until the server is stopped.
      * Add the new ClientHandler to clientHandlerList.
      */
     public void listenForConnections() {
@@ -115,12 +180,17 @@ public class Server {
             while(true) {
                 Socket socket = serverSocket.accept();
                 ClientHandler clientHandler = new ClientHandler(socket, this);
-                clientHandlerList.add(clientHandler);
+                // the list is read by the synchronized methods of the server while players connect
+                synchronized (this) {
+                    clientHandlerList.add(clientHandler);
+                }
                 Thread thread = new Thread(clientHandler);
                 thread.start();
             }
         } catch (IOException e) {
-            System.out.println("Exception " + e);
+            if(!serverSocket.isClosed()) {
+                System.out.println("Exception " + e);
+            }
         }
     }
 
@@ -149,38 +219,63 @@ public class Server {
     }
 
     /**
-     * Send a message to all clients, except the sender of the message.
+     * Send a chat message to all clients who joined the chat, except the sender of the message, and keep it in the chat
+     * history. The message is encoded once for all clients. This method does not lock the server, so the chat does not
+     * wait for the game and the game does not wait for the chat. The chat history is locked instead, so every client
+     * receives the messages in the order of the history.
      * @param messageToSend the message to be sent
      * @param playerWhoSentMessage the player who has sent the message and will not receive it
      * @requires messageToSend != null, playerWhoSentMessage != null
      */
-    public synchronized void sendMessageToPlayersChat(String messageToSend, ClientHandler playerWhoSentMessage) {
+    public void sendMessageToPlayersChat(String messageToSend, ClientHandler playerWhoSentMessage) {
         if(this.chatActive) {
-            for (ClientHandler clientHandler : clientHandlerList) {
-                if(!clientHandler.equals(playerWhoSentMessage)) {
-                    clientHandler.sendMessageToClient(ProtocolCommands.SHOW_MESSAGE + ProtocolCommands.ARGUMENT_SEPARATOR + playerWhoSentMessage.getName() + ProtocolCommands.ARGUMENT_SEPARATOR + messageToSend);
+            synchronized (chatHistory) {
+                String line = chatHistory.append(playerWhoSentMessage.getName(), messageToSend);
+                for(ClientHandler clientHandler : chatReceivers) {
+                    if(!clientHandler.equals(playerWhoSentMessage)) {
+                        clientHandler.sendMessageToClient(line);
+                    }
                 }
             }
         }
     }
 
+    /**
+     * Let a client receive the chat messages, starting with the messages of the chat history in one CHAT_HISTORY frame.
+     * No message is missed or received twice, because messages are not sent while the client joins.
+     * @param clientHandler the client who joins the chat
+     * @requires clientHandler != null
+     */
+    private void joinChat(ClientHandler clientHandler) {
+        synchronized (chatHistory) {
+            if(!chatReceivers.contains(clientHandler)) {
+                chatReceivers.add(clientHandler);
+            }
+            String historyFrame = chatHistory.getHistoryFrame();
+            if(chatActive && historyFrame != null) {
+                clientHandler.sendMessageToClient(historyFrame);
+            }
+        }
+    }
+
+    public ChatHistory getChatHistory() {
+        return chatHistory;
+    }
+
     /**
      * Handle the handshake. If the player who connected entered flags whose corresponding features are available on server,
-     * enable those features. Respond the player with a Hello message, including the flags available on the server.
+     * enable those features. Respond the player with a Hello message, including the flags available on the server and the
+     * token with which the player can resume the session after losing the connection.
      * @param clientHandler the player who has connected to the server
      * @param flags the flags entered by the player who connected
      * @throws E09 if a player has connected with different flags than the first connected player
      */
     public synchronized void sendHello(ClientHandler clientHandler, String flags) throws E09 {
+        // the players of a recovered game connect again with the flags which were recovered with it
+        boolean flagsRecovered = recoveredGame != null && firstPlayerFlags != null;
         if(flags != null) {
-            if(this.getNumberConnectedPlayers() == 1) {
-                this.firstPlayerFlags = new ArrayList<>(Arrays.asList(flags.split(",")));
-                if(firstPlayerFlags.contains("0")) {
-                    this.chatActive = true;
-                }
-                if(firstPlayerFlags.contains("4")) {
-                    this.specialCombosActive = true;
-                }
+            if(this.getNumberConnectedPlayers() == 1 && !flagsRecovered) {
+                this.setFirstPlayerFlags(flags);
             } else if(this.firstPlayerFlags != null){
                 ArrayList<String> newPlayerFlags = new ArrayList<>(Arrays.asList(flags.split(",")));
                 for (String newFlag : newPlayerFlags) {
@@ -191,9 +286,160 @@ public class Server {
             }
         }
 
-        sendMessageToOnePlayer(ProtocolCommands.HELLO + ProtocolCommands.ARGUMENT_SEPARATOR + clientHandler.getName() + ProtocolCommands.ARGUMENT_SEPARATOR + "0,3,4", clientHandler);
+        this.forgetSession(clientHandler);
+        SessionBacklog session = new SessionBacklog();
+        sendMessageToOnePlayer(ProtocolCommands.HELLO + ProtocolCommands.ARGUMENT_SEPARATOR + clientHandler.getName() + ProtocolCommands.ARGUMENT_SEPARATOR + "0,3,4"
+                + ProtocolCommands.ARGUMENT_SEPARATOR + session.getToken(), clientHandler);
+        clientHandler.startSession(session);
+        this.sessions.put(session.getToken(), clientHandler);
+        this.joinChat(clientHandler);
         this.sendMessageToAllPlayers(this.sendPlayerList());
         this.sendMessageToAllPlayers(this.sendQueueLength());
+        this.resumeRecoveredGame();
+    }
+
+    /**
+     * Resume the session of a player who lost the connection, with the new connection of the player. The player is sent
+     * the messages which were sent after the ones the player received, or the state of the game if some of them are no
+     * longer kept in the session. From now on, the ClientHandler of the session reads the new connection, and the
+     * ClientHandler which accepted the new connection is removed.
+     * @param token the resume token of the session, which the player received in the HELLO message
+     * @param numberOfMessagesReceived the number of messages the player received after the HELLO message
+     * @param newClientHandler the ClientHandler which accepted the new connection
+     * @requires newClientHandler != null
+     * @throws E13 if there is no session with this token
+     * @throws E08 if the new connection was already used to connect as a player
+     * @throws NumberFormatException if numberOfMessagesReceived is not a number
+     */
+    public synchronized void resumeSession(String token, String numberOfMessagesReceived, ClientHandler newClientHandler) throws E13, E08 {
+        ClientHandler clientHandler = sessions.get(token);
+        if(clientHandler == null) {
+            throw new E13();
+        }
+        if(newClientHandler.getName() != null) {
+            throw new E08();
+        }
+        long received = Long.parseLong(numberOfMessagesReceived);
+        SessionBacklog session = clientHandler.getSession();
+
+        this.clientHandlerList.remove(newClientHandler);
+        List<String> missedMessages = session.getLinesFrom(received);
+        String resumed = ProtocolCommands.RESUMED + ProtocolCommands.ARGUMENT_SEPARATOR + clientHandler.getName() + ProtocolCommands.ARGUMENT_SEPARATOR;
+        if(missedMessages != null) {
+            clientHandler.reconnect(newClientHandler.getSocket(), newClientHandler.getBufferedReader(), newClientHandler.getBufferedWriter(),
+                    resumed + received, missedMessages);
+        } else {
+            clientHandler.reconnect(newClientHandler.getSocket(), newClientHandler.getBufferedReader(), newClientHandler.getBufferedWriter(),
+                    resumed + session.getNumberOfMessages(), List.of());
+            this.sendState(clientHandler);
+        }
+        newClientHandler.setSocket(null);
+        newClientHandler.setBufferedReader(null);
+        newClientHandler.setBufferedWriter(null);
+        Thread thread = new Thread(clientHandler);
+        thread.start();
+    }
+
+    /**
+     * Send the state of the lobby and of the game to a player whose missed messages are no longer kept: the player list,
+     * the chat history, and for a player of the game in progress the hand, the current player and the question to which
+     * the player did not respond.
+     * @param clientHandler the player
+     */
+    private void sendState(ClientHandler clientHandler) {
+        clientHandler.sendMessageToClient(this.sendPlayerList());
+        synchronized (chatHistory) {
+            String historyFrame = chatHistory.getHistoryFrame();
+            if(chatActive && historyFrame != null) {
+                clientHandler.sendMessageToClient(historyFrame);
+            }
+        }
+        if(this.isInGameInProgress(clientHandler.getName())) {
+            for(Player player : game.getPlayers()) {
+                if(player.getName().equals(clientHandler.getName())) {
+                    clientHandler.sendMessageToClient(ProtocolCommands.SHOW_HAND + ProtocolCommands.ARGUMENT_SEPARATOR + player.getPlayerHandString());
+                }
+            }
+            clientHandler.sendMessageToClient(ProtocolCommands.CURRENT + ProtocolCommands.ARGUMENT_SEPARATOR + game.getCurrentPlayer());
+            String pendingQuestion = clientHandler.getSession().getPendingQuestion();
+            if(pendingQuestion != null) {
+                clientHandler.sendMessageToClient(pendingQuestion);
+            }
+        }
+    }
+
+    /**
+     * Handle a player whose connection was lost. A player of the game in progress keeps the seat and the session, and the
+     * messages sent to the player are kept until the player resumes the session. Another player is removed from the server.
+     * @param clientHandler the player who lost the connection
+     * @requires clientHandler != null
+     */
+    public synchronized void handleDisconnect(ClientHandler clientHandler) {
+        if(clientHandler.isConnected() || !clientHandlerList.contains(clientHandler)) {
+            return;
+        }
+        if(clientHandler.getSession() != null && this.isInGameInProgress(clientHandler.getName())) {
+            return;
+        }
+        this.clientHandlerList.remove(clientHandler);
+        this.chatReceivers.remove(clientHandler);
+        this.forgetSession(clientHandler);
+        if(clientHandler.getName() != null) {
+            this.sendMessageToAllPlayers(this.sendPlayerList());
+            this.sendMessageToAllPlayers(this.sendQueueLength());
+        }
+    }
+
+    /**
+     * Remove the players whose connection was lost and who did not resume their session before a new game.
+     */
+    private void removeDisconnectedPlayers() {
+        for(int i=0; i<clientHandlerList.size(); i++) {
+            ClientHandler clientHandler = clientHandlerList.get(i);
+            if(!clientHandler.isConnected() && clientHandler.getSession() != null) {
+                this.clientHandlerList.remove(i);
+                this.chatReceivers.remove(clientHandler);
+                this.forgetSession(clientHandler);
+                i--;
+            }
+        }
+    }
+
+    private void forgetSession(ClientHandler clientHandler) {
+        if(clientHandler.getSession() != null) {
+            this.sessions.remove(clientHandler.getSession().getToken());
+        }
+    }
+
+    /**
+     * Check if a player is in the game in progress and not out.
+     * @param playerName the name of the player
+     * @return true if the game is not over and the player is one of its players
+     */
+    private boolean isInGameInProgress(String playerName) {
+        if(game == null || game.gameOver()) {
+            return false;
+        }
+        for(Player player : game.getPlayers()) {
+            if(player.getName().equals(playerName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enable the features of the flags of the first connected player.
+     * @param flags the flags separated by ","
+     */
+    private void setFirstPlayerFlags(String flags) {
+        this.firstPlayerFlags = new ArrayList<>(Arrays.asList(flags.split(",")));
+        if(firstPlayerFlags.contains("0")) {
+            this.chatActive = true;
+        }
+        if(firstPlayerFlags.contains("4")) {
+            this.specialCombosActive = true;
+        }
     }
 
     /**
@@ -213,10 +459,17 @@ public class Server {
     }
 
     /**
-     * Create a new NetworkComputerPlayer and connect it to the server.
+     * Create a new NetworkComputerPlayer of a difficulty tier and connect it to the server. The searches of the computer
+     * players of all tables share the BotCpuBudget of the server process.
+     * @param tierName the name of the tier, "easy", "medium" or "hard", or null for the easy tier
+     * @throws E13 if there is no tier with this name
      */
-    public synchronized void addComputerPlayer() {
-        NetworkComputerPlayer networkComputerPlayer = new NetworkComputerPlayer();
+    public synchronized void addComputerPlayer(String tierName) throws E13 {
+        BotTier tier = BotTier.fromName(tierName);
+        if(tier == null) {
+            throw new E13();
+        }
+        NetworkComputerPlayer networkComputerPlayer = new NetworkComputerPlayer(tier.createStrategy(BotCpuBudget.getSharedBudget()));
         networkComputerPlayer.connectToServer();
         Thread thread = new Thread(networkComputerPlayer);
         thread.start();
@@ -231,6 +484,8 @@ public class Server {
             for(ClientHandler clientHandler : this.clientHandlerList) {
                 if(clientHandler.getName().startsWith("Computer")) {
                     this.clientHandlerList.remove(clientHandler);
+                    this.chatReceivers.remove(clientHandler);
+                    this.forgetSession(clientHandler);
                     clientHandler.setSocket(null);
                     clientHandler.setBufferedReader(null);
                     clientHandler.setBufferedWriter(null);
@@ -272,6 +527,7 @@ public class Server {
             throw new E08();
         }
 
+        this.removeDisconnectedPlayers();
         int numberPlayers = Integer.parseInt(numberOfPlayers);
 
         if(numberPlayers == 1) {
@@ -302,6 +558,8 @@ public class Server {
             }
             for(int i=0; i<clientHandlerList.size(); i++) {
                 if(!clientHandlerList.get(i).getName().startsWith("Computer")) {
+                    this.chatReceivers.remove(clientHandlerList.get(i));
+                    this.forgetSession(clientHandlerList.get(i));
                     this.clientHandlerList.remove(i);
                     i--;
                 }
@@ -309,8 +567,17 @@ public class Server {
         }
 
         this.game = new NetworkGame(playersNames);
+        this.game.setJournal(journal);
         this.game.setUpGame();
+        this.recoveredGame = null;
+        this.announceNewGame();
+    }
 
+    /**
+     * Send the hands and the current player of a game which starts or continues, and the names of its players.
+     */
+    private void announceNewGame() {
+        eventBus.publish(GameEvent.GAME_STARTED, null, null, game.getPlayersNames());
         this.playersResponsesAgreeContinueGame = new ArrayList<>();
         for(Player player : game.getPlayers()) {
             playersResponsesAgreeContinueGame.add(false);
@@ -322,6 +589,195 @@ public class Server {
         this.sendMessageToAllPlayers(ProtocolCommands.NEW_GAME + ProtocolCommands.ARGUMENT_SEPARATOR + game.getPlayersNames());
     }
 
+    /**
+     * Journal the games of this server, such that a game in progress can be recovered when the server is started again.
+     * If the journal contains a game which is not over, this game continues as soon as all of its players are connected again.
+     * A snapshot of the game in progress is taken every SNAPSHOT_INTERVAL_MILLIS, so a game is recovered from its last
+     * snapshot and the few records after it.
+     * @param journal the journal, or null to stop journaling new games
+     */
+    public synchronized void setJournal(GameJournal journal) {
+        this.journal = journal;
+        this.recoveredGame = null;
+        if(journal != null) {
+            try {
+                this.recoveredGame = NetworkGame.recover(journal.getRecoveredSnapshot(), journal.getRecoveredRecords());
+            } catch (IllegalStateException e) {
+                System.out.println("Exception " + e);
+            }
+            if(recoveredGame != null && journal.getRecoveredSnapshot() != null && !journal.getRecoveredSnapshot().getFlags().isEmpty()) {
+                this.setFirstPlayerFlags(journal.getRecoveredSnapshot().getFlags());
+            }
+            if(snapshotScheduler == null) {
+                this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "snapshot-scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                snapshotScheduler.scheduleWithFixedDelay(this::takeSnapshot, SNAPSHOT_INTERVAL_MILLIS, SNAPSHOT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Take a snapshot of the game in progress and of the flags of this server, if records were journaled since the last
+     * snapshot. The game only waits while its state is copied, the snapshot is written by the snapshot thread of the journal.
+     */
+    public synchronized void takeSnapshot() {
+        if(journal == null || game == null || game.gameOver() || game.getJournal() != journal) {
+            return;
+        }
+        long records = journal.getNumberOfAppendedRecords();
+        if(records == lastSnapshotRecords) {
+            return;
+        }
+        this.lastSnapshotRecords = records;
+        journal.writeSnapshot(game.takeSnapshot(firstPlayerFlags == null ? "" : String.join(",", firstPlayerFlags)));
+    }
+
+    /**
+     * Continue the recovered game if no game was started since the server started and all of its players are connected.
+     */
+    private void resumeRecoveredGame() {
+        if(recoveredGame == null || game != null) {
+            return;
+        }
+        for(Player player : recoveredGame.getPlayers()) {
+            boolean connected = false;
+            for(ClientHandler clientHandler : clientHandlerList) {
+                if(player.getName().equals(clientHandler.getName())) {
+                    connected = true;
+                }
+            }
+            if(!connected) {
+                return;
+            }
+        }
+        this.game = recoveredGame;
+        this.recoveredGame = null;
+        this.game.setJournal(journal);
+        this.announceNewGame();
+    }
+
+    /**
+     * Keep the lifetime statistics of the players of this server in a store. The statistics of a player are added when the
+     * player is out or wins a game. They are added asynchronously by a listener of the event bus, so they can lag a little
+     * behind the game; getEventBus().flush() waits for them, and stopServer() records them before the store is closed.
+     * @param statsStore the store, or null to stop keeping statistics
+     */
+    public synchronized void setStatsStore(PlayerStatsStore statsStore) {
+        statsRecorder.setStatsStore(statsStore);
+    }
+
+    public synchronized PlayerStatsStore getStatsStore() {
+        return statsRecorder.getStatsStore();
+    }
+
+    /**
+     * Rank the players of this server on a leaderboard, which can be shared with other servers.
+     * @param leaderboard the leaderboard
+     * @requires leaderboard != null
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+        statsRecorder.setLeaderboard(leaderboard);
+    }
+
+    /**
+     * Get the bus on which the events of the games of this server are published. A listener which is added to it, for
+     * example for a metric or a spectator, receives the events on its own thread, so it does not slow down the game.
+     * The statistics and the ratings of the players are kept by a listener of this bus.
+     * @return the bus
+     */
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Create the message with the rank and rating of a player and the best players of the leaderboard. It does not lock
+     * the server, so it does not wait for a game.
+     * @param numberOfPlayers the number of best players, or null for 10
+     * @param playerName the name of the player who asked for the leaderboard
+     * @return the LEADERBOARD message
+     * @throws NumberFormatException if numberOfPlayers is not a number
+     */
+    public String getLeaderboardMessage(String numberOfPlayers, String playerName) throws NumberFormatException {
+        int number = numberOfPlayers == null ? 10 : Math.max(1, Math.min(Leaderboard.MAX_TOP, Integer.parseInt(numberOfPlayers)));
+        Leaderboard currentLeaderboard = this.leaderboard;
+        StringBuilder topPlayers = new StringBuilder();
+        for(String name : currentLeaderboard.getTop(number)) {
+            if(topPlayers.length() > 0) {
+                topPlayers.append(ProtocolCommands.ELEMENT_SEPARATOR);
+            }
+            topPlayers.append(currentLeaderboard.getRank(name)).append(':').append(name).append(':')
+                    .append(Math.round(currentLeaderboard.getRating(name)));
+        }
+        int rank = playerName == null ? 0 : currentLeaderboard.getRank(playerName);
+        long rating = playerName == null ? Math.round(Leaderboard.INITIAL_RATING) : Math.round(currentLeaderboard.getRating(playerName));
+        return ProtocolCommands.LEADERBOARD + ProtocolCommands.ARGUMENT_SEPARATOR + rank + ProtocolCommands.ARGUMENT_SEPARATOR +
+                rating + ProtocolCommands.ARGUMENT_SEPARATOR + currentLeaderboard.getNumberOfPlayers() +
+                ProtocolCommands.ARGUMENT_SEPARATOR + topPlayers;
+    }
+
+    /**
+     * Make this server a room of an arena, which starts a new game of computer players whenever a game is over.
+     * @param arena the arena, or null to stop the arena mode
+     */
+    public synchronized void setArena(Arena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Start a game of the arena mode between the connected computer players. The seats are rotated by one place after
+     * every game, such that every computer player starts from every seat.
+     * @param numberOfPlayers the number of players of the game
+     * @param abandonCurrentGame true to start a new game even if the current game is not over, for example when it is stuck
+     * @requires 2 <= numberOfPlayers <= 5
+     * @return the names of the players in the order of their seats, or null if not enough computer players are connected yet
+     */
+    public synchronized List<String> startArenaGame(int numberOfPlayers, boolean abandonCurrentGame) {
+        if(checkNumberComputerPlayersConnected() != numberOfPlayers || clientHandlerList.size() != numberOfPlayers) {
+            return null;
+        }
+        if(game != null) {
+            if(!game.gameOver() && !abandonCurrentGame) {
+                return null;
+            }
+            // stop the thread of a Shuffle card which was still shuffling when the game was abandoned
+            game.setKeepShuffle(false);
+            Collections.rotate(clientHandlerList, -1);
+            game = null;
+
+            // an abandoned game can be in the middle of a Favor, a combo or a Nope
+            this.favorCardPlayed = false;
+            this.clientHandlerToStealCardFrom = null;
+            this.comboCards = null;
+            this.comboTwoCardsPlayed = false;
+            this.comboThreeCardsPlayed = false;
+            this.stopLastAction = false;
+            this.continueGame = false;
+        }
+        try {
+            this.startNewGame(String.valueOf(numberOfPlayers), clientHandlerList.get(0));
+        } catch (E05 | E08 | E11 | E13 | NumberFormatException e) {
+            System.out.println("Exception " + e);
+            return null;
+        }
+        return new ArrayList<>(Arrays.asList(game.getPlayersNames().split(",")));
+    }
+
+    /**
+     * Check if a game was started or recovered and is not over.
+     * @return true if a game is in progress, false otherwise
+     */
+    public synchronized boolean isGameInProgress() {
+        return game != null && !game.gameOver();
+    }
+
     /**
      * Check how many NetworkComputerPlayer objects are connected to the server.
      * @return an integer which represents the number of computer players connected
@@ -342,7 +798,7 @@ public class Server {
     public synchronized void sendEachPlayerHand() {
         for(ClientHandler clientHandler : clientHandlerList) {
             for(Player player : game.getPlayers()) {
-                if(clientHandler.getName().equals(player.getName())) {
+                if(player.getName().equals(clientHandler.getName())) {
                     clientHandler.sendMessageToClient(ProtocolCommands.SHOW_HAND + ProtocolCommands.ARGUMENT_SEPARATOR + player.getPlayerHandString());
                 }
             }
@@ -399,6 +855,11 @@ public class Server {
             this.comboCards = new ArrayList<>(Arrays.asList(playedCard.split(",")));
             game.checkCombo(this.comboCards, this.specialCombosActive);
         }
+        // when everybody refused to play a Nope card, the card is played again with continueGame set, and it is only
+        // published the first time
+        if(!this.continueGame) {
+            eventBus.publish(GameEvent.CARD_PLAYED, playerName, playedCard, null);
+        }
 
         // if a Nope card was played, update the variable "stopLastAction", discard the Nope card from player's hand, show player his hand of cards
         if(playedCard.equalsIgnoreCase("NOPE")) {
@@ -431,7 +892,7 @@ public class Server {
             // ask only if a Nope card is in the player's hand and the player didn't refuse to play a Nope card yet
             for(ClientHandler clientHandler : this.clientHandlerList) {
                 if(game.getPlayersNames().contains(clientHandler.getName())) {
-                    if(game.hasCard(clientHandler.getName(), "Nope") && !this.playersResponsesAgreeContinueGame.get(this.clientHandlerList.indexOf(clientHandler)) && !clientHandler.getName().equals(playerName) && !clientHandler.getName().equals(this.playerResponseNotNeeded)) {
+                    if(game.hasCard(clientHandler.getName(), "Nope") && !this.playersResponsesAgreeContinueGame.get(this.getResponseIndex(clientHandler)) && !clientHandler.getName().equals(playerName) && !clientHandler.getName().equals(this.playerResponseNotNeeded)) {
                         sendMessageToOnePlayer(ProtocolCommands.ASK_FOR_YESORNO, clientHandler);
                     }
                 }
@@ -512,16 +973,24 @@ public class Server {
         if(!game.getCurrentPlayer().getName().equals(player.getName())) {
             throw new E08();
         }
-        if(game.drawCard(game.getCurrentPlayer()).getCardType().equals(CardType.EXPLODING_KITTEN)) {
+        CardType drawnCardType = game.drawCard(game.getCurrentPlayer()).getCardType();
+        eventBus.publish(GameEvent.CARD_DRAWN, player.getName(), drawnCardType.getCardName(), null);
+        if(drawnCardType.equals(CardType.EXPLODING_KITTEN)) {
             sendMessageToAllPlayers(ProtocolCommands.EXPLODING_KITTEN + ProtocolCommands.ARGUMENT_SEPARATOR + game.getCurrentPlayer().getName());
             if(game.checkForDefuseCard()) {
                 sendMessageToOnePlayer(ProtocolCommands.ASK_FOR_INDEX + ProtocolCommands.ARGUMENT_SEPARATOR +
                         game.getDeck().getDrawPile().size(), this.getClientHandlerByName(game.getCurrentPlayer().getName()));
             } else {
-                sendMessageToAllPlayers(ProtocolCommands.PLAYER_OUT + ProtocolCommands.ARGUMENT_SEPARATOR + game.getCurrentPlayer().getName());
+                String playerOutName = game.getCurrentPlayer().getName();
+                sendMessageToAllPlayers(ProtocolCommands.PLAYER_OUT + ProtocolCommands.ARGUMENT_SEPARATOR + playerOutName);
                 game.playExplodingKittenCard();
+                eventBus.publish(GameEvent.PLAYER_OUT, playerOutName, null, null);
                 if(game.gameOver()) {
                     sendMessageToAllPlayers(ProtocolCommands.GAME_OVER + ProtocolCommands.ARGUMENT_SEPARATOR + game.getCurrentPlayer().getName());
+                    eventBus.publish(GameEvent.GAME_OVER, game.getCurrentPlayer().getName(), null, null);
+                    if(arena != null) {
+                        arena.gameOver(this, game.getCurrentPlayer().getName());
+                    }
                 } else {
                     this.playersResponsesAgreeContinueGame = new ArrayList<>();
                     for(int i=0; i<game.getPlayers().size(); i++) {
@@ -543,6 +1012,7 @@ public class Server {
      * Send a message to all players to announce who is the current player of the game.
      */
     public synchronized void announceCurrentPlayer() {
+        eventBus.publish(GameEvent.CURRENT_PLAYER, game.getCurrentPlayer().getName(), null, null);
         this.sendMessageToAllPlayers(ProtocolCommands.CURRENT + ProtocolCommands.ARGUMENT_SEPARATOR + game.getCurrentPlayer());
     }
 
@@ -566,12 +1036,12 @@ public class Server {
      * @requires response != null, clientHandler != null
      */
     public synchronized void handleResponseNopeCard(String response, ClientHandler clientHandler) throws E13, E08, E07 {
-        if(!game.hasCard(clientHandler.getName(), "Nope") || this.playersResponsesAgreeContinueGame.get(this.clientHandlerList.indexOf(clientHandler)) || clientHandler.getName().equals(this.playerResponseNotNeeded)) {
+        if(!game.hasCard(clientHandler.getName(), "Nope") || this.playersResponsesAgreeContinueGame.get(this.getResponseIndex(clientHandler)) || clientHandler.getName().equals(this.playerResponseNotNeeded)) {
             throw new E08();
         }
 
         if(response.equalsIgnoreCase("NO")) {
-            this.playersResponsesAgreeContinueGame.set(clientHandlerList.indexOf(clientHandler), true);
+            this.playersResponsesAgreeContinueGame.set(this.getResponseIndex(clientHandler), true);
             if(this.checkNobodyPlaysNopeCard() || game.noNopeCardsAtPlayers()) {
                 this.continueGame = true;
                 playCard(this.cardPlayedBeforeNope, game.getCurrentPlayer().getName());
@@ -622,7 +1092,10 @@ public class Server {
             this.clientHandlerToStealCardFrom = this.getClientHandlerByName(response);
             sendMessageToOnePlayer(ProtocolCommands.ASK_FOR_CARDNAME, clientHandlerToStealCardFrom);
         } else if(comboTwoCardsPlayed) {
-            game.playSpecialComboTwoCards(this.getPlayerByName(response));
+            Player playerToStealCardFrom = this.getPlayerByName(response);
+            int numberOfCardsBefore = playerToStealCardFrom.getPlayerHandList().size();
+            game.playSpecialComboTwoCards(playerToStealCardFrom);
+            this.broadcastSteal(playerToStealCardFrom, numberOfCardsBefore, null);
             this.sendEachPlayerHand();
             this.announceCurrentPlayer();
             this.comboTwoCardsPlayed = false;
@@ -651,7 +1124,9 @@ public class Server {
             }
             Player player = this.getPlayerByName(this.clientHandlerToStealCardFrom.getName());
             if(player.getPlayerHandString().toLowerCase().contains(response.toLowerCase())) {
+                int numberOfCardsBefore = player.getPlayerHandList().size();
                 game.playFavorCard(player, response);
+                this.broadcastSteal(player, numberOfCardsBefore, null);
                 sendEachPlayerHand();
                 favorCardPlayed = false;
                 clientHandlerToStealCardFrom = null;
@@ -664,7 +1139,10 @@ public class Server {
             if(!game.getCurrentPlayer().getName().equals(clientHandler.getName())) {
                 throw new E08();
             }
-            game.playSpecialComboThreeCards(this.getPlayerByName(this.clientHandlerToStealCardFrom.getName()), response);
+            Player playerToStealCardFrom = this.getPlayerByName(this.clientHandlerToStealCardFrom.getName());
+            int numberOfCardsBefore = playerToStealCardFrom.getPlayerHandList().size();
+            game.playSpecialComboThreeCards(playerToStealCardFrom, response);
+            this.broadcastSteal(playerToStealCardFrom, numberOfCardsBefore, response);
             this.sendEachPlayerHand();
             this.announceCurrentPlayer();
             this.comboThreeCardsPlayed = false;
@@ -672,6 +1150,24 @@ public class Server {
         }
     }
 
+    /**
+     * Announce to all players that the current player has taken a card from another player.
+     * The name of the card is only announced when the current player asked for it by name, with 3 cards played in combo.
+     * @param victim the player who gave the card
+     * @param numberOfCardsBefore the number of cards the victim had before giving the card
+     * @param cardName the name of the asked card, or null if the card is secret
+     * @requires victim != null
+     */
+    public synchronized void broadcastSteal(Player victim, int numberOfCardsBefore, String cardName) {
+        int numberOfCardsTaken = numberOfCardsBefore - victim.getPlayerHandList().size();
+        String messageToSend = ProtocolCommands.BROADCAST_STEAL + ProtocolCommands.ARGUMENT_SEPARATOR + game.getCurrentPlayer().getName() +
+                ProtocolCommands.ARGUMENT_SEPARATOR + victim.getName() + ProtocolCommands.ARGUMENT_SEPARATOR + numberOfCardsTaken;
+        if(cardName != null) {
+            messageToSend += ProtocolCommands.ARGUMENT_SEPARATOR + cardName;
+        }
+        this.sendMessageToAllPlayers(messageToSend);
+    }
+
     /**
      * Get the Player object by entering his name.
      * @param playerName the name of the player
@@ -688,6 +1184,22 @@ public class Server {
         throw new E13();
     }
 
+    /**
+     * Get the index of the response of a player to the question if they want to play a Nope card. The responses follow the
+     * order of the players in the game, which is shorter than the list of ClientHandlers after a player is out.
+     * @param clientHandler the player
+     * @requires clientHandler != null
+     * @return the index of the player in the game, or -1 if the player is not in the game
+     */
+    private int getResponseIndex(ClientHandler clientHandler) {
+        for(int i=0; i<game.getPlayers().size(); i++) {
+            if(game.getPlayers().get(i).getName().equals(clientHandler.getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Check if all players have responded with "no" to the question if they want to play a Nope card.
      * @return true if nobody wants to play a Nope card, false otherwise
@@ -741,6 +1253,28 @@ public class Server {
     public static void main(String[] args) {
         Server explodingKittensServer = new Server();
         explodingKittensServer.startServer();
+        if(System.getProperty("journal.dir") != null) {
+            try {
+                explodingKittensServer.setJournal(new GameJournal(Paths.get(System.getProperty("journal.dir"))));
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        }
+        if(System.getProperty("stats.file") != null) {
+            try {
+                PlayerStatsStore statsStore = new PlayerStatsStore(Paths.get(System.getProperty("stats.file")));
+                explodingKittensServer.setStatsStore(statsStore);
+                explodingKittensServer.setLeaderboard(new Leaderboard(statsStore));
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            explodingKittensServer.stopServer();
+            if(explodingKittensServer.getStatsStore() != null) {
+                explodingKittensServer.getStatsStore().close();
+            }
+        }));
         explodingKittensServer.listenForConnections();
     }
 }
@@ -0,0 +1,77 @@
+package network.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class for a finished game read from a GameArchive: the seed of its randomness, the names of its players, its flags and
+ * its actions, in the format of the actions of GameReplay. The hashes of the states are not archived, toReplay() computes
+ * them again by replaying the game.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class ArchivedGame {
+    private final long seed;
+    private final List<String> names;
+    private final int flags;
+    private final int[] actions;
+
+    /**
+     * Create an ArchivedGame.
+     * @param seed the seed of the randomness of the game
+     * @param names the names of the players, in the order of the seats
+     * @param flags the flags of the game, bit n is set if protocol flag n was enabled
+     * @param actions the actions of the game
+     * @requires names != null, actions != null
+     */
+    public ArchivedGame(long seed, List<String> names, int flags, int[] actions) {
+        this.seed = seed;
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        this.flags = flags;
+        this.actions = actions;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * Check if a protocol flag was enabled in the game.
+     * @param flag the number of the flag, for example 0 for the chat
+     * @requires 0 <= flag < 8
+     * @return true if the flag was enabled
+     */
+    public boolean hasFlag(int flag) {
+        return (flags & (1 << flag)) != 0;
+    }
+
+    public int getNumberOfActions() {
+        return actions.length;
+    }
+
+    public int getAction(int index) {
+        return actions[index];
+    }
+
+    /**
+     * Replay the game to get its GameReplay, with the hash of the state after each action.
+     * @return the replay
+     * @throws RuntimeException if an action cannot be applied, because the rules changed since the game was archived
+     */
+    public GameReplay toReplay() {
+        GameReplay replay = new GameReplay(seed, names);
+        NetworkGame game = replay.newGame();
+        for(int action : actions) {
+            replay.record(game, action);
+        }
+        return replay;
+    }
+}
@@ -0,0 +1,352 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class which plays many simulated games in parallel and measures the balance of the game: the win rate of each seat,
+ * where seat 0 always starts as in Game, for each number of players, the win rate by the number of cards of each type in the
+ * starting hand dealt by SimulatedGame.setUpGame(), which deals as Game.setUpGame(), and the distribution of the length
+ * of the games. The players choose random actions, as in SimulatedGame.playRandomGame().
+ * Every simulation thread counts its games in its own Tally and adds it to the shared counters after a batch of games,
+ * with atomic additions, so the threads never wait for a lock and the results can be read while the analysis runs.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class BalanceAnalyzer {
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 5;
+    public static final int MAX_STARTING_CARDS = 8;
+    public static final int MAX_GAME_LENGTH = 512;
+    private static final int NUMBER_OF_TYPES = SimulatedGame.NUMBER_OF_TYPES;
+    private static final int MERGE_INTERVAL = 4096;
+
+    // the counters of the games with n players start at index (n - MIN_PLAYERS) * size of the counters of one player count
+    private final AtomicLongArray games;
+    private final AtomicLongArray unfinishedGames;
+    private final AtomicLongArray winsBySeat;
+    private final AtomicLongArray startingHands;
+    private final AtomicLongArray startingHandWins;
+    private final AtomicLongArray gameLengths;
+
+    /**
+     * Create a BalanceAnalyzer without games.
+     */
+    public BalanceAnalyzer() {
+        int playerCounts = MAX_PLAYERS - MIN_PLAYERS + 1;
+        this.games = new AtomicLongArray(playerCounts);
+        this.unfinishedGames = new AtomicLongArray(playerCounts);
+        this.winsBySeat = new AtomicLongArray(playerCounts * MAX_PLAYERS);
+        this.startingHands = new AtomicLongArray(playerCounts * NUMBER_OF_TYPES * (MAX_STARTING_CARDS + 1));
+        this.startingHandWins = new AtomicLongArray(playerCounts * NUMBER_OF_TYPES * (MAX_STARTING_CARDS + 1));
+        this.gameLengths = new AtomicLongArray(playerCounts * (MAX_GAME_LENGTH + 1));
+    }
+
+    /**
+     * Play simulated games on several threads and add them to the results.
+     * @param numberOfGames the number of games
+     * @param numberOfPlayers the number of players of each game
+     * @param numberOfThreads the number of simulation threads
+     * @param seed the seed of the random games, the same seed and number of threads give the same results
+     * @requires numberOfGames >= 0, MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS, numberOfThreads >= 1
+     * @throws InterruptedException if the calling thread is interrupted while it waits for the simulation threads
+     */
+    public void analyze(long numberOfGames, int numberOfPlayers, int numberOfThreads, long seed) throws InterruptedException {
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        List<Thread> threads = new ArrayList<>();
+        for(int i=0; i<numberOfThreads; i++) {
+            long gamesOfThread = numberOfGames / numberOfThreads + (i < numberOfGames % numberOfThreads ? 1 : 0);
+            SplittableRandom random = seedRandom.split();
+            Thread thread = new Thread(() -> this.simulateGames(gamesOfThread, numberOfPlayers, random), "balance-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Play games on the calling thread and add their results in batches.
+     */
+    private void simulateGames(long numberOfGames, int numberOfPlayers, SplittableRandom random) {
+        SimulatedGame game = new SimulatedGame(numberOfPlayers);
+        Tally tally = new Tally(numberOfPlayers);
+        int[][] startingHand = new int[numberOfPlayers][NUMBER_OF_TYPES];
+        int[] actions = new int[SimulatedGame.NUMBER_OF_ACTIONS];
+
+        for(long i=0; i<numberOfGames; i++) {
+            game.setUpGame(random);
+            for(int player=0; player<numberOfPlayers; player++) {
+                for(int type=0; type<NUMBER_OF_TYPES; type++) {
+                    startingHand[player][type] = Math.min(MAX_STARTING_CARDS, game.getCards(player, CardType.values()[type]));
+                }
+            }
+            while(!game.isOver()) {
+                int action = game.chooseRandomAction(random, actions);
+                if(action < 0) {
+                    break;
+                }
+                game.play(action, random);
+            }
+            tally.add(startingHand, game.getWinner(), game.getNumberOfMoves());
+            if(tally.games == MERGE_INTERVAL) {
+                this.merge(tally);
+            }
+        }
+        this.merge(tally);
+    }
+
+    /**
+     * Add the counts of a thread to the shared counters and clear them.
+     */
+    private void merge(Tally tally) {
+        int playerCount = tally.numberOfPlayers - MIN_PLAYERS;
+        games.addAndGet(playerCount, tally.games);
+        unfinishedGames.addAndGet(playerCount, tally.unfinishedGames);
+        addAll(winsBySeat, playerCount * MAX_PLAYERS, tally.winsBySeat);
+        addAll(startingHands, playerCount * tally.startingHands.length, tally.startingHands);
+        addAll(startingHandWins, playerCount * tally.startingHandWins.length, tally.startingHandWins);
+        addAll(gameLengths, playerCount * tally.gameLengths.length, tally.gameLengths);
+        tally.clear();
+    }
+
+    private static void addAll(AtomicLongArray counters, int offset, long[] values) {
+        for(int i=0; i<values.length; i++) {
+            if(values[i] != 0) {
+                counters.addAndGet(offset + i, values[i]);
+            }
+        }
+    }
+
+    /**
+     * Get the number of games played with a number of players, including the games which could not be finished.
+     * @param numberOfPlayers the number of players
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS
+     * @return the number of games
+     */
+    public long getNumberOfGames(int numberOfPlayers) {
+        return games.get(numberOfPlayers - MIN_PLAYERS);
+    }
+
+    /**
+     * Get the number of games with a number of players which ended without a winner, because the current player could not move.
+     * @param numberOfPlayers the number of players
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS
+     * @return the number of unfinished games
+     */
+    public long getNumberOfUnfinishedGames(int numberOfPlayers) {
+        return unfinishedGames.get(numberOfPlayers - MIN_PLAYERS);
+    }
+
+    /**
+     * Get the number of games won by a seat.
+     * @param numberOfPlayers the number of players
+     * @param seat the seat, 0 is the player who starts
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS, 0 <= seat < numberOfPlayers
+     * @return the number of wins
+     */
+    public long getWins(int numberOfPlayers, int seat) {
+        return winsBySeat.get((numberOfPlayers - MIN_PLAYERS) * MAX_PLAYERS + seat);
+    }
+
+    /**
+     * Get the fraction of the finished games won by a seat.
+     * @param numberOfPlayers the number of players
+     * @param seat the seat, 0 is the player who starts
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS, 0 <= seat < numberOfPlayers
+     * @return the win rate between 0 and 1, or 0 if no game is finished
+     */
+    public double getWinRate(int numberOfPlayers, int seat) {
+        long finishedGames = this.getNumberOfGames(numberOfPlayers) - this.getNumberOfUnfinishedGames(numberOfPlayers);
+        return finishedGames == 0 ? 0 : (double) this.getWins(numberOfPlayers, seat) / finishedGames;
+    }
+
+    /**
+     * Get the number of starting hands with a number of cards of a type, over all seats.
+     * @param numberOfPlayers the number of players
+     * @param cardType the type of the cards
+     * @param numberOfCards the number of cards of this type in the starting hand, where MAX_STARTING_CARDS counts all larger numbers
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS, cardType != null, 0 <= numberOfCards <= MAX_STARTING_CARDS
+     * @return the number of starting hands
+     */
+    public long getNumberOfStartingHands(int numberOfPlayers, CardType cardType, int numberOfCards) {
+        return startingHands.get(this.getStartingHandIndex(numberOfPlayers, cardType, numberOfCards));
+    }
+
+    /**
+     * Get the fraction of the starting hands with a number of cards of a type which won their game.
+     * @param numberOfPlayers the number of players
+     * @param cardType the type of the cards
+     * @param numberOfCards the number of cards of this type in the starting hand
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS, cardType != null, 0 <= numberOfCards <= MAX_STARTING_CARDS
+     * @return the win rate between 0 and 1, or 0 if there is no such starting hand
+     */
+    public double getWinRateByStartingCards(int numberOfPlayers, CardType cardType, int numberOfCards) {
+        int index = this.getStartingHandIndex(numberOfPlayers, cardType, numberOfCards);
+        long hands = startingHands.get(index);
+        return hands == 0 ? 0 : (double) startingHandWins.get(index) / hands;
+    }
+
+    private int getStartingHandIndex(int numberOfPlayers, CardType cardType, int numberOfCards) {
+        return ((numberOfPlayers - MIN_PLAYERS) * NUMBER_OF_TYPES + cardType.ordinal()) * (MAX_STARTING_CARDS + 1) + numberOfCards;
+    }
+
+    /**
+     * Get the number of games which lasted a number of moves.
+     * @param numberOfPlayers the number of players
+     * @param numberOfMoves the number of moves, where MAX_GAME_LENGTH counts all longer games
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS, 0 <= numberOfMoves <= MAX_GAME_LENGTH
+     * @return the number of games
+     */
+    public long getNumberOfGamesOfLength(int numberOfPlayers, int numberOfMoves) {
+        return gameLengths.get((numberOfPlayers - MIN_PLAYERS) * (MAX_GAME_LENGTH + 1) + numberOfMoves);
+    }
+
+    /**
+     * Get the average number of moves of the games.
+     * @param numberOfPlayers the number of players
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS
+     * @return the average length, or 0 if there is no game
+     */
+    public double getAverageGameLength(int numberOfPlayers) {
+        long count = 0;
+        long total = 0;
+        for(int length=0; length<=MAX_GAME_LENGTH; length++) {
+            long gamesOfLength = this.getNumberOfGamesOfLength(numberOfPlayers, length);
+            count += gamesOfLength;
+            total += gamesOfLength * length;
+        }
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Get a percentile of the number of moves of the games.
+     * @param numberOfPlayers the number of players
+     * @param fraction the fraction of the games which are not longer than the result, for example 0.5 for the median
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS, 0 <= fraction <= 1
+     * @return the smallest length such that at least this fraction of the games is not longer, or 0 if there is no game
+     */
+    public int getGameLengthPercentile(int numberOfPlayers, double fraction) {
+        long numberOfGames = this.getNumberOfGames(numberOfPlayers);
+        long count = 0;
+        for(int length=0; length<=MAX_GAME_LENGTH; length++) {
+            count += this.getNumberOfGamesOfLength(numberOfPlayers, length);
+            if(count > 0 && count >= fraction * numberOfGames) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Describe the results for a number of players: the win rate of each seat with its 95% confidence interval, the
+     * distribution of the game length, and for each card type the win rate by the number of cards in the starting hand.
+     * @param numberOfPlayers the number of players
+     * @requires MIN_PLAYERS <= numberOfPlayers <= MAX_PLAYERS
+     * @return the report
+     */
+    public String report(int numberOfPlayers) {
+        long numberOfGames = this.getNumberOfGames(numberOfPlayers);
+        long finishedGames = numberOfGames - this.getNumberOfUnfinishedGames(numberOfPlayers);
+        StringBuilder result = new StringBuilder(String.format("%d players: %d games, %d unfinished%n", numberOfPlayers,
+                numberOfGames, numberOfGames - finishedGames));
+        for(int seat=0; seat<numberOfPlayers; seat++) {
+            double winRate = this.getWinRate(numberOfPlayers, seat);
+            double margin = finishedGames == 0 ? 0 : 1.96 * Math.sqrt(winRate * (1 - winRate) / finishedGames);
+            result.append(String.format("  seat %d: %.2f%% +- %.2f%% (fair %.2f%%)%n", seat, 100 * winRate, 100 * margin,
+                    100.0 / numberOfPlayers));
+        }
+        result.append(String.format("  game length: average %.1f, p10 %d, median %d, p90 %d, p99 %d moves%n",
+                this.getAverageGameLength(numberOfPlayers), this.getGameLengthPercentile(numberOfPlayers, 0.1),
+                this.getGameLengthPercentile(numberOfPlayers, 0.5), this.getGameLengthPercentile(numberOfPlayers, 0.9),
+                this.getGameLengthPercentile(numberOfPlayers, 0.99)));
+        for(CardType cardType : CardType.values()) {
+            StringBuilder line = new StringBuilder();
+            for(int numberOfCards=0; numberOfCards<=MAX_STARTING_CARDS; numberOfCards++) {
+                if(this.getNumberOfStartingHands(numberOfPlayers, cardType, numberOfCards) > 0) {
+                    line.append(String.format(" %d=%.2f%%", numberOfCards,
+                            100 * this.getWinRateByStartingCards(numberOfPlayers, cardType, numberOfCards)));
+                }
+            }
+            if(line.length() > 0) {
+                result.append("  ").append(cardType.getCardName()).append(" in starting hand:").append(line).append(System.lineSeparator());
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * The counts of one simulation thread since its last merge.
+     */
+    private static class Tally {
+        private final int numberOfPlayers;
+        private final long[] winsBySeat;
+        private final long[] startingHands;
+        private final long[] startingHandWins;
+        private final long[] gameLengths;
+        private long games;
+        private long unfinishedGames;
+
+        private Tally(int numberOfPlayers) {
+            this.numberOfPlayers = numberOfPlayers;
+            this.winsBySeat = new long[MAX_PLAYERS];
+            this.startingHands = new long[NUMBER_OF_TYPES * (MAX_STARTING_CARDS + 1)];
+            this.startingHandWins = new long[NUMBER_OF_TYPES * (MAX_STARTING_CARDS + 1)];
+            this.gameLengths = new long[MAX_GAME_LENGTH + 1];
+        }
+
+        private void add(int[][] startingHand, int winner, int numberOfMoves) {
+            games += 1;
+            gameLengths[Math.min(numberOfMoves, MAX_GAME_LENGTH)] += 1;
+            if(winner < 0) {
+                unfinishedGames += 1;
+            } else {
+                winsBySeat[winner] += 1;
+            }
+            for(int player=0; player<numberOfPlayers; player++) {
+                for(int type=0; type<NUMBER_OF_TYPES; type++) {
+                    int index = type * (MAX_STARTING_CARDS + 1) + startingHand[player][type];
+                    startingHands[index] += 1;
+                    if(player == winner) {
+                        startingHandWins[index] += 1;
+                    }
+                }
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(winsBySeat, 0);
+            Arrays.fill(startingHands, 0);
+            Arrays.fill(startingHandWins, 0);
+            Arrays.fill(gameLengths, 0);
+            games = 0;
+            unfinishedGames = 0;
+        }
+    }
+
+    /**
+     * Analyze the balance of the game. The arguments are optional: numbers of players separated by commas, number of games
+     * for each number of players, threads and seed. For example: 2,3,4,5 1000000 8 1
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String[] playerCounts = (args.length > 0 ? args[0] : "2,3,4,5").split(",");
+        long numberOfGames = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        int numberOfThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        BalanceAnalyzer analyzer = new BalanceAnalyzer();
+        for(String playerCount : playerCounts) {
+            int numberOfPlayers = Integer.parseInt(playerCount.trim());
+            long start = System.nanoTime();
+            analyzer.analyze(numberOfGames, numberOfPlayers, numberOfThreads, seed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.print(analyzer.report(numberOfPlayers));
+            System.out.printf("  %.1f s (%.0f games per second)%n", seconds, numberOfGames / seconds);
+        }
+    }
+}
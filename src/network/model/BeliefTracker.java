@@ -0,0 +1,394 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class which keeps track of everything a computer player can observe about the cards of a network Exploding Kittens game.
+ * It knows the composition of the deck at the start of the game, how many cards of each type have not been seen yet,
+ * which positions of the draw pile are known (from See The Future and Defuse) and the probability that the top card
+ * of the draw pile is an Exploding Kitten.
+ * Every observed event is handled in constant time, such that a strategy can query the tracker on every decision.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class BeliefTracker {
+    private static final int NUMBER_OF_TYPES = CardType.values().length;
+    private static final int MAX_DRAW_PILE_SIZE = 64;
+    private static final int INITIAL_HAND_SIZE = 8;
+
+    private final int[] cardsInGame;
+    private final int[] discardedCards;
+    private final int[] myHand;
+    private final Map<String, Integer> opponentsHandSizes;
+    private String myName;
+    private int drawPileSize;
+    private int explodingKittensRemoved;
+    private int cardsRemovedWithPlayers;
+    private String playerHoldingExplodingKitten;
+    private int myInsertIndex;
+
+    // known cards of the draw pile, indexed from the bottom of the draw pile such that drawing a card does not move them
+    private final byte[] knownCards;
+    private final int[] knownCardsStamp;
+    private final int[] knownCardsPerType;
+    private int numberKnownCards;
+    private int stamp;
+
+    /**
+     * Create a BeliefTracker. The tracker does not know anything until startNewGame() is called.
+     */
+    public BeliefTracker() {
+        this.cardsInGame = new int[NUMBER_OF_TYPES];
+        this.discardedCards = new int[NUMBER_OF_TYPES];
+        this.myHand = new int[NUMBER_OF_TYPES];
+        this.opponentsHandSizes = new HashMap<>();
+        this.knownCards = new byte[MAX_DRAW_PILE_SIZE];
+        this.knownCardsStamp = new int[MAX_DRAW_PILE_SIZE];
+        this.knownCardsPerType = new int[NUMBER_OF_TYPES];
+        this.stamp = 1;
+        this.myInsertIndex = -1;
+    }
+
+    /**
+     * Reset the tracker for a new game.
+     * The composition of the cards is the same as the one made by Deck.generateCards() and Deck.setUpDeck().
+     * @param playersNames the names of the players of the new game
+     * @param myName the name of the computer player which uses this tracker
+     * @requires playersNames != null, myName != null
+     */
+    public void startNewGame(List<String> playersNames, String myName) {
+        int numberOfPlayers = playersNames.size();
+        this.myName = myName;
+        Arrays.fill(cardsInGame, 4);
+        cardsInGame[CardType.NOPE.ordinal()] = 5;
+        cardsInGame[CardType.SEE_THE_FUTURE.ordinal()] = 5;
+        cardsInGame[CardType.EXPLODING_KITTEN.ordinal()] = numberOfPlayers - 1;
+        int defuseCardsInDrawPile = numberOfPlayers == 5 ? 1 : 2;
+        cardsInGame[CardType.DEFUSE.ordinal()] = numberOfPlayers + defuseCardsInDrawPile;
+
+        Arrays.fill(discardedCards, 0);
+        opponentsHandSizes.clear();
+        for(String playerName : playersNames) {
+            if(!playerName.equals(myName)) {
+                opponentsHandSizes.put(playerName, INITIAL_HAND_SIZE);
+            }
+        }
+        this.drawPileSize = 46 - 7 * numberOfPlayers + (numberOfPlayers - 1) + defuseCardsInDrawPile;
+        this.explodingKittensRemoved = 0;
+        this.cardsRemovedWithPlayers = 0;
+        this.playerHoldingExplodingKitten = null;
+        this.myInsertIndex = -1;
+        this.forgetKnownCards();
+    }
+
+    /**
+     * Update the hand of the computer player. This method is called each time the server sends SHOW_HAND.
+     * @param cards the names of the cards in the hand of the computer player
+     * @requires cards != null
+     */
+    public void updateMyHand(List<String> cards) {
+        Arrays.fill(myHand, 0);
+        for(String card : cards) {
+            CardType cardType = CardType.fromCardName(card);
+            if(cardType != null) {
+                myHand[cardType.ordinal()] += 1;
+            }
+        }
+    }
+
+    /**
+     * A player has played one or more cards of the same type. The cards are now in the discard pile.
+     * @param playerName the name of the player who played the cards
+     * @param cardType the type of the played cards
+     * @param numberOfCards how many cards were played
+     * @requires playerName != null, cardType != null
+     * @ensures if a Shuffle card was played, the known positions of the draw pile are forgotten
+     */
+    public void cardsPlayed(String playerName, CardType cardType, int numberOfCards) {
+        discardedCards[cardType.ordinal()] += numberOfCards;
+        this.changeHandSize(playerName, -numberOfCards);
+        if(cardType == CardType.SHUFFLE) {
+            this.forgetKnownCards();
+        }
+    }
+
+    /**
+     * A player took a card from the draw pile which was not an Exploding Kitten.
+     * @param playerName the name of the player who took the card
+     * @requires playerName != null
+     */
+    public void cardDrawn(String playerName) {
+        this.removeTopCard();
+        this.changeHandSize(playerName, 1);
+    }
+
+    /**
+     * A player took an Exploding Kitten from the draw pile. Until the player defuses it or is out of the game,
+     * the Exploding Kitten is not in the draw pile.
+     * @param playerName the name of the player who took the Exploding Kitten
+     * @requires playerName != null
+     */
+    public void explodingKittenDrawn(String playerName) {
+        this.removeTopCard();
+        this.playerHoldingExplodingKitten = playerName;
+    }
+
+    /**
+     * The computer player itself inserts the Exploding Kitten back, so its position in the draw pile is known.
+     * @param index the index where the Exploding Kitten is inserted, counted from the bottom of the draw pile
+     */
+    public void insertExplodingKitten(int index) {
+        this.myInsertIndex = index;
+    }
+
+    /**
+     * This method is called when the server announces the current player. If a player took an Exploding Kitten and
+     * was not removed from the game, he has used a Defuse card and the Exploding Kitten is back in the draw pile.
+     * @ensures if the position of the Exploding Kitten is not known, the known positions of the draw pile are forgotten
+     */
+    public void turnAnnounced() {
+        if(playerHoldingExplodingKitten == null) {
+            return;
+        }
+        discardedCards[CardType.DEFUSE.ordinal()] += 1;
+        this.changeHandSize(playerHoldingExplodingKitten, -1);
+        if(playerHoldingExplodingKitten.equals(myName) && myInsertIndex >= 0 && myInsertIndex <= drawPileSize) {
+            this.insertKnownCard(myInsertIndex, CardType.EXPLODING_KITTEN);
+        } else {
+            drawPileSize += 1;
+            this.forgetKnownCards();
+        }
+        this.playerHoldingExplodingKitten = null;
+        this.myInsertIndex = -1;
+    }
+
+    /**
+     * A player has taken cards from another player, with a Favor card or with cards played in combo.
+     * @param thief the name of the player who took the cards
+     * @param victim the name of the player who gave the cards
+     * @param numberOfCards the number of cards which were taken
+     * @requires thief != null, victim != null
+     */
+    public void cardsStolen(String thief, String victim, int numberOfCards) {
+        this.changeHandSize(thief, numberOfCards);
+        this.changeHandSize(victim, -numberOfCards);
+    }
+
+    /**
+     * A player is out of the game. The Exploding Kitten and the cards of the player are removed from the game.
+     * @param playerName the name of the player who is out of the game
+     * @requires playerName != null
+     */
+    public void playerOut(String playerName) {
+        explodingKittensRemoved += 1;
+        Integer handSize = opponentsHandSizes.remove(playerName);
+        if(handSize != null) {
+            cardsRemovedWithPlayers += handSize;
+        }
+        if(playerName.equals(playerHoldingExplodingKitten)) {
+            playerHoldingExplodingKitten = null;
+        }
+    }
+
+    /**
+     * The computer player has played See The Future and received the first cards from the top of the draw pile.
+     * @param cards the names of the cards, starting with the top card of the draw pile
+     * @requires cards != null
+     */
+    public void seeTheFuture(List<String> cards) {
+        for(int i=0; i<cards.size() && i<drawPileSize; i++) {
+            CardType cardType = CardType.fromCardName(cards.get(i));
+            if(cardType != null) {
+                this.setKnownCard(drawPileSize - 1 - i, cardType);
+            }
+        }
+    }
+
+    /**
+     * The server has sent the exact size of the draw pile, for example in ASK_FOR_INDEX.
+     * @param drawPileSize the size of the draw pile
+     */
+    public void synchronizeDrawPileSize(int drawPileSize) {
+        if(drawPileSize != this.drawPileSize) {
+            this.drawPileSize = drawPileSize;
+            this.forgetKnownCards();
+        }
+    }
+
+    /**
+     * Get the player who took an Exploding Kitten and has not defused it yet.
+     * @return the name of the player, or null if nobody is holding an Exploding Kitten
+     */
+    public String getPlayerHoldingExplodingKitten() {
+        return playerHoldingExplodingKitten;
+    }
+
+    /**
+     * Get the number of cards of a type in the hand of the computer player.
+     * @param cardType the type of the cards
+     * @requires cardType != null
+     * @return the number of cards of this type in the hand of the computer player
+     */
+    public int getMyCards(CardType cardType) {
+        return myHand[cardType.ordinal()];
+    }
+
+    /**
+     * Get the number of cards of a type which have been played or used to defuse an Exploding Kitten.
+     * @param cardType the type of the cards
+     * @requires cardType != null
+     * @return the number of discarded cards of this type
+     */
+    public int getDiscardedCards(CardType cardType) {
+        return discardedCards[cardType.ordinal()];
+    }
+
+    /**
+     * Get the size of the draw pile.
+     * @return the number of cards in the draw pile
+     */
+    public int getDrawPileSize() {
+        return drawPileSize;
+    }
+
+    /**
+     * Get how many cards of a type have not been seen by the computer player. These cards are either in the draw pile
+     * or in the hands of the other players.
+     * @param cardType the type of the cards
+     * @requires cardType != null
+     * @return the number of unseen cards of this type
+     */
+    public int getRemainingCards(CardType cardType) {
+        int remaining = cardsInGame[cardType.ordinal()] - discardedCards[cardType.ordinal()] - myHand[cardType.ordinal()];
+        if(cardType == CardType.EXPLODING_KITTEN) {
+            remaining -= explodingKittensRemoved;
+        }
+        return Math.max(0, remaining);
+    }
+
+    /**
+     * Get the card at a known position of the draw pile.
+     * @param positionFromTop the position of the card, 0 is the top of the draw pile
+     * @return the type of the card, or null if this position is not known
+     */
+    public CardType getKnownCard(int positionFromTop) {
+        int index = drawPileSize - 1 - positionFromTop;
+        if(index < 0 || index >= MAX_DRAW_PILE_SIZE || knownCardsStamp[index] != stamp) {
+            return null;
+        }
+        return CardType.values()[knownCards[index]];
+    }
+
+    /**
+     * Get the number of Exploding Kittens which are in the draw pile.
+     * @return the number of Exploding Kittens in the draw pile
+     */
+    public int getExplodingKittensInDrawPile() {
+        int inDrawPile = this.getRemainingCards(CardType.EXPLODING_KITTEN);
+        if(playerHoldingExplodingKitten != null) {
+            inDrawPile -= 1;
+        }
+        return Math.max(0, inDrawPile);
+    }
+
+    /**
+     * Get the probability that the top card of the draw pile is an Exploding Kitten.
+     * @return 1 or 0 if the top card is known, otherwise the number of Exploding Kittens which are not at a known position
+     * divided by the number of unknown positions of the draw pile
+     */
+    public double getProbabilityTopIsExplodingKitten() {
+        if(drawPileSize == 0) {
+            return 0;
+        }
+        CardType topCard = this.getKnownCard(0);
+        if(topCard != null) {
+            return topCard == CardType.EXPLODING_KITTEN ? 1 : 0;
+        }
+        int unknownPositions = drawPileSize - numberKnownCards;
+        int unknownExplodingKittens = this.getExplodingKittensInDrawPile() - knownCardsPerType[CardType.EXPLODING_KITTEN.ordinal()];
+        if(unknownPositions <= 0 || unknownExplodingKittens <= 0) {
+            return 0;
+        }
+        return Math.min(1, (double) unknownExplodingKittens / unknownPositions);
+    }
+
+    /**
+     * Get the estimated number of cards in the hand of another player.
+     * @param playerName the name of the player
+     * @requires playerName != null
+     * @return the estimated number of cards, or 0 if the player is not in the game
+     */
+    public int getHandSize(String playerName) {
+        return opponentsHandSizes.getOrDefault(playerName, 0);
+    }
+
+    /**
+     * Get the number of cards of the other players which have been removed from the game together with their owners.
+     * @return the number of removed cards
+     */
+    public int getCardsRemovedWithPlayers() {
+        return cardsRemovedWithPlayers;
+    }
+
+    private void changeHandSize(String playerName, int change) {
+        Integer handSize = opponentsHandSizes.get(playerName);
+        if(handSize != null) {
+            opponentsHandSizes.put(playerName, Math.max(0, handSize + change));
+        }
+    }
+
+    private void removeTopCard() {
+        if(drawPileSize == 0) {
+            return;
+        }
+        drawPileSize -= 1;
+        if(drawPileSize < MAX_DRAW_PILE_SIZE && knownCardsStamp[drawPileSize] == stamp) {
+            knownCardsStamp[drawPileSize] = 0;
+            knownCardsPerType[knownCards[drawPileSize]] -= 1;
+            numberKnownCards -= 1;
+        }
+    }
+
+    private void setKnownCard(int index, CardType cardType) {
+        if(index < 0 || index >= MAX_DRAW_PILE_SIZE) {
+            return;
+        }
+        if(knownCardsStamp[index] == stamp) {
+            knownCardsPerType[knownCards[index]] -= 1;
+        } else {
+            numberKnownCards += 1;
+        }
+        knownCards[index] = (byte) cardType.ordinal();
+        knownCardsStamp[index] = stamp;
+        knownCardsPerType[cardType.ordinal()] += 1;
+    }
+
+    /**
+     * Insert a card at a known index. The known cards above this index move up by one position.
+     * This is the only update which is not constant in time, but it happens at most once for each Defuse card.
+     */
+    private void insertKnownCard(int index, CardType cardType) {
+        if(drawPileSize + 1 > MAX_DRAW_PILE_SIZE) {
+            drawPileSize += 1;
+            this.forgetKnownCards();
+            return;
+        }
+        for(int i=drawPileSize; i>index; i--) {
+            knownCards[i] = knownCards[i - 1];
+            knownCardsStamp[i] = knownCardsStamp[i - 1];
+        }
+        knownCardsStamp[index] = 0;
+        drawPileSize += 1;
+        this.setKnownCard(index, cardType);
+    }
+
+    private void forgetKnownCards() {
+        stamp += 1;
+        numberKnownCards = 0;
+        Arrays.fill(knownCardsPerType, 0);
+    }
+}
@@ -0,0 +1,105 @@
+package network.model;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class which limits the number of threads that all computer players of a process may use for searching at the same time,
+ * across all tables. A search takes as many threads as it wants and are free, without waiting; when no thread is free,
+ * the computer player must play a move which needs no search. This keeps the threads that read and write the sockets
+ * responsive when many strong computer players search at once.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class BotCpuBudget {
+    public static final String THREADS_PROPERTY = "bot.cpu.threads";
+    private static final BotCpuBudget sharedBudget = new BotCpuBudget(Integer.getInteger(THREADS_PROPERTY,
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1)));
+
+    private final int maxThreads;
+    private final Semaphore freeThreads;
+    private final LongAdder grantedRequests;
+    private final LongAdder deniedRequests;
+
+    /**
+     * Create a BotCpuBudget.
+     * @param maxThreads the number of search threads which may run at the same time
+     * @requires maxThreads >= 1
+     */
+    public BotCpuBudget(int maxThreads) {
+        this.maxThreads = maxThreads;
+        this.freeThreads = new Semaphore(maxThreads);
+        this.grantedRequests = new LongAdder();
+        this.deniedRequests = new LongAdder();
+    }
+
+    /**
+     * Get the budget shared by all computer players of this process. By default, it leaves one core free for the other
+     * threads of the process, and it can be set with the system property bot.cpu.threads.
+     * @return the shared budget
+     */
+    public static BotCpuBudget getSharedBudget() {
+        return sharedBudget;
+    }
+
+    /**
+     * Take threads for a search, without waiting.
+     * @param wantedThreads the number of threads the search would like to use
+     * @requires wantedThreads >= 1
+     * @return the number of threads taken, between 0 and wantedThreads, which must be given back with release()
+     */
+    public int acquire(int wantedThreads) {
+        int threads = 0;
+        while(threads < wantedThreads && freeThreads.tryAcquire()) {
+            threads += 1;
+        }
+        if(threads == 0) {
+            deniedRequests.increment();
+        } else {
+            grantedRequests.increment();
+        }
+        return threads;
+    }
+
+    /**
+     * Give back threads which were taken with acquire().
+     * @param threads the number of threads
+     * @requires threads >= 0
+     */
+    public void release(int threads) {
+        if(threads > 0) {
+            freeThreads.release(threads);
+        }
+    }
+
+    /**
+     * Get the number of threads which may search at the same time.
+     * @return the maximal number of threads
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Get the number of threads which are not used by a search now.
+     * @return the number of free threads
+     */
+    public int getFreeThreads() {
+        return freeThreads.availablePermits();
+    }
+
+    /**
+     * Get the number of searches which got at least one thread.
+     * @return the number of granted requests
+     */
+    public long getGrantedRequests() {
+        return grantedRequests.sum();
+    }
+
+    /**
+     * Get the number of searches which got no thread, so the computer player did not search.
+     * @return the number of denied requests
+     */
+    public long getDeniedRequests() {
+        return deniedRequests.sum();
+    }
+}
@@ -0,0 +1,358 @@
+package network.model;
+
+import protocol.ProtocolCommands;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class which runs many NetworkComputerPlayers in one process, for example to generate load on a server.
+ * The computer players do not have their own threads. A few I/O threads read and write the messages of all connections
+ * with non-blocking sockets, and a small pool of worker threads lets the computer players make their decisions.
+ * The messages of one computer player are always handled one after the other, in the order they were received.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class BotHost {
+    private final String host;
+    private final int port;
+    private final List<IOLoop> ioLoops;
+    private final ExecutorService workers;
+    private final List<HostedBot> bots;
+    private final String hostTag;
+    private final AtomicInteger numberOfBotsCreated;
+
+    /**
+     * Create a BotHost.
+     * @param host the address of the server
+     * @param port the port of the server
+     * @param ioThreads the number of threads which read and write messages
+     * @param workerThreads the number of threads which make the decisions of the computer players
+     * @requires host != null, ioThreads > 0, workerThreads > 0
+     */
+    public BotHost(String host, int port, int ioThreads, int workerThreads) throws IOException {
+        this.host = host;
+        this.port = port;
+        this.ioLoops = new ArrayList<>();
+        for(int i=0; i<ioThreads; i++) {
+            ioLoops.add(new IOLoop());
+        }
+        this.workers = Executors.newFixedThreadPool(workerThreads);
+        this.bots = new ArrayList<>();
+        this.hostTag = String.format("%08x", (ProcessHandle.current().pid() ^ ThreadLocalRandom.current().nextInt()) & 0xffffffffL);
+        this.numberOfBotsCreated = new AtomicInteger();
+    }
+
+    /**
+     * Create a name for a new computer player. The name contains a random tag of this host and a number with a fixed length,
+     * such that names of computer players from different hosts are different and no name is the beginning of another name.
+     * @return the name of the new computer player
+     */
+    public String nextBotName() {
+        return String.format("Computer %s-%06d", hostTag, numberOfBotsCreated.incrementAndGet());
+    }
+
+    /**
+     * Start the I/O threads and connect the computer players to the server.
+     * The strategies are assigned in the order given by the strategy mix.
+     * @param numberOfBots the number of computer players to start
+     * @param strategyMix the names of the strategies with their weights, for example "greedy=3,random=1"
+     * @requires numberOfBots >= 0, strategyMix != null
+     * @throws IllegalArgumentException if the strategy mix contains an unknown strategy
+     */
+    public void start(int numberOfBots, String strategyMix) throws IOException {
+        List<String> strategies = parseStrategyMix(strategyMix);
+        for(int i=0; i<ioLoops.size(); i++) {
+            Thread thread = new Thread(ioLoops.get(i), "bot-host-io-" + i);
+            thread.start();
+        }
+        for(int i=0; i<numberOfBots; i++) {
+            ComputerStrategy strategy = ComputerStrategy.fromName(strategies.get(i % strategies.size()));
+            NetworkComputerPlayer computerPlayer = new NetworkComputerPlayer(this.nextBotName(), strategy);
+            HostedBot bot = new HostedBot(computerPlayer, ioLoops.get(i % ioLoops.size()));
+            bots.add(bot);
+            bot.connect(host, port);
+        }
+    }
+
+    /**
+     * Get the number of computer players which are connected to the server.
+     * @return the number of connected computer players
+     */
+    public int getNumberOfConnectedBots() {
+        int connected = 0;
+        for(HostedBot bot : bots) {
+            if(bot.channel != null && bot.channel.isConnected()) {
+                connected += 1;
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * Disconnect all computer players and stop all threads.
+     */
+    public void stop() {
+        for(IOLoop ioLoop : ioLoops) {
+            ioLoop.running = false;
+            ioLoop.selector.wakeup();
+        }
+        workers.shutdown();
+        for(HostedBot bot : bots) {
+            bot.close();
+        }
+    }
+
+    /**
+     * Parse a strategy mix such as "greedy=3,random=1" into a list where each strategy appears as many times as its weight.
+     * A strategy without weight has weight 1.
+     * @param strategyMix the strategy mix
+     * @requires strategyMix != null
+     * @return the list of strategy names
+     */
+    public static List<String> parseStrategyMix(String strategyMix) {
+        List<String> strategies = new ArrayList<>();
+        for(String entry : strategyMix.split(ProtocolCommands.ELEMENT_SEPARATOR)) {
+            if(entry.isBlank()) {
+                continue;
+            }
+            String[] nameAndWeight = entry.split("=");
+            ComputerStrategy.fromName(nameAndWeight[0]);
+            int weight = nameAndWeight.length > 1 ? Integer.parseInt(nameAndWeight[1].trim()) : 1;
+            for(int i=0; i<weight; i++) {
+                strategies.add(nameAndWeight[0].trim());
+            }
+        }
+        if(strategies.isEmpty()) {
+            throw new IllegalArgumentException("Empty strategy mix: " + strategyMix);
+        }
+        return strategies;
+    }
+
+    /**
+     * One I/O thread with its own Selector. It owns the connections of a part of the computer players.
+     */
+    private class IOLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<HostedBot> pendingRegistrations;
+        private final Queue<HostedBot> pendingWrites;
+        private volatile boolean running;
+
+        private IOLoop() throws IOException {
+            this.selector = Selector.open();
+            this.pendingRegistrations = new ConcurrentLinkedQueue<>();
+            this.pendingWrites = new ConcurrentLinkedQueue<>();
+            this.running = true;
+        }
+
+        @Override
+        public void run() {
+            ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+            while(running) {
+                try {
+                    selector.select();
+                    this.registerPendingBots();
+                    HostedBot botToWrite;
+                    while((botToWrite = pendingWrites.poll()) != null) {
+                        // a bot which is not registered yet is registered for writing by registerPendingBots()
+                        SelectionKey key = botToWrite.channel.keyFor(selector);
+                        if(key != null && key.isValid()) {
+                            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                        }
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while(keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        HostedBot bot = (HostedBot) key.attachment();
+                        if(!key.isValid()) {
+                            continue;
+                        }
+                        // a connection which fails, for example when it is reset, is closed so that its key is not
+                        // selected again
+                        try {
+                            if(key.isReadable()) {
+                                bot.read(readBuffer);
+                            }
+                            if(key.isValid() && key.isWritable()) {
+                                bot.write(key);
+                            }
+                        } catch (IOException e) {
+                            System.out.println("Exception " + e);
+                            bot.close();
+                            key.cancel();
+                        }
+                    }
+                } catch (IOException e) {
+                    System.out.println("Exception " + e);
+                }
+            }
+        }
+
+        /**
+         * Register the new connections. A bot which already has messages to send, such as the CONNECT message, is also
+         * registered for writing, because its write request may have been taken before it was registered.
+         */
+        private void registerPendingBots() throws IOException {
+            HostedBot bot;
+            while((bot = pendingRegistrations.poll()) != null) {
+                int interestOps = bot.outbox.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+                bot.channel.register(selector, interestOps, bot);
+            }
+        }
+    }
+
+    /**
+     * A computer player together with its connection, the messages it has received and the messages it must still send.
+     */
+    private class HostedBot {
+        private final NetworkComputerPlayer computerPlayer;
+        private final IOLoop ioLoop;
+        private final ByteArrayOutputStream partialLine;
+        private final Queue<String> inbox;
+        private final Queue<ByteBuffer> outbox;
+        private final AtomicBoolean scheduled;
+        private SocketChannel channel;
+
+        private HostedBot(NetworkComputerPlayer computerPlayer, IOLoop ioLoop) {
+            this.computerPlayer = computerPlayer;
+            this.ioLoop = ioLoop;
+            this.partialLine = new ByteArrayOutputStream();
+            this.inbox = new ConcurrentLinkedQueue<>();
+            this.outbox = new ConcurrentLinkedQueue<>();
+            this.scheduled = new AtomicBoolean(false);
+            this.computerPlayer.setMessageSender(this::send);
+        }
+
+        private void connect(String host, int port) throws IOException {
+            channel = SocketChannel.open(new InetSocketAddress(host, port));
+            channel.configureBlocking(false);
+            ioLoop.pendingRegistrations.add(this);
+            ioLoop.selector.wakeup();
+            this.send(ProtocolCommands.CONNECT_TO_SERVER + ProtocolCommands.ARGUMENT_SEPARATOR + computerPlayer.getName());
+        }
+
+        /**
+         * Called by the I/O thread. Split the received bytes into lines and hand them to a worker thread.
+         */
+        private void read(ByteBuffer readBuffer) throws IOException {
+            readBuffer.clear();
+            int bytesRead = channel.read(readBuffer);
+            if(bytesRead < 0) {
+                this.close();
+                return;
+            }
+            readBuffer.flip();
+            while(readBuffer.hasRemaining()) {
+                byte b = readBuffer.get();
+                if(b == '\n') {
+                    inbox.add(partialLine.toString(StandardCharsets.UTF_8).replace("\r", ""));
+                    partialLine.reset();
+                } else {
+                    partialLine.write(b);
+                }
+            }
+            this.schedule();
+        }
+
+        /**
+         * Let a worker thread handle the received messages, unless a worker thread is already doing it.
+         */
+        private void schedule() {
+            if(!inbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+                workers.execute(this::handleMessages);
+            }
+        }
+
+        private void handleMessages() {
+            try {
+                String message;
+                while((message = inbox.poll()) != null) {
+                    computerPlayer.checkServerMessage(message);
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Exception " + e);
+            } finally {
+                scheduled.set(false);
+                this.schedule();
+            }
+        }
+
+        /**
+         * Called by a worker thread when the computer player sends a message. The I/O thread writes it.
+         */
+        private void send(String message) {
+            outbox.add(ByteBuffer.wrap((message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8)));
+            ioLoop.pendingWrites.add(this);
+            ioLoop.selector.wakeup();
+        }
+
+        private void write(SelectionKey key) throws IOException {
+            ByteBuffer buffer;
+            while((buffer = outbox.peek()) != null) {
+                channel.write(buffer);
+                if(buffer.hasRemaining()) {
+                    return;
+                }
+                outbox.poll();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            if(!outbox.isEmpty()) {
+                ioLoop.pendingWrites.add(this);
+            }
+        }
+
+        private void close() {
+            try {
+                if(channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        }
+    }
+
+    /**
+     * Start a BotHost. The arguments are optional:
+     * number of computer players, strategy mix, host, port, I/O threads and worker threads.
+     * For example: 500 greedy=3,random=1 localhost 5000 2 4
+     */
+    public static void main(String[] args) throws IOException {
+        int numberOfBots = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        String strategyMix = args.length > 1 ? args[1] : "greedy";
+        String host = args.length > 2 ? args[2] : "localhost";
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+        int ioThreads = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+        int workerThreads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+
+        BotHost botHost = new BotHost(host, port, ioThreads, workerThreads);
+        botHost.start(numberOfBots, strategyMix);
+        System.out.println("Started " + numberOfBots + " computer players connected to " + host + ":" + port);
+        if(strategyMix.toLowerCase().contains(ComputerStrategy.CACHED_PREFIX)) {
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "bot-host-report");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(() -> System.out.println(DecisionCache.getSharedCache()), 30, 30, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package network.model;
+
+/**
+ * The difficulty tiers of the computer players which are added with ADD_COMPUTER. Each tier is a strategy with a compute
+ * budget: the number of search threads and the time of one move. The searches of all tiers share the BotCpuBudget of the
+ * process, so a hard computer player plays as a medium or easy one when the server is busy.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public enum BotTier {
+    /**
+     * The GreedyStrategy, which does not search. This is the tier when no tier is given.
+     */
+    EASY("greedy", 0, 0),
+    /**
+     * Monte Carlo tree search on one thread for 50 milliseconds per move.
+     */
+    MEDIUM("mcts", 1, 50),
+    /**
+     * Monte Carlo tree search on up to all cores for 400 milliseconds per move.
+     */
+    HARD("mcts", Runtime.getRuntime().availableProcessors(), 400);
+
+    private final String strategyName;
+    private final int numberOfThreads;
+    private final long timeBudgetMillis;
+
+    BotTier(String strategyName, int numberOfThreads, long timeBudgetMillis) {
+        this.strategyName = strategyName;
+        this.numberOfThreads = numberOfThreads;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Get the tier with a name, ignoring the case.
+     * @param tierName the name of the tier, for example "hard", or null for the default tier
+     * @return the tier, or null if there is no tier with this name
+     */
+    public static BotTier fromName(String tierName) {
+        if(tierName == null || tierName.isBlank()) {
+            return EASY;
+        }
+        for(BotTier tier : BotTier.values()) {
+            if(tier.name().equalsIgnoreCase(tierName.trim())) {
+                return tier;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the name of the strategy of this tier, as in ComputerStrategy.fromName().
+     * @return the name of the strategy
+     */
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    /**
+     * Get the number of threads one move may search with, if the BotCpuBudget has them free.
+     * @return the number of threads, 0 if the strategy does not search
+     */
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    /**
+     * Get the wall-clock time of one move.
+     * @return the time in milliseconds, 0 if the strategy does not search
+     */
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Create a new strategy of this tier.
+     * @param budget the budget shared by the searches of all computer players
+     * @requires budget != null
+     * @return the strategy
+     */
+    public ComputerStrategy createStrategy(BotCpuBudget budget) {
+        if(strategyName.equals("mcts")) {
+            return new MctsStrategy(numberOfThreads, timeBudgetMillis, budget);
+        }
+        return ComputerStrategy.fromName(strategyName);
+    }
+}
@@ -0,0 +1,71 @@
+package network.model;
+
+import java.util.List;
+
+/**
+ * Strategy which asks another strategy for the moves of the computer player, and remembers them in a DecisionCache.
+ * When the canonical state of the computer player is in the cache, the stored move is played without asking the other
+ * strategy, so expensive strategies such as MctsStrategy only compute new states.
+ * States where a card of the draw pile is known, or where the EndgameSolver takes over, are never cached, since their
+ * best move depends on more than the canonical state.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class CachingStrategy implements ComputerStrategy {
+    private final ComputerStrategy strategy;
+    private final DecisionCache decisionCache;
+
+    /**
+     * Create a CachingStrategy.
+     * @param strategy the strategy which computes the moves which are not in the cache
+     * @param decisionCache the cache, which may be shared with other computer players
+     * @requires strategy != null, decisionCache != null
+     */
+    public CachingStrategy(ComputerStrategy strategy, DecisionCache decisionCache) {
+        this.strategy = strategy;
+        this.decisionCache = decisionCache;
+    }
+
+    @Override
+    public String chooseMove(NetworkComputerPlayer player) {
+        if(player.getBeliefTracker().getKnownCard(0) != null || EndgameSolver.createPosition(player, player.getTurnsToPlay()) != null) {
+            return strategy.chooseMove(player);
+        }
+        long state = DecisionCache.canonicalState(player);
+        String move = decisionCache.get(state);
+        if(move == null) {
+            move = strategy.chooseMove(player);
+            decisionCache.put(state, move);
+        }
+        return move;
+    }
+
+    @Override
+    public String chooseMoveAfterSeeTheFuture(NetworkComputerPlayer player, List<String> first3Cards) {
+        return strategy.chooseMoveAfterSeeTheFuture(player, first3Cards);
+    }
+
+    @Override
+    public boolean playNope(NetworkComputerPlayer player) {
+        return strategy.playNope(player);
+    }
+
+    @Override
+    public String chooseCardToGive(NetworkComputerPlayer player) {
+        return strategy.chooseCardToGive(player);
+    }
+
+    @Override
+    public String chooseCardToSteal(NetworkComputerPlayer player) {
+        return strategy.chooseCardToSteal(player);
+    }
+
+    @Override
+    public String choosePlayerToStealFrom(NetworkComputerPlayer player, String[] playersNames) {
+        return strategy.choosePlayerToStealFrom(player, playersNames);
+    }
+
+    @Override
+    public int chooseIndexForExplodingKitten(NetworkComputerPlayer player, int drawPileSize) {
+        return strategy.chooseIndexForExplodingKitten(player, drawPileSize);
+    }
+}
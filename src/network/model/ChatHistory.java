@@ -0,0 +1,93 @@
+package network.model;
+
+import protocol.ProtocolCommands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class for the last chat messages of a room, kept in a ring buffer of fixed capacity. A message is encoded once, as the
+ * MESSAGE line which is sent to every player, and the oldest message is overwritten when the buffer is full.
+ * A player who joins the room receives the messages of the buffer as one CHAT_HISTORY frame, which is built from the
+ * encoded lines without encoding them again.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class ChatHistory {
+    public static final int DEFAULT_CAPACITY = 50;
+    private static final int PREFIX_LENGTH = ProtocolCommands.SHOW_MESSAGE.length() + ProtocolCommands.ARGUMENT_SEPARATOR.length();
+
+    private final String[] lines;
+    private long numberOfMessages;
+
+    /**
+     * Create an empty ChatHistory with the default capacity.
+     */
+    public ChatHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty ChatHistory.
+     * @param capacity the number of messages which are kept
+     * @requires capacity >= 1
+     */
+    public ChatHistory(int capacity) {
+        this.lines = new String[capacity];
+        this.numberOfMessages = 0;
+    }
+
+    /**
+     * Encode a message and keep it, in place of the oldest message if the buffer is full.
+     * @param name the name of the player who sent the message
+     * @param text the text of the message
+     * @requires name != null, text != null
+     * @return the MESSAGE line of the message
+     */
+    public synchronized String append(String name, String text) {
+        String line = ProtocolCommands.SHOW_MESSAGE + ProtocolCommands.ARGUMENT_SEPARATOR + name + ProtocolCommands.ARGUMENT_SEPARATOR + text;
+        lines[(int) (numberOfMessages % lines.length)] = line;
+        numberOfMessages += 1;
+        return line;
+    }
+
+    /**
+     * Get the number of messages which are kept.
+     * @return the number of messages, at most the capacity
+     */
+    public synchronized int size() {
+        return (int) Math.min(numberOfMessages, lines.length);
+    }
+
+    public synchronized long getNumberOfMessages() {
+        return numberOfMessages;
+    }
+
+    /**
+     * Get the MESSAGE lines which are kept, from the oldest to the newest.
+     * @return a new list of the lines
+     */
+    public synchronized List<String> getLines() {
+        List<String> result = new ArrayList<>();
+        for(long i=numberOfMessages-this.size(); i<numberOfMessages; i++) {
+            result.add(lines[(int) (i % lines.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * Get the frame with the messages which are kept, from the oldest to the newest: CHAT_HISTORY, then the name and the
+     * text of each message, all separated by the argument separator.
+     * @return the CHAT_HISTORY frame, or null if no message is kept
+     */
+    public synchronized String getHistoryFrame() {
+        if(numberOfMessages == 0) {
+            return null;
+        }
+        StringBuilder frame = new StringBuilder(ProtocolCommands.CHAT_HISTORY);
+        for(long i=numberOfMessages-this.size(); i<numberOfMessages; i++) {
+            String line = lines[(int) (i % lines.length)];
+            frame.append(ProtocolCommands.ARGUMENT_SEPARATOR).append(line, PREFIX_LENGTH, line.length());
+        }
+        return frame.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package network.model;
+
+import local.model.CardType;
+import protocol.ProtocolCommands;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Interface for the decisions of a NetworkComputerPlayer. The NetworkComputerPlayer handles the communication with the server,
+ * and it asks its strategy what to answer each time the server expects a move or a response.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public interface ComputerStrategy {
+    String CACHED_PREFIX = "cached-";
+
+    /**
+     * Choose the move of the computer player when it is its turn.
+     * @param player the computer player who must make a move
+     * @requires player != null
+     * @return a PLAY_CARD message or a DRAW_CARD message
+     */
+    String chooseMove(NetworkComputerPlayer player);
+
+    /**
+     * Choose the move of the computer player after it has played a See The Future card.
+     * @param player the computer player who must make a move
+     * @param first3Cards the first cards from the top of the draw pile
+     * @requires player != null, first3Cards != null
+     * @return a PLAY_CARD message or a DRAW_CARD message
+     */
+    String chooseMoveAfterSeeTheFuture(NetworkComputerPlayer player, List<String> first3Cards);
+
+    /**
+     * Decide if the computer player plays a Nope card.
+     * @param player the computer player who is asked to play a Nope card
+     * @requires player != null
+     * @return true if the computer player plays a Nope card, false otherwise
+     */
+    boolean playNope(NetworkComputerPlayer player);
+
+    /**
+     * Choose the card which the computer player gives to the player who has played a Favor card.
+     * @param player the computer player who must give a card
+     * @requires player != null
+     * @return the name of the card
+     */
+    String chooseCardToGive(NetworkComputerPlayer player);
+
+    /**
+     * Choose the card which the computer player wants to take after playing 3 cards in combo.
+     * @param player the computer player who takes a card
+     * @requires player != null
+     * @return the name of the card
+     */
+    String chooseCardToSteal(NetworkComputerPlayer player);
+
+    /**
+     * Choose the player from which the computer player takes a card.
+     * @param player the computer player who takes a card
+     * @param playersNames the names of the players which can be chosen
+     * @requires player != null, playersNames != null
+     * @return the name of the chosen player
+     */
+    String choosePlayerToStealFrom(NetworkComputerPlayer player, String[] playersNames);
+
+    /**
+     * Choose the index where the computer player inserts the Exploding Kitten back into the draw pile.
+     * @param player the computer player who has defused the Exploding Kitten
+     * @param drawPileSize the size of the draw pile, which is also the index of the top of the draw pile
+     * @requires player != null
+     * @return an index between 0 and drawPileSize
+     */
+    int chooseIndexForExplodingKitten(NetworkComputerPlayer player, int drawPileSize);
+
+    /**
+     * Create a strategy by its name. This is used when the strategy of a computer player is configured from the command line.
+     * @param strategyName the name of the strategy, for example "greedy", "random", "mcts", "linear" or "engine", with the prefix
+     * "cached-" to remember its moves in the DecisionCache shared by the process
+     * @requires strategyName != null
+     * @return a new strategy
+     * @throws IllegalArgumentException if there is no strategy with this name
+     */
+    static ComputerStrategy fromName(String strategyName) {
+        String name = strategyName.trim().toLowerCase();
+        if(name.startsWith(CACHED_PREFIX)) {
+            return new CachingStrategy(fromName(name.substring(CACHED_PREFIX.length())), DecisionCache.getSharedCache());
+        }
+        switch (name) {
+            case "greedy":
+                return new GreedyStrategy();
+            case "random":
+                return new RandomStrategy();
+            case "mcts":
+                return new MctsStrategy();
+            case "linear":
+                return new LinearStrategy();
+            case "engine":
+                return new EngineStrategy();
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategyName);
+        }
+    }
+
+    /**
+     * Translate an action of SimulatedGame into a message for the server.
+     * @param action the action
+     * @param player the computer player, whose hand gives the cat cards played in combo
+     * @requires player != null
+     * @return a PLAY_CARD message or a DRAW_CARD message
+     */
+    static String toMessage(int action, NetworkComputerPlayer player) {
+        String messageToSend = ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR;
+        switch (action) {
+            case SimulatedGame.ATTACK:
+                return messageToSend + CardType.ATTACK.getCardName();
+            case SimulatedGame.SKIP:
+                return messageToSend + CardType.SKIP.getCardName();
+            case SimulatedGame.SHUFFLE:
+                return messageToSend + CardType.SHUFFLE.getCardName();
+            case SimulatedGame.SEE_THE_FUTURE:
+                return messageToSend + CardType.SEE_THE_FUTURE.getCardName();
+            case SimulatedGame.FAVOR:
+                return messageToSend + CardType.FAVOR.getCardName();
+            case SimulatedGame.TWO_CATS:
+            case SimulatedGame.THREE_CATS:
+                int numberOfCards = action == SimulatedGame.TWO_CATS ? 2 : 3;
+                CardType[] catCards = {CardType.TACO_CAT, CardType.HAIRY_POTATO_CAT, CardType.RAINBOW_RALPHING_CAT,
+                        CardType.BEARD_CAT, CardType.CATTERMELON};
+                CardType bestCat = catCards[0];
+                for(CardType catCard : catCards) {
+                    if(player.getBeliefTracker().getMyCards(catCard) > player.getBeliefTracker().getMyCards(bestCat)) {
+                        bestCat = catCard;
+                    }
+                }
+                return messageToSend + String.join(ProtocolCommands.ELEMENT_SEPARATOR, Collections.nCopies(numberOfCards, bestCat.getCardName()));
+            default:
+                return ProtocolCommands.DRAW_CARD;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class which remembers the moves chosen by the computer players for a canonical state, such that a state which was
+ * already seen in another game or by another computer player of the same process is not computed again.
+ * The canonical state is packed in a long: the number of cards of each type in the hand (4 bits per type), the size of
+ * the draw pile divided by 4, the number of turns to play, the last card played by another player and the number of players.
+ * The cache is bounded: it is split into segments with their own lock, and each segment removes its least recently used
+ * entry when it is full. The hits and misses are counted without locks.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class DecisionCache {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int NUMBER_OF_SEGMENTS = 16;
+    private static final int DRAW_PILE_BUCKET = 4;
+    private static final int NO_CARD = 15;
+    private static DecisionCache sharedCache;
+
+    private final Segment[] segments;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * Create a DecisionCache.
+     * @param capacity the maximum number of states in the cache
+     * @requires capacity >= NUMBER_OF_SEGMENTS
+     */
+    public DecisionCache(int capacity) {
+        this.segments = new Segment[NUMBER_OF_SEGMENTS];
+        for(int i=0; i<NUMBER_OF_SEGMENTS; i++) {
+            segments[i] = new Segment(capacity / NUMBER_OF_SEGMENTS);
+        }
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Get the cache shared by all computer players of this process.
+     * @return the shared cache, created with DEFAULT_CAPACITY the first time it is used
+     */
+    public static synchronized DecisionCache getSharedCache() {
+        if(sharedCache == null) {
+            sharedCache = new DecisionCache(DEFAULT_CAPACITY);
+        }
+        return sharedCache;
+    }
+
+    /**
+     * Compute the canonical state of a computer player whose turn it is.
+     * @param player the computer player
+     * @requires player != null
+     * @return the canonical state packed in a long
+     */
+    public static long canonicalState(NetworkComputerPlayer player) {
+        BeliefTracker beliefTracker = player.getBeliefTracker();
+        long key = 0;
+        for(CardType cardType : CardType.values()) {
+            key = (key << 4) | Math.min(15, beliefTracker.getMyCards(cardType));
+        }
+        key = (key << 4) | Math.min(15, beliefTracker.getDrawPileSize() / DRAW_PILE_BUCKET);
+        key = (key << 2) | Math.min(3, player.getTurnsToPlay() - 1);
+        CardType lastCardPlayed = player.getLastCardPlayed() == null ? null : CardType.fromCardName(player.getLastCardPlayed());
+        key = (key << 4) | (lastCardPlayed == null ? NO_CARD : lastCardPlayed.ordinal());
+        key = (key << 2) | Math.max(0, Math.min(3, player.getPlayersInGame().size() - 2));
+        return key;
+    }
+
+    /**
+     * Get the move stored for a state.
+     * @param state the canonical state
+     * @return the stored move, or null if the state is not in the cache
+     */
+    public String get(long state) {
+        Segment segment = this.segmentOf(state);
+        String move;
+        synchronized (segment) {
+            move = segment.get(state);
+        }
+        if(move == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return move;
+    }
+
+    /**
+     * Store the move chosen for a state.
+     * @param state the canonical state
+     * @param move the message of the chosen move
+     * @requires move != null
+     */
+    public void put(long state, String move) {
+        Segment segment = this.segmentOf(state);
+        synchronized (segment) {
+            segment.put(state, move);
+        }
+    }
+
+    /**
+     * Get the number of states in the cache.
+     * @return the number of states
+     */
+    public int size() {
+        int size = 0;
+        for(Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the number of times a state was found in the cache.
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of times a state was not found in the cache.
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the fraction of the lookups which found their state in the cache.
+     * @return the hit rate between 0 and 1, 0 if there was no lookup
+     */
+    public double getHitRate() {
+        long hits = this.getHits();
+        long lookups = hits + this.getMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DecisionCache: %d states, %d hits, %d misses, hit rate %.1f%%", this.size(), this.getHits(),
+                this.getMisses(), 100 * this.getHitRate());
+    }
+
+    private Segment segmentOf(long state) {
+        long hash = state * 0x9E3779B97F4A7C15L;
+        return segments[(int) (hash >>> 60) & (NUMBER_OF_SEGMENTS - 1)];
+    }
+
+    /**
+     * A part of the cache, in the order of the last access, which removes its oldest entry when it is full.
+     */
+    private static class Segment extends LinkedHashMap<Long, String> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return this.size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,574 @@
+package network.model;
+
+import local.model.CardType;
+import protocol.ProtocolCommands;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class which plays the end of a network Exploding Kittens game exactly, when the draw pile is small and only 2 or 3 players are left.
+ * The solver runs an expectimax search over all orders of the remaining draw pile: the player who must move chooses the action
+ * with the highest probability to win for himself, and the cards taken from the draw pile are chance events.
+ * Positions which are reached in several ways are computed only once, using a transposition table keyed by a compact
+ * encoding of the position in two long values.
+ * The search only uses the cards which matter at the end of a game: Exploding Kitten, Defuse, Skip, Attack, Shuffle and
+ * See The Future. All other cards have the same effect when they are drawn. Nope and Favor cards are not played by the solver.
+ * All players are assumed to know the same cards of the draw pile, and an Exploding Kitten inserted back by another player
+ * is placed at a random position.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class EndgameSolver {
+    public static final int MAX_DRAW_PILE_SIZE = 10;
+    public static final int MAX_PLAYERS = 3;
+
+    // the classes of cards used by the solver
+    public static final int EXPLODING_KITTEN = 0;
+    public static final int DEFUSE = 1;
+    public static final int SKIP = 2;
+    public static final int ATTACK = 3;
+    public static final int SHUFFLE = 4;
+    public static final int SEE_THE_FUTURE = 5;
+    public static final int OTHER = 6;
+    public static final int NUMBER_OF_CLASSES = 7;
+
+    // the actions of a player, the playable cards use the same numbers as their classes
+    public static final int DRAW = 0;
+
+    private static final int MAX_KNOWN_CARDS = 4;
+    private static final int MAX_CARDS_OF_CLASS = 7;
+    private static final int MAX_TURNS = 4;
+    private static final int[] ACTIONS = {DRAW, SKIP, ATTACK, SHUFFLE, SEE_THE_FUTURE};
+
+    private final int nodeLimit;
+    private final TranspositionTable transpositionTable;
+    private int nodesSearched;
+    private boolean aborted;
+
+    /**
+     * Create an EndgameSolver.
+     * @param nodeLimit the maximum number of positions searched for one decision, after which the solver gives up
+     * @param tableSize the number of positions which can be stored in the transposition table, it must be a power of 2
+     * @requires nodeLimit > 0, tableSize > 0
+     */
+    public EndgameSolver(int nodeLimit, int tableSize) {
+        this.nodeLimit = nodeLimit;
+        this.transpositionTable = new TranspositionTable(tableSize);
+    }
+
+    /**
+     * A position at the end of the game. Player 0 is the player who must move.
+     */
+    public static class Position {
+        private final int[] drawPile;
+        private final int[] knownCards;
+        private int numberKnownCards;
+        private final int numberOfPlayers;
+        private final int[][] hands;
+        private final boolean[] alive;
+        private int currentPlayer;
+        private int turns;
+
+        /**
+         * Create a position with an empty draw pile and empty hands.
+         * @param numberOfPlayers the number of players left in the game, player 0 is the player who must move
+         * @param turns the number of turns the player who must move has to play, more than 1 if he was attacked
+         * @requires 2 <= numberOfPlayers <= MAX_PLAYERS, turns >= 1
+         */
+        public Position(int numberOfPlayers, int turns) {
+            this.drawPile = new int[NUMBER_OF_CLASSES];
+            this.knownCards = new int[MAX_KNOWN_CARDS];
+            this.numberOfPlayers = numberOfPlayers;
+            this.hands = new int[numberOfPlayers][NUMBER_OF_CLASSES];
+            this.alive = new boolean[numberOfPlayers];
+            Arrays.fill(alive, true);
+            this.turns = Math.min(MAX_TURNS, turns);
+        }
+
+        private Position(Position position) {
+            this.drawPile = position.drawPile.clone();
+            this.knownCards = position.knownCards.clone();
+            this.numberKnownCards = position.numberKnownCards;
+            this.numberOfPlayers = position.numberOfPlayers;
+            this.hands = new int[numberOfPlayers][];
+            for(int i=0; i<numberOfPlayers; i++) {
+                this.hands[i] = position.hands[i].clone();
+            }
+            this.alive = position.alive.clone();
+            this.currentPlayer = position.currentPlayer;
+            this.turns = position.turns;
+        }
+
+        /**
+         * Add cards of a class to the draw pile.
+         * @param cardClass the class of the cards
+         * @param numberOfCards the number of cards
+         */
+        public void addToDrawPile(int cardClass, int numberOfCards) {
+            drawPile[cardClass] += numberOfCards;
+        }
+
+        /**
+         * Set a card of the draw pile which is known. The known cards must be added from the top of the draw pile,
+         * and they must also be added to the draw pile with addToDrawPile().
+         * @param cardClass the class of the next known card
+         */
+        public void addKnownCard(int cardClass) {
+            if(numberKnownCards < MAX_KNOWN_CARDS) {
+                knownCards[numberKnownCards] = cardClass;
+                numberKnownCards += 1;
+            }
+        }
+
+        /**
+         * Set the number of cards of a class in the hand of a player. Only the classes which can be played matter.
+         * @param player the player, 0 is the player who must move
+         * @param cardClass the class of the cards
+         * @param numberOfCards the number of cards
+         */
+        public void setCards(int player, int cardClass, int numberOfCards) {
+            hands[player][cardClass] = Math.min(MAX_CARDS_OF_CLASS, numberOfCards);
+        }
+
+        /**
+         * Get the size of the draw pile.
+         * @return the number of cards in the draw pile
+         */
+        public int getDrawPileSize() {
+            int size = 0;
+            for(int count : drawPile) {
+                size += count;
+            }
+            return size;
+        }
+
+        private int numberAlive() {
+            int count = 0;
+            for(boolean isAlive : alive) {
+                if(isAlive) {
+                    count += 1;
+                }
+            }
+            return count;
+        }
+
+        private int nextAlivePlayer(int player) {
+            int next = (player + 1) % numberOfPlayers;
+            while(!alive[next]) {
+                next = (next + 1) % numberOfPlayers;
+            }
+            return next;
+        }
+
+        private void endTurn() {
+            turns -= 1;
+            if(turns == 0) {
+                currentPlayer = this.nextAlivePlayer(currentPlayer);
+                turns = 1;
+            }
+        }
+
+        private void removeKnownTopCard() {
+            for(int i=1; i<numberKnownCards; i++) {
+                knownCards[i - 1] = knownCards[i];
+            }
+            numberKnownCards = Math.max(0, numberKnownCards - 1);
+        }
+
+        private void insertKnownCard(int index, int cardClass) {
+            int last = Math.min(numberKnownCards, MAX_KNOWN_CARDS - 1);
+            for(int i=last; i>index; i--) {
+                knownCards[i] = knownCards[i - 1];
+            }
+            knownCards[index] = cardClass;
+            numberKnownCards = Math.min(MAX_KNOWN_CARDS, numberKnownCards + 1);
+        }
+
+        private int unknownCards(int cardClass) {
+            int count = drawPile[cardClass];
+            for(int i=0; i<numberKnownCards; i++) {
+                if(knownCards[i] == cardClass) {
+                    count -= 1;
+                }
+            }
+            return count;
+        }
+
+        private long firstKey() {
+            long key = 0;
+            for(int count : drawPile) {
+                key = (key << 4) | count;
+            }
+            key = (key << 3) | numberKnownCards;
+            for(int i=0; i<MAX_KNOWN_CARDS; i++) {
+                key = (key << 3) | (i < numberKnownCards ? knownCards[i] : 0);
+            }
+            key = (key << 2) | currentPlayer;
+            key = (key << 3) | turns;
+            return key;
+        }
+
+        private long secondKey() {
+            long key = numberOfPlayers;
+            for(int player=0; player<numberOfPlayers; player++) {
+                key = (key << 1) | (alive[player] ? 1 : 0);
+                for(int cardClass=DEFUSE; cardClass<OTHER; cardClass++) {
+                    key = (key << 3) | hands[player][cardClass];
+                }
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Choose the best action for player 0 of the position.
+     * @param position the position at the end of the game
+     * @requires position != null
+     * @return DRAW or the class of the card to play, or -1 if the position is too large to be solved within the node limit
+     */
+    public int chooseAction(Position position) {
+        nodesSearched = 0;
+        aborted = false;
+        int bestAction = -1;
+        double bestValue = -1;
+        for(int action : ACTIONS) {
+            if(!this.isLegal(position, action)) {
+                continue;
+            }
+            double value = this.applyAction(position, action)[0];
+            if(aborted) {
+                return -1;
+            }
+            if(value > bestValue) {
+                bestValue = value;
+                bestAction = action;
+            }
+        }
+        return bestAction;
+    }
+
+    /**
+     * Compute the probability of each player to win the game from a position, when all players play perfectly.
+     * @param position the position at the end of the game
+     * @requires position != null
+     * @return the probability to win for each player, or null if the position is too large to be solved within the node limit
+     */
+    public double[] evaluate(Position position) {
+        nodesSearched = 0;
+        aborted = false;
+        double[] value = this.search(position);
+        return aborted ? null : value;
+    }
+
+    /**
+     * Get the number of positions which were searched for the last decision.
+     * @return the number of searched positions
+     */
+    public int getNodesSearched() {
+        return nodesSearched;
+    }
+
+    private double[] search(Position position) {
+        double[] value = new double[position.numberOfPlayers];
+        if(position.numberAlive() == 1) {
+            for(int player=0; player<position.numberOfPlayers; player++) {
+                value[player] = position.alive[player] ? 1 : 0;
+            }
+            return value;
+        }
+
+        long firstKey = position.firstKey();
+        long secondKey = position.secondKey();
+        double[] storedValue = transpositionTable.get(firstKey, secondKey, position.numberOfPlayers);
+        if(storedValue != null) {
+            return storedValue;
+        }
+
+        nodesSearched += 1;
+        if(nodesSearched > nodeLimit) {
+            aborted = true;
+            return value;
+        }
+
+        double bestValue = -1;
+        for(int action : ACTIONS) {
+            if(!this.isLegal(position, action)) {
+                continue;
+            }
+            double[] actionValue = this.applyAction(position, action);
+            if(aborted) {
+                return value;
+            }
+            if(actionValue[position.currentPlayer] > bestValue) {
+                bestValue = actionValue[position.currentPlayer];
+                value = actionValue;
+            }
+        }
+        transpositionTable.put(firstKey, secondKey, value);
+        return value;
+    }
+
+    private boolean isLegal(Position position, int action) {
+        if(action == DRAW) {
+            return position.getDrawPileSize() > 0;
+        }
+        if(action == SEE_THE_FUTURE && position.numberKnownCards >= Math.min(3, position.getDrawPileSize())) {
+            return false;
+        }
+        return position.hands[position.currentPlayer][action] > 0;
+    }
+
+    private double[] applyAction(Position position, int action) {
+        int player = position.currentPlayer;
+        switch (action) {
+            case SKIP -> {
+                Position next = new Position(position);
+                next.hands[player][SKIP] -= 1;
+                next.endTurn();
+                return this.search(next);
+            }
+            case ATTACK -> {
+                Position next = new Position(position);
+                next.hands[player][ATTACK] -= 1;
+                next.currentPlayer = next.nextAlivePlayer(player);
+                next.turns = Math.min(MAX_TURNS, position.turns > 1 ? position.turns + 2 : 2);
+                return this.search(next);
+            }
+            case SHUFFLE -> {
+                Position next = new Position(position);
+                next.hands[player][SHUFFLE] -= 1;
+                next.numberKnownCards = 0;
+                return this.search(next);
+            }
+            case SEE_THE_FUTURE -> {
+                Position next = new Position(position);
+                next.hands[player][SEE_THE_FUTURE] -= 1;
+                double[] value = new double[position.numberOfPlayers];
+                this.revealCards(next, Math.min(3, next.getDrawPileSize()), 1, value);
+                return value;
+            }
+            default -> {
+                return this.drawCard(position);
+            }
+        }
+    }
+
+    /**
+     * Chance node of See The Future: reveal the unknown cards among the first cards of the draw pile, one after the other.
+     */
+    private void revealCards(Position position, int cardsToReveal, double probability, double[] value) {
+        if(aborted) {
+            return;
+        }
+        if(position.numberKnownCards >= cardsToReveal) {
+            double[] revealedValue = this.search(position);
+            for(int i=0; i<value.length; i++) {
+                value[i] += probability * revealedValue[i];
+            }
+            return;
+        }
+        int unknownCards = position.getDrawPileSize() - position.numberKnownCards;
+        for(int cardClass=0; cardClass<NUMBER_OF_CLASSES; cardClass++) {
+            int count = position.unknownCards(cardClass);
+            if(count > 0) {
+                Position next = new Position(position);
+                next.addKnownCard(cardClass);
+                this.revealCards(next, cardsToReveal, probability * count / unknownCards, value);
+            }
+        }
+    }
+
+    /**
+     * Chance node of drawing a card: the top card is known, or it is any unknown card with a probability equal to its share.
+     */
+    private double[] drawCard(Position position) {
+        double[] value = new double[position.numberOfPlayers];
+        if(position.numberKnownCards > 0) {
+            Position next = new Position(position);
+            int cardClass = next.knownCards[0];
+            next.removeKnownTopCard();
+            return this.drawnCard(next, cardClass);
+        }
+        int drawPileSize = position.getDrawPileSize();
+        for(int cardClass=0; cardClass<NUMBER_OF_CLASSES; cardClass++) {
+            if(position.drawPile[cardClass] == 0) {
+                continue;
+            }
+            double[] cardValue = this.drawnCard(new Position(position), cardClass);
+            if(aborted) {
+                return value;
+            }
+            for(int i=0; i<value.length; i++) {
+                value[i] += cardValue[i] * position.drawPile[cardClass] / drawPileSize;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * The current player has taken a card of a class from the draw pile.
+     * If it is an Exploding Kitten, the player uses a Defuse card or is out of the game. The player who must move at the
+     * root of the search chooses where the Exploding Kitten goes among the known cards, other players put it at a random position.
+     */
+    private double[] drawnCard(Position position, int cardClass) {
+        int player = position.currentPlayer;
+        position.drawPile[cardClass] -= 1;
+
+        if(cardClass != EXPLODING_KITTEN) {
+            position.hands[player][cardClass] = Math.min(MAX_CARDS_OF_CLASS, position.hands[player][cardClass] + 1);
+            position.endTurn();
+            return this.search(position);
+        }
+
+        if(position.hands[player][DEFUSE] == 0) {
+            position.alive[player] = false;
+            position.currentPlayer = position.nextAlivePlayer(player);
+            position.turns = 1;
+            return this.search(position);
+        }
+
+        position.hands[player][DEFUSE] -= 1;
+        position.drawPile[EXPLODING_KITTEN] += 1;
+        if(player != 0) {
+            position.numberKnownCards = 0;
+            position.endTurn();
+            return this.search(position);
+        }
+
+        double[] bestValue = null;
+        for(int index=0; index<=Math.min(position.numberKnownCards, MAX_KNOWN_CARDS - 1); index++) {
+            Position next = new Position(position);
+            next.insertKnownCard(index, EXPLODING_KITTEN);
+            next.endTurn();
+            double[] value = this.search(next);
+            if(bestValue == null || value[player] > bestValue[player]) {
+                bestValue = value;
+            }
+        }
+        return bestValue;
+    }
+
+    /**
+     * Create the position seen by a computer player when it is its turn, using its BeliefTracker and OpponentModel.
+     * @param player the computer player who must move
+     * @param turns the number of turns the computer player has to play
+     * @requires player != null
+     * @return the position, or null if the draw pile is too large or there are too many players
+     */
+    public static Position createPosition(NetworkComputerPlayer player, int turns) {
+        BeliefTracker beliefTracker = player.getBeliefTracker();
+        OpponentModel opponentModel = player.getOpponentModel();
+        List<String> playersInGame = player.getPlayersInGame();
+        int drawPileSize = beliefTracker.getDrawPileSize();
+        int myIndex = playersInGame.indexOf(player.getName());
+        if(drawPileSize == 0 || drawPileSize > MAX_DRAW_PILE_SIZE || playersInGame.size() < 2 ||
+                playersInGame.size() > MAX_PLAYERS || myIndex < 0) {
+            return null;
+        }
+
+        Position position = new Position(playersInGame.size(), turns);
+        CardType[] classTypes = {CardType.EXPLODING_KITTEN, CardType.DEFUSE, CardType.SKIP, CardType.ATTACK, CardType.SHUFFLE, CardType.SEE_THE_FUTURE};
+        for(int i=0; i<playersInGame.size(); i++) {
+            String playerName = playersInGame.get((myIndex + i) % playersInGame.size());
+            for(int cardClass=DEFUSE; cardClass<OTHER; cardClass++) {
+                int numberOfCards = i == 0 ? beliefTracker.getMyCards(classTypes[cardClass]) :
+                        (int) Math.round(opponentModel.getExpectedCards(playerName, classTypes[cardClass]));
+                position.setCards(i, cardClass, numberOfCards);
+            }
+        }
+
+        int cardsPlaced = beliefTracker.getExplodingKittensInDrawPile();
+        position.addToDrawPile(EXPLODING_KITTEN, cardsPlaced);
+        for(int cardClass=DEFUSE; cardClass<OTHER && cardsPlaced<drawPileSize; cardClass++) {
+            CardType cardType = classTypes[cardClass];
+            double inOpponentsHands = 0;
+            for(String playerName : playersInGame) {
+                inOpponentsHands += opponentModel.getExpectedCards(playerName, cardType);
+            }
+            int inDrawPile = (int) Math.max(0, Math.round(beliefTracker.getRemainingCards(cardType) - inOpponentsHands));
+            inDrawPile = Math.min(inDrawPile, drawPileSize - cardsPlaced);
+            position.addToDrawPile(cardClass, inDrawPile);
+            cardsPlaced += inDrawPile;
+        }
+        position.addToDrawPile(OTHER, Math.max(0, drawPileSize - cardsPlaced));
+
+        for(int i=0; i<Math.min(MAX_KNOWN_CARDS, drawPileSize); i++) {
+            CardType knownCard = beliefTracker.getKnownCard(i);
+            if(knownCard == null) {
+                break;
+            }
+            int cardClass = OTHER;
+            for(int j=0; j<classTypes.length; j++) {
+                if(classTypes[j] == knownCard) {
+                    cardClass = j;
+                }
+            }
+            if(position.unknownCards(cardClass) <= 0) {
+                break;
+            }
+            position.addKnownCard(cardClass);
+        }
+        return position;
+    }
+
+    /**
+     * Translate an action of the solver into a message for the server.
+     * @param action DRAW or the class of the card to play
+     * @return a PLAY_CARD message or a DRAW_CARD message
+     */
+    public static String toMessage(int action) {
+        return switch (action) {
+            case SKIP -> ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + "Skip";
+            case ATTACK -> ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + "Attack";
+            case SHUFFLE -> ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + "Shuffle";
+            case SEE_THE_FUTURE -> ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + "See The Future";
+            default -> ProtocolCommands.DRAW_CARD;
+        };
+    }
+
+    /**
+     * Transposition table with open addressing. When it is full, it is cleared.
+     */
+    private static class TranspositionTable {
+        private final long[] firstKeys;
+        private final long[] secondKeys;
+        private final double[][] values;
+        private final int mask;
+        private int size;
+
+        private TranspositionTable(int capacity) {
+            this.firstKeys = new long[capacity];
+            this.secondKeys = new long[capacity];
+            this.values = new double[capacity][];
+            this.mask = capacity - 1;
+        }
+
+        private int indexOf(long firstKey, long secondKey) {
+            long hash = firstKey * 0x9E3779B97F4A7C15L ^ secondKey * 0xC2B2AE3D27D4EB4FL;
+            int index = (int) (hash ^ (hash >>> 32)) & mask;
+            while(values[index] != null && (firstKeys[index] != firstKey || secondKeys[index] != secondKey)) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private double[] get(long firstKey, long secondKey, int numberOfPlayers) {
+            double[] value = values[this.indexOf(firstKey, secondKey)];
+            return value != null && value.length == numberOfPlayers ? value : null;
+        }
+
+        private void put(long firstKey, long secondKey, double[] value) {
+            if(size >= values.length * 3 / 4) {
+                Arrays.fill(values, null);
+                size = 0;
+            }
+            int index = this.indexOf(firstKey, secondKey);
+            if(values[index] == null) {
+                size += 1;
+            }
+            firstKeys[index] = firstKey;
+            secondKeys[index] = secondKey;
+            values[index] = value;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package network.model;
+
+import local.model.CardType;
+import protocol.EngineProtocol;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Class which starts an external engine as a child process and asks it for actions with the line protocol of EngineProtocol.
+ * Requests from many games are pipelined: they are written as soon as they are made, and a reader thread completes the
+ * request with the same id when the engine answers. One engine process can therefore serve many tables at the same time.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class EngineProcess implements AutoCloseable {
+    private static final long START_TIMEOUT_MILLIS = 10000;
+    private static final Map<String, EngineProcess> sharedEngines = new ConcurrentHashMap<>();
+
+    private final Process process;
+    private final BufferedWriter writer;
+    private final Map<Long, CompletableFuture<Integer>> pendingRequests;
+    private final AtomicLong nextRequestId;
+    private final CountDownLatch started;
+    private final Consumer<String> infoListener;
+    private volatile String engineName;
+
+    /**
+     * Start an engine process and wait until it has answered the engine command.
+     * @param command the program and its arguments
+     * @param infoListener the function which receives the info lines of the engine, or null to ignore them
+     * @requires command != null, !command.isEmpty()
+     * @throws IOException if the process cannot be started or it does not answer
+     */
+    public EngineProcess(List<String> command, Consumer<String> infoListener) throws IOException {
+        this.process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.pendingRequests = new ConcurrentHashMap<>();
+        this.nextRequestId = new AtomicLong();
+        this.started = new CountDownLatch(1);
+        this.infoListener = infoListener;
+
+        Thread reader = new Thread(this::readAnswers, "engine-reader-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+        this.send(EngineProtocol.ENGINE);
+        try {
+            if(!started.await(START_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                process.destroy();
+                throw new IOException("The engine did not answer: " + command);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroy();
+            throw new IOException("Interrupted while starting the engine", e);
+        }
+    }
+
+    /**
+     * Get the engine process for a command line, which is shared by all strategies of this process with the same command line.
+     * @param commandLine the program and its arguments, separated by spaces
+     * @requires commandLine != null
+     * @return the running engine process
+     * @throws IOException if the process cannot be started
+     */
+    public static synchronized EngineProcess getShared(String commandLine) throws IOException {
+        EngineProcess engine = sharedEngines.get(commandLine);
+        if(engine == null || !engine.process.isAlive()) {
+            engine = new EngineProcess(Arrays.asList(commandLine.trim().split("\\s+")), null);
+            sharedEngines.put(commandLine, engine);
+        }
+        return engine;
+    }
+
+    /**
+     * Get the name of the engine, as it was sent in the id line.
+     * @return the name of the engine, or null if it did not send one
+     */
+    public String getEngineName() {
+        return engineName;
+    }
+
+    /**
+     * Get the number of requests which were sent and not answered yet.
+     * @return the number of pending requests
+     */
+    public int getNumberOfPendingRequests() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * Send a state to the engine without waiting for the answer.
+     * @param state the state, encoded with EngineProtocol.encodeState()
+     * @requires state != null
+     * @return the future action of SimulatedGame, -1 if the engine answered with an unknown action
+     */
+    public CompletableFuture<Integer> requestAction(String state) {
+        long requestId = nextRequestId.incrementAndGet();
+        CompletableFuture<Integer> answer = new CompletableFuture<>();
+        pendingRequests.put(requestId, answer);
+        try {
+            this.send(EngineProtocol.GO + EngineProtocol.SEPARATOR + requestId + EngineProtocol.SEPARATOR + state);
+        } catch (IOException e) {
+            pendingRequests.remove(requestId);
+            answer.completeExceptionally(e);
+        }
+        return answer;
+    }
+
+    /**
+     * Forget a request whose answer is no longer awaited, for example after a timeout. The answer of the engine is
+     * ignored when it comes.
+     * @param answer the future returned by requestAction()
+     * @requires answer != null
+     * @return true if the request was still pending
+     */
+    public boolean cancel(CompletableFuture<Integer> answer) {
+        boolean pending = pendingRequests.values().remove(answer);
+        answer.cancel(false);
+        return pending;
+    }
+
+    /**
+     * Ask the engine for the action of the current player of a simulated game.
+     * @param game the game
+     * @requires game != null
+     * @return the future action
+     */
+    public CompletableFuture<Integer> requestAction(SimulatedGame game) {
+        return this.requestAction(encodeState(game));
+    }
+
+    /**
+     * Encode the state of the current player of a simulated game.
+     * @param game the game
+     * @requires game != null
+     * @return the encoded state
+     */
+    public static String encodeState(SimulatedGame game) {
+        int player = game.getCurrentPlayer();
+        int[] hand = new int[SimulatedGame.NUMBER_OF_TYPES];
+        int[] discardedCards = new int[SimulatedGame.NUMBER_OF_TYPES];
+        for(CardType cardType : CardType.values()) {
+            hand[cardType.ordinal()] = game.getCards(player, cardType);
+            discardedCards[cardType.ordinal()] = game.getDiscardedCards(cardType);
+        }
+        int[] handSizes = new int[game.getNumberOfPlayers()];
+        int explodingKittens = 0;
+        for(int i=0; i<handSizes.length; i++) {
+            handSizes[i] = game.isAlive(i) ? game.getHandSize(i) : -1;
+        }
+        for(int i=0; i<game.getDrawPileSize(); i++) {
+            if(game.getCardInDrawPile(i) == CardType.EXPLODING_KITTEN) {
+                explodingKittens += 1;
+            }
+        }
+        int legalActions = 0;
+        for(int action=0; action<SimulatedGame.NUMBER_OF_ACTIONS; action++) {
+            if(game.isLegal(action)) {
+                legalActions |= 1 << action;
+            }
+        }
+        return EngineProtocol.encodeState(game.getNumberOfPlayers(), player, game.getTurnsToPlay(), game.getDrawPileSize(),
+                explodingKittens, hand, discardedCards, handSizes, legalActions);
+    }
+
+    /**
+     * Encode the state of a computer player of a network game, as the computer player sees it.
+     * @param player the computer player
+     * @requires player != null
+     * @return the encoded state
+     */
+    public static String encodeState(NetworkComputerPlayer player) {
+        BeliefTracker beliefTracker = player.getBeliefTracker();
+        List<String> playersInGame = player.getPlayersInGame();
+        int[] hand = new int[SimulatedGame.NUMBER_OF_TYPES];
+        int[] discardedCards = new int[SimulatedGame.NUMBER_OF_TYPES];
+        int myHandSize = 0;
+        for(CardType cardType : CardType.values()) {
+            hand[cardType.ordinal()] = beliefTracker.getMyCards(cardType);
+            discardedCards[cardType.ordinal()] = beliefTracker.getDiscardedCards(cardType);
+            myHandSize += hand[cardType.ordinal()];
+        }
+        int[] handSizes = new int[playersInGame.size()];
+        for(int i=0; i<handSizes.length; i++) {
+            String playerName = playersInGame.get(i);
+            handSizes[i] = playerName.equals(player.getName()) ? myHandSize : beliefTracker.getHandSize(playerName);
+        }
+        return EngineProtocol.encodeState(playersInGame.size(), playersInGame.indexOf(player.getName()), player.getTurnsToPlay(),
+                beliefTracker.getDrawPileSize(), beliefTracker.getExplodingKittensInDrawPile(), hand, discardedCards, handSizes,
+                getLegalActions(player));
+    }
+
+    /**
+     * Get the actions which a computer player of a network game can make with its hand.
+     * @param player the computer player
+     * @requires player != null
+     * @return the bit mask of the legal actions of SimulatedGame
+     */
+    public static int getLegalActions(NetworkComputerPlayer player) {
+        BeliefTracker beliefTracker = player.getBeliefTracker();
+        int[] hand = new int[SimulatedGame.NUMBER_OF_TYPES];
+        for(CardType cardType : CardType.values()) {
+            hand[cardType.ordinal()] = beliefTracker.getMyCards(cardType);
+        }
+        boolean opponentsHaveCards = false;
+        for(String playerName : player.getPlayersInGame()) {
+            if(!playerName.equals(player.getName()) && beliefTracker.getHandSize(playerName) > 0) {
+                opponentsHaveCards = true;
+            }
+        }
+        int legalActions = 0;
+        for(int action=0; action<SimulatedGame.NUMBER_OF_ACTIONS; action++) {
+            if(SimulatedGame.isLegal(action, hand, opponentsHaveCards)) {
+                legalActions |= 1 << action;
+            }
+        }
+        return legalActions;
+    }
+
+    private void send(String line) throws IOException {
+        synchronized (writer) {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        }
+    }
+
+    /**
+     * Read the lines of the engine until it exits. When it exits, the pending requests fail.
+     */
+    private void readAnswers() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                this.handleAnswer(line.trim());
+            }
+        } catch (IOException e) {
+            System.out.println("Exception " + e);
+        }
+        started.countDown();
+        for(Long requestId : pendingRequests.keySet()) {
+            CompletableFuture<Integer> answer = pendingRequests.remove(requestId);
+            if(answer != null) {
+                answer.completeExceptionally(new IOException("The engine has stopped"));
+            }
+        }
+    }
+
+    private void handleAnswer(String line) {
+        String[] words = line.split(EngineProtocol.SEPARATOR, 3);
+        switch (words[0]) {
+            case EngineProtocol.ID:
+                if(words.length > 2 && words[1].equals("name")) {
+                    engineName = words[2];
+                }
+                break;
+            case EngineProtocol.ENGINE_OK:
+                started.countDown();
+                break;
+            case EngineProtocol.INFO:
+                if(infoListener != null) {
+                    infoListener.accept(line);
+                }
+                break;
+            case EngineProtocol.BEST_ACTION:
+                if(words.length < 3) {
+                    break;
+                }
+                try {
+                    CompletableFuture<Integer> answer = pendingRequests.remove(Long.parseLong(words[1]));
+                    if(answer != null) {
+                        answer.complete(EngineProtocol.parseAction(words[2].trim()));
+                    }
+                } catch (NumberFormatException e) {
+                    System.out.println("Exception " + e);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Ask the engine to quit, and stop the process if it does not exit within a second.
+     */
+    @Override
+    public void close() {
+        try {
+            this.send(EngineProtocol.QUIT);
+        } catch (IOException e) {
+            System.out.println("Exception " + e);
+        }
+        try {
+            if(!process.waitFor(1, TimeUnit.SECONDS)) {
+                process.destroy();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroy();
+        }
+    }
+}
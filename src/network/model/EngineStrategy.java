@@ -0,0 +1,92 @@
+package network.model;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Strategy of a computer player which asks an external engine for its moves, with the line protocol of EngineProtocol.
+ * All EngineStrategy objects of a process with the same command line share one engine process, so the requests of many
+ * tables are pipelined to it. If the engine cannot be started, does not answer in time or answers with an illegal action,
+ * the move of GreedyStrategy is used. The engine does not see the cards shown by See The Future, so the moves after
+ * See The Future and the answers to the questions of the server are the answers of GreedyStrategy.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class EngineStrategy extends GreedyStrategy {
+    public static final String COMMAND_PROPERTY = "engine.command";
+    private static final long DEFAULT_TIMEOUT_MILLIS = 1000;
+
+    private final String commandLine;
+    private final long timeoutMillis;
+    private EngineProcess engine;
+
+    /**
+     * Create an EngineStrategy which starts the command line of the system property engine.command, and waits at most a second for each move.
+     */
+    public EngineStrategy() {
+        this(System.getProperty(COMMAND_PROPERTY), DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Create an EngineStrategy.
+     * @param commandLine the program of the engine and its arguments, separated by spaces, or null to play as GreedyStrategy
+     * @param timeoutMillis the time the engine has for one move in milliseconds
+     * @requires timeoutMillis >= 1
+     */
+    public EngineStrategy(String commandLine, long timeoutMillis) {
+        this.commandLine = commandLine;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String chooseMove(NetworkComputerPlayer player) {
+        String endgameMove = this.chooseEndgameMove(player);
+        if(endgameMove != null) {
+            return endgameMove;
+        }
+        int action = this.requestAction(player);
+        if(action < 0) {
+            return super.chooseMove(player);
+        }
+        return ComputerStrategy.toMessage(action, player);
+    }
+
+    /**
+     * Ask the engine for an action and check that it is legal. A request which is not answered in time is cancelled,
+     * and an engine which has stopped is started again for the next move.
+     * @return the action of SimulatedGame, or -1 if the engine did not give a legal action
+     */
+    private int requestAction(NetworkComputerPlayer player) {
+        if(commandLine == null || commandLine.isBlank()) {
+            return -1;
+        }
+        CompletableFuture<Integer> answer = null;
+        try {
+            if(engine == null) {
+                engine = EngineProcess.getShared(commandLine);
+            }
+            answer = engine.requestAction(EngineProcess.encodeState(player));
+            int action = answer.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            if(action < 0 || (EngineProcess.getLegalActions(player) & (1 << action)) == 0) {
+                return -1;
+            }
+            return action;
+        } catch (IOException | ExecutionException e) {
+            System.out.println("Exception " + e);
+            engine = null;
+            return -1;
+        } catch (TimeoutException e) {
+            engine.cancel(answer);
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            engine.cancel(answer);
+            return -1;
+        } catch (Exception e) {
+            System.out.println("Exception " + e);
+            return -1;
+        }
+    }
+}
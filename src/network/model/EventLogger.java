@@ -0,0 +1,378 @@
+package network.model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class for an asynchronous logger of events with levels. An event has a level, a name and up to 2 fields, each a key and
+ * a String value, and is written as one line: time, level, name and key=value for each field.
+ * The threads which log an event only copy its references into a slot of a ring buffer which is allocated once: a thread
+ * claims the next sequence number with a compare-and-set, fills the slot of that number and publishes the number in the
+ * slot. A writer thread takes the events in the order of their sequence numbers and writes them to a file, which is
+ * rotated when it reaches its maximum size, or to the console. When the ring buffer is full, the event is dropped and
+ * counted, so a thread which logs never waits for the disk. When the writer thread has caught up, it writes a WARN event
+ * log.dropped with the number of events dropped since its last report. An event whose level is not enabled returns at
+ * once, without allocating anything.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class EventLogger implements AutoCloseable {
+    public static final int DEBUG = 0;
+    public static final int INFO = 1;
+    public static final int WARN = 2;
+    public static final int ERROR = 3;
+    public static final int OFF = 4;
+    private static final String[] LEVEL_NAMES = {"DEBUG", "INFO", "WARN", "ERROR", "OFF"};
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    public static final long DEFAULT_MAX_FILE_SIZE = 16L << 20;
+    public static final int DEFAULT_MAX_FILES = 5;
+    private static final long IDLE_PARK_NANOS = 200_000;
+
+    private static EventLogger sharedLogger;
+
+    private final int mask;
+    private final AtomicLongArray published;
+    private final int[] levels;
+    private final long[] times;
+    private final String[] names;
+    private final String[] keys1;
+    private final String[] values1;
+    private final String[] keys2;
+    private final String[] values2;
+    private final AtomicLong claimed;
+    private final AtomicLong written;
+    private final LongAdder dropped;
+    private final Path path;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final Thread writerThread;
+    private final StringBuilder line;
+    private volatile int level;
+    private volatile long flushed;
+    private volatile boolean closed;
+    private Writer writer;
+    private long fileSize;
+    private long reportedDrops;
+
+    /**
+     * Create an EventLogger with the default capacity, maximum file size and number of files.
+     * @param level the lowest level which is written
+     * @param path the file of the events, or null to write them to the console
+     * @throws IOException if the file cannot be opened
+     */
+    public EventLogger(int level, Path path) throws IOException {
+        this(level, path, DEFAULT_CAPACITY, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * Create an EventLogger and start its writer thread.
+     * @param level the lowest level which is written
+     * @param path the file of the events, or null to write them to the console
+     * @param capacity the number of events in the ring buffer
+     * @param maxFileSize the size after which the file is renamed to path.1, path.1 to path.2 and so on
+     * @param maxFiles the number of renamed files which are kept
+     * @requires capacity is a power of 2, maxFileSize > 0, maxFiles >= 1
+     * @throws IOException if the file cannot be opened
+     */
+    public EventLogger(int level, Path path, int capacity, long maxFileSize, int maxFiles) throws IOException {
+        this.level = level;
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for(int i=0; i<capacity; i++) {
+            published.set(i, -1);
+        }
+        this.levels = new int[capacity];
+        this.times = new long[capacity];
+        this.names = new String[capacity];
+        this.keys1 = new String[capacity];
+        this.values1 = new String[capacity];
+        this.keys2 = new String[capacity];
+        this.values2 = new String[capacity];
+        this.claimed = new AtomicLong();
+        this.written = new AtomicLong();
+        this.dropped = new LongAdder();
+        this.path = path;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.line = new StringBuilder(256);
+        this.flushed = 0;
+        this.openWriter();
+
+        this.writerThread = new Thread(this::writeLoop, "event-logger");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Get the logger shared by the server, the client handlers and the computer players of this process. It is created
+     * the first time with the level of the system property log.level (debug, info, warn, error or off, info by default) and
+     * the file of the system property log.file, or the console if it is not set.
+     * @return the shared logger
+     */
+    public static synchronized EventLogger getLogger() {
+        if(sharedLogger == null) {
+            String file = System.getProperty("log.file");
+            try {
+                sharedLogger = new EventLogger(parseLevel(System.getProperty("log.level", "info")), file == null ? null : Paths.get(file));
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+                try {
+                    sharedLogger = new EventLogger(parseLevel(System.getProperty("log.level", "info")), null);
+                } catch (IOException consoleException) {
+                    throw new IllegalStateException(consoleException);
+                }
+            }
+            EventLogger logger = sharedLogger;
+            Runtime.getRuntime().addShutdownHook(new Thread(logger::close));
+        }
+        return sharedLogger;
+    }
+
+    /**
+     * Get the level with a name.
+     * @param name the name of the level, in any case
+     * @requires name != null
+     * @return the level, or INFO if there is no level with this name
+     */
+    public static int parseLevel(String name) {
+        for(int i=0; i<LEVEL_NAMES.length; i++) {
+            if(LEVEL_NAMES[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return INFO;
+    }
+
+    /**
+     * Check if the events of a level are written. A caller whose fields take work to compute, for example a String of a
+     * list, checks this first.
+     * @param level the level
+     * @return true if the events of this level are written
+     */
+    public boolean isEnabled(int level) {
+        return level >= this.level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Log an event without fields.
+     * @param level the level of the event
+     * @param name the name of the event, for example "message.received"
+     */
+    public void log(int level, String name) {
+        this.log(level, name, null, null, null, null);
+    }
+
+    /**
+     * Log an event with one field.
+     * @param level the level of the event
+     * @param name the name of the event
+     * @param key the key of the field
+     * @param value the value of the field
+     */
+    public void log(int level, String name, String key, String value) {
+        this.log(level, name, key, value, null, null);
+    }
+
+    /**
+     * Log an event with 2 fields. If the level is enabled, the references are copied into the ring buffer, otherwise
+     * nothing happens.
+     * @param level the level of the event
+     * @param name the name of the event
+     * @param key1 the key of the first field, or null
+     * @param value1 the value of the first field
+     * @param key2 the key of the second field, or null
+     * @param value2 the value of the second field
+     */
+    public void log(int level, String name, String key1, String value1, String key2, String value2) {
+        if(level < this.level || closed) {
+            return;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if(sequence - written.get() > mask) {
+                dropped.increment();
+                return;
+            }
+        } while(!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & mask);
+        levels[slot] = level;
+        times[slot] = System.currentTimeMillis();
+        names[slot] = name;
+        keys1[slot] = key1;
+        values1[slot] = value1;
+        keys2[slot] = key2;
+        values2[slot] = value2;
+        published.set(slot, sequence);
+    }
+
+    private void writeLoop() {
+        long sequence = 0;
+        while(true) {
+            int slot = (int) (sequence & mask);
+            if(published.get(slot) != sequence) {
+                boolean reported = this.reportDroppedEvents();
+                if(flushed < sequence || reported) {
+                    this.flushWriter();
+                    flushed = sequence;
+                }
+                if(closed && claimed.get() == sequence) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            this.writeEvent(slot);
+            names[slot] = null;
+            values1[slot] = null;
+            values2[slot] = null;
+            sequence += 1;
+            written.lazySet(sequence);
+        }
+    }
+
+    /**
+     * Write the number of events which were dropped since the last report, if there are any.
+     * @return true if a report was written
+     */
+    private boolean reportDroppedEvents() {
+        long droppedEvents = dropped.sum();
+        if(droppedEvents == reportedDrops) {
+            return false;
+        }
+        this.writeLine(System.currentTimeMillis(), WARN, "log.dropped", "count", String.valueOf(droppedEvents - reportedDrops), null, null);
+        // an event dropped because the report could not be written is not reported again
+        reportedDrops = dropped.sum();
+        return true;
+    }
+
+    private void writeEvent(int slot) {
+        this.writeLine(times[slot], levels[slot], names[slot], keys1[slot], values1[slot], keys2[slot], values2[slot]);
+    }
+
+    private void writeLine(long time, int level, String name, String key1, String value1, String key2, String value2) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(time)).append(' ').append(LEVEL_NAMES[level]).append(' ').append(name);
+        if(key1 != null) {
+            line.append(' ').append(key1).append('=').append(value1);
+        }
+        if(key2 != null) {
+            line.append(' ').append(key2).append('=').append(value2);
+        }
+        line.append(System.lineSeparator());
+        try {
+            if(path != null && fileSize + line.length() > maxFileSize) {
+                this.rotate();
+            }
+            writer.append(line);
+            fileSize += line.length();
+        } catch (IOException e) {
+            dropped.increment();
+        }
+    }
+
+    private void openWriter() throws IOException {
+        if(path == null) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            return;
+        }
+        if(path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.fileSize = Files.size(path);
+    }
+
+    /**
+     * Rename the file to path.1, after renaming path.1 to path.2 and so on, and start a new file.
+     */
+    private void rotate() throws IOException {
+        writer.close();
+        Files.deleteIfExists(Paths.get(path + "." + maxFiles));
+        for(int i=maxFiles-1; i>=1; i--) {
+            Path rotated = Paths.get(path + "." + i);
+            if(Files.exists(rotated)) {
+                Files.move(rotated, Paths.get(path + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, Paths.get(path + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        this.openWriter();
+    }
+
+    private void flushWriter() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Wait until the events logged before this call are written and flushed.
+     * @throws InterruptedException if the thread is interrupted while it waits
+     */
+    public void flush() throws InterruptedException {
+        long target = claimed.get();
+        while(flushed < target && writerThread.isAlive()) {
+            if(Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Get the number of events which were written.
+     * @return the number of written events
+     */
+    public long getNumberOfWrittenEvents() {
+        return written.get();
+    }
+
+    /**
+     * Get the number of events which were dropped because the ring buffer was full or the file could not be written.
+     * @return the number of dropped events
+     */
+    public long getNumberOfDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Write the events which are in the ring buffer, stop the writer thread and close the file.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flushWriter();
+        if(path != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package network.model;
+
+import protocol.EngineProtocol;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A small external engine for the protocol of EngineProtocol, which can be used as a template for engines in other languages.
+ * It reads commands from stdin and answers on stdout: it plays Skip or Attack when the share of Exploding Kittens in the
+ * draw pile is high, steals cards with Favor or a cat combo otherwise, and draws when nothing else is legal.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class ExampleEngine {
+    private static final String NAME = "ExampleEngine";
+    private static final double DANGER = 0.2;
+
+    /**
+     * Choose the action for a state.
+     * @param state the words of the state of a go command
+     * @requires state != null
+     * @return the name of the action
+     */
+    public static String chooseAction(String[] state) {
+        int drawPileSize = 0;
+        int explodingKittens = 0;
+        String legalActions = "";
+        for(int i=0; i+1<state.length; i+=2) {
+            switch (state[i]) {
+                case EngineProtocol.PILE:
+                    drawPileSize = Integer.parseInt(state[i + 1]);
+                    break;
+                case EngineProtocol.KITTENS:
+                    explodingKittens = Integer.parseInt(state[i + 1]);
+                    break;
+                case EngineProtocol.LEGAL:
+                    legalActions = EngineProtocol.LIST_SEPARATOR + state[i + 1] + EngineProtocol.LIST_SEPARATOR;
+                    break;
+            }
+        }
+        String[] preferredActions;
+        if(drawPileSize > 0 && (double) explodingKittens / drawPileSize >= DANGER) {
+            preferredActions = new String[] {"skip", "attack", "shuffle"};
+        } else {
+            preferredActions = new String[] {"favor", "threecats", "twocats"};
+        }
+        for(String action : preferredActions) {
+            if(legalActions.contains(EngineProtocol.LIST_SEPARATOR + action + EngineProtocol.LIST_SEPARATOR)) {
+                return action;
+            }
+        }
+        return EngineProtocol.ACTIONS[SimulatedGame.DRAW];
+    }
+
+    public static void main(String[] args) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        String line;
+        while((line = in.readLine()) != null) {
+            String[] words = line.trim().split(EngineProtocol.SEPARATOR);
+            switch (words[0]) {
+                case EngineProtocol.ENGINE:
+                    out.println(EngineProtocol.ID + " name " + NAME);
+                    out.println(EngineProtocol.ENGINE_OK);
+                    break;
+                case EngineProtocol.IS_READY:
+                    out.println(EngineProtocol.READY_OK);
+                    break;
+                case EngineProtocol.GO:
+                    if(words.length < 2) {
+                        break;
+                    }
+                    String[] state = new String[words.length - 2];
+                    System.arraycopy(words, 2, state, 0, state.length);
+                    out.println(EngineProtocol.BEST_ACTION + EngineProtocol.SEPARATOR + words[1] + EngineProtocol.SEPARATOR + chooseAction(state));
+                    break;
+                case EngineProtocol.QUIT:
+                    out.flush();
+                    return;
+            }
+            out.flush();
+        }
+    }
+}
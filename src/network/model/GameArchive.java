@@ -0,0 +1,457 @@
+package network.model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Class for the archive of finished games, a file which keeps each game in a few dozen bytes so that millions of games can
+ * be stored and scanned. A game is archived with the seed of its randomness, the names of its players, its flags and its
+ * actions in the format of GameReplay, without the hashes, which are computed again by replaying the game.
+ * <p>
+ * The games are appended to a block in memory, and a block is compressed with Deflater and written to the file when it
+ * reaches the block size or when the archive is flushed or closed. The file starts with MAGIC and VERSION, and each block
+ * is: uncompressed length, compressed length, number of games, CRC-32C of the compressed bytes (4 bytes each), then the
+ * compressed bytes. A block which was only partly written is cut off when the archive is opened again.
+ * <p>
+ * A game in a block is: number of players and flags (1 byte each), seed (8 bytes), the names, the number of actions (varint)
+ * and the actions. A name is a varint: 0 for a name which is new in the block, followed by its length (varint) and its UTF-8
+ * bytes, or 1 + the index of the name among the names which were new in the block, so the players of the same room cost
+ * one byte each after their first game in the block. An action is one byte with its code in the low 4 bits. For a run of
+ * DRAW actions the high 4 bits are the length of the run - 1, up to 16 draws in one byte. For other actions the high 4 bits
+ * are the first argument, a seat or a CardType ordinal, or 15 if the argument follows as a varint, and the next arguments
+ * follow as varints. Games of random moves of 4 players take about 50 bytes each in the file.
+ * <p>
+ * The Server does not archive the games it hosts, because it does not record them as GameReplay. Archives are written
+ * with main() from games of random moves, and are read with scan().
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameArchive implements AutoCloseable {
+    public static final byte[] MAGIC = {'E', 'K', 'A', 'R'};
+    public static final byte VERSION = 1;
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+    private static final int BLOCK_HEADER_SIZE = 16;
+    private static final int ESCAPE = 15;
+    private static final int MAX_DRAW_RUN = 16;
+    // the number of arguments of each action code of GameReplay
+    private static final int[] ARGUMENTS = {0, 1, 0, 0, 1, 0, 2, 1, 3, 2, 3};
+
+    private final Path path;
+    private final int blockSize;
+    private final FileChannel channel;
+    private final Deflater deflater;
+    private final CRC32C crc;
+    private final ByteArrayOutputStream block;
+    private final List<String> blockNames;
+    private int gamesInBlock;
+    private long numberOfGames;
+
+    /**
+     * Open an archive with the default block size.
+     * @param path the file of the archive, which is created if it does not exist
+     * @requires path != null
+     * @throws IOException if the file cannot be read or created, or is not an archive
+     */
+    public GameArchive(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Open an archive to append games after the games it already contains.
+     * @param path the file of the archive, which is created if it does not exist
+     * @param blockSize the number of uncompressed bytes after which a block is compressed and written
+     * @requires path != null, blockSize >= 1
+     * @throws IOException if the file cannot be read or created, or is not an archive
+     */
+    public GameArchive(Path path, int blockSize) throws IOException {
+        this.path = path;
+        this.blockSize = blockSize;
+        this.deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        this.crc = new CRC32C();
+        this.block = new ByteArrayOutputStream(blockSize + 1024);
+        this.blockNames = new ArrayList<>();
+        if(path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if(channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 1);
+            header.put(MAGIC).put(VERSION).flip();
+            channel.write(header);
+        } else {
+            long validEnd = this.readBlockHeaders();
+            channel.truncate(validEnd);
+            channel.position(validEnd);
+        }
+    }
+
+    /**
+     * Read the headers of the blocks of the file to count its games, and check the compressed bytes of each block.
+     * @return the position after the last complete block
+     */
+    private long readBlockHeaders() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 1);
+        channel.read(header, 0);
+        if(header.position() < header.capacity() || !Arrays.equals(Arrays.copyOf(header.array(), MAGIC.length), MAGIC) ||
+                header.get(MAGIC.length) != VERSION) {
+            throw new IOException("Not a game archive: " + path);
+        }
+        long position = header.capacity();
+        ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+        while(true) {
+            blockHeader.clear();
+            if(channel.read(blockHeader, position) < BLOCK_HEADER_SIZE) {
+                return position;
+            }
+            int compressedLength = blockHeader.getInt(4);
+            if(compressedLength <= 0 || position + BLOCK_HEADER_SIZE + compressedLength > channel.size()) {
+                return position;
+            }
+            ByteBuffer compressed = ByteBuffer.allocate(compressedLength);
+            channel.read(compressed, position + BLOCK_HEADER_SIZE);
+            crc.reset();
+            crc.update(compressed.array());
+            if((int) crc.getValue() != blockHeader.getInt(12)) {
+                return position;
+            }
+            numberOfGames += blockHeader.getInt(8);
+            position += BLOCK_HEADER_SIZE + compressedLength;
+        }
+    }
+
+    /**
+     * Parse the flags of a game, as they are sent in the CONNECT message.
+     * @param flags the numbers of the flags separated by commas, for example "0,4", or null or "" for no flags
+     * @return the flags with bit n set for flag n
+     */
+    public static int parseFlags(String flags) {
+        int result = 0;
+        if(flags != null && !flags.isEmpty()) {
+            for(String flag : flags.split(",")) {
+                result |= 1 << Integer.parseInt(flag.trim());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Append a game of a replay.
+     * @param replay the replay of the game
+     * @param flags the flags of the game, bit n is set if protocol flag n was enabled
+     * @requires replay != null, 0 <= flags <= 255
+     * @throws IOException if a full block cannot be written
+     */
+    public void append(GameReplay replay, int flags) throws IOException {
+        int[] actions = new int[replay.getNumberOfActions()];
+        for(int i=0; i<actions.length; i++) {
+            actions[i] = replay.getAction(i);
+        }
+        this.append(new ArchivedGame(replay.getSeed(), replay.getNames(), flags, actions));
+    }
+
+    /**
+     * Append a game. It is written to the file when its block is full, or when the archive is flushed or closed.
+     * @param game the game
+     * @requires game != null
+     * @throws IOException if a full block cannot be written
+     */
+    public synchronized void append(ArchivedGame game) throws IOException {
+        block.write(game.getNames().size());
+        block.write(game.getFlags());
+        for(int i=56; i>=0; i-=8) {
+            block.write((int) (game.getSeed() >>> i));
+        }
+        for(String name : game.getNames()) {
+            int index = blockNames.indexOf(name);
+            if(index >= 0) {
+                writeVarint(block, index + 1);
+            } else {
+                blockNames.add(name);
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                writeVarint(block, 0);
+                writeVarint(block, bytes.length);
+                block.write(bytes);
+            }
+        }
+        writeVarint(block, game.getNumberOfActions());
+        encodeActions(game, block);
+        gamesInBlock += 1;
+        numberOfGames += 1;
+        if(block.size() >= blockSize) {
+            this.writeBlock();
+        }
+    }
+
+    private static void encodeActions(ArchivedGame game, ByteArrayOutputStream out) {
+        int i = 0;
+        while(i < game.getNumberOfActions()) {
+            int action = game.getAction(i);
+            int code = GameReplay.getCode(action);
+            if(code >= ARGUMENTS.length) {
+                throw new IllegalArgumentException("Unknown action " + action);
+            }
+            if(action == GameReplay.DRAW) {
+                int run = 1;
+                while(run < MAX_DRAW_RUN && i + run < game.getNumberOfActions() && game.getAction(i + run) == GameReplay.DRAW) {
+                    run += 1;
+                }
+                out.write((run - 1) << 4 | code);
+                i += run;
+                continue;
+            }
+            int first = ARGUMENTS[code] > 0 ? GameReplay.getArgument(action, 0) : 0;
+            out.write(Math.min(first, ESCAPE) << 4 | code);
+            if(first >= ESCAPE) {
+                writeVarint(out, first);
+            }
+            for(int k=1; k<ARGUMENTS[code]; k++) {
+                writeVarint(out, GameReplay.getArgument(action, k));
+            }
+            i += 1;
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Compress the block and write it to the file, then start a new block.
+     */
+    private void writeBlock() throws IOException {
+        if(gamesInBlock == 0) {
+            return;
+        }
+        byte[] uncompressed = block.toByteArray();
+        deflater.reset();
+        deflater.setInput(uncompressed);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(uncompressed.length / 2 + 64);
+        byte[] buffer = new byte[8192];
+        while(!deflater.finished()) {
+            int length = deflater.deflate(buffer);
+            compressed.write(buffer, 0, length);
+        }
+        byte[] compressedBytes = compressed.toByteArray();
+        crc.reset();
+        crc.update(compressedBytes);
+
+        ByteBuffer output = ByteBuffer.allocate(BLOCK_HEADER_SIZE + compressedBytes.length);
+        output.putInt(uncompressed.length).putInt(compressedBytes.length).putInt(gamesInBlock).putInt((int) crc.getValue());
+        output.put(compressedBytes).flip();
+        while(output.hasRemaining()) {
+            channel.write(output);
+        }
+        block.reset();
+        blockNames.clear();
+        gamesInBlock = 0;
+    }
+
+    /**
+     * Write the games of the current block to the file, even if the block is not full, and force them to the disk.
+     * @throws IOException if the block cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        this.writeBlock();
+        channel.force(false);
+    }
+
+    /**
+     * Get the number of games of the archive, including the games which are not written yet.
+     * @return the number of games
+     */
+    public synchronized long getNumberOfGames() {
+        return numberOfGames;
+    }
+
+    /**
+     * Get the size of the file, without the games which are not written yet.
+     * @return the size in bytes
+     * @throws IOException if the size cannot be read
+     */
+    public synchronized long getFileSize() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Write the current block and close the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            channel.close();
+            deflater.end();
+        }
+    }
+
+    /**
+     * Read the games of an archive in the order in which they were appended. The scan stops at a block which was only
+     * partly written.
+     * @param path the file of the archive
+     * @param consumer the consumer which is given each game
+     * @requires path != null, consumer != null
+     * @return the number of games read
+     * @throws IOException if the file cannot be read or is not an archive
+     */
+    public static long scan(Path path, Consumer<ArchivedGame> consumer) throws IOException {
+        long games = 0;
+        CRC32C crc = new CRC32C();
+        Inflater inflater = new Inflater();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            byte[] header = new byte[MAGIC.length + 1];
+            in.readFully(header);
+            if(!Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC) || header[MAGIC.length] != VERSION) {
+                throw new IOException("Not a game archive: " + path);
+            }
+            while(true) {
+                byte[] compressed;
+                int uncompressedLength;
+                int gamesInBlock;
+                try {
+                    uncompressedLength = in.readInt();
+                    compressed = new byte[in.readInt()];
+                    gamesInBlock = in.readInt();
+                    int check = in.readInt();
+                    in.readFully(compressed);
+                    crc.reset();
+                    crc.update(compressed);
+                    if((int) crc.getValue() != check) {
+                        return games;
+                    }
+                } catch (EOFException | NegativeArraySizeException e) {
+                    return games;
+                }
+                byte[] uncompressed = new byte[uncompressedLength];
+                inflater.reset();
+                inflater.setInput(compressed);
+                try {
+                    inflater.inflate(uncompressed);
+                } catch (DataFormatException e) {
+                    throw new IOException("Damaged block in " + path, e);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(uncompressed);
+                List<String> names = new ArrayList<>();
+                for(int i=0; i<gamesInBlock; i++) {
+                    consumer.accept(decodeGame(buffer, names));
+                    games += 1;
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ArchivedGame decodeGame(ByteBuffer buffer, List<String> blockNames) {
+        int numberOfPlayers = buffer.get() & 0xFF;
+        int flags = buffer.get() & 0xFF;
+        long seed = buffer.getLong();
+        List<String> names = new ArrayList<>();
+        for(int i=0; i<numberOfPlayers; i++) {
+            int reference = readVarint(buffer);
+            if(reference == 0) {
+                byte[] bytes = new byte[readVarint(buffer)];
+                buffer.get(bytes);
+                blockNames.add(new String(bytes, StandardCharsets.UTF_8));
+                names.add(blockNames.get(blockNames.size() - 1));
+            } else {
+                names.add(blockNames.get(reference - 1));
+            }
+        }
+        int[] actions = new int[readVarint(buffer)];
+        int i = 0;
+        while(i < actions.length) {
+            int first = buffer.get() & 0xFF;
+            int code = first & 0xF;
+            if(code == GameReplay.DRAW) {
+                // the array is filled with 0, which is the DRAW action
+                i += (first >>> 4) + 1;
+                continue;
+            }
+            int[] arguments = new int[ARGUMENTS[code]];
+            if(arguments.length > 0) {
+                arguments[0] = first >>> 4 == ESCAPE ? readVarint(buffer) : first >>> 4;
+            }
+            for(int k=1; k<arguments.length; k++) {
+                arguments[k] = readVarint(buffer);
+            }
+            actions[i] = GameReplay.action(code, arguments);
+            i += 1;
+        }
+        return new ArchivedGame(seed, names, flags, actions);
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = buffer.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Archive games of random moves and print the size per game, or scan an archive and replay its games.
+     * The arguments are: "record", file, number of games, number of players and seed; or "scan" and file.
+     * For example: record games.ekar 100000 4 1, then scan games.ekar
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 1 ? args[1] : "games.ekar");
+        long start = System.nanoTime();
+        if(args.length > 0 && args[0].equals("record")) {
+            long numberOfGames = args.length > 2 ? Long.parseLong(args[2]) : 10000;
+            int numberOfPlayers = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+            SplittableRandom random = new SplittableRandom(args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime());
+            try (GameArchive archive = new GameArchive(path)) {
+                long sizeBefore = archive.getFileSize();
+                for(long i=0; i<numberOfGames; i++) {
+                    archive.append(GameReplay.recordRandomGame(random.nextLong(), numberOfPlayers, random), parseFlags("0,4"));
+                }
+                archive.flush();
+                System.out.printf("Archived %d games to %s in %.1f s, %.1f bytes per game%n", numberOfGames, path,
+                        (System.nanoTime() - start) / 1e9, (double) (archive.getFileSize() - sizeBefore) / numberOfGames);
+            }
+            return;
+        }
+
+        long[] actionsAndFailures = new long[2];
+        long numberOfGames = scan(path, game -> {
+            actionsAndFailures[0] += game.getNumberOfActions();
+            try {
+                game.toReplay();
+            } catch (RuntimeException e) {
+                actionsAndFailures[1] += 1;
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Scanned and replayed %d games with %d actions in %.1f s (%.0f games per second), %.1f bytes per game, %d games fail%n",
+                numberOfGames, actionsAndFailures[0], seconds, numberOfGames / seconds, (double) Files.size(path) / Math.max(numberOfGames, 1),
+                actionsAndFailures[1]);
+    }
+}
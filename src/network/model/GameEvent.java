@@ -0,0 +1,68 @@
+package network.model;
+
+/**
+ * Class for an event of a game which is published on a GameEventBus. The events are allocated once, as the slots of the
+ * ring buffer of the bus, and are filled again for each new event, so a GameEventListener must copy the fields it keeps
+ * instead of keeping the event.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameEvent {
+    public static final int GAME_STARTED = 0;    // players: the names of the players of the game
+    public static final int CURRENT_PLAYER = 1;  // player: the current player, who was announced to the players
+    public static final int CARD_PLAYED = 2;     // player, cards: the names of the cards, separated by commas for a combo
+    public static final int CARD_DRAWN = 3;      // player, cards: the name of the card
+    public static final int PLAYER_OUT = 4;      // player
+    public static final int GAME_OVER = 5;       // player: the winner
+    private static final String[] TYPE_NAMES = {"GAME_STARTED", "CURRENT_PLAYER", "CARD_PLAYED", "CARD_DRAWN", "PLAYER_OUT", "GAME_OVER"};
+
+    private int type;
+    private String playerName;
+    private String cards;
+    private String players;
+    private long timeNanos;
+
+    /**
+     * Fill the event with the fields of a new event.
+     */
+    void set(int type, String playerName, String cards, String players) {
+        this.type = type;
+        this.playerName = playerName;
+        this.cards = cards;
+        this.players = players;
+        this.timeNanos = System.nanoTime();
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Get the name of the type of an event.
+     * @param type the type, for example CARD_PLAYED
+     * @requires 0 <= type <= GAME_OVER
+     * @return the name of the type, for example "CARD_PLAYED"
+     */
+    public static String getTypeName(int type) {
+        return TYPE_NAMES[type];
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public String getCards() {
+        return cards;
+    }
+
+    public String getPlayers() {
+        return players;
+    }
+
+    /**
+     * Get the time at which the event was published.
+     * @return the time, in the nanoseconds of System.nanoTime()
+     */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+}
@@ -0,0 +1,242 @@
+package network.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class for the bus on which the server publishes the events of its games to the listeners which react to them, such as
+ * the statistics. The events are kept in a ring buffer whose slots are allocated once. The game thread fills the slot of
+ * the next sequence number and then publishes the number in the cursor, without taking a lock and without waiting for
+ * the listeners, unless the ring buffer is full.
+ * <p>
+ * Each listener has its own thread and its own sequence, the number of the last event it handled. The thread handles all
+ * events up to the cursor in one batch, then stores its sequence. A slot is only filled again when every listener has
+ * handled its previous event, so a slow listener makes the game wait when it is a whole ring buffer behind, and never
+ * loses events. A listener which has nothing to do spins for a short time and then parks, and the game thread unparks it
+ * when it publishes the next event.
+ * <p>
+ * The events are published by one thread at a time, the game thread which holds the lock of the server.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameEventBus implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int SPIN_TRIES = 100;
+    private static final long FULL_PARK_NANOS = 10_000;
+
+    private final GameEvent[] events;
+    private final int mask;
+    private final AtomicLong cursor;
+    private final List<ListenerThread> listenerThreads;
+    private long nextSequence;
+    private volatile boolean closed;
+
+    /**
+     * Create a GameEventBus with the default capacity.
+     */
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a GameEventBus and allocate the events of its ring buffer.
+     * @param capacity the number of events of the ring buffer
+     * @requires capacity is a power of 2
+     * @throws IllegalArgumentException if capacity is not a power of 2
+     */
+    public GameEventBus(int capacity) {
+        if(capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of 2: " + capacity);
+        }
+        this.events = new GameEvent[capacity];
+        for(int i=0; i<capacity; i++) {
+            events[i] = new GameEvent();
+        }
+        this.mask = capacity - 1;
+        this.cursor = new AtomicLong(-1);
+        this.listenerThreads = new CopyOnWriteArrayList<>();
+        this.nextSequence = 0;
+    }
+
+    /**
+     * Add a listener and start its thread. The listener receives the events which are published after it was added.
+     * @param name the name of the listener, used for the name of its thread
+     * @param listener the listener
+     * @requires name != null, listener != null
+     */
+    public void addListener(String name, GameEventListener listener) {
+        ListenerThread listenerThread = new ListenerThread(name, listener, cursor.get());
+        listenerThreads.add(listenerThread);
+        listenerThread.start();
+    }
+
+    /**
+     * Remove a listener. Its thread stops when it has handled the events which were published, and the bus does not wait
+     * for it anymore. When a listener removes itself, it is removed after it returns from the event it handles.
+     * @param listener the listener
+     * @return true if the listener was removed, false if it was not added to this bus
+     * @throws InterruptedException if the thread is interrupted while waiting for the thread of the listener to stop
+     */
+    public boolean removeListener(GameEventListener listener) throws InterruptedException {
+        for(ListenerThread listenerThread : listenerThreads) {
+            if(listenerThread.listener == listener) {
+                listenerThread.halt();
+                if(listenerThread != Thread.currentThread()) {
+                    listenerThread.join();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getNumberOfListeners() {
+        return listenerThreads.size();
+    }
+
+    /**
+     * Publish an event to all listeners. If a listener has not handled the event which was in the next slot yet, wait until
+     * it has. Nothing is published after the bus was closed.
+     * @param type the type of the event, for example GameEvent.CARD_PLAYED
+     * @param playerName the name of the player of the event, or null
+     * @param cards the names of the cards of the event, or null
+     * @param players the names of the players of the game, or null
+     */
+    public void publish(int type, String playerName, String cards, String players) {
+        if(closed) {
+            return;
+        }
+        long sequence = nextSequence;
+        while(sequence - events.length > this.getMinimumSequence(sequence - 1)) {
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        events[(int) sequence & mask].set(type, playerName, cards, players);
+        this.nextSequence = sequence + 1;
+        // a volatile write, so a listener which is about to park sees the event or is seen to be parking
+        cursor.set(sequence);
+        for(ListenerThread listenerThread : listenerThreads) {
+            if(listenerThread.parking) {
+                LockSupport.unpark(listenerThread);
+            }
+        }
+    }
+
+    /**
+     * Get the number of the last published event.
+     * @return the number of the event, or -1 if no event was published
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Get the number of the last event which a listener handled.
+     * @param listener the listener
+     * @return the number of the event, or -1 if the listener was not added to this bus
+     */
+    public long getSequence(GameEventListener listener) {
+        for(ListenerThread listenerThread : listenerThreads) {
+            if(listenerThread.listener == listener) {
+                return listenerThread.sequence.get();
+            }
+        }
+        return -1;
+    }
+
+    private long getMinimumSequence(long minimum) {
+        for(ListenerThread listenerThread : listenerThreads) {
+            minimum = Math.min(minimum, listenerThread.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * Wait until every listener has handled the events which were published before this call.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        long published = cursor.get();
+        while(this.getMinimumSequence(published) < published) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Stop publishing events, and wait until the listeners have handled the published events and their threads stopped.
+     * If the thread is interrupted while waiting, it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        for(ListenerThread listenerThread : listenerThreads) {
+            listenerThread.halt();
+        }
+        try {
+            for(ListenerThread listenerThread : listenerThreads) {
+                if(listenerThread != Thread.currentThread()) {
+                    listenerThread.join();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The thread of a listener, which handles the events from its sequence up to the cursor.
+     */
+    private class ListenerThread extends Thread {
+        private final GameEventListener listener;
+        private final AtomicLong sequence;
+        private volatile boolean running;
+        private volatile boolean parking;
+
+        private ListenerThread(String name, GameEventListener listener, long sequence) {
+            super("game-events-" + name);
+            this.setDaemon(true);
+            this.listener = listener;
+            this.sequence = new AtomicLong(sequence);
+            this.running = true;
+        }
+
+        private void halt() {
+            this.running = false;
+            LockSupport.unpark(this);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while(true) {
+                long available = cursor.get();
+                if(available >= next) {
+                    for(long i=next; i<=available; i++) {
+                        try {
+                            listener.onEvent(events[(int) i & mask], i, i == available);
+                        } catch (RuntimeException e) {
+                            System.out.println("Exception " + e);
+                        }
+                    }
+                    sequence.set(available);
+                    next = available + 1;
+                    idle = 0;
+                } else if(!running) {
+                    // the slots are only filled again without waiting for this thread when it has stopped
+                    listenerThreads.remove(this);
+                    return;
+                } else if(idle < SPIN_TRIES) {
+                    idle += 1;
+                    Thread.onSpinWait();
+                } else {
+                    this.parking = true;
+                    if(cursor.get() < next && running) {
+                        LockSupport.park(this);
+                    }
+                    this.parking = false;
+                }
+            }
+        }
+    }
+}
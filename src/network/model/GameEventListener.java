@@ -0,0 +1,18 @@
+package network.model;
+
+/**
+ * Interface for a consumer of the events of a GameEventBus, for example the statistics, a metric or a spectator. Each
+ * listener has its own thread and receives every event in the order in which the events were published.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public interface GameEventListener {
+
+    /**
+     * Handle an event. The event is only valid during this call, because its slot is filled again with a later event.
+     * @param event the event
+     * @param sequence the number of the event, starting from 0 for the first event of the bus
+     * @param endOfBatch true if this is the last event which was published when the listener woke up, so a listener which
+     *                   writes can write the events of a batch together
+     */
+    void onEvent(GameEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,447 @@
+package network.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Class for the write-ahead journal of the games of one room. A NetworkGame with a journal appends a record for each
+ * event of the game, such that a game in progress can be recovered after the server stops.
+ * The records are written to segment files which are mapped in memory, so appending a record only copies a few bytes.
+ * A commit thread forces the written records to the disk every commit interval, once for all records appended since the
+ * last commit (group commit). A record is: type (1 byte), length of the payload (2 bytes), payload, and the low 16 bits of
+ * the CRC-32C of the type, length and payload. A segment ends at the first record whose type is 0 or whose check is wrong,
+ * so a record which was only partly written before a crash is ignored.
+ * Every game starts in a new segment, and the segments of the previous games are deleted at that moment.
+ * A GameSnapshot of the game in progress can be written next to the segments by a snapshot thread. The snapshot keeps the
+ * place of the next record, so the segments before it are deleted and only the records after it are read when the journal
+ * is opened again.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameJournal implements AutoCloseable {
+    // the types of the records, the payloads are described next to each type
+    public static final int DEAL = 1;         // number of seats, then for each seat: name length, name in UTF-8, hand; then draw pile size, draw pile
+    public static final int PLAY = 2;         // seat, card type, number of cards
+    public static final int NOPE = 3;         // seat
+    public static final int DRAW = 4;         // seat, card type
+    public static final int DEFUSE = 5;       // seat, index where the Exploding Kitten is inserted in the draw pile
+    public static final int STEAL = 6;        // seat which gives, seat which takes, card type
+    public static final int SHUFFLE = 7;      // draw pile size, draw pile from the bottom
+    public static final int ELIMINATION = 8;  // seat
+    public static final int TURN = 9;         // seat of the current player, additional turns to play, 1 if attack is on
+    public static final int GAME_OVER = 10;   // seat of the winner
+    public static final int UNDRAW = 11;      // seat which puts the Exploding Kitten it drew back on top of the draw pile
+
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 5;
+    private static final int HEADER_SIZE = 3;
+    private static final int CHECK_SIZE = 2;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String SNAPSHOT_NAME = "game.snapshot";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long commitIntervalMillis;
+    private final GameSnapshot recoveredSnapshot;
+    private final List<JournalRecord> recoveredRecords;
+    private final CRC32C crc;
+    private final Thread commitThread;
+    private final ExecutorService snapshotWriter;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentNumber;
+    private long appendedRecords;
+    private long committedRecords;
+    private long numberOfCommits;
+    private volatile boolean closed;
+
+    /**
+     * Open the journal of a room with the default segment size and commit interval.
+     * @param directory the directory of the journal, which is created if it does not exist
+     * @requires directory != null
+     * @throws IOException if the directory or a segment cannot be read or created
+     */
+    public GameJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMMIT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Open the journal of a room. The last snapshot and the records of the existing segments after it are read first and are
+     * kept for getRecoveredSnapshot() and getRecoveredRecords(), then a new segment is created for the next records.
+     * @param directory the directory of the journal, which is created if it does not exist
+     * @param segmentSize the size of each segment file in bytes
+     * @param commitIntervalMillis the time between two commits of the commit thread
+     * @requires directory != null, segmentSize >= 1024, commitIntervalMillis >= 1
+     * @throws IOException if the directory or a segment cannot be read or created
+     */
+    public GameJournal(Path directory, int segmentSize, long commitIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.crc = new CRC32C();
+        Files.createDirectories(directory);
+        this.recoveredSnapshot = readSnapshot(directory);
+        if(recoveredSnapshot == null) {
+            this.recoveredRecords = Collections.unmodifiableList(readRecords(directory));
+        } else {
+            this.recoveredRecords = Collections.unmodifiableList(readRecords(directory, recoveredSnapshot.getSegmentNumber(), recoveredSnapshot.getPosition()));
+        }
+        List<Long> segmentNumbers = getSegmentNumbers(directory);
+        this.segmentNumber = segmentNumbers.isEmpty() ? 0 : segmentNumbers.get(segmentNumbers.size() - 1);
+        this.openNextSegment();
+
+        this.commitThread = new Thread(this::commitLoop, "journal-commit");
+        this.commitThread.setDaemon(true);
+        this.commitThread.start();
+        this.snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the snapshot which was in the directory when the journal was opened.
+     * @return the snapshot, or null if there was no valid snapshot
+     */
+    public GameSnapshot getRecoveredSnapshot() {
+        return recoveredSnapshot;
+    }
+
+    /**
+     * Get the records which were in the journal when it was opened, in the order in which they were appended. If there was
+     * a snapshot, only the records after it are recovered.
+     * @return the recovered records
+     */
+    public List<JournalRecord> getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    /**
+     * Start a new segment for a new game and delete the segments of the previous games.
+     * @throws IOException if the new segment cannot be created
+     */
+    public synchronized void startGame() throws IOException {
+        this.forceSegment();
+        this.openNextSegment();
+        for(long number : getSegmentNumbers(directory)) {
+            if(number < segmentNumber) {
+                Files.deleteIfExists(directory.resolve(getSegmentName(number)));
+            }
+        }
+    }
+
+    /**
+     * Get the position in the current segment where the next record will be appended. With getSegmentNumber(), it is the
+     * place of a snapshot taken now, if no record is appended in between.
+     * @return the position in bytes
+     */
+    public synchronized int getSegmentPosition() {
+        return segment.position();
+    }
+
+    /**
+     * Write a snapshot on the snapshot thread, so the game does not wait for the disk. The snapshot is written to a
+     * temporary file which then replaces the previous snapshot, and the segments before the place of the snapshot are deleted.
+     * @param snapshot the snapshot, taken when getSegmentNumber() and getSegmentPosition() were its place
+     * @requires snapshot != null
+     * @return a Future which is done when the snapshot is on the disk
+     */
+    public Future<?> writeSnapshot(GameSnapshot snapshot) {
+        return snapshotWriter.submit(() -> {
+            try {
+                Path temporary = directory.resolve(SNAPSHOT_NAME + ".tmp");
+                try (FileChannel snapshotChannel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    snapshotChannel.write(ByteBuffer.wrap(snapshot.encode()));
+                    snapshotChannel.force(true);
+                }
+                Files.move(temporary, directory.resolve(SNAPSHOT_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                for(long number : getSegmentNumbers(directory)) {
+                    if(number < snapshot.getSegmentNumber()) {
+                        Files.deleteIfExists(directory.resolve(getSegmentName(number)));
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        });
+    }
+
+    /**
+     * Append a record whose payload is a few small numbers.
+     * @param type the type of the record
+     * @param values the bytes of the payload, each between 0 and 255
+     * @requires 1 <= type <= 255, values != null
+     * @return the number of the record, counted from 1 since the journal was opened
+     */
+    public long append(int type, int... values) {
+        byte[] payload = new byte[values.length];
+        for(int i=0; i<values.length; i++) {
+            payload[i] = (byte) values[i];
+        }
+        return this.append(type, payload);
+    }
+
+    /**
+     * Append a record. The record is in memory when this method returns, and on the disk after the next commit.
+     * @param type the type of the record
+     * @param payload the payload
+     * @requires 1 <= type <= 255, payload != null, payload.length <= 65535
+     * @return the number of the record, counted from 1 since the journal was opened
+     * @throws IllegalArgumentException if the record does not fit in a segment
+     * @throws IllegalStateException if the journal is closed or a new segment cannot be created
+     */
+    public synchronized long append(int type, byte[] payload) {
+        int recordSize = HEADER_SIZE + payload.length + CHECK_SIZE;
+        if(recordSize > segmentSize || payload.length > 0xFFFF) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit in a segment");
+        }
+        if(closed) {
+            throw new IllegalStateException("The journal is closed");
+        }
+        if(segment.remaining() < recordSize) {
+            try {
+                this.forceSegment();
+                this.openNextSegment();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot create a segment", e);
+            }
+        }
+
+        int start = segment.position();
+        segment.put((byte) type);
+        segment.putShort((short) payload.length);
+        segment.put(payload);
+        crc.reset();
+        for(int i=start; i<start + HEADER_SIZE + payload.length; i++) {
+            crc.update(segment.get(i));
+        }
+        segment.putShort((short) crc.getValue());
+        appendedRecords += 1;
+        return appendedRecords;
+    }
+
+    /**
+     * Force the records appended until now to the disk, if the commit thread did not do it yet.
+     */
+    public void commit() {
+        MappedByteBuffer segmentToForce;
+        long recordsToCommit;
+        synchronized (this) {
+            if(appendedRecords == committedRecords) {
+                return;
+            }
+            segmentToForce = segment;
+            recordsToCommit = appendedRecords;
+        }
+        // the segments before this one were forced when they became full
+        segmentToForce.force();
+        synchronized (this) {
+            if(recordsToCommit > committedRecords) {
+                committedRecords = recordsToCommit;
+                numberOfCommits += 1;
+            }
+            this.notifyAll();
+        }
+    }
+
+    /**
+     * Wait until a record is on the disk.
+     * @param recordNumber the number returned by append()
+     * @throws InterruptedException if the thread is interrupted while it waits
+     */
+    public synchronized void awaitCommit(long recordNumber) throws InterruptedException {
+        while(committedRecords < recordNumber && !closed) {
+            this.wait();
+        }
+    }
+
+    private void commitLoop() {
+        while(!closed) {
+            try {
+                Thread.sleep(commitIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            this.commit();
+        }
+    }
+
+    private void forceSegment() {
+        if(segment != null && committedRecords < appendedRecords) {
+            segment.force();
+            committedRecords = appendedRecords;
+            numberOfCommits += 1;
+            this.notifyAll();
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        if(channel != null) {
+            channel.close();
+        }
+        segmentNumber += 1;
+        channel = FileChannel.open(directory.resolve(getSegmentName(segmentNumber)), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    public synchronized long getNumberOfAppendedRecords() {
+        return appendedRecords;
+    }
+
+    public synchronized long getNumberOfCommittedRecords() {
+        return committedRecords;
+    }
+
+    /**
+     * Get the number of times the commit thread or commit() forced records to the disk. It is much smaller than the number
+     * of records when many records are appended between two commits.
+     * @return the number of commits
+     */
+    public synchronized long getNumberOfCommits() {
+        return numberOfCommits;
+    }
+
+    public synchronized long getSegmentNumber() {
+        return segmentNumber;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Commit the appended records, stop the commit thread and close the current segment.
+     * @throws IOException if the segment cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.commit();
+        synchronized (this) {
+            closed = true;
+            this.notifyAll();
+        }
+        commitThread.interrupt();
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Read all valid records of the segments of a directory, in the order in which they were appended.
+     * @param directory the directory of the journal
+     * @requires directory != null
+     * @return the records, or an empty list if the directory does not exist
+     * @throws IOException if a segment cannot be read
+     */
+    public static List<JournalRecord> readRecords(Path directory) throws IOException {
+        return readRecords(directory, 0, 0);
+    }
+
+    /**
+     * Read the valid records of the segments of a directory from a place, in the order in which they were appended.
+     * @param directory the directory of the journal
+     * @param fromSegmentNumber the number of the segment of the first record
+     * @param fromPosition the position of the first record in its segment
+     * @requires directory != null, fromPosition >= 0
+     * @return the records, or an empty list if the directory does not exist
+     * @throws IOException if a segment cannot be read
+     */
+    public static List<JournalRecord> readRecords(Path directory, long fromSegmentNumber, int fromPosition) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        if(!Files.isDirectory(directory)) {
+            return records;
+        }
+        CRC32C check = new CRC32C();
+        for(long number : getSegmentNumbers(directory)) {
+            if(number < fromSegmentNumber) {
+                continue;
+            }
+            try (FileChannel segmentChannel = FileChannel.open(directory.resolve(getSegmentName(number)), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentChannel.size());
+                if(number == fromSegmentNumber) {
+                    buffer.position(Math.min(fromPosition, buffer.limit()));
+                }
+                while(buffer.remaining() >= HEADER_SIZE + CHECK_SIZE) {
+                    int start = buffer.position();
+                    int type = buffer.get(start) & 0xFF;
+                    int length = buffer.getShort(start + 1) & 0xFFFF;
+                    if(type == 0 || buffer.remaining() < HEADER_SIZE + length + CHECK_SIZE) {
+                        break;
+                    }
+                    check.reset();
+                    for(int i=start; i<start + HEADER_SIZE + length; i++) {
+                        check.update(buffer.get(i));
+                    }
+                    if((short) check.getValue() != buffer.getShort(start + HEADER_SIZE + length)) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    buffer.position(start + HEADER_SIZE);
+                    buffer.get(payload);
+                    buffer.position(start + HEADER_SIZE + length + CHECK_SIZE);
+                    records.add(new JournalRecord(type, payload, number, start));
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Read the snapshot of a directory.
+     * @param directory the directory of the journal
+     * @requires directory != null
+     * @return the snapshot, or null if there is no snapshot or it is not valid
+     * @throws IOException if the snapshot cannot be read
+     */
+    public static GameSnapshot readSnapshot(Path directory) throws IOException {
+        Path path = directory.resolve(SNAPSHOT_NAME);
+        if(!Files.exists(path)) {
+            return null;
+        }
+        return GameSnapshot.decode(Files.readAllBytes(path));
+    }
+
+    private static List<Long> getSegmentNumbers(Path directory) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for(Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    System.out.println("Exception " + e);
+                }
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    private static String getSegmentName(long number) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+}
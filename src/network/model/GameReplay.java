@@ -0,0 +1,466 @@
+package network.model;
+
+import local.model.Card;
+import local.model.CardType;
+import local.model.Player;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Class for the replay of a NetworkGame: the seed of the randomness of the game, the names of the players and the actions
+ * of the game, with the hash of the state of the game after each action. An action is applied with the same calls of
+ * NetworkGame as the Server makes for it, so a replay runs the rules of the server without sockets and without a user
+ * interface, and the hashes show the first action after which a game does not end in the same state as when it was recorded.
+ * <p>
+ * An action is an int with the code of the action in the lowest byte and up to 3 arguments in the next bytes. The file of a
+ * corpus of replays starts with MAGIC and VERSION, followed by the replays: seed, number of players, the length and UTF-8
+ * bytes of each name, number of actions, the actions and the hashes.
+ * <p>
+ * The Server does not record replays of the games it hosts. Replays are recorded with recordRandomGame() and main(), to
+ * check that a change of the rules of NetworkGame keeps the hashes of a recorded corpus.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameReplay {
+    public static final byte[] MAGIC = {'E', 'K', 'R', 'P'};
+    public static final byte VERSION = 1;
+
+    // the actions, the arguments are described next to each action
+    public static final int DRAW = 0;             // the current player draws, and an Exploding Kitten explodes if he has no Defuse card
+    public static final int DEFUSE = 1;           // index where the Exploding Kitten is inserted in the draw pile
+    public static final int SKIP = 2;
+    public static final int ATTACK = 3;
+    public static final int SHUFFLE = 4;          // number of times the draw pile is shuffled before the next player stops it
+    public static final int SEE_THE_FUTURE = 5;
+    public static final int FAVOR = 6;            // seat which gives a card, type of the card
+    public static final int NOPE = 7;             // seat
+    public static final int DISCARD = 8;          // seat, card type, number of cards: cards whose action was stopped by a Nope
+    public static final int TWO_CATS = 9;         // card type, seat from which a random card is taken
+    public static final int THREE_CATS = 10;      // card type, seat from which a card is taken, type of the card
+    public static final int NUMBER_OF_ACTIONS = 11;
+
+    private static final CardType[] CARD_TYPES = CardType.values();
+    private static final int MAX_ACTIONS = 4096;
+    private static final CardType[] CAT_CARDS = {CardType.TACO_CAT, CardType.HAIRY_POTATO_CAT, CardType.RAINBOW_RALPHING_CAT,
+            CardType.BEARD_CAT, CardType.CATTERMELON};
+
+    private final long seed;
+    private final List<String> names;
+    private int[] actions;
+    private long[] hashes;
+    private int numberOfActions;
+
+    /**
+     * Create a GameReplay without actions.
+     * @param seed the seed of the randomness of the game
+     * @param names the names of the players, in the order of the seats
+     * @requires names != null, 2 <= names.size() <= 5
+     */
+    public GameReplay(long seed, List<String> names) {
+        this.seed = seed;
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        this.actions = new int[64];
+        this.hashes = new long[64];
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public int getNumberOfActions() {
+        return numberOfActions;
+    }
+
+    public int getAction(int index) {
+        return actions[index];
+    }
+
+    /**
+     * Get the hash of the state of the game after an action.
+     * @param index the index of the action
+     * @requires 0 <= index < getNumberOfActions()
+     * @return the hash which was recorded
+     */
+    public long getHash(int index) {
+        return hashes[index];
+    }
+
+    /**
+     * Create an action.
+     * @param code the code of the action
+     * @param arguments the arguments of the action, at most 3, each between 0 and 255
+     * @requires 0 <= code < NUMBER_OF_ACTIONS
+     * @return the action
+     */
+    public static int action(int code, int... arguments) {
+        int action = code;
+        for(int i=0; i<arguments.length; i++) {
+            action |= (arguments[i] & 0xFF) << (8 * (i + 1));
+        }
+        return action;
+    }
+
+    /**
+     * Get the code of an action.
+     * @param action the action
+     * @return the code
+     */
+    public static int getCode(int action) {
+        return action & 0xFF;
+    }
+
+    /**
+     * Get an argument of an action.
+     * @param action the action
+     * @param index the index of the argument, between 0 and 2
+     * @return the argument
+     */
+    public static int getArgument(int action, int index) {
+        return (action >>> (8 * (index + 1))) & 0xFF;
+    }
+
+    /**
+     * Create the game of this replay before its first action: the game is set up with a Random of the seed of the replay.
+     * @return the game, without a journal
+     */
+    public NetworkGame newGame() {
+        NetworkGame game = new NetworkGame(new ArrayList<>(names));
+        game.setRandom(new Random(seed));
+        game.setUpGame();
+        return game;
+    }
+
+    /**
+     * Apply an action to the game of this replay and record it with the hash of the new state of the game.
+     * @param game the game, created by newGame() and changed only by this method
+     * @param action the action
+     * @requires game != null
+     */
+    public void record(NetworkGame game, int action) {
+        apply(game, names, action);
+        if(numberOfActions == actions.length) {
+            actions = Arrays.copyOf(actions, 2 * actions.length);
+            hashes = Arrays.copyOf(hashes, 2 * hashes.length);
+        }
+        actions[numberOfActions] = action;
+        hashes[numberOfActions] = game.getStateHash();
+        numberOfActions += 1;
+    }
+
+    /**
+     * Apply an action to a game with the calls of NetworkGame which the Server makes for it.
+     * @param game the game
+     * @param names the names of the players, in the order of the seats
+     * @param action the action
+     * @requires game != null, names != null
+     */
+    public static void apply(NetworkGame game, List<String> names, int action) {
+        String currentPlayerName = game.getCurrentPlayer().getName();
+        switch (getCode(action)) {
+            case DRAW -> {
+                if(game.drawCard(game.getCurrentPlayer()).getCardType() == CardType.EXPLODING_KITTEN) {
+                    if(!game.checkForDefuseCard()) {
+                        game.playExplodingKittenCard();
+                    }
+                } else {
+                    game.changeTurnToNextPlayer();
+                    game.checkAttackOn();
+                }
+            }
+            case DEFUSE -> {
+                game.playDefuseCard(String.valueOf(getArgument(action, 0)));
+                game.changeTurnToNextPlayer();
+                game.checkAttackOn();
+            }
+            case SKIP -> game.playSkipCard();
+            case ATTACK -> {
+                game.discardCard(CardType.ATTACK.getCardName(), currentPlayerName);
+                game.playAttackCard();
+            }
+            case SHUFFLE -> {
+                game.discardCard(CardType.SHUFFLE.getCardName(), currentPlayerName);
+                for(int i=0; i<getArgument(action, 0); i++) {
+                    game.playShuffleCard();
+                }
+            }
+            case SEE_THE_FUTURE -> game.playSeeTheFutureCard();
+            case FAVOR -> game.playFavorCard(getPlayer(game, names.get(getArgument(action, 0))), CARD_TYPES[getArgument(action, 1)].getCardName());
+            case NOPE -> game.playNopeCard(names.get(getArgument(action, 0)));
+            case DISCARD -> {
+                String cardName = CARD_TYPES[getArgument(action, 1)].getCardName();
+                if(getArgument(action, 2) == 1) {
+                    game.discardCard(cardName, names.get(getArgument(action, 0)));
+                } else {
+                    game.discardCards(cardName, getArgument(action, 2));
+                }
+            }
+            case TWO_CATS -> {
+                game.discardCards(CARD_TYPES[getArgument(action, 0)].getCardName(), 2);
+                game.playSpecialComboTwoCards(getPlayer(game, names.get(getArgument(action, 1))));
+            }
+            case THREE_CATS -> {
+                game.discardCards(CARD_TYPES[getArgument(action, 0)].getCardName(), 3);
+                game.playSpecialComboThreeCards(getPlayer(game, names.get(getArgument(action, 1))), CARD_TYPES[getArgument(action, 2)].getCardName());
+            }
+            default -> throw new IllegalArgumentException("Unknown action " + action);
+        }
+    }
+
+    private static Player getPlayer(NetworkGame game, String name) {
+        for(Player player : game.getPlayers()) {
+            if(player.getName().equals(name)) {
+                return player;
+            }
+        }
+        throw new IllegalStateException(name + " is not in the game");
+    }
+
+    /**
+     * Replay the actions on a new game and compare the hash of the state after each action with the recorded hash.
+     * @return the index of the first action after which the hash is different or which cannot be applied, or -1 if the
+     * game was replayed with the same hashes
+     */
+    public int verify() {
+        NetworkGame game = this.newGame();
+        for(int i=0; i<numberOfActions; i++) {
+            try {
+                apply(game, names, actions[i]);
+            } catch (RuntimeException e) {
+                return i;
+            }
+            if(game.getStateHash() != hashes[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Write this replay to a stream, in the format of a corpus of replays.
+     * @param out the stream
+     * @requires out != null
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeLong(seed);
+        out.writeByte(names.size());
+        for(String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(Math.min(bytes.length, 255));
+            out.write(bytes, 0, Math.min(bytes.length, 255));
+        }
+        out.writeInt(numberOfActions);
+        for(int i=0; i<numberOfActions; i++) {
+            out.writeInt(actions[i]);
+        }
+        for(int i=0; i<numberOfActions; i++) {
+            out.writeLong(hashes[i]);
+        }
+    }
+
+    /**
+     * Read a replay written by write().
+     * @param in the stream
+     * @requires in != null
+     * @return the replay, or null at the end of the stream
+     * @throws IOException if the stream cannot be read or ends in the middle of a replay
+     */
+    public static GameReplay read(DataInputStream in) throws IOException {
+        long seed;
+        try {
+            seed = in.readLong();
+        } catch (EOFException e) {
+            return null;
+        }
+        int numberOfPlayers = in.readUnsignedByte();
+        List<String> names = new ArrayList<>();
+        for(int i=0; i<numberOfPlayers; i++) {
+            byte[] bytes = new byte[in.readUnsignedByte()];
+            in.readFully(bytes);
+            names.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        GameReplay replay = new GameReplay(seed, names);
+        int numberOfActions = in.readInt();
+        replay.actions = new int[Math.max(numberOfActions, 1)];
+        replay.hashes = new long[Math.max(numberOfActions, 1)];
+        for(int i=0; i<numberOfActions; i++) {
+            replay.actions[i] = in.readInt();
+        }
+        for(int i=0; i<numberOfActions; i++) {
+            replay.hashes[i] = in.readLong();
+        }
+        replay.numberOfActions = numberOfActions;
+        return replay;
+    }
+
+    /**
+     * Record a game in which the players choose random actions: any card they can play or drawing a card. Now and then
+     * another player stops the card with a Nope.
+     * @param seed the seed of the randomness of the game
+     * @param numberOfPlayers the number of players
+     * @param random the source of randomness of the choices of the players
+     * @requires 2 <= numberOfPlayers <= 5, random != null
+     * @return the replay of the game
+     */
+    public static GameReplay recordRandomGame(long seed, int numberOfPlayers, SplittableRandom random) {
+        List<String> names = new ArrayList<>();
+        for(int i=1; i<=numberOfPlayers; i++) {
+            names.add("Player " + i);
+        }
+        GameReplay replay = new GameReplay(seed, names);
+        NetworkGame game = replay.newGame();
+        while(!game.gameOver() && replay.numberOfActions < MAX_ACTIONS) {
+            int action = chooseRandomAction(game, names, random);
+            int nopeSeat = getCode(action) == DRAW || getCode(action) == DEFUSE || random.nextInt(8) != 0 ? -1 : findNopeSeat(game, names);
+            if(nopeSeat >= 0) {
+                // the card is stopped by a Nope of another player, so it is only discarded
+                replay.record(game, action(NOPE, nopeSeat));
+                replay.record(game, getDiscardOf(action, names.indexOf(game.getCurrentPlayer().getName())));
+            } else {
+                replay.record(game, action);
+            }
+        }
+        return replay;
+    }
+
+    private static int findNopeSeat(NetworkGame game, List<String> names) {
+        for(Player player : game.getPlayers()) {
+            if(player != game.getCurrentPlayer() && game.hasCard(player.getName(), CardType.NOPE.getCardName())) {
+                return names.indexOf(player.getName());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the DISCARD action of the cards of an action of the current player.
+     */
+    private static int getDiscardOf(int action, int seat) {
+        return switch (getCode(action)) {
+            case SKIP -> action(DISCARD, seat, CardType.SKIP.ordinal(), 1);
+            case ATTACK -> action(DISCARD, seat, CardType.ATTACK.ordinal(), 1);
+            case SHUFFLE -> action(DISCARD, seat, CardType.SHUFFLE.ordinal(), 1);
+            case SEE_THE_FUTURE -> action(DISCARD, seat, CardType.SEE_THE_FUTURE.ordinal(), 1);
+            case FAVOR -> action(DISCARD, seat, CardType.FAVOR.ordinal(), 1);
+            case TWO_CATS -> action(DISCARD, seat, getArgument(action, 0), 2);
+            case THREE_CATS -> action(DISCARD, seat, getArgument(action, 0), 3);
+            default -> throw new IllegalArgumentException("No cards are played by action " + action);
+        };
+    }
+
+    private static int chooseRandomAction(NetworkGame game, List<String> names, SplittableRandom random) {
+        Player current = game.getCurrentPlayer();
+        ArrayList<Card> hand = current.getPlayerHandList();
+        if(!hand.isEmpty() && hand.get(hand.size() - 1).getCardType() == CardType.EXPLODING_KITTEN) {
+            return action(DEFUSE, random.nextInt(game.getDeck().getDrawPile().size() + 1));
+        }
+        List<Player> victims = new ArrayList<>();
+        for(Player player : game.getPlayers()) {
+            if(player != current && !player.getPlayerHandList().isEmpty()) {
+                victims.add(player);
+            }
+        }
+
+        int[] counts = new int[CARD_TYPES.length];
+        for(Card card : hand) {
+            counts[card.getCardType().ordinal()] += 1;
+        }
+        List<Integer> choices = new ArrayList<>();
+        choices.add(action(DRAW));
+        if(counts[CardType.SKIP.ordinal()] > 0) {
+            choices.add(action(SKIP));
+        }
+        if(counts[CardType.ATTACK.ordinal()] > 0) {
+            choices.add(action(ATTACK));
+        }
+        if(counts[CardType.SHUFFLE.ordinal()] > 0) {
+            choices.add(action(SHUFFLE, 1 + random.nextInt(20)));
+        }
+        if(counts[CardType.SEE_THE_FUTURE.ordinal()] > 0) {
+            choices.add(action(SEE_THE_FUTURE));
+        }
+        if(!victims.isEmpty()) {
+            Player victim = victims.get(random.nextInt(victims.size()));
+            int victimSeat = names.indexOf(victim.getName());
+            if(counts[CardType.FAVOR.ordinal()] > 0) {
+                CardType given = victim.getPlayerHandList().get(random.nextInt(victim.getPlayerHandList().size())).getCardType();
+                choices.add(action(FAVOR, victimSeat, given.ordinal()));
+            }
+            for(CardType cat : CAT_CARDS) {
+                if(counts[cat.ordinal()] >= 3) {
+                    choices.add(action(THREE_CATS, cat.ordinal(), victimSeat, CARD_TYPES[random.nextInt(CARD_TYPES.length)].ordinal()));
+                } else if(counts[cat.ordinal()] == 2) {
+                    choices.add(action(TWO_CATS, cat.ordinal(), victimSeat));
+                }
+            }
+        }
+        return choices.get(random.nextInt(choices.size()));
+    }
+
+    /**
+     * Record a corpus of games with random actions, or replay a corpus and verify the hashes of all games.
+     * The arguments are: "record", file, number of games, number of players and seed; or "verify" and file.
+     * For example: record replays.bin 10000 4 1, then verify replays.bin
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 1 ? args[1] : "replays.bin");
+        long start = System.nanoTime();
+        if(args.length > 0 && args[0].equals("record")) {
+            long numberOfGames = args.length > 2 ? Long.parseLong(args[2]) : 10000;
+            int numberOfPlayers = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+            SplittableRandom random = new SplittableRandom(args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+                out.write(MAGIC);
+                out.writeByte(VERSION);
+                for(long i=0; i<numberOfGames; i++) {
+                    recordRandomGame(random.nextLong(), numberOfPlayers, random).write(out);
+                }
+            }
+            System.out.printf("Recorded %d games to %s in %.1f s%n", numberOfGames, path, (System.nanoTime() - start) / 1e9);
+            return;
+        }
+
+        long numberOfGames = 0;
+        long numberOfActions = 0;
+        long failedGames = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            byte[] header = new byte[MAGIC.length + 1];
+            in.readFully(header);
+            if(!Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC) || header[MAGIC.length] != VERSION) {
+                throw new IOException("Not a replay file: " + path);
+            }
+            GameReplay replay;
+            while((replay = read(in)) != null) {
+                int failedAction = replay.verify();
+                if(failedAction >= 0) {
+                    failedGames += 1;
+                    System.out.printf("Game %d with seed %d differs after action %d of %d%n", numberOfGames, replay.getSeed(),
+                            failedAction, replay.getNumberOfActions());
+                }
+                numberOfGames += 1;
+                numberOfActions += replay.getNumberOfActions();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Replayed %d games with %d actions in %.1f s (%.0f games per second), %d games differ%n",
+                numberOfGames, numberOfActions, seconds, numberOfGames / seconds, failedGames);
+    }
+}
@@ -0,0 +1,139 @@
+package network.model;
+
+import local.model.PackedGameState;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Class for a snapshot of a NetworkGame in progress, with the flags of its room and the place in the GameJournal after
+ * which the records of the game are not in the snapshot. A game is recovered from its last snapshot and the records after
+ * it, so the time to recover does not depend on the length of the game.
+ * The state is a PackedGameState, so the order of the cards in a hand and the order of the discard pile under its top
+ * card are not kept, as the rules do not depend on them.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameSnapshot {
+    private static final int VERSION = 1;
+
+    private final List<String> names;
+    private final PackedGameState state;
+    private final String flags;
+    private final long segmentNumber;
+    private final int position;
+
+    /**
+     * Create a GameSnapshot.
+     * @param names the names of the players, in the order of the seats
+     * @param state the packed state of the game
+     * @param flags the flags of the room separated by ",", or an empty String
+     * @param segmentNumber the number of the journal segment of the next record
+     * @param position the position of the next record in its segment
+     * @requires names != null, state != null, flags != null, the names and the flags have at most 255 bytes each
+     */
+    public GameSnapshot(List<String> names, PackedGameState state, String flags, long segmentNumber, int position) {
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        this.state = state;
+        this.flags = flags;
+        this.segmentNumber = segmentNumber;
+        this.position = position;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public PackedGameState getState() {
+        return state;
+    }
+
+    public String getFlags() {
+        return flags;
+    }
+
+    public long getSegmentNumber() {
+        return segmentNumber;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Create the game of this snapshot, without a journal.
+     * @return the game
+     */
+    public NetworkGame createGame() {
+        NetworkGame game = new NetworkGame(new ArrayList<>(names));
+        state.writeGame(game);
+        return game;
+    }
+
+    /**
+     * Encode this snapshot: version, journal place, names, flags and state, followed by the CRC-32C of all of them.
+     * @return the bytes of the snapshot
+     */
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024 + 256 * names.size());
+        buffer.put((byte) VERSION);
+        buffer.putLong(segmentNumber);
+        buffer.putInt(position);
+        buffer.put((byte) names.size());
+        for(String name : names) {
+            putString(buffer, name);
+        }
+        putString(buffer, flags);
+        state.writeTo(buffer);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        byte[] bytes = new byte[buffer.position()];
+        System.arraycopy(buffer.array(), 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    /**
+     * Decode a snapshot written by encode().
+     * @param bytes the bytes of the snapshot
+     * @requires bytes != null
+     * @return the snapshot, or null if the bytes are not a complete snapshot of this version
+     */
+    public static GameSnapshot decode(byte[] bytes) {
+        if(bytes.length < 5) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if((int) crc.getValue() != buffer.getInt(bytes.length - 4) || buffer.get() != VERSION) {
+            return null;
+        }
+        long segmentNumber = buffer.getLong();
+        int position = buffer.getInt();
+        int numberOfNames = buffer.get() & 0xFF;
+        List<String> names = new ArrayList<>();
+        for(int i=0; i<numberOfNames; i++) {
+            names.add(getString(buffer));
+        }
+        String flags = getString(buffer);
+        PackedGameState state = new PackedGameState();
+        state.readFrom(buffer);
+        return new GameSnapshot(names, state, flags, segmentNumber, position);
+    }
+
+    private static void putString(ByteBuffer buffer, String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        buffer.put((byte) Math.min(bytes.length, 255));
+        buffer.put(bytes, 0, Math.min(bytes.length, 255));
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.get() & 0xFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Class for the listener of the events of a server which keeps the statistics and the ratings of its players. During a
+ * game it counts the cards played and the turns of each player. When a player is out or wins, the statistics of the game
+ * are added to the PlayerStatsStore, and when the game is over the ratings of its players are updated in the Leaderboard.
+ * The counts are only used by the thread of the listener, so they are not locked.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameStatsRecorder implements GameEventListener {
+    private volatile PlayerStatsStore statsStore;
+    private volatile Leaderboard leaderboard;
+    private HashMap<String, int[]> cardsPlayedInGame;
+    private HashMap<String, Integer> turnsInGame;
+    private String lastCurrentPlayerName;
+    private ArrayList<String> playersOutInGame;
+
+    /**
+     * Create a GameStatsRecorder which updates a leaderboard and does not keep statistics.
+     * @param leaderboard the leaderboard
+     * @requires leaderboard != null
+     */
+    public GameStatsRecorder(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    public void setStatsStore(PlayerStatsStore statsStore) {
+        this.statsStore = statsStore;
+    }
+
+    public PlayerStatsStore getStatsStore() {
+        return statsStore;
+    }
+
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    @Override
+    public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case GameEvent.GAME_STARTED:
+                this.cardsPlayedInGame = new HashMap<>();
+                this.turnsInGame = new HashMap<>();
+                this.lastCurrentPlayerName = null;
+                this.playersOutInGame = new ArrayList<>();
+                break;
+            case GameEvent.CURRENT_PLAYER:
+                // a turn of a player starts when he becomes the current player
+                if(turnsInGame != null && !event.getPlayerName().equals(lastCurrentPlayerName)) {
+                    this.lastCurrentPlayerName = event.getPlayerName();
+                    turnsInGame.merge(lastCurrentPlayerName, 1, Integer::sum);
+                }
+                break;
+            case GameEvent.CARD_PLAYED:
+                this.countCardsPlayed(event.getCards(), event.getPlayerName());
+                break;
+            case GameEvent.PLAYER_OUT:
+                this.recordPlayerStats(event.getPlayerName(), false);
+                if(playersOutInGame != null) {
+                    playersOutInGame.add(event.getPlayerName());
+                }
+                break;
+            case GameEvent.GAME_OVER:
+                this.recordPlayerStats(event.getPlayerName(), true);
+                this.updateRatings(event.getPlayerName());
+                break;
+        }
+    }
+
+    /**
+     * Count the cards played by a player in the current game.
+     * @param playedCard the name of the played card, or the names of the cards of a combo separated by commas
+     * @param playerName the name of the player who played the cards
+     */
+    private void countCardsPlayed(String playedCard, String playerName) {
+        if(cardsPlayedInGame == null) {
+            return;
+        }
+        int[] cardsPlayed = cardsPlayedInGame.computeIfAbsent(playerName, name -> new int[CardType.values().length]);
+        for(String cardName : playedCard.split(",")) {
+            CardType cardType = CardType.fromCardName(cardName);
+            if(cardType != null) {
+                cardsPlayed[cardType.ordinal()] += 1;
+            }
+        }
+    }
+
+    /**
+     * Add the current game to the statistics of a player who is out or who won it.
+     * @param playerName the name of the player
+     * @param won true if the player won the game, false if the player is out
+     */
+    private void recordPlayerStats(String playerName, boolean won) {
+        if(statsStore == null || cardsPlayedInGame == null) {
+            return;
+        }
+        int[] cardsPlayed = cardsPlayedInGame.getOrDefault(playerName, new int[CardType.values().length]);
+        statsStore.recordGame(playerName, won, cardsPlayed, turnsInGame.getOrDefault(playerName, 0));
+    }
+
+    /**
+     * Update the ratings of the players of a game which is over, ranked from the winner to the player who was out first.
+     * @param winnerName the name of the winner
+     */
+    private void updateRatings(String winnerName) {
+        if(playersOutInGame == null || playersOutInGame.isEmpty()) {
+            return;
+        }
+        ArrayList<String> placement = new ArrayList<>();
+        placement.add(winnerName);
+        for(int i=playersOutInGame.size()-1; i>=0; i--) {
+            placement.add(playersOutInGame.get(i));
+        }
+        leaderboard.recordGame(placement);
+    }
+}
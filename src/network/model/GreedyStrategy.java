@@ -0,0 +1,160 @@
+package network.model;
+
+import local.model.CardType;
+import protocol.ProtocolCommands;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The default strategy of the computer player. The computer player plays its cards in a fixed order of priority,
+ * and it avoids drawing when the BeliefTracker says that the top card is probably an Exploding Kitten.
+ * At the end of a game, when the draw pile is small and at most 3 players are left, the EndgameSolver chooses the move.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GreedyStrategy implements ComputerStrategy {
+    private static final double RISK_OF_EXPLODING_KITTEN = 0.5;
+    private static final int ENDGAME_NODE_LIMIT = 200000;
+    private static final int ENDGAME_TABLE_SIZE = 1 << 16;
+    private EndgameSolver endgameSolver;
+
+    /**
+     * Firstly, a check is made to see if lastCardPlayed == null, in this case the computer player is the first player in the game.
+     * If the last card played was an Attack card, the computer player tries to play an Attack card, and if it does not have it,
+     * the method chooseCardToPlay() is used to make the decision.
+     */
+    @Override
+    public String chooseMove(NetworkComputerPlayer player) {
+        String endgameMove = this.chooseEndgameMove(player);
+        if(endgameMove != null) {
+            return endgameMove;
+        }
+        String lastCardPlayed = player.getLastCardPlayed();
+        if(lastCardPlayed != null && lastCardPlayed.equalsIgnoreCase("Attack") && player.checkMyCards("Attack")) {
+            return ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + "Attack";
+        }
+        return this.chooseCardToPlay(player);
+    }
+
+    /**
+     * If the first or third card from the draw pile is an Exploding Kitten, the computer player will try to play first a Skip
+     * card or a Shuffle card, if it does not have any of these in its hand, it will choose other card using the method chooseCardToPlay().
+     */
+    @Override
+    public String chooseMoveAfterSeeTheFuture(NetworkComputerPlayer player, List<String> first3Cards) {
+        String endgameMove = this.chooseEndgameMove(player);
+        if(endgameMove != null) {
+            return endgameMove;
+        }
+        boolean firstIsExplodingKitten = !first3Cards.isEmpty() && CardType.fromCardName(first3Cards.get(0)) == CardType.EXPLODING_KITTEN;
+        boolean thirdIsExplodingKitten = first3Cards.size() > 2 && CardType.fromCardName(first3Cards.get(2)) == CardType.EXPLODING_KITTEN;
+
+        if(firstIsExplodingKitten || thirdIsExplodingKitten) {
+            if(player.checkMyCards("Skip")) {
+                return ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + "Skip";
+            } else if(player.checkMyCards("Shuffle")) {
+                return ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + "Shuffle";
+            }
+        }
+        return this.chooseCardToPlay(player);
+    }
+
+    @Override
+    public boolean playNope(NetworkComputerPlayer player) {
+        return player.checkMyCards("Nope");
+    }
+
+    @Override
+    public String chooseCardToGive(NetworkComputerPlayer player) {
+        String[] cardsInOrderToGive = {"Hairy Potato Cat", "Cattermelon", "Beard Cat", "Rainbow Ralphing Cat", "Taco Cat",
+                "Shuffle", "Favor", "See The Future", "Skip", "Nope", "Attack", "Defuse"};
+        for(String card : cardsInOrderToGive) {
+            if(player.checkMyCards(card)) {
+                return card;
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public String chooseCardToSteal(NetworkComputerPlayer player) {
+        return "Defuse";
+    }
+
+    /**
+     * Choose the opponent with the best expected Defuse and Nope cards according to the OpponentModel.
+     * After 3 cards in combo, the opponent most likely to have a Defuse card is chosen, otherwise the opponent whose
+     * random card has the highest value. If the model does not know any of the players, a random player is chosen.
+     */
+    @Override
+    public String choosePlayerToStealFrom(NetworkComputerPlayer player, String[] playersNames) {
+        String myLastMove = player.getMyLastMove();
+        boolean threeCardsInCombo = myLastMove != null && myLastMove.split(ProtocolCommands.ELEMENT_SEPARATOR).length == 3;
+        String bestVictim = player.getOpponentModel().chooseVictim(playersNames, threeCardsInCombo ? CardType.DEFUSE : null);
+        if(bestVictim != null) {
+            return bestVictim;
+        }
+        String playerToStealCardFrom = player.getName();
+        while(playerToStealCardFrom.equals(player.getName())) {
+            playerToStealCardFrom = playersNames[(int) (Math.random() * playersNames.length)];
+        }
+        return playerToStealCardFrom;
+    }
+
+    @Override
+    public int chooseIndexForExplodingKitten(NetworkComputerPlayer player, int drawPileSize) {
+        return drawPileSize;
+    }
+
+    /**
+     * Let the EndgameSolver choose the move if the end of the game is small enough to be solved.
+     * The solver is created the first time it is needed, such that computer players which never reach the end of a game
+     * do not keep a transposition table.
+     * @param player the computer player who must play a card
+     * @return a message to be sent to the server, or null if the end of the game cannot be solved yet
+     */
+    protected String chooseEndgameMove(NetworkComputerPlayer player) {
+        EndgameSolver.Position position = EndgameSolver.createPosition(player, player.getTurnsToPlay());
+        if(position == null) {
+            return null;
+        }
+        if(endgameSolver == null) {
+            endgameSolver = new EndgameSolver(ENDGAME_NODE_LIMIT, ENDGAME_TABLE_SIZE);
+        }
+        int action = endgameSolver.chooseAction(position);
+        return action < 0 ? null : EndgameSolver.toMessage(action);
+    }
+
+    /**
+     * This method is called when the computer player must play a card. For each card which exists, a check is made to see
+     * if the card is in the computer player's hand, such that it can be played.
+     * @param player the computer player who must play a card
+     * @return a message to be sent to the server containing the card which will be played
+     */
+    private String chooseCardToPlay(NetworkComputerPlayer player) {
+        String messageToSend = ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR;
+        String[] catCards = {"Beard Cat", "Cattermelon", "Rainbow Ralphing Cat", "Hairy Potato Cat", "Taco Cat"};
+        double riskOfExplodingKitten = player.getBeliefTracker().getProbabilityTopIsExplodingKitten();
+
+        if(player.checkMyCards("Attack")) {
+            return messageToSend + "Attack";
+        } else if(player.checkMyCards("Favor")) {
+            return messageToSend + "Favor";
+        }
+        for(int numberOfCards=3; numberOfCards>=2; numberOfCards--) {
+            for(String catCard : catCards) {
+                if(player.checkMyCardsForCombos(catCard, numberOfCards)) {
+                    return messageToSend + String.join(ProtocolCommands.ELEMENT_SEPARATOR, Collections.nCopies(numberOfCards, catCard));
+                }
+            }
+        }
+        if(player.checkMyCards("See The Future")) {
+            return messageToSend + "See The Future";
+        } else if(riskOfExplodingKitten >= RISK_OF_EXPLODING_KITTEN && player.checkMyCards("Skip")) {
+            return messageToSend + "Skip";
+        } else if(riskOfExplodingKitten >= RISK_OF_EXPLODING_KITTEN && player.checkMyCards("Shuffle")) {
+            return messageToSend + "Shuffle";
+        }
+        return ProtocolCommands.DRAW_CARD;
+    }
+}
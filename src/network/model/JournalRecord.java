@@ -0,0 +1,62 @@
+package network.model;
+
+/**
+ * Class for one record read from a GameJournal: its type, its payload and the place where it was found.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class JournalRecord {
+    private final int type;
+    private final byte[] payload;
+    private final long segmentNumber;
+    private final int position;
+
+    /**
+     * Create a JournalRecord.
+     * @param type the type of the record, one of the record types of GameJournal
+     * @param payload the payload of the record
+     * @param segmentNumber the number of the segment which contains the record
+     * @param position the position of the record in its segment
+     * @requires payload != null
+     */
+    public JournalRecord(int type, byte[] payload, long segmentNumber, int position) {
+        this.type = type;
+        this.payload = payload;
+        this.segmentNumber = segmentNumber;
+        this.position = position;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Get a byte of the payload as an unsigned number.
+     * @param index the index of the byte in the payload
+     * @requires 0 <= index < getPayloadLength()
+     * @return the value between 0 and 255
+     */
+    public int get(int index) {
+        return payload[index] & 0xFF;
+    }
+
+    public int getPayloadLength() {
+        return payload.length;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public long getSegmentNumber() {
+        return segmentNumber;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{type=" + type + ", length=" + payload.length + ", segment=" + segmentNumber + ", position=" + position + "}";
+    }
+}
@@ -0,0 +1,218 @@
+package network.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Class for the leaderboard of the players, ranked by an Elo rating which is updated after every finished game.
+ * A game of several players is rated as a game between each pair of its players, in which the player who was out later
+ * wins, and the change of each pair is divided by the number of opponents.
+ * The ratings are counted in buckets of one rating point, and a Fenwick tree over the buckets, from the highest rating to
+ * the lowest, gives the number of players above a rating in O(log(MAX_RATING)) time, whatever the number of players. The
+ * rank of a player is one more than the number of players whose rating is in a higher bucket, so players whose ratings
+ * have the same integer part share a rank. The top players are found by jumping with the Fenwick tree from one nonempty
+ * bucket to the next, so only the buckets which contain them are visited. The players of a bucket are kept ordered by
+ * rating and name, so the buckets are read in order without being sorted.
+ * If the leaderboard has a PlayerStatsStore, it starts with the ratings of the store and saves every new rating in it.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class Leaderboard {
+    public static final double INITIAL_RATING = 1500;
+    public static final double K_FACTOR = 32;
+    public static final int MAX_RATING = 4096;
+    public static final int MAX_TOP = 100;
+
+    private final PlayerStatsStore statsStore;
+    private final int[] tree;
+    private final List<TreeSet<String>> buckets;
+    private final HashMap<String, Double> ratings;
+
+    /**
+     * Create an empty Leaderboard which is kept only in memory.
+     */
+    public Leaderboard() {
+        this(null);
+    }
+
+    /**
+     * Create a Leaderboard with the ratings of a store.
+     * @param statsStore the store whose ratings are loaded and which saves the new ratings, or null to keep them only in memory
+     */
+    public Leaderboard(PlayerStatsStore statsStore) {
+        this.statsStore = statsStore;
+        this.tree = new int[MAX_RATING + 1];
+        this.buckets = new ArrayList<>(Collections.nCopies(MAX_RATING, null));
+        this.ratings = new HashMap<>();
+        if(statsStore != null) {
+            for(PlayerStats stats : statsStore.getAllStats()) {
+                if(stats.hasRating()) {
+                    this.putRating(stats.getName(), stats.getRating());
+                }
+            }
+        }
+    }
+
+    /**
+     * Update the ratings of the players of a finished game.
+     * @param placement the names of the players from the winner to the player who was out first
+     * @requires placement != null, the names are different
+     * @return the new ratings, in the order of the placement
+     */
+    public synchronized List<Double> recordGame(List<String> placement) {
+        int numberOfPlayers = placement.size();
+        double[] oldRatings = new double[numberOfPlayers];
+        for(int i=0; i<numberOfPlayers; i++) {
+            oldRatings[i] = this.getRating(placement.get(i));
+        }
+        double[] changes = new double[numberOfPlayers];
+        for(int i=0; i<numberOfPlayers; i++) {
+            for(int j=i+1; j<numberOfPlayers; j++) {
+                double expected = 1 / (1 + Math.pow(10, (oldRatings[j] - oldRatings[i]) / 400));
+                double change = K_FACTOR / (numberOfPlayers - 1) * (1 - expected);
+                changes[i] += change;
+                changes[j] -= change;
+            }
+        }
+        List<Double> newRatings = new ArrayList<>();
+        for(int i=0; i<numberOfPlayers; i++) {
+            double rating = oldRatings[i] + changes[i];
+            this.putRating(placement.get(i), rating);
+            newRatings.add(rating);
+            if(statsStore != null) {
+                statsStore.setRating(placement.get(i), rating);
+            }
+        }
+        return newRatings;
+    }
+
+    /**
+     * Set the rating of a player, for example when the ratings are loaded.
+     * @param name the name of the player
+     * @param rating the rating
+     * @requires name != null
+     */
+    public synchronized void setRating(String name, double rating) {
+        this.putRating(name, rating);
+    }
+
+    private void putRating(String name, double rating) {
+        // the order of a bucket depends on the ratings, so a player is removed before the rating changes
+        Double oldRating = ratings.get(name);
+        if(oldRating != null) {
+            int oldBucket = getBucket(oldRating);
+            buckets.get(oldBucket).remove(name);
+            this.add(getTreeIndex(oldBucket), -1);
+        }
+        ratings.put(name, rating);
+        int bucket = getBucket(rating);
+        if(buckets.get(bucket) == null) {
+            buckets.set(bucket, new TreeSet<>(this::compareRatings));
+        }
+        buckets.get(bucket).add(name);
+        this.add(getTreeIndex(bucket), 1);
+    }
+
+    /**
+     * Compare two rated players, the player with the higher rating first and players with the same rating by name.
+     */
+    private int compareRatings(String first, String second) {
+        int comparison = Double.compare(ratings.get(second), ratings.get(first));
+        return comparison != 0 ? comparison : first.compareTo(second);
+    }
+
+    /**
+     * Get the rating of a player.
+     * @param name the name of the player
+     * @requires name != null
+     * @return the rating, or INITIAL_RATING if the player did not finish a rated game
+     */
+    public synchronized double getRating(String name) {
+        return ratings.getOrDefault(name, INITIAL_RATING);
+    }
+
+    /**
+     * Get the rank of a player in O(log(MAX_RATING)) time.
+     * @param name the name of the player
+     * @requires name != null
+     * @return the rank, 1 for the best players, or 0 if the player is not rated
+     */
+    public synchronized int getRank(String name) {
+        Double rating = ratings.get(name);
+        if(rating == null) {
+            return 0;
+        }
+        return this.sum(getTreeIndex(getBucket(rating)) - 1) + 1;
+    }
+
+    public synchronized int getNumberOfPlayers() {
+        return ratings.size();
+    }
+
+    /**
+     * Get the best players, from the highest rating to the lowest.
+     * @param numberOfPlayers the number of players to get
+     * @requires 0 <= numberOfPlayers <= MAX_TOP
+     * @return the names of at most numberOfPlayers players
+     */
+    public synchronized List<String> getTop(int numberOfPlayers) {
+        List<String> top = new ArrayList<>();
+        int nextRank = 1;
+        while(top.size() < numberOfPlayers && nextRank <= ratings.size()) {
+            int treeIndex = this.find(nextRank);
+            for(String name : buckets.get(MAX_RATING - treeIndex)) {
+                if(top.size() == numberOfPlayers) {
+                    break;
+                }
+                top.add(name);
+            }
+            nextRank = this.sum(treeIndex) + 1;
+        }
+        return top;
+    }
+
+    private static int getBucket(double rating) {
+        return (int) Math.max(0, Math.min(MAX_RATING - 1, Math.floor(rating)));
+    }
+
+    /**
+     * Get the index in the Fenwick tree of a bucket: 1 for the highest bucket and MAX_RATING for the lowest.
+     */
+    private static int getTreeIndex(int bucket) {
+        return MAX_RATING - bucket;
+    }
+
+    private void add(int index, int value) {
+        for(int i=index; i<=MAX_RATING; i+=i&-i) {
+            tree[i] += value;
+        }
+    }
+
+    /**
+     * Get the number of players in the buckets from the highest one to the bucket at an index of the tree.
+     */
+    private int sum(int index) {
+        int sum = 0;
+        for(int i=index; i>0; i-=i&-i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Find the smallest index of the tree whose sum is at least a number of players, by descending the tree.
+     */
+    private int find(int numberOfPlayers) {
+        int index = 0;
+        int remaining = numberOfPlayers;
+        for(int step=Integer.highestOneBit(MAX_RATING); step>0; step>>=1) {
+            if(index + step <= MAX_RATING && tree[index + step] < remaining) {
+                index += step;
+                remaining -= tree[index];
+            }
+        }
+        return index + 1;
+    }
+}
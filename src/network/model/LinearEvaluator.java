@@ -0,0 +1,200 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class which estimates the probability that a computer player wins the game after an action, with one linear model for
+ * each action of SimulatedGame over the same features: the cards of each type in the hand of the player, the discarded
+ * cards of each type and a few public values, such as the size of the draw pile.
+ * The weights are trained by the LinearEvaluatorTrainer and stored in a weight file, which is memory-mapped when it is loaded,
+ * such that all computer players of a process share the same weights without copying them.
+ * <p>
+ * The weight file starts with the bytes "EKLW", the number of actions and the number of features as little-endian ints,
+ * followed by, for each action, the weight of each feature and the bias, as little-endian floats.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class LinearEvaluator {
+    public static final int NUMBER_OF_TYPES = CardType.values().length;
+    public static final int NUMBER_OF_FEATURES = 2 * NUMBER_OF_TYPES + 6;
+    private static final byte[] MAGIC = {'E', 'K', 'L', 'W'};
+    private static final int HEADER_SIZE = MAGIC.length + 2 * Integer.BYTES;
+    private static final Map<Path, LinearEvaluator> loadedEvaluators = new ConcurrentHashMap<>();
+
+    private final ByteBuffer weights;
+
+    /**
+     * Create a LinearEvaluator which reads its weights from a buffer in the format of the weight file.
+     * @param weights the buffer, its position is the start of the header
+     * @requires weights != null
+     * @throws IOException if the buffer does not contain weights for the actions and features of this class
+     */
+    public LinearEvaluator(ByteBuffer weights) throws IOException {
+        ByteBuffer buffer = weights.slice().order(ByteOrder.LITTLE_ENDIAN);
+        for(byte b : MAGIC) {
+            if(buffer.remaining() < HEADER_SIZE || buffer.get() != b) {
+                throw new IOException("Not a weight file");
+            }
+        }
+        int numberOfActions = buffer.getInt();
+        int numberOfFeatures = buffer.getInt();
+        if(numberOfActions != SimulatedGame.NUMBER_OF_ACTIONS || numberOfFeatures != NUMBER_OF_FEATURES ||
+                buffer.remaining() < numberOfActions * (numberOfFeatures + 1) * Float.BYTES) {
+            throw new IOException("The weight file has " + numberOfActions + " actions and " + numberOfFeatures + " features");
+        }
+        this.weights = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Load a weight file with a memory map. A file which was already loaded by this process is not mapped again.
+     * @param path the path of the weight file
+     * @requires path != null
+     * @return the LinearEvaluator which uses the weights of the file
+     * @throws IOException if the file cannot be read or it is not a weight file
+     */
+    public static LinearEvaluator load(Path path) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        LinearEvaluator evaluator = loadedEvaluators.get(absolutePath);
+        if(evaluator == null) {
+            try (FileChannel channel = FileChannel.open(absolutePath, StandardOpenOption.READ)) {
+                evaluator = new LinearEvaluator(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+            loadedEvaluators.putIfAbsent(absolutePath, evaluator);
+        }
+        return evaluator;
+    }
+
+    /**
+     * Write a weight file.
+     * @param path the path of the weight file
+     * @param weights for each action, the weight of each feature followed by the bias
+     * @requires path != null, weights.length == SimulatedGame.NUMBER_OF_ACTIONS, weights[i].length == NUMBER_OF_FEATURES + 1
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, float[][] weights) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + weights.length * (NUMBER_OF_FEATURES + 1) * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC);
+        buffer.putInt(weights.length);
+        buffer.putInt(NUMBER_OF_FEATURES);
+        for(float[] actionWeights : weights) {
+            for(float weight : actionWeights) {
+                buffer.putFloat(weight);
+            }
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Compute the estimated probability to win after an action.
+     * @param features the features of the state, computed by one of the features() methods
+     * @param action the action of SimulatedGame
+     * @requires features.length == NUMBER_OF_FEATURES
+     * @return the probability to win, between 0 and 1
+     */
+    public double evaluate(double[] features, int action) {
+        int offset = action * (NUMBER_OF_FEATURES + 1) * Float.BYTES;
+        double sum = weights.getFloat(offset + NUMBER_OF_FEATURES * Float.BYTES);
+        for(int i=0; i<NUMBER_OF_FEATURES; i++) {
+            sum += weights.getFloat(offset + i * Float.BYTES) * features[i];
+        }
+        return sigmoid(sum);
+    }
+
+    /**
+     * The logistic function, which turns the linear score into a probability.
+     * @param x the linear score
+     * @return 1 / (1 + e^-x)
+     */
+    public static double sigmoid(double x) {
+        return 1 / (1 + Math.exp(-x));
+    }
+
+    /**
+     * Compute the features of a state. The values are scaled to be roughly between 0 and 1.
+     * @param hand the number of cards of each type in the hand of the player
+     * @param discardedCards the number of discarded cards of each type
+     * @param drawPileSize the size of the draw pile
+     * @param explodingKittensInDrawPile the number of Exploding Kittens in the draw pile
+     * @param turnsToPlay the number of turns the player has to play
+     * @param playersAlive the number of players still in the game
+     * @param opponentsCards the total number of cards in the hands of the other players
+     * @param features the array which receives the features
+     * @requires hand.length == discardedCards.length == NUMBER_OF_TYPES, features.length == NUMBER_OF_FEATURES
+     */
+    public static void features(int[] hand, int[] discardedCards, int drawPileSize, int explodingKittensInDrawPile,
+                                int turnsToPlay, int playersAlive, int opponentsCards, double[] features) {
+        int handSize = 0;
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            features[i] = hand[i];
+            features[NUMBER_OF_TYPES + i] = discardedCards[i] / 4.0;
+            handSize += hand[i];
+        }
+        int index = 2 * NUMBER_OF_TYPES;
+        features[index] = drawPileSize / 46.0;
+        features[index + 1] = drawPileSize == 0 ? 0 : (double) explodingKittensInDrawPile / drawPileSize;
+        features[index + 2] = turnsToPlay - 1;
+        features[index + 3] = playersAlive / 5.0;
+        features[index + 4] = playersAlive <= 1 ? 0 : opponentsCards / 8.0 / (playersAlive - 1);
+        features[index + 5] = handSize / 8.0;
+    }
+
+    /**
+     * Compute the features of the state of a SelfPlayRecord. Every player who is not out of the game has an Exploding
+     * Kitten left in the draw pile, except one.
+     * @param record the record
+     * @param features the array which receives the features
+     * @requires record != null, features.length == NUMBER_OF_FEATURES
+     */
+    public static void features(SelfPlayRecord record, double[] features) {
+        int playersAlive = 0;
+        int opponentsCards = 0;
+        int[] handSizes = record.getHandSizes();
+        for(int player=0; player<handSizes.length; player++) {
+            if(handSizes[player] != SelfPlayRecord.PLAYER_OUT) {
+                playersAlive += 1;
+                if(player != record.getPlayer()) {
+                    opponentsCards += handSizes[player];
+                }
+            }
+        }
+        features(record.getHand(), record.getDiscardedCards(), record.getDrawPileSize(), playersAlive - 1,
+                record.getTurnsToPlay(), playersAlive, opponentsCards, features);
+    }
+
+    /**
+     * Compute the features of the current state of a network game, as a computer player sees it.
+     * @param player the computer player
+     * @param hand the number of cards of each type in the hand of the computer player, which may differ from its real hand
+     * @param features the array which receives the features
+     * @requires player != null, hand.length == NUMBER_OF_TYPES, features.length == NUMBER_OF_FEATURES
+     */
+    public static void features(NetworkComputerPlayer player, int[] hand, double[] features) {
+        BeliefTracker beliefTracker = player.getBeliefTracker();
+        int[] discardedCards = new int[NUMBER_OF_TYPES];
+        for(CardType cardType : CardType.values()) {
+            discardedCards[cardType.ordinal()] = beliefTracker.getDiscardedCards(cardType);
+        }
+        List<String> playersInGame = player.getPlayersInGame();
+        int opponentsCards = 0;
+        for(String playerName : playersInGame) {
+            opponentsCards += beliefTracker.getHandSize(playerName);
+        }
+        features(hand, discardedCards, beliefTracker.getDrawPileSize(), beliefTracker.getExplodingKittensInDrawPile(),
+                player.getTurnsToPlay(), playersInGame.size(), opponentsCards, features);
+    }
+}
@@ -0,0 +1,109 @@
+package network.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Class which trains the weights of a LinearEvaluator on the records of the SelfPlayExporter, on the CPU.
+ * For every record, the model of the chosen action is updated with one step of stochastic gradient descent on the
+ * logistic loss, where the target is 1 if the player won the game and 0 otherwise.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class LinearEvaluatorTrainer {
+    private static final double L2_REGULARIZATION = 1e-6;
+
+    private final double[][] weights;
+    private final double learningRate;
+    private final double[] features;
+    private double totalLoss;
+    private long numberOfSteps;
+
+    /**
+     * Create a LinearEvaluatorTrainer with all weights equal to 0.
+     * @param learningRate the size of the gradient steps
+     * @requires learningRate > 0
+     */
+    public LinearEvaluatorTrainer(double learningRate) {
+        this.weights = new double[SimulatedGame.NUMBER_OF_ACTIONS][LinearEvaluator.NUMBER_OF_FEATURES + 1];
+        this.learningRate = learningRate;
+        this.features = new double[LinearEvaluator.NUMBER_OF_FEATURES];
+    }
+
+    /**
+     * Make one gradient step on a record.
+     * @param record the record
+     * @requires record != null
+     */
+    public void train(SelfPlayRecord record) {
+        LinearEvaluator.features(record, features);
+        double[] actionWeights = weights[record.getAction()];
+        double sum = actionWeights[LinearEvaluator.NUMBER_OF_FEATURES];
+        for(int i=0; i<LinearEvaluator.NUMBER_OF_FEATURES; i++) {
+            sum += actionWeights[i] * features[i];
+        }
+        double prediction = LinearEvaluator.sigmoid(sum);
+        double target = record.isWon() ? 1 : 0;
+        double error = target - prediction;
+        for(int i=0; i<LinearEvaluator.NUMBER_OF_FEATURES; i++) {
+            actionWeights[i] += learningRate * (error * features[i] - L2_REGULARIZATION * actionWeights[i]);
+        }
+        actionWeights[LinearEvaluator.NUMBER_OF_FEATURES] += learningRate * error;
+
+        totalLoss -= record.isWon() ? Math.log(Math.max(1e-12, prediction)) : Math.log(Math.max(1e-12, 1 - prediction));
+        numberOfSteps += 1;
+    }
+
+    /**
+     * Train on all records of a self-play file once.
+     * @param path the path of the self-play file
+     * @requires path != null
+     * @return the average logistic loss over the records of the file, before each step
+     * @throws IOException if the file cannot be read
+     */
+    public double trainEpoch(Path path) throws IOException {
+        totalLoss = 0;
+        numberOfSteps = 0;
+        try (SelfPlayReader reader = new SelfPlayReader(path)) {
+            SelfPlayRecord record;
+            while((record = reader.next()) != null) {
+                this.train(record);
+            }
+        }
+        return numberOfSteps == 0 ? 0 : totalLoss / numberOfSteps;
+    }
+
+    /**
+     * Get the trained weights in the format of LinearEvaluator.write().
+     * @return for each action, the weight of each feature followed by the bias
+     */
+    public float[][] getWeights() {
+        float[][] result = new float[weights.length][];
+        for(int action=0; action<weights.length; action++) {
+            result[action] = new float[weights[action].length];
+            for(int i=0; i<weights[action].length; i++) {
+                result[action][i] = (float) weights[action][i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Train a weight file. The arguments are optional: self-play file, weight file, number of epochs and learning rate.
+     * For example: selfplay.bin weights.bin 3 0.01
+     */
+    public static void main(String[] args) throws IOException {
+        Path recordsPath = Paths.get(args.length > 0 ? args[0] : "selfplay.bin");
+        Path weightsPath = Paths.get(args.length > 1 ? args[1] : LinearStrategy.DEFAULT_WEIGHT_FILE);
+        int numberOfEpochs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        double learningRate = args.length > 3 ? Double.parseDouble(args[3]) : 0.01;
+
+        LinearEvaluatorTrainer trainer = new LinearEvaluatorTrainer(learningRate);
+        for(int epoch=1; epoch<=numberOfEpochs; epoch++) {
+            double loss = trainer.trainEpoch(recordsPath);
+            System.out.printf("Epoch %d: average loss %.5f over %d records%n", epoch, loss, trainer.numberOfSteps);
+        }
+        LinearEvaluator.write(weightsPath, trainer.getWeights());
+        System.out.println("Weights written to " + weightsPath);
+    }
+}
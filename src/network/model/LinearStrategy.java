@@ -0,0 +1,142 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Strategy of a computer player which scores its possible moves with a LinearEvaluator, instead of the fixed priorities
+ * of GreedyStrategy. The same evaluator chooses the card to give for a Favor: the card whose loss leaves the best hand.
+ * At the end of a game the EndgameSolver is used, as in GreedyStrategy, and without a weight file the strategy plays as
+ * GreedyStrategy.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class LinearStrategy extends GreedyStrategy {
+    public static final String DEFAULT_WEIGHT_FILE = "weights.bin";
+
+    private final LinearEvaluator evaluator;
+    private final double[] features;
+
+    /**
+     * Create a LinearStrategy with the weights of the file weights.bin in the working directory.
+     */
+    public LinearStrategy() {
+        this(loadDefaultEvaluator());
+    }
+
+    /**
+     * Create a LinearStrategy.
+     * @param evaluator the evaluator of the moves, or null to play as GreedyStrategy
+     */
+    public LinearStrategy(LinearEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.features = new double[LinearEvaluator.NUMBER_OF_FEATURES];
+    }
+
+    private static LinearEvaluator loadDefaultEvaluator() {
+        try {
+            return LinearEvaluator.load(Paths.get(DEFAULT_WEIGHT_FILE));
+        } catch (IOException e) {
+            System.out.println("Exception " + e);
+            return null;
+        }
+    }
+
+    @Override
+    public String chooseMove(NetworkComputerPlayer player) {
+        String endgameMove = this.chooseEndgameMove(player);
+        if(endgameMove != null) {
+            return endgameMove;
+        }
+        if(evaluator == null) {
+            return super.chooseMove(player);
+        }
+        int[] hand = this.getHand(player);
+        LinearEvaluator.features(player, hand, features);
+        return ComputerStrategy.toMessage(this.chooseAction(hand, this.opponentsHaveCards(player)), player);
+    }
+
+    /**
+     * The evaluator does not use the known cards of the draw pile, so if See The Future shows an Exploding Kitten on top,
+     * the move of GreedyStrategy is used.
+     */
+    @Override
+    public String chooseMoveAfterSeeTheFuture(NetworkComputerPlayer player, List<String> first3Cards) {
+        if(!first3Cards.isEmpty() && CardType.fromCardName(first3Cards.get(0)) == CardType.EXPLODING_KITTEN) {
+            return super.chooseMoveAfterSeeTheFuture(player, first3Cards);
+        }
+        return this.chooseMove(player);
+    }
+
+    /**
+     * Give the card without which the best move of the remaining hand has the highest value.
+     */
+    @Override
+    public String chooseCardToGive(NetworkComputerPlayer player) {
+        if(evaluator == null) {
+            return super.chooseCardToGive(player);
+        }
+        int[] hand = this.getHand(player);
+        boolean opponentsHaveCards = this.opponentsHaveCards(player);
+        CardType bestCard = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for(CardType cardType : CardType.values()) {
+            if(hand[cardType.ordinal()] == 0 || cardType == CardType.EXPLODING_KITTEN) {
+                continue;
+            }
+            hand[cardType.ordinal()] -= 1;
+            LinearEvaluator.features(player, hand, features);
+            double value = this.evaluate(this.chooseAction(hand, opponentsHaveCards));
+            hand[cardType.ordinal()] += 1;
+            if(value > bestValue) {
+                bestValue = value;
+                bestCard = cardType;
+            }
+        }
+        return bestCard == null ? super.chooseCardToGive(player) : bestCard.getCardName();
+    }
+
+    /**
+     * Choose the legal action with the highest estimated probability to win, for the features which were computed last.
+     * @param hand the cards of each type in the hand
+     * @param opponentsHaveCards true if at least one opponent has cards which can be taken
+     * @return the best action of SimulatedGame
+     */
+    private int chooseAction(int[] hand, boolean opponentsHaveCards) {
+        int bestAction = SimulatedGame.DRAW;
+        double bestValue = this.evaluate(SimulatedGame.DRAW);
+        for(int action=1; action<SimulatedGame.NUMBER_OF_ACTIONS; action++) {
+            if(SimulatedGame.isLegal(action, hand, opponentsHaveCards)) {
+                double value = this.evaluate(action);
+                if(value > bestValue) {
+                    bestValue = value;
+                    bestAction = action;
+                }
+            }
+        }
+        return bestAction;
+    }
+
+    private double evaluate(int action) {
+        return evaluator.evaluate(features, action);
+    }
+
+    private int[] getHand(NetworkComputerPlayer player) {
+        int[] hand = new int[LinearEvaluator.NUMBER_OF_TYPES];
+        for(CardType cardType : CardType.values()) {
+            hand[cardType.ordinal()] = player.getBeliefTracker().getMyCards(cardType);
+        }
+        return hand;
+    }
+
+    private boolean opponentsHaveCards(NetworkComputerPlayer player) {
+        for(String playerName : player.getPlayersInGame()) {
+            if(!playerName.equals(player.getName()) && player.getBeliefTracker().getHandSize(playerName) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package network.model;
+
+import java.util.List;
+
+/**
+ * Strategy of a strong computer player which chooses its moves with a MonteCarloTreeSearch on several cores.
+ * At the end of a game the EndgameSolver is used, as in GreedyStrategy. The answers to the questions of the server,
+ * such as Nope, Favor and the index of the Exploding Kitten, are the answers of GreedyStrategy.
+ * With a BotCpuBudget, every move searches with the threads which the budget has free, and plays the move of GreedyStrategy
+ * when it has none.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class MctsStrategy extends GreedyStrategy {
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 200;
+
+    private final MonteCarloTreeSearch search;
+    private final int numberOfThreads;
+    private final BotCpuBudget budget;
+
+    /**
+     * Create an MctsStrategy which uses all cores for 200 milliseconds per move, as far as the shared BotCpuBudget allows.
+     */
+    public MctsStrategy() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_TIME_BUDGET_MILLIS, BotCpuBudget.getSharedBudget());
+    }
+
+    /**
+     * Create an MctsStrategy.
+     * @param numberOfThreads the number of search threads for one move
+     * @param timeBudgetMillis the wall-clock time of one move in milliseconds
+     * @requires numberOfThreads >= 1, timeBudgetMillis >= 1
+     */
+    public MctsStrategy(int numberOfThreads, long timeBudgetMillis) {
+        this(numberOfThreads, timeBudgetMillis, null);
+    }
+
+    /**
+     * Create an MctsStrategy which shares the search threads with other computer players.
+     * @param numberOfThreads the largest number of search threads for one move
+     * @param timeBudgetMillis the wall-clock time of one move in milliseconds
+     * @param budget the budget of the search threads of all computer players, or null to always use numberOfThreads
+     * @requires numberOfThreads >= 1, timeBudgetMillis >= 1
+     */
+    public MctsStrategy(int numberOfThreads, long timeBudgetMillis, BotCpuBudget budget) {
+        this.search = new MonteCarloTreeSearch(numberOfThreads, timeBudgetMillis);
+        this.numberOfThreads = numberOfThreads;
+        this.budget = budget;
+    }
+
+    @Override
+    public String chooseMove(NetworkComputerPlayer player) {
+        String endgameMove = this.chooseEndgameMove(player);
+        if(endgameMove != null) {
+            return endgameMove;
+        }
+        int action = this.search(player);
+        if(action < 0) {
+            return super.chooseMove(player);
+        }
+        return ComputerStrategy.toMessage(action, player);
+    }
+
+    /**
+     * The cards seen with See The Future are already in the BeliefTracker, so every sampled game has them on top of the draw pile.
+     */
+    @Override
+    public String chooseMoveAfterSeeTheFuture(NetworkComputerPlayer player, List<String> first3Cards) {
+        return this.chooseMove(player);
+    }
+
+    /**
+     * Search with the threads which the budget gives.
+     * @return the action of SimulatedGame, or -1 if no thread was free or no game could be sampled
+     */
+    private int search(NetworkComputerPlayer player) {
+        if(budget == null) {
+            return search.chooseAction(player);
+        }
+        int threads = budget.acquire(numberOfThreads);
+        if(threads == 0) {
+            return -1;
+        }
+        try {
+            return search.chooseAction(player, threads);
+        } finally {
+            budget.release(threads);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package network.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Class which chooses the move of a computer player with Monte Carlo tree search, using several cores at the same time.
+ * The search is root-parallel: every thread builds its own tree, and in every iteration it samples its own game which is
+ * consistent with what the computer player knows (a determinization). At the deadline, each thread adds the number of
+ * visits of the moves at its root to shared counters, without locks, and the move with the most visits is chosen.
+ * The trees are open-loop: a node is reached by a sequence of actions, and the cards drawn in different determinizations
+ * may differ. The statistics of a node are counted for the player who moved at the time of the visit.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class MonteCarloTreeSearch {
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int MAX_TREE_DEPTH = 16;
+    private static final ExecutorService searchThreads = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+        Thread thread = new Thread(runnable, "mcts-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int numberOfThreads;
+    private final long timeBudgetNanos;
+    private final AtomicLong totalIterations;
+
+    /**
+     * Create a MonteCarloTreeSearch.
+     * @param numberOfThreads the number of trees which are searched at the same time, including the tree of the calling thread
+     * @param timeBudgetMillis the wall-clock time of one decision in milliseconds
+     * @requires numberOfThreads >= 1, timeBudgetMillis >= 1
+     */
+    public MonteCarloTreeSearch(int numberOfThreads, long timeBudgetMillis) {
+        this.numberOfThreads = numberOfThreads;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.totalIterations = new AtomicLong();
+    }
+
+    /**
+     * Get the number of iterations made by all threads in all searches of this object.
+     * @return the total number of iterations
+     */
+    public long getTotalIterations() {
+        return totalIterations.get();
+    }
+
+    /**
+     * Choose the action of a computer player in the current network game.
+     * @param computerPlayer the computer player who must move
+     * @requires computerPlayer != null
+     * @return an action of SimulatedGame, or -1 if no game can be sampled for the computer player
+     */
+    public int chooseAction(NetworkComputerPlayer computerPlayer) {
+        return this.chooseAction(computerPlayer, numberOfThreads);
+    }
+
+    /**
+     * Choose the action of a computer player in the current network game, with fewer threads than this object was created with.
+     * @param computerPlayer the computer player who must move
+     * @param numberOfThreads the number of trees which are searched at the same time, including the tree of the calling thread
+     * @requires computerPlayer != null, numberOfThreads >= 1
+     * @return an action of SimulatedGame, or -1 if no game can be sampled for the computer player
+     */
+    public int chooseAction(NetworkComputerPlayer computerPlayer, int numberOfThreads) {
+        // the messages of a computer player are handled one after the other, so its trackers do not change during the search
+        return this.chooseAction(random -> SimulatedGame.sample(computerPlayer, random), numberOfThreads);
+    }
+
+    /**
+     * Choose the action of the current player of sampled games.
+     * @param sampler the function which returns a new determinization of the current game for a source of randomness,
+     * the current player must be the same in all determinizations
+     * @requires sampler != null, the sampled games are not over
+     * @return the action with the most visits over all threads, or -1 if the sampler returns null
+     */
+    public int chooseAction(Function<SplittableRandom, SimulatedGame> sampler) {
+        return this.chooseAction(sampler, numberOfThreads);
+    }
+
+    /**
+     * Choose the action of the current player of sampled games, with a given number of threads.
+     * @param sampler the function which returns a new determinization of the current game for a source of randomness,
+     * the current player must be the same in all determinizations
+     * @param numberOfThreads the number of trees which are searched at the same time, including the tree of the calling thread
+     * @requires sampler != null, the sampled games are not over, numberOfThreads >= 1
+     * @return the action with the most visits over all threads, or -1 if the sampler returns null
+     */
+    public int chooseAction(Function<SplittableRandom, SimulatedGame> sampler, int numberOfThreads) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        AtomicLongArray rootVisits = new AtomicLongArray(SimulatedGame.NUMBER_OF_ACTIONS);
+        SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        SimulatedGame firstGame = sampler.apply(random);
+        if(firstGame == null) {
+            return -1;
+        }
+        int[] legalActions = new int[SimulatedGame.NUMBER_OF_ACTIONS];
+        int numberOfLegalActions = firstGame.getLegalActions(legalActions);
+        if(numberOfLegalActions <= 1) {
+            return numberOfLegalActions == 1 ? legalActions[0] : -1;
+        }
+
+        List<Future<?>> searches = new ArrayList<>();
+        for(int i=1; i<numberOfThreads; i++) {
+            SplittableRandom threadRandom = random.split();
+            searches.add(searchThreads.submit(() -> this.searchTree(sampler, threadRandom, deadline, rootVisits)));
+        }
+        this.searchTree(sampler, random.split(), deadline, rootVisits);
+        for(Future<?> search : searches) {
+            try {
+                search.get();
+            } catch (Exception e) {
+                System.out.println("Exception " + e);
+            }
+        }
+
+        int bestAction = legalActions[0];
+        for(int i=1; i<numberOfLegalActions; i++) {
+            if(rootVisits.get(legalActions[i]) > rootVisits.get(bestAction)) {
+                bestAction = legalActions[i];
+            }
+        }
+        return bestAction;
+    }
+
+    /**
+     * Search one tree until the deadline, then add the visits of the root to the shared counters.
+     */
+    private void searchTree(Function<SplittableRandom, SimulatedGame> sampler, SplittableRandom random, long deadline,
+                            AtomicLongArray rootVisits) {
+        Node root = new Node();
+        Node[] path = new Node[MAX_TREE_DEPTH];
+        int[] pathActions = new int[MAX_TREE_DEPTH];
+        int[] pathPlayers = new int[MAX_TREE_DEPTH];
+        int[] legalActions = new int[SimulatedGame.NUMBER_OF_ACTIONS];
+        long iterations = 0;
+
+        do {
+            SimulatedGame game = sampler.apply(random);
+            if(game == null) {
+                break;
+            }
+            Node node = root;
+            int depth = 0;
+            while(!game.isOver() && depth < MAX_TREE_DEPTH) {
+                int numberOfLegalActions = game.getLegalActions(legalActions);
+                if(numberOfLegalActions == 0) {
+                    break;
+                }
+                int action = node.select(legalActions, numberOfLegalActions, random);
+                path[depth] = node;
+                pathActions[depth] = action;
+                pathPlayers[depth] = game.getCurrentPlayer();
+                depth += 1;
+                boolean expanded = node.children[action] == null;
+                if(expanded) {
+                    node.children[action] = new Node();
+                }
+                game.play(action, random);
+                node = node.children[action];
+                if(expanded) {
+                    break;
+                }
+            }
+            int winner = game.playRandomGame(random);
+            for(int i=0; i<depth; i++) {
+                path[i].visits[pathActions[i]] += 1;
+                if(winner == pathPlayers[i]) {
+                    path[i].wins[pathActions[i]] += 1;
+                }
+            }
+            iterations += 1;
+        } while(System.nanoTime() < deadline);
+
+        for(int action=0; action<SimulatedGame.NUMBER_OF_ACTIONS; action++) {
+            if(root.visits[action] > 0) {
+                rootVisits.addAndGet(action, root.visits[action]);
+            }
+        }
+        totalIterations.addAndGet(iterations);
+    }
+
+    /**
+     * A node of the tree of one thread, with the statistics of each action. Only its own thread uses it.
+     */
+    private static class Node {
+        private final Node[] children = new Node[SimulatedGame.NUMBER_OF_ACTIONS];
+        private final int[] visits = new int[SimulatedGame.NUMBER_OF_ACTIONS];
+        private final int[] wins = new int[SimulatedGame.NUMBER_OF_ACTIONS];
+
+        /**
+         * Choose an action with UCB1 among the legal actions. Actions which were never tried are chosen first, in a random order.
+         */
+        private int select(int[] legalActions, int numberOfLegalActions, SplittableRandom random) {
+            int totalVisits = 0;
+            int untried = 0;
+            for(int i=0; i<numberOfLegalActions; i++) {
+                totalVisits += visits[legalActions[i]];
+                if(visits[legalActions[i]] == 0) {
+                    untried += 1;
+                }
+            }
+            if(untried > 0) {
+                int r = random.nextInt(untried);
+                for(int i=0; i<numberOfLegalActions; i++) {
+                    if(visits[legalActions[i]] == 0) {
+                        if(r == 0) {
+                            return legalActions[i];
+                        }
+                        r -= 1;
+                    }
+                }
+            }
+            double logVisits = Math.log(totalVisits);
+            int bestAction = legalActions[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for(int i=0; i<numberOfLegalActions; i++) {
+                int action = legalActions[i];
+                double value = (double) wins[action] / visits[action] + EXPLORATION * Math.sqrt(logVisits / visits[action]);
+                if(value > bestValue) {
+                    bestValue = value;
+                    bestAction = action;
+                }
+            }
+            return bestAction;
+        }
+    }
+}
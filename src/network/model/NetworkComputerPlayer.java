@@ -1,12 +1,15 @@
 package network.model;
 
+import local.model.CardType;
 import protocol.ProtocolCommands;
 
 import java.io.*;
 import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Arrays;
-import static local.view.ANSI.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Class to represent a network computer player in the Exploding Kittens game.
@@ -18,27 +21,146 @@ public class NetworkComputerPlayer implements Runnable {
     private BufferedWriter bufferedWriter;
     private ArrayList<String> myCards;
     private String lastCardPlayed;
-    private static int numberComputerPlayer = 0;
+    private static final AtomicInteger numberComputerPlayer = new AtomicInteger();
     private final String nameComputerPlayer;
+    private final ComputerStrategy strategy;
+    private final BeliefTracker beliefTracker;
+    private final OpponentModel opponentModel;
+    private String lastMoveAnnounced;
+    private String myLastMove;
+    private String[] stealToResolve;
+    private Consumer<String> messageSender;
+    private final ArrayList<String> playersInGame;
+    private String currentPlayerName;
+    private int turnsOfCurrentPlayer;
+    private int turnsAfterAttack;
+    private final EventLogger logger = EventLogger.getLogger();
 
     /**
-     * Create a NetworkComputerPlayer.
+     * Create a NetworkComputerPlayer which uses the GreedyStrategy.
      * Initialize the computer player's name.
      * Increase the variable which holds the number of computer players created by 1.
      */
     public NetworkComputerPlayer() {
-        NetworkComputerPlayer.numberComputerPlayer += 1;
-        this.nameComputerPlayer = "Computer Player " + NetworkComputerPlayer.numberComputerPlayer;
+        this(new GreedyStrategy());
+    }
+
+    /**
+     * Create a NetworkComputerPlayer with a given strategy.
+     * Initialize the computer player's name.
+     * Increase the variable which holds the number of computer players created by 1.
+     * @param strategy the strategy which makes the decisions of the computer player
+     * @requires strategy != null
+     */
+    public NetworkComputerPlayer(ComputerStrategy strategy) {
+        this("Computer Player " + NetworkComputerPlayer.numberComputerPlayer.incrementAndGet(), strategy);
+    }
+
+    /**
+     * Create a NetworkComputerPlayer with a given name and strategy.
+     * @param nameComputerPlayer the name of the computer player, it must start with "Computer" such that the server recognizes it
+     * @param strategy the strategy which makes the decisions of the computer player
+     * @requires nameComputerPlayer != null, strategy != null
+     */
+    public NetworkComputerPlayer(String nameComputerPlayer, ComputerStrategy strategy) {
+        this.nameComputerPlayer = nameComputerPlayer;
+        this.strategy = strategy;
+        this.beliefTracker = new BeliefTracker();
+        this.opponentModel = new OpponentModel(beliefTracker);
+        this.playersInGame = new ArrayList<>();
+    }
+
+    /**
+     * Get the name of the computer player.
+     * @return the name of the computer player
+     */
+    public String getName() {
+        return nameComputerPlayer;
+    }
+
+    /**
+     * Get the cards of the computer player, as they were sent by the server.
+     * @return the names of the cards in the hand of the computer player
+     */
+    public ArrayList<String> getMyCards() {
+        return myCards == null ? new ArrayList<>() : myCards;
+    }
+
+    /**
+     * Get the last card played by another player.
+     * @return the name of the last card played by another player, or null if no other player has played a card yet
+     */
+    public String getLastCardPlayed() {
+        return lastCardPlayed;
+    }
+
+    /**
+     * Send the messages of this computer player through another connection than its own socket.
+     * This is used by the BotHost, where many computer players share the same threads.
+     * @param messageSender the function which sends a message to the server
+     */
+    public void setMessageSender(Consumer<String> messageSender) {
+        this.messageSender = messageSender;
+    }
+
+    /**
+     * Get the BeliefTracker which keeps what the computer player has observed during the current game.
+     * @return the BeliefTracker of the computer player
+     */
+    public BeliefTracker getBeliefTracker() {
+        return beliefTracker;
+    }
+
+    /**
+     * Get the OpponentModel which estimates the cards in the hands of the other players.
+     * @return the OpponentModel of the computer player
+     */
+    public OpponentModel getOpponentModel() {
+        return opponentModel;
+    }
+
+    /**
+     * Get the last move of the computer player which was announced by the server in the current game.
+     * @return the cards played in the last move, separated by ",", or null if the computer player has not played a card yet
+     */
+    public String getMyLastMove() {
+        return myLastMove;
+    }
+
+    /**
+     * Get the players which are still in the current game, in the order in which they play.
+     * @return the names of the players in the game
+     */
+    public List<String> getPlayersInGame() {
+        return playersInGame;
+    }
+
+    /**
+     * Get the number of turns the computer player has to play, which is more than 1 if it was attacked.
+     * @return the number of turns left for the computer player, 1 if it is not its turn
+     */
+    public int getTurnsToPlay() {
+        return nameComputerPlayer.equals(currentPlayerName) ? Math.max(1, turnsOfCurrentPlayer) : 1;
+    }
+
+    /**
+     * Connect to the server on port 5000 of this machine.
+     */
+    public void connectToServer() {
+        this.connectToServer("localhost", 5000);
     }
 
     /**
      * Initialize the socket and connect to the server.
      * Initialize the buffered reader and the buffered writer.
      * Send to the server the first handshake message which includes the name of the computer player.
+     * @param host the host of the server
+     * @param port the port of the server
+     * @requires host != null
      */
-    public void connectToServer() {
+    public void connectToServer(String host, int port) {
         try {
-            this.socket = new Socket("localhost", 5000);
+            this.socket = new Socket(host, port);
             this.bufferedReader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
             this.bufferedWriter = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
         } catch (IOException e) {
@@ -52,6 +174,10 @@ public class NetworkComputerPlayer implements Runnable {
      * @param messageToSend the message which is sent
      */
     public void sendMessageToServer(String messageToSend) {
+        if(messageSender != null) {
+            messageSender.accept(messageToSend);
+            return;
+        }
         try {
             bufferedWriter.write(messageToSend);
             bufferedWriter.newLine();
@@ -71,13 +197,12 @@ public class NetworkComputerPlayer implements Runnable {
         try {
             messageFromServer = bufferedReader.readLine();
             while (messageFromServer != null) {
+                logger.log(EventLogger.DEBUG, "message.received", "player", this.nameComputerPlayer, "message", messageFromServer);
                 checkServerMessage(messageFromServer);
-                System.out.println(BLUE_BOLD_BRIGHT + "Server -> " + this.nameComputerPlayer + ": " + RESET
-                        + WHITE_BOLD + messageFromServer + RESET);
                 messageFromServer = bufferedReader.readLine();
             }
         } catch (IOException e) {
-            System.out.println("Exception " + e);
+            logger.log(EventLogger.WARN, "connection.closed", "player", this.nameComputerPlayer, "exception", e.toString());
         }
     }
 
@@ -108,8 +233,11 @@ public class NetworkComputerPlayer implements Runnable {
                 } else {
                     myCards = new ArrayList<>(Arrays.asList(argument1.split(ProtocolCommands.ELEMENT_SEPARATOR)));
                 }
+                this.resolveSteal();
+                beliefTracker.updateMyHand(myCards);
                 break;
             case ProtocolCommands.BROADCAST_MOVE:
+                this.observeMove(argument1, argument2);
                 if(!argument1.equals(this.nameComputerPlayer)) {
                     if(argument2.contains(",")) {
                         String[] lastCardsPlayed = argument2.split(",");
@@ -120,6 +248,12 @@ public class NetworkComputerPlayer implements Runnable {
                 }
                 break;
             case ProtocolCommands.CURRENT:
+                if(beliefTracker.getPlayerHoldingExplodingKitten() != null) {
+                    opponentModel.defuseUsed(beliefTracker.getPlayerHoldingExplodingKitten());
+                }
+                beliefTracker.turnAnnounced();
+                lastMoveAnnounced = null;
+                this.observeTurn(argument1);
                 if(argument1.equals(nameComputerPlayer)) {
                     playCard();
                 }
@@ -140,13 +274,39 @@ public class NetworkComputerPlayer implements Runnable {
                 respondPlayerName(argument1);
                 break;
             case ProtocolCommands.NEW_GAME:
+                lastCardPlayed = null;
+                myLastMove = null;
+                stealToResolve = null;
+                playersInGame.clear();
+                playersInGame.addAll(Arrays.asList(argument1.split(ProtocolCommands.ELEMENT_SEPARATOR)));
+                currentPlayerName = playersInGame.get(0);
+                turnsOfCurrentPlayer = 1;
+                turnsAfterAttack = 0;
+                beliefTracker.startNewGame(Arrays.asList(argument1.split(ProtocolCommands.ELEMENT_SEPARATOR)), nameComputerPlayer);
+                beliefTracker.updateMyHand(this.getMyCards());
+                opponentModel.startNewGame(Arrays.asList(argument1.split(ProtocolCommands.ELEMENT_SEPARATOR)), nameComputerPlayer, this.getMyCards());
                 if(argument1.startsWith(this.nameComputerPlayer)) {
-                    sendMessageToServer(chooseCardToPlay());
+                    sendMessageToServer(strategy.chooseMove(this));
                 }
                 break;
             case ProtocolCommands.SHOW_FIRST_3_CARDS:
+                beliefTracker.seeTheFuture(Arrays.asList(argument1.split(ProtocolCommands.ELEMENT_SEPARATOR)));
                 this.checkFirst3Cards(argument1);
                 break;
+            case ProtocolCommands.EXPLODING_KITTEN:
+                beliefTracker.explodingKittenDrawn(argument1);
+                if(argument1 != null && argument1.equals(currentPlayerName)) {
+                    turnsOfCurrentPlayer -= 1;
+                }
+                break;
+            case ProtocolCommands.PLAYER_OUT:
+                beliefTracker.playerOut(argument1);
+                opponentModel.playerOut(argument1);
+                playersInGame.remove(argument1);
+                break;
+            case ProtocolCommands.BROADCAST_STEAL:
+                this.observeSteal(messageFromServer);
+                break;
             case ProtocolCommands.GAME_OVER:
                 if(argument1.equals(this.nameComputerPlayer)) {
                     sendMessageToServer(ProtocolCommands.SEND_MESSAGE + ProtocolCommands.ARGUMENT_SEPARATOR + "I won!");
@@ -156,97 +316,146 @@ public class NetworkComputerPlayer implements Runnable {
     }
 
     /**
-     * This method is used when the computer player has played a See The Future card. When the server sends a message with the
-     * first 3 cards from the top of the draw pile, these are going to be checked by this method.
-     * @param cards the first 3 cards from the top of the draw pile
-     * @ensures if the first or third card from the draw pile is an Exploding Kitten, the computer player will try to play first a Skip
-     * card or a Shuffle card, if it does not have any of these in its hand, it will choose other card using the method chooseCardToPlay().
+     * This method is called when the server broadcasts a move, and it updates the BeliefTracker.
+     * The server announces a move again when all players have refused to play a Nope card, so a move which is equal to
+     * the last move announced during the same turn is not counted twice.
+     * @param playerName the player who made the move
+     * @param move the played cards, or DRAW_CARD if the player took a card from the draw pile
      */
-    private void checkFirst3Cards(String cards) {
-        String messageToSend = ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR;
-        ArrayList<String> first3Cards = new ArrayList<>(Arrays.asList(cards.split(",")));
-
-        if(first3Cards.get(0).equals("Exploding Kitten") || (first3Cards.get(2) != null && first3Cards.get(2).equals("Exploding Kitten"))) {
-            if(this.checkMyCards("Skip")) {
-                messageToSend += "Skip";
-            } else if(this.checkMyCards("Shuffle")) {
-                messageToSend += "Shuffle";
-            } else {
-                messageToSend = chooseCardToPlay();
+    private void observeMove(String playerName, String move) {
+        if(playerName == null || move == null) {
+            return;
+        }
+        if(move.equals(ProtocolCommands.DRAW_CARD)) {
+            beliefTracker.cardDrawn(playerName);
+            opponentModel.cardDrawn(playerName);
+            if(playerName.equals(currentPlayerName)) {
+                turnsOfCurrentPlayer -= 1;
             }
-        } else {
-            messageToSend = chooseCardToPlay();
+            return;
+        }
+        if(playerName.equals(nameComputerPlayer)) {
+            myLastMove = move;
+        }
+        String moveAnnounced = playerName + ProtocolCommands.ARGUMENT_SEPARATOR + move;
+        if(moveAnnounced.equals(lastMoveAnnounced)) {
+            return;
+        }
+        lastMoveAnnounced = moveAnnounced;
+        String[] playedCards = move.split(ProtocolCommands.ELEMENT_SEPARATOR);
+        CardType cardType = CardType.fromCardName(playedCards[0]);
+        if(cardType != null) {
+            beliefTracker.cardsPlayed(playerName, cardType, playedCards.length);
+            opponentModel.cardsPlayed(playerName, cardType, playedCards.length);
+        }
+        if(cardType == CardType.SKIP && playerName.equals(currentPlayerName)) {
+            turnsOfCurrentPlayer -= 1;
+        } else if(cardType == CardType.ATTACK) {
+            turnsAfterAttack = turnsOfCurrentPlayer > 1 ? turnsOfCurrentPlayer + 2 : 2;
         }
-        sendMessageToServer(messageToSend);
     }
 
     /**
-     * This method is used when it is the computer player's turn to play a card.
-     * Firstly, a check is made to see if lastCardPlayed == null, in this case the computer player is the first player in the game.
-     * The computer player tries to play an Attack card, and if it does not have it, the method chooseCardToPlay() is used to make the decision.
+     * This method is called when the server announces the current player. A new player has 1 turn to play, or more
+     * turns if the previous player has played an Attack card.
+     * @param playerName the name of the current player
      */
-    public void playCard() {
-        String messageToSend = ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR;
+    private void observeTurn(String playerName) {
+        if(playerName == null || playerName.equals(currentPlayerName) && turnsAfterAttack == 0) {
+            return;
+        }
+        currentPlayerName = playerName;
+        turnsOfCurrentPlayer = turnsAfterAttack > 0 ? turnsAfterAttack : 1;
+        turnsAfterAttack = 0;
+    }
 
-        if(lastCardPlayed == null) {
-            sendMessageToServer(chooseCardToPlay());
+    /**
+     * This method is called when the server announces that a player has taken a card from another player.
+     * If the card is secret and the computer player is the thief or the victim, the card is found when the server sends
+     * the new hand of the computer player.
+     * @param messageFromServer the parts of the BROADCAST_STEAL message
+     */
+    private void observeSteal(String[] messageFromServer) {
+        if(messageFromServer.length < 4) {
             return;
         }
+        String thief = messageFromServer[1];
+        String victim = messageFromServer[2];
+        int numberOfCards;
+        try {
+            numberOfCards = Integer.parseInt(messageFromServer[3]);
+        } catch (NumberFormatException e) {
+            System.out.println("Exception " + e);
+            return;
+        }
+        CardType cardType = messageFromServer.length > 4 ? CardType.fromCardName(messageFromServer[4]) : null;
+        beliefTracker.cardsStolen(thief, victim, numberOfCards);
 
-        if(lastCardPlayed.equalsIgnoreCase("Attack")) {
-            if(this.checkMyCards("Attack")) {
-                messageToSend += "Attack";
-            } else {
-                messageToSend = chooseCardToPlay();
-            }
+        if(cardType == null && numberOfCards > 0 && (thief.equals(nameComputerPlayer) || victim.equals(nameComputerPlayer))) {
+            stealToResolve = new String[] {thief, victim};
         } else {
-            messageToSend = chooseCardToPlay();
+            opponentModel.cardStolen(thief, victim, numberOfCards, cardType);
         }
-        sendMessageToServer(messageToSend);
     }
 
     /**
-     * This method is called when the computer player must play a card. For each card which exists, a check is made to see
-     * if the card is in the computer player's hand, such that it can be played.
-     * @return a message to be sent to the server containing the card which will be played
+     * This method is called when the server sends the hand of the computer player. If the computer player has taken
+     * or given a secret card, the type of the card is the only type of which the new hand has 1 card more (thief) or
+     * 1 card less (victim) than the old hand. The cards which the thief played to steal are not in the new hand either.
+     * If no type or more than one type matches, the card stays unknown.
      */
-    private String chooseCardToPlay() {
-        String messageToSend = ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR;
-        if(this.checkMyCards("Attack")) {
-            messageToSend += "Attack";
-        } else if(this.checkMyCards("Favor")) {
-            messageToSend += "Favor";
-        } else if(this.checkMyCardsForCombos("Beard Cat", 3)) {
-            messageToSend += "Beard Cat,Beard Cat,Beard Cat";
-        } else if(this.checkMyCardsForCombos("Cattermelon", 3)) {
-            messageToSend += "Cattermelon,Cattermelon,Cattermelon";
-        } else if(this.checkMyCardsForCombos("Rainbow Ralphing Cat", 3)) {
-            messageToSend += "Rainbow Ralphing Cat,Rainbow Ralphing Cat,Rainbow Ralphing Cat";
-        } else if(this.checkMyCardsForCombos("Hairy Potato Cat", 3)) {
-            messageToSend += "Hairy Potato Cat,Hairy Potato Cat,Hairy Potato Cat";
-        } else if(this.checkMyCardsForCombos("Taco Cat", 3)) {
-            messageToSend += "Taco Cat,Taco Cat,Taco Cat";
-        } else if(this.checkMyCardsForCombos("Beard Cat", 2)) {
-            messageToSend += "Beard Cat,Beard Cat";
-        } else if(this.checkMyCardsForCombos("Cattermelon", 2)) {
-            messageToSend += "Cattermelon,Cattermelon";
-        } else if(this.checkMyCardsForCombos("Rainbow Ralphing Cat", 2)) {
-            messageToSend += "Rainbow Ralphing Cat,Rainbow Ralphing Cat";
-        } else if(this.checkMyCardsForCombos("Hairy Potato Cat", 2)) {
-            messageToSend += "Hairy Potato Cat,Hairy Potato Cat";
-        } else if(this.checkMyCardsForCombos("Taco Cat", 2)) {
-            messageToSend += "Taco Cat,Taco Cat";
-        } else if(this.checkMyCards("See The Future")) {
-            messageToSend += "See The Future";
-        } else {
-            messageToSend = ProtocolCommands.DRAW_CARD;
+    private void resolveSteal() {
+        if(stealToResolve == null) {
+            return;
+        }
+        boolean thief = stealToResolve[0].equals(nameComputerPlayer);
+        int[] difference = new int[CardType.values().length];
+        for(String card : this.getMyCards()) {
+            CardType cardType = CardType.fromCardName(card);
+            if(cardType != null) {
+                difference[cardType.ordinal()] += 1;
+            }
+        }
+        if(thief && myLastMove != null) {
+            for(String card : myLastMove.split(ProtocolCommands.ELEMENT_SEPARATOR)) {
+                CardType cardType = CardType.fromCardName(card);
+                if(cardType != null) {
+                    difference[cardType.ordinal()] += 1;
+                }
+            }
+        }
+        CardType stolenCard = null;
+        int numberOfMatches = 0;
+        for(CardType cardType : CardType.values()) {
+            difference[cardType.ordinal()] -= beliefTracker.getMyCards(cardType);
+            if(difference[cardType.ordinal()] == (thief ? 1 : -1)) {
+                stolenCard = cardType;
+                numberOfMatches += 1;
+            }
         }
-        return messageToSend;
+        opponentModel.cardStolen(stealToResolve[0], stealToResolve[1], 1, numberOfMatches == 1 ? stolenCard : null);
+        stealToResolve = null;
+    }
+
+    /**
+     * This method is used when the computer player has played a See The Future card. When the server sends a message with the
+     * first 3 cards from the top of the draw pile, the strategy chooses the next move.
+     * @param cards the first 3 cards from the top of the draw pile
+     */
+    private void checkFirst3Cards(String cards) {
+        sendMessageToServer(strategy.chooseMoveAfterSeeTheFuture(this, new ArrayList<>(Arrays.asList(cards.split(",")))));
+    }
+
+    /**
+     * This method is used when it is the computer player's turn to play a card. The strategy chooses the move.
+     */
+    public void playCard() {
+        sendMessageToServer(strategy.chooseMove(this));
     }
 
     public void respondPlayNope() {
         String messageToSend = ProtocolCommands.RESPOND_YESORNO + ProtocolCommands.ARGUMENT_SEPARATOR;
-        if(this.checkMyCards("Nope")) {
+        if(this.checkMyCards("Nope") && strategy.playNope(this)) {
             messageToSend += "YES";
         } else {
             messageToSend += "NO";
@@ -255,61 +464,38 @@ public class NetworkComputerPlayer implements Runnable {
     }
 
     public void respondInsertExplodingKitten(String deckSize) {
-        sendMessageToServer(ProtocolCommands.RESPOND_INDEX + ProtocolCommands.ARGUMENT_SEPARATOR + deckSize);
+        int index;
+        try {
+            int drawPileSize = Integer.parseInt(deckSize);
+            index = Math.max(0, Math.min(drawPileSize, strategy.chooseIndexForExplodingKitten(this, drawPileSize)));
+            beliefTracker.synchronizeDrawPileSize(drawPileSize);
+            beliefTracker.insertExplodingKitten(index);
+        } catch (NumberFormatException e) {
+            System.out.println("Exception " + e);
+            sendMessageToServer(ProtocolCommands.RESPOND_INDEX + ProtocolCommands.ARGUMENT_SEPARATOR + deckSize);
+            return;
+        }
+        sendMessageToServer(ProtocolCommands.RESPOND_INDEX + ProtocolCommands.ARGUMENT_SEPARATOR + index);
     }
 
     public void respondCardName() {
         String messageToSend = ProtocolCommands.RESPOND_CARDNAME + ProtocolCommands.ARGUMENT_SEPARATOR;
-        if(this.lastCardPlayed.equalsIgnoreCase("Favor")) {
-            messageToSend += chooseCardToGive();
+        if(this.lastCardPlayed != null && this.lastCardPlayed.equalsIgnoreCase("Favor")) {
+            messageToSend += strategy.chooseCardToGive(this);
         } else {
-            messageToSend += "Defuse";
+            messageToSend += strategy.chooseCardToSteal(this);
         }
         sendMessageToServer(messageToSend);
     }
 
     public void respondPlayerName(String playerNames) {
         String[] players = playerNames.split(",");
-        String playerToStealCardFrom = nameComputerPlayer;
-        while(playerToStealCardFrom.equals(nameComputerPlayer)) {
-            playerToStealCardFrom = players[(int) (Math.random() * players.length)];
-        }
-        sendMessageToServer(ProtocolCommands.RESPOND_PLAYERNAME + ProtocolCommands.ARGUMENT_SEPARATOR + playerToStealCardFrom);
-    }
-
-    private String chooseCardToGive() {
-        String cardToGive = "";
-        if(this.checkMyCards("Hairy Potato Cat")) {
-            cardToGive = "Hairy Potato Cat";
-        } else if(this.checkMyCards("Cattermelon")) {
-            cardToGive = "Cattermelon";
-        } else if(this.checkMyCards("Beard Cat")) {
-            cardToGive = "Beard Cat";
-        } else if(this.checkMyCards("Rainbow Ralphing Cat")) {
-            cardToGive = "Rainbow Ralphing Cat";
-        } else if(this.checkMyCards("Taco Cat")) {
-            cardToGive = "Taco Cat";
-        } else if(this.checkMyCards("Shuffle")) {
-            cardToGive = "Shuffle";
-        } else if(this.checkMyCards("Favor")) {
-            cardToGive = "Favor";
-        } else if(this.checkMyCards("See The Future")) {
-            cardToGive = "See The Future";
-        } else if(this.checkMyCards("Skip")) {
-            cardToGive = "Skip";
-        } else if(this.checkMyCards("Nope")) {
-            cardToGive = "Nope";
-        } else if(this.checkMyCards("Attack")) {
-            cardToGive = "Attack";
-        } else if(this.checkMyCards("Defuse")) {
-            cardToGive = "Defuse";
-        }
-        return cardToGive;
+        sendMessageToServer(ProtocolCommands.RESPOND_PLAYERNAME + ProtocolCommands.ARGUMENT_SEPARATOR + strategy.choosePlayerToStealFrom(this, players));
     }
 
     public boolean checkMyCardsForCombos(String cardTypeToCheck, int numberOfCardsNeeded) {
         int numberOfCardsIhave = 0;
-        for(String card : this.myCards) {
+        for(String card : this.getMyCards()) {
             if(card.contains(cardTypeToCheck)) {
                 numberOfCardsIhave += 1;
             }
@@ -321,7 +507,7 @@ public class NetworkComputerPlayer implements Runnable {
     }
 
     public boolean checkMyCards(String cardTypeToCheck) {
-        for(String card : myCards) {
+        for(String card : this.getMyCards()) {
             if(card.contains(cardTypeToCheck)) {
                 return true;
             }
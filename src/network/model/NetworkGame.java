@@ -2,9 +2,16 @@ package network.model;
 
 import exceptions.E13;
 import local.model.Card;
+import local.model.CardType;
 import local.model.Game;
+import local.model.PackedGameState;
 import local.model.Player;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Class which contains the functionality necessary for playing a network Exploding Kittens game.
@@ -12,6 +19,13 @@ import java.util.ArrayList;
  */
 public class NetworkGame extends Game {
     private boolean keepShuffle;
+    private GameJournal journal;
+    private boolean shufflePending;
+    private int journaledSeat;
+    private int journaledAdditionalTurns;
+    private boolean journaledAttackOn;
+    private int undrawnSeat;
+    private boolean makingMove;
 
     /**
      * Create a NetworkGame and initialize the list of players.
@@ -20,6 +34,43 @@ public class NetworkGame extends Game {
     public NetworkGame(ArrayList<String> namesOfHumanPlayers) {
         super(namesOfHumanPlayers);
         this.keepShuffle = false;
+        this.undrawnSeat = -1;
+    }
+
+    /**
+     * Set the journal which receives a record for each event of this game. The moves made with the make methods, which
+     * are taken back by unmakeMove(), are not journaled, and neither are the changes of the turn they make. If this game was recovered with an Exploding Kitten put back on
+     * the draw pile, this is journaled first, so the journal can be recovered again after the game continues.
+     * @param journal the journal, or null to stop journaling
+     */
+    public synchronized void setJournal(GameJournal journal) {
+        this.journal = journal;
+        this.journaledSeat = this.getSeat(currentPlayer);
+        this.journaledAdditionalTurns = additionalTurnsToPlay;
+        this.journaledAttackOn = attackOn;
+        if(journal != null && undrawnSeat >= 0) {
+            this.journal(GameJournal.UNDRAW, undrawnSeat);
+            undrawnSeat = -1;
+        }
+    }
+
+    public synchronized GameJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Take a snapshot of this game at the current place of its journal. Only the state is copied, the snapshot is encoded
+     * and written later by the snapshot thread of the journal.
+     * @param flags the flags of the room separated by ",", or an empty String
+     * @requires flags != null, this game has a journal and is not over
+     * @return the snapshot
+     */
+    public synchronized GameSnapshot takeSnapshot(String flags) {
+        ArrayList<String> names = new ArrayList<>();
+        for(Player player : seats) {
+            names.add(player.getName());
+        }
+        return new GameSnapshot(names, PackedGameState.fromGame(this), flags, journal.getSegmentNumber(), journal.getSegmentPosition());
     }
 
     /**
@@ -27,6 +78,9 @@ public class NetworkGame extends Game {
      */
     public synchronized void setKeepShuffle(boolean keepShuffle) {
         this.keepShuffle = keepShuffle;
+        if(!keepShuffle) {
+            this.journalPendingShuffle();
+        }
     }
 
     /**
@@ -52,6 +106,36 @@ public class NetworkGame extends Game {
         return currentPlayer;
     }
 
+    /**
+     * Set up the game and journal the hands and the draw pile, in a new segment of the journal.
+     */
+    @Override
+    public synchronized void setUpGame() {
+        super.setUpGame();
+        if(journal != null) {
+            try {
+                journal.startGame();
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+            journal.append(GameJournal.DEAL, this.encodeDeal());
+            this.setJournal(journal);
+        }
+    }
+
+    /**
+     * Draw a card from the draw pile and journal it.
+     * @param player the player who draws the card
+     * @requires player != null
+     * @return the card taken by the player
+     */
+    @Override
+    public synchronized Card drawCard(Player player) {
+        Card card = super.drawCard(player);
+        this.journal(GameJournal.DRAW, this.getSeat(player), card.getCardType().ordinal());
+        return card;
+    }
+
     /**
      * See The Future card is played.
      * @return a String which contains the first 3 cards from the top of the deck separated by the symbol ","
@@ -87,9 +171,7 @@ public class NetworkGame extends Game {
     public synchronized void playFavorCard(Player playerToStealCardFrom, String cardName) {
         for(Card card : playerToStealCardFrom.getPlayerHandList()) {
             if(card.toString().contains(cardName)) {
-                System.out.println(cardName);
-                discardCard(playerToStealCardFrom, playerToStealCardFrom.getPlayerHandList().indexOf(card));
-                currentPlayer.addCard(card);
+                this.stealCard(playerToStealCardFrom, card);
                 break;
             }
         }
@@ -102,7 +184,10 @@ public class NetworkGame extends Game {
      * @requires playerName != null
      */
     public synchronized void playNopeCard(String playerName) {
-        this.discardCard("Nope", playerName);
+        Player player = this.findPlayer(playerName);
+        if(player != null && this.discardFirstCard(player, "Nope") != null) {
+            this.journal(GameJournal.NOPE, this.getSeat(player));
+        }
     }
 
     /**
@@ -113,11 +198,13 @@ public class NetworkGame extends Game {
     public synchronized void playSpecialComboTwoCards(Player playerToStealCardFrom) {
         // get a random card index from the hand of playerToStealCardFrom
         int numberOfCards = playerToStealCardFrom.getPlayerHandList().size();
-        int randomCardIndex = (int) (Math.random() * numberOfCards);
+        if(numberOfCards == 0) {
+            return;
+        }
+        int randomCardIndex = random.nextInt(numberOfCards);
 
         // remove a random card from playerToStealCardFrom and add it to current player's hand
-        Card randomCard = playerToStealCardFrom.getPlayerHandList().remove(randomCardIndex);
-        currentPlayer.addCard(randomCard);
+        this.stealCard(playerToStealCardFrom, playerToStealCardFrom.getPlayerHandList().get(randomCardIndex));
     }
 
     /**
@@ -129,8 +216,7 @@ public class NetworkGame extends Game {
     public synchronized void playSpecialComboThreeCards(Player playerToStealCardFrom, String cardToSteal) {
         for(Card card : playerToStealCardFrom.getPlayerHandList()) {
             if(card.toString().contains(cardToSteal)) {
-                playerToStealCardFrom.getPlayerHandList().remove(card);
-                currentPlayer.addCard(card);
+                this.stealCard(playerToStealCardFrom, card);
                 break;
             }
         }
@@ -173,11 +259,11 @@ public class NetworkGame extends Game {
      * @ensures the variables currentPlayer and currentPlayerIndex are updated
      */
     public synchronized void playExplodingKittenCard() {
-        players.remove(currentPlayer);
-        if(currentPlayerIndex != 0) {
-            currentPlayerIndex -= 1;
+        this.journal(GameJournal.ELIMINATION, this.getSeat(currentPlayer));
+        removeCurrentPlayer(currentPlayerIndex != 0 ? currentPlayerIndex - 1 : 0);
+        if(this.gameOver()) {
+            this.journal(GameJournal.GAME_OVER, this.getSeat(currentPlayer));
         }
-        currentPlayer = players.get(currentPlayerIndex);
     }
 
     /**
@@ -187,10 +273,12 @@ public class NetworkGame extends Game {
      */
     public synchronized void playDefuseCard(String response) throws NumberFormatException {
         try {
-            int indexToInsertExplodingKitten = Integer.parseInt(response);
+            // an index outside the draw pile puts the Exploding Kitten at the bottom or on top
+            int indexToInsertExplodingKitten = Math.max(0, Math.min(Integer.parseInt(response), deck.getDrawPile().size()));
             int indexExplodingKittenPlayerHand = currentPlayer.getPlayerHandList().size() - 1;
-            deck.getDrawPile().add(indexToInsertExplodingKitten, currentPlayer.getPlayerHandList().get(indexExplodingKittenPlayerHand));
-            currentPlayer.getPlayerHandList().remove(indexExplodingKittenPlayerHand);
+            insertCardIntoDrawPile(indexToInsertExplodingKitten, currentPlayer.getPlayerHandList().get(indexExplodingKittenPlayerHand));
+            removeCardFromHand(currentPlayer, indexExplodingKittenPlayerHand);
+            this.journal(GameJournal.DEFUSE, this.getSeat(currentPlayer), indexToInsertExplodingKitten);
         } catch (NumberFormatException e) {
             System.out.println("Exception " + e);
         }
@@ -201,7 +289,9 @@ public class NetworkGame extends Game {
      * The Shuffle card is played.
      */
     public synchronized void playShuffleCard() {
-        deck.shuffleDrawPile();
+        shuffleDrawPile();
+        // while the draw pile keeps being shuffled, only the order in which it stops is journaled
+        shufflePending = journal != null;
     }
 
     /**
@@ -269,18 +359,46 @@ public class NetworkGame extends Game {
      * @requires cardToDiscard != null, playerName != null
      */
     public synchronized void discardCard(String cardToDiscard, String playerName) {
+        Player player = this.findPlayer(playerName);
+        if(player != null) {
+            Card card = this.discardFirstCard(player, cardToDiscard);
+            if(card != null) {
+                this.journal(GameJournal.PLAY, this.getSeat(player), card.getCardType().ordinal(), 1);
+            }
+        }
+    }
+
+    private Player findPlayer(String playerName) {
         for(Player player : players) {
             if(player.getName().equals(playerName)) {
-                for(Card card : player.getPlayerHandList()) {
-                    if(card.toString().contains(cardToDiscard)) {
-                        player.getPlayerHandList().remove(card);
-                        deck.addCardToDiscardPile(card);
-                        break;
-                    }
-                }
-                break;
+                return player;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Discard the first card of a player whose name contains a text.
+     * @return the discarded card, or null if the player has no such card
+     */
+    private Card discardFirstCard(Player player, String cardToDiscard) {
+        for(Card card : player.getPlayerHandList()) {
+            if(card.toString().contains(cardToDiscard)) {
+                removeCardFromHand(player, card);
+                addCardToDiscardPile(card);
+                return card;
             }
         }
+        return null;
+    }
+
+    /**
+     * Move a card from the hand of a player to the hand of the current player and journal it.
+     */
+    private void stealCard(Player playerToStealCardFrom, Card card) {
+        removeCardFromHand(playerToStealCardFrom, card);
+        addCardToHand(currentPlayer, card);
+        this.journal(GameJournal.STEAL, this.getSeat(playerToStealCardFrom), this.getSeat(currentPlayer), card.getCardType().ordinal());
     }
 
     /**
@@ -290,15 +408,18 @@ public class NetworkGame extends Game {
      * @requires cardTypeToDiscard != null
      */
     public synchronized void discardCards(String cardTypeToDiscard, int numberOfCards) {
+        Card discardedCard = null;
+        int numberOfDiscardedCards = 0;
         for(int i=0; i<numberOfCards; i++) {
-            for(Card card : currentPlayer.getPlayerHandList()) {
-                if(card.toString().contains(cardTypeToDiscard)) {
-                    currentPlayer.getPlayerHandList().remove(card);
-                    deck.addCardToDiscardPile(card);
-                    break;
-                }
+            Card card = this.discardFirstCard(currentPlayer, cardTypeToDiscard);
+            if(card != null) {
+                discardedCard = card;
+                numberOfDiscardedCards += 1;
             }
         }
+        if(discardedCard != null) {
+            this.journal(GameJournal.PLAY, this.getSeat(currentPlayer), discardedCard.getCardType().ordinal(), numberOfDiscardedCards);
+        }
     }
 
     /**
@@ -310,6 +431,463 @@ public class NetworkGame extends Game {
         super.playSkipCard();
     }
 
+    /**
+     * The current player draws the card on top of the draw pile, as a move which can be taken back with unmakeMove().
+     * If the card is not an Exploding Kitten, the turn ends as after drawCard() on the server. If it is an Exploding Kitten,
+     * the turn goes on with makeDefuseMove() or makeExplodingKittenMove().
+     * @param undo the record which receives the changes of the move
+     * @requires undo != null, the draw pile is not empty
+     * @return the drawn card
+     */
+    public synchronized Card makeDrawMove(UndoRecord undo) {
+        this.beginMove(undo);
+        try {
+            Card card = takeCardFromDrawPile();
+            undo.add(UndoRecord.DRAW_PILE_TAKE, null, card, deck.getDrawPile().size());
+            this.addCardToHand(currentPlayer, card, undo);
+            if(card.getCardType() != CardType.EXPLODING_KITTEN) {
+                changeTurnToNextPlayer();
+                checkAttackOn();
+            }
+            return card;
+        } finally {
+            makingMove = false;
+        }
+    }
+
+    /**
+     * A player discards a card of a type, for example a Nope, See The Future or Favor card, as a move which can be taken back.
+     * @param player the player who discards the card
+     * @param cardType the type of the card
+     * @param undo the record which receives the changes of the move
+     * @requires player != null, cardType != null, undo != null
+     * @return true if the player had a card of this type, otherwise the game does not change
+     */
+    public synchronized boolean makeDiscardMove(Player player, CardType cardType, UndoRecord undo) {
+        this.beginMove(undo);
+        try {
+            return this.discardCard(player, cardType, undo);
+        } finally {
+            makingMove = false;
+        }
+    }
+
+    /**
+     * The current player plays a Skip card, as a move which can be taken back.
+     * @param undo the record which receives the changes of the move
+     * @requires undo != null
+     * @return true if the current player had a Skip card, otherwise the game does not change
+     */
+    public synchronized boolean makeSkipMove(UndoRecord undo) {
+        this.beginMove(undo);
+        try {
+            if(!this.discardCard(currentPlayer, CardType.SKIP, undo)) {
+                return false;
+            }
+            super.playSkipCard();
+            return true;
+        } finally {
+            makingMove = false;
+        }
+    }
+
+    /**
+     * The current player plays an Attack card, as a move which can be taken back.
+     * @param undo the record which receives the changes of the move
+     * @requires undo != null
+     * @return true if the current player had an Attack card, otherwise the game does not change
+     */
+    public synchronized boolean makeAttackMove(UndoRecord undo) {
+        this.beginMove(undo);
+        try {
+            if(!this.discardCard(currentPlayer, CardType.ATTACK, undo)) {
+                return false;
+            }
+            playAttackCard();
+            return true;
+        } finally {
+            makingMove = false;
+        }
+    }
+
+    /**
+     * The current player plays a Shuffle card and the draw pile is shuffled, as a move which can be taken back.
+     * The order of the draw pile before the shuffle is kept in the record, whose array is reused by the next shuffles.
+     * @param undo the record which receives the changes of the move
+     * @requires undo != null
+     * @return true if the current player had a Shuffle card, otherwise the game does not change
+     */
+    public synchronized boolean makeShuffleMove(UndoRecord undo) {
+        this.beginMove(undo);
+        try {
+            if(!this.discardCard(currentPlayer, CardType.SHUFFLE, undo)) {
+                return false;
+            }
+            undo.drawPileBeforeShuffle = deck.getDrawPile().toArray(undo.drawPileBeforeShuffle);
+            undo.add(UndoRecord.SHUFFLE, null, null, deck.getDrawPile().size());
+            shuffleDrawPile();
+            return true;
+        } finally {
+            makingMove = false;
+        }
+    }
+
+    /**
+     * The current player, who drew an Exploding Kitten, plays a Defuse card and inserts the Exploding Kitten in the draw
+     * pile, as a move which can be taken back. The turn ends as after playDefuseCard() on the server.
+     * @param index the index where the Exploding Kitten is inserted, 0 is the bottom and the size of the draw pile is the top
+     * @param undo the record which receives the changes of the move
+     * @requires undo != null, the last card in the hand of the current player is an Exploding Kitten, 0 <= index <= deck.getDrawPile().size()
+     * @return true if the current player had a Defuse card, otherwise the game does not change
+     */
+    public synchronized boolean makeDefuseMove(int index, UndoRecord undo) {
+        this.beginMove(undo);
+        try {
+            if(!this.discardCard(currentPlayer, CardType.DEFUSE, undo)) {
+                return false;
+            }
+            int indexExplodingKittenPlayerHand = currentPlayer.getPlayerHandList().size() - 1;
+            Card explodingKitten = removeCardFromHand(currentPlayer, indexExplodingKittenPlayerHand);
+            undo.add(UndoRecord.HAND_REMOVE, currentPlayer, explodingKitten, indexExplodingKittenPlayerHand);
+            insertCardIntoDrawPile(index, explodingKitten);
+            undo.add(UndoRecord.DRAW_PILE_INSERT, null, explodingKitten, index);
+            changeTurnToNextPlayer();
+            checkAttackOn();
+            return true;
+        } finally {
+            makingMove = false;
+        }
+    }
+
+    /**
+     * The current player, who drew an Exploding Kitten and has no Defuse card, is out of the game, as a move which can be
+     * taken back.
+     * @param undo the record which receives the changes of the move
+     * @requires undo != null, players.size() > 1
+     */
+    public synchronized void makeExplodingKittenMove(UndoRecord undo) {
+        this.beginMove(undo);
+        try {
+            undo.add(UndoRecord.PLAYER_REMOVED, currentPlayer, null, currentPlayerIndex);
+            playExplodingKittenCard();
+        } finally {
+            makingMove = false;
+        }
+    }
+
+    /**
+     * Take back the last move which was made with one of the make methods and has not been taken back yet.
+     * The hands, the piles, the players, the current player, the attack state and the hash of the state are restored.
+     * @param undo the record of the move
+     * @requires undo != null, the moves made after it were taken back
+     */
+    public synchronized void unmakeMove(UndoRecord undo) {
+        makingMove = true;
+        try {
+            for(int i=undo.numberOfChanges-1; i>=0; i--) {
+                switch (undo.kinds[i]) {
+                    case UndoRecord.HAND_ADD:
+                        removeCardFromHand(undo.players[i], undo.indexes[i]);
+                        break;
+                    case UndoRecord.HAND_REMOVE:
+                        addCardToHand(undo.players[i], undo.indexes[i], undo.cards[i]);
+                        break;
+                    case UndoRecord.DRAW_PILE_TAKE:
+                        insertCardIntoDrawPile(undo.indexes[i], undo.cards[i]);
+                        break;
+                    case UndoRecord.DRAW_PILE_INSERT:
+                        removeCardFromDrawPile(undo.indexes[i]);
+                        break;
+                    case UndoRecord.DISCARD:
+                        removeCardFromDiscardPile();
+                        break;
+                    case UndoRecord.PLAYER_REMOVED:
+                        restorePlayer(undo.indexes[i], undo.players[i]);
+                        break;
+                    case UndoRecord.SHUFFLE:
+                        deck.getDrawPile().clear();
+                        for(int j=0; j<undo.indexes[i]; j++) {
+                            deck.getDrawPile().add(undo.drawPileBeforeShuffle[j]);
+                        }
+                        zobristHash.rehashDrawPile(deck);
+                        break;
+                }
+            }
+            setTurnState(undo.currentPlayerIndex, undo.additionalTurnsToPlay, undo.attackOn);
+            undo.begin(undo.currentPlayerIndex, undo.additionalTurnsToPlay, undo.attackOn);
+        } finally {
+            makingMove = false;
+        }
+    }
+
+    /**
+     * Start a move which can be taken back. Nothing is journaled until the make method which called this returns.
+     */
+    private void beginMove(UndoRecord undo) {
+        makingMove = true;
+        undo.begin(currentPlayerIndex, additionalTurnsToPlay, attackOn);
+    }
+
+    private void addCardToHand(Player player, Card card, UndoRecord undo) {
+        undo.add(UndoRecord.HAND_ADD, player, card, player.getPlayerHandList().size());
+        addCardToHand(player, card);
+    }
+
+    /**
+     * Discard the first card of a type from the hand of a player and record it.
+     * @return false if the player has no card of this type
+     */
+    private boolean discardCard(Player player, CardType cardType, UndoRecord undo) {
+        ArrayList<Card> hand = player.getPlayerHandList();
+        for(int i=0; i<hand.size(); i++) {
+            if(hand.get(i).getCardType() == cardType) {
+                Card card = removeCardFromHand(player, i);
+                undo.add(UndoRecord.HAND_REMOVE, player, card, i);
+                addCardToDiscardPile(card);
+                undo.add(UndoRecord.DISCARD, null, card, 0);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the Zobrist hash of the state of the game.
+     * @return the hash of the state
+     */
+    @Override
+    public synchronized long getStateHash() {
+        return super.getStateHash();
+    }
+
+    /**
+     * Update the hash of the state after a change of the current player or the attack state, and journal the new state
+     * if it changed since the last record.
+     */
+    @Override
+    protected void updateTurnHash() {
+        super.updateTurnHash();
+        int seat = this.getSeat(currentPlayer);
+        if(journal != null && !makingMove && (seat != journaledSeat || additionalTurnsToPlay != journaledAdditionalTurns || attackOn != journaledAttackOn)) {
+            journaledSeat = seat;
+            journaledAdditionalTurns = additionalTurnsToPlay;
+            journaledAttackOn = attackOn;
+            this.journal(GameJournal.TURN, seat, additionalTurnsToPlay, attackOn ? 1 : 0);
+        }
+    }
+
+    /**
+     * Append a record to the journal, after the order of a draw pile which was shuffled since the last record.
+     */
+    private void journal(int type, int... values) {
+        if(journal != null && !makingMove) {
+            this.journalPendingShuffle();
+            journal.append(type, values);
+        }
+    }
+
+    private void journalPendingShuffle() {
+        if(shufflePending && journal != null) {
+            shufflePending = false;
+            journal.append(GameJournal.SHUFFLE, this.encodeDrawPile());
+        }
+    }
+
+    private byte[] encodeDrawPile() {
+        byte[] payload = new byte[deck.getDrawPile().size() + 1];
+        payload[0] = (byte) deck.getDrawPile().size();
+        for(int i=0; i<deck.getDrawPile().size(); i++) {
+            payload[i + 1] = (byte) deck.getDrawPile().get(i).getCardType().ordinal();
+        }
+        return payload;
+    }
+
+    /**
+     * Encode the names, the hands and the draw pile. A hand has the number of cards of each type, 2 types in each byte.
+     */
+    private byte[] encodeDeal() {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        CardType[] cardTypes = CardType.values();
+        payload.write(seats.size());
+        for(Player player : seats) {
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            payload.write(Math.min(name.length, 255));
+            payload.write(name, 0, Math.min(name.length, 255));
+            int[] counts = new int[cardTypes.length + 1];
+            for(Card card : player.getPlayerHandList()) {
+                counts[card.getCardType().ordinal()] += 1;
+            }
+            for(int type=0; type<cardTypes.length; type+=2) {
+                payload.write(Math.min(counts[type], 15) | Math.min(counts[type + 1], 15) << 4);
+            }
+        }
+        payload.writeBytes(this.encodeDrawPile());
+        return payload.toByteArray();
+    }
+
+    /**
+     * Recover the game in progress from the records of a journal: the game of the last DEAL record, with all records after it.
+     * If the journal ends after the current player drew an Exploding Kitten and before it was defused or exploded, the
+     * Exploding Kitten is put back on top of the draw pile, so the current player draws it again when the game continues.
+     * @param records the records of the journal
+     * @requires records != null
+     * @return the recovered game, without a journal, or null if the journal has no game or its last game is over
+     * @throws IllegalStateException if a record does not match the recovered game
+     */
+    public static NetworkGame recover(List<JournalRecord> records) {
+        return recover(null, records);
+    }
+
+    /**
+     * Recover the game in progress from a snapshot and the records of the journal after it. If a new game was dealt after
+     * the snapshot, the snapshot is not used.
+     * @param snapshot the snapshot, or null to recover from the records only
+     * @param records the records of the journal after the snapshot
+     * @requires records != null
+     * @return the recovered game, without a journal, or null if there is no game or the last game is over
+     * @throws IllegalStateException if a record does not match the recovered game
+     */
+    public static NetworkGame recover(GameSnapshot snapshot, List<JournalRecord> records) {
+        boolean gameOver = false;
+        int dealIndex = -1;
+        for(int i=0; i<records.size(); i++) {
+            if(records.get(i).getType() == GameJournal.DEAL) {
+                dealIndex = i;
+                gameOver = false;
+            } else if(records.get(i).getType() == GameJournal.GAME_OVER) {
+                gameOver = true;
+            }
+        }
+        if(gameOver || (dealIndex < 0 && snapshot == null)) {
+            return null;
+        }
+        NetworkGame game = dealIndex < 0 ? snapshot.createGame() : fromDeal(records.get(dealIndex));
+        for(int i=dealIndex + 1; i<records.size(); i++) {
+            game.applyJournalRecord(records.get(i));
+        }
+        for(Card card : game.currentPlayer.getPlayerHandList()) {
+            if(card.getCardType() == CardType.EXPLODING_KITTEN) {
+                game.undrawnSeat = game.getSeat(game.currentPlayer);
+                game.undrawExplodingKitten(game.currentPlayer);
+                break;
+            }
+        }
+        return game;
+    }
+
+    private static NetworkGame fromDeal(JournalRecord deal) {
+        CardType[] cardTypes = CardType.values();
+        byte[] payload = deal.getPayload();
+        int position = 0;
+        int numberOfSeats = deal.get(position++);
+        ArrayList<String> names = new ArrayList<>();
+        int[][] hands = new int[numberOfSeats][cardTypes.length + 1];
+        for(int seat=0; seat<numberOfSeats; seat++) {
+            int nameLength = deal.get(position++);
+            names.add(new String(payload, position, nameLength, StandardCharsets.UTF_8));
+            position += nameLength;
+            for(int type=0; type<cardTypes.length; type+=2) {
+                hands[seat][type] = deal.get(position) & 0xF;
+                hands[seat][type + 1] = deal.get(position++) >> 4;
+            }
+        }
+
+        NetworkGame game = new NetworkGame(names);
+        for(int seat=0; seat<numberOfSeats; seat++) {
+            for(CardType cardType : cardTypes) {
+                for(int i=0; i<hands[seat][cardType.ordinal()]; i++) {
+                    game.seats.get(seat).addCard(new Card(cardType));
+                }
+            }
+        }
+        game.setDrawPile(deal, position);
+        return game;
+    }
+
+    /**
+     * Replace the draw pile with the encoded draw pile of a record.
+     */
+    private void setDrawPile(JournalRecord record, int position) {
+        CardType[] cardTypes = CardType.values();
+        int drawPileSize = record.get(position);
+        deck.getDrawPile().clear();
+        for(int i=0; i<drawPileSize; i++) {
+            deck.getDrawPile().add(new Card(cardTypes[record.get(position + 1 + i)]));
+        }
+        this.resetStateHash();
+    }
+
+    /**
+     * Apply a record of the journal to this game, as the event happened in the game which was journaled.
+     * @param record the record
+     * @requires record != null, this game has no journal
+     * @throws IllegalStateException if the record does not match this game
+     */
+    public synchronized void applyJournalRecord(JournalRecord record) {
+        CardType[] cardTypes = CardType.values();
+        switch (record.getType()) {
+            case GameJournal.PLAY -> {
+                for(int i=0; i<record.get(2); i++) {
+                    this.discardCardOfType(seats.get(record.get(0)), cardTypes[record.get(1)]);
+                }
+            }
+            case GameJournal.NOPE -> this.discardCardOfType(seats.get(record.get(0)), CardType.NOPE);
+            case GameJournal.DRAW -> {
+                Card card = this.drawCard(seats.get(record.get(0)));
+                if(card.getCardType() != cardTypes[record.get(1)]) {
+                    throw new IllegalStateException("Drawn " + card + " instead of " + cardTypes[record.get(1)]);
+                }
+            }
+            case GameJournal.DEFUSE -> {
+                Player player = seats.get(record.get(0));
+                Card explodingKitten = this.findCardOfType(player, CardType.EXPLODING_KITTEN);
+                removeCardFromHand(player, explodingKitten);
+                insertCardIntoDrawPile(record.get(1), explodingKitten);
+            }
+            case GameJournal.STEAL -> {
+                Player victim = seats.get(record.get(0));
+                Card card = this.findCardOfType(victim, cardTypes[record.get(2)]);
+                removeCardFromHand(victim, card);
+                addCardToHand(seats.get(record.get(1)), card);
+            }
+            case GameJournal.SHUFFLE -> this.setDrawPile(record, 0);
+            case GameJournal.ELIMINATION -> {
+                if(this.getSeat(currentPlayer) != record.get(0)) {
+                    throw new IllegalStateException("Seat " + record.get(0) + " is eliminated but is not the current player");
+                }
+                this.playExplodingKittenCard();
+            }
+            case GameJournal.UNDRAW -> this.undrawExplodingKitten(seats.get(record.get(0)));
+            case GameJournal.TURN -> setTurnState(players.indexOf(seats.get(record.get(0))), record.get(1), record.get(2) == 1);
+            case GameJournal.DEAL, GameJournal.GAME_OVER -> throw new IllegalStateException("A game cannot continue after " + record);
+            default -> throw new IllegalStateException("Unknown record " + record);
+        }
+    }
+
+    /**
+     * Put the Exploding Kitten in the hand of a player back on top of the draw pile.
+     */
+    private void undrawExplodingKitten(Player player) {
+        Card explodingKitten = this.findCardOfType(player, CardType.EXPLODING_KITTEN);
+        removeCardFromHand(player, explodingKitten);
+        insertCardIntoDrawPile(deck.getDrawPile().size(), explodingKitten);
+    }
+
+    private Card findCardOfType(Player player, CardType cardType) {
+        for(Card card : player.getPlayerHandList()) {
+            if(card.getCardType() == cardType) {
+                return card;
+            }
+        }
+        throw new IllegalStateException(player.getName() + " has no " + cardType.getCardName());
+    }
+
+    private void discardCardOfType(Player player, CardType cardType) {
+        Card card = this.findCardOfType(player, cardType);
+        removeCardFromHand(player, card);
+        addCardToDiscardPile(card);
+    }
+
     /**
      * Get the names of the players.
      * @return a String which contains the names of the players separated by ","
@@ -1,6 +1,7 @@
 package network.model;
 
 import network.view.NetworkTUI;
+import protocol.ProtocolCommands;
 import java.io.*;
 import java.net.Socket;
 
@@ -9,10 +10,14 @@ import java.net.Socket;
  * @author Alexandru-Cristian Enescu and Oliver Li
  */
 public class NetworkPlayer implements Runnable {
-    private Socket socket;
-    private BufferedReader bufferedReader;
-    private BufferedWriter bufferedWriter;
+    public static final int RECONNECT_ATTEMPTS = 10;
+    public static final long RECONNECT_DELAY_MILLIS = 1000;
+    private volatile Socket socket;
+    private volatile BufferedReader bufferedReader;
+    private volatile BufferedWriter bufferedWriter;
     private final NetworkTUI NETWORK_TUI;
+    private String resumeToken;
+    private long numberOfMessagesReceived;
 
     /**
      * Create a human NetworkPlayer.
@@ -83,20 +88,69 @@ public class NetworkPlayer implements Runnable {
 
     /**
      * This method is used to continuously listen for messages from the server.
-     * After receiving a message, send it to the TUI.
+     * After receiving a message, send it to the TUI. When the connection is lost, connect again and resume the session.
      */
     @Override
     public void run() {
         String messageFromServer;
-        try {
-            messageFromServer = bufferedReader.readLine();
-            while (messageFromServer != null) {
-                NETWORK_TUI.printMessageFromServer(messageFromServer);
+        do {
+            try {
                 messageFromServer = bufferedReader.readLine();
+                while (messageFromServer != null) {
+                    this.countMessage(messageFromServer);
+                    NETWORK_TUI.printMessageFromServer(messageFromServer);
+                    messageFromServer = bufferedReader.readLine();
+                }
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        } while(this.resumeSession());
+    }
+
+    /**
+     * Keep the resume token of the HELLO message, and count the messages received after it. The RESUMED message gives the
+     * number of the next message, which is the number of messages received if the missed messages are sent again.
+     * @param messageFromServer the message received from the server
+     */
+    private void countMessage(String messageFromServer) {
+        String[] messageToArray = messageFromServer.split(ProtocolCommands.ARGUMENT_SEPARATOR);
+        if(messageToArray[0].equals(ProtocolCommands.HELLO)) {
+            this.resumeToken = messageToArray.length > 3 ? messageToArray[3] : null;
+            this.numberOfMessagesReceived = 0;
+        } else if(messageToArray[0].equals(ProtocolCommands.RESUMED) && messageToArray.length > 2) {
+            this.numberOfMessagesReceived = Long.parseLong(messageToArray[2]);
+        } else {
+            this.numberOfMessagesReceived += 1;
+        }
+    }
+
+    /**
+     * Connect to the server again after the connection was lost, and send the resume token and the number of messages
+     * received, so that the server sends the messages which were missed.
+     * @return true if the player connected again, false if there is no session to resume or the server cannot be reached
+     */
+    private boolean resumeSession() {
+        if(resumeToken == null) {
+            return false;
+        }
+        for(int i=0; i<RECONNECT_ATTEMPTS; i++) {
+            try {
+                Thread.sleep(RECONNECT_DELAY_MILLIS);
+                Socket newSocket = new Socket("localhost", 5000);
+                this.bufferedReader = new BufferedReader(new InputStreamReader(newSocket.getInputStream()));
+                this.bufferedWriter = new BufferedWriter(new OutputStreamWriter(newSocket.getOutputStream()));
+                this.socket = newSocket;
+                this.sendMessageToServer(ProtocolCommands.RESUME_SESSION + ProtocolCommands.ARGUMENT_SEPARATOR + resumeToken
+                        + ProtocolCommands.ARGUMENT_SEPARATOR + numberOfMessagesReceived);
+                return true;
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
             }
-        } catch (IOException e) {
-            System.out.println("Exception " + e);
         }
+        return false;
     }
 
     public static void main(String[] args) {
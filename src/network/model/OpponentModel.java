@@ -0,0 +1,316 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class which estimates the cards in the hands of the other players of a network Exploding Kittens game.
+ * For each opponent it keeps the expected number of cards of each type, such that the expected numbers sum up to the
+ * estimated size of the hand. The estimate starts from the cards dealt by Game.setUpGame() and is updated with every
+ * observed move: played cards, drawn cards, Favor cards and combos, including the cards which the computer player
+ * itself gave or received. Each update only touches the counts of the involved players.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class OpponentModel {
+    private static final int NUMBER_OF_TYPES = CardType.values().length;
+    private static final int DEFUSE = CardType.DEFUSE.ordinal();
+    private static final int EXPLODING_KITTEN = CardType.EXPLODING_KITTEN.ordinal();
+    private static final double DEFUSE_VALUE = 1.0;
+    private static final double NOPE_VALUE = 0.4;
+
+    private final BeliefTracker beliefTracker;
+    private final Map<String, double[]> opponentsHands;
+    private final double[] expectedInOpponentsHands;
+
+    /**
+     * Create an OpponentModel.
+     * @param beliefTracker the BeliefTracker of the same computer player, used to know which cards have not been seen
+     * @requires beliefTracker != null
+     */
+    public OpponentModel(BeliefTracker beliefTracker) {
+        this.beliefTracker = beliefTracker;
+        this.opponentsHands = new HashMap<>();
+        this.expectedInOpponentsHands = new double[NUMBER_OF_TYPES];
+    }
+
+    /**
+     * Reset the model for a new game. Each player starts with 1 Defuse card and 7 cards from the deck made by Deck.generateCards(),
+     * except the cards which are in the hand of the computer player.
+     * @param playersNames the names of the players of the new game
+     * @param myName the name of the computer player which uses this model
+     * @param myHand the names of the cards in the hand of the computer player
+     * @requires playersNames != null, myName != null, myHand != null
+     */
+    public void startNewGame(List<String> playersNames, String myName, List<String> myHand) {
+        opponentsHands.clear();
+        Arrays.fill(expectedInOpponentsHands, 0);
+
+        double[] dealtCards = new double[NUMBER_OF_TYPES];
+        Arrays.fill(dealtCards, 4);
+        dealtCards[CardType.NOPE.ordinal()] = 5;
+        dealtCards[CardType.SEE_THE_FUTURE.ordinal()] = 5;
+        dealtCards[DEFUSE] = 0;
+        dealtCards[EXPLODING_KITTEN] = 0;
+        for(String card : myHand) {
+            CardType cardType = CardType.fromCardName(card);
+            if(cardType != null && cardType != CardType.DEFUSE) {
+                dealtCards[cardType.ordinal()] = Math.max(0, dealtCards[cardType.ordinal()] - 1);
+            }
+        }
+        double totalDealtCards = Arrays.stream(dealtCards).sum();
+
+        for(String playerName : playersNames) {
+            if(playerName.equals(myName)) {
+                continue;
+            }
+            double[] hand = new double[NUMBER_OF_TYPES];
+            for(int i=0; i<NUMBER_OF_TYPES; i++) {
+                hand[i] = totalDealtCards == 0 ? 0 : 7 * dealtCards[i] / totalDealtCards;
+            }
+            hand[DEFUSE] += 1;
+            opponentsHands.put(playerName, hand);
+            this.addToTotal(hand, 1);
+        }
+    }
+
+    /**
+     * An opponent has played cards. The cards are removed from the estimate of his hand.
+     * @param playerName the name of the player
+     * @param cardType the type of the played cards
+     * @param numberOfCards the number of played cards
+     * @requires playerName != null, cardType != null
+     */
+    public void cardsPlayed(String playerName, CardType cardType, int numberOfCards) {
+        double[] hand = opponentsHands.get(playerName);
+        if(hand != null) {
+            this.removeCards(hand, cardType.ordinal(), numberOfCards);
+        }
+    }
+
+    /**
+     * An opponent has taken a card from the draw pile. The card is one of the cards which have not been seen and which are
+     * not expected in the hands of the other opponents.
+     * @param playerName the name of the player
+     * @requires playerName != null
+     */
+    public void cardDrawn(String playerName) {
+        double[] hand = opponentsHands.get(playerName);
+        if(hand == null) {
+            return;
+        }
+        double[] drawPile = new double[NUMBER_OF_TYPES];
+        double totalDrawPile = 0;
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            if(i != EXPLODING_KITTEN) {
+                drawPile[i] = Math.max(0, beliefTracker.getRemainingCards(CardType.values()[i]) - expectedInOpponentsHands[i]);
+                totalDrawPile += drawPile[i];
+            }
+        }
+        if(totalDrawPile == 0) {
+            return;
+        }
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            this.changeCount(hand, i, drawPile[i] / totalDrawPile);
+        }
+    }
+
+    /**
+     * An opponent has used a Defuse card.
+     * @param playerName the name of the player
+     * @requires playerName != null
+     */
+    public void defuseUsed(String playerName) {
+        this.cardsPlayed(playerName, CardType.DEFUSE, 1);
+    }
+
+    /**
+     * A player is out of the game, his hand is not estimated anymore.
+     * @param playerName the name of the player
+     * @requires playerName != null
+     */
+    public void playerOut(String playerName) {
+        double[] hand = opponentsHands.remove(playerName);
+        if(hand != null) {
+            this.addToTotal(hand, -1);
+        }
+    }
+
+    /**
+     * A card was taken from a player by another player, with a Favor card or with cards played in combo.
+     * @param thief the name of the player who took the card
+     * @param victim the name of the player who gave the card
+     * @param numberOfCards 1 if a card was taken, 0 if the victim did not have the asked card
+     * @param cardType the type of the card if it is known, null otherwise
+     * @requires thief != null, victim != null
+     */
+    public void cardStolen(String thief, String victim, int numberOfCards, CardType cardType) {
+        double[] thiefHand = opponentsHands.get(thief);
+        double[] victimHand = opponentsHands.get(victim);
+
+        if(numberOfCards == 0) {
+            if(victimHand != null && cardType != null) {
+                this.removeAllCardsOfType(victimHand, cardType.ordinal());
+            }
+            return;
+        }
+
+        if(cardType != null) {
+            if(victimHand != null) {
+                this.removeCards(victimHand, cardType.ordinal(), 1);
+            }
+            if(thiefHand != null) {
+                this.changeCount(thiefHand, cardType.ordinal(), 1);
+            }
+            return;
+        }
+
+        // the card is not known: it has the same distribution as a random card of the victim
+        if(victimHand == null) {
+            return;
+        }
+        double victimHandSize = this.getHandSize(victimHand);
+        if(victimHandSize <= 0) {
+            return;
+        }
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            double share = victimHand[i] / victimHandSize;
+            this.changeCount(victimHand, i, -share);
+            if(thiefHand != null) {
+                this.changeCount(thiefHand, i, share);
+            }
+        }
+    }
+
+    /**
+     * Get the expected number of cards of a type in the hand of an opponent.
+     * @param playerName the name of the opponent
+     * @param cardType the type of the cards
+     * @requires playerName != null, cardType != null
+     * @return the expected number of cards, 0 if the player is not an opponent in the game
+     */
+    public double getExpectedCards(String playerName, CardType cardType) {
+        double[] hand = opponentsHands.get(playerName);
+        return hand == null ? 0 : hand[cardType.ordinal()];
+    }
+
+    /**
+     * Get the estimated number of cards in the hand of an opponent.
+     * @param playerName the name of the opponent
+     * @requires playerName != null
+     * @return the estimated size of the hand
+     */
+    public double getHandSize(String playerName) {
+        double[] hand = opponentsHands.get(playerName);
+        return hand == null ? 0 : this.getHandSize(hand);
+    }
+
+    /**
+     * Get the probability that an opponent has at least one card of a type. The cards of the hand are considered independent.
+     * @param playerName the name of the opponent
+     * @param cardType the type of the card
+     * @requires playerName != null, cardType != null
+     * @return the probability that the opponent has the card
+     */
+    public double getProbabilityHasCard(String playerName, CardType cardType) {
+        double handSize = this.getHandSize(playerName);
+        if(handSize <= 0) {
+            return 0;
+        }
+        double fraction = Math.min(1, this.getExpectedCards(playerName, cardType) / handSize);
+        return 1 - Math.pow(1 - fraction, handSize);
+    }
+
+    /**
+     * Get the expected value of taking a random card from an opponent, where Defuse and Nope cards are worth the most.
+     * @param playerName the name of the opponent
+     * @requires playerName != null
+     * @return the expected value of a random card of the opponent
+     */
+    public double getValueOfRandomCard(String playerName) {
+        double handSize = this.getHandSize(playerName);
+        if(handSize <= 0) {
+            return 0;
+        }
+        return (DEFUSE_VALUE * this.getExpectedCards(playerName, CardType.DEFUSE) +
+                NOPE_VALUE * this.getExpectedCards(playerName, CardType.NOPE)) / handSize;
+    }
+
+    /**
+     * Choose the opponent from which it is best to take a card.
+     * @param playersNames the names of the players which can be chosen
+     * @param cardType the type of the card which will be asked, or null if a random card is taken
+     * @requires playersNames != null
+     * @return the name of the best opponent, or null if none of the players is an opponent in the model
+     */
+    public String chooseVictim(String[] playersNames, CardType cardType) {
+        String bestVictim = null;
+        double bestValue = -1;
+        for(String playerName : playersNames) {
+            if(!opponentsHands.containsKey(playerName)) {
+                continue;
+            }
+            double value = cardType == null ? this.getValueOfRandomCard(playerName) : this.getProbabilityHasCard(playerName, cardType);
+            if(value > bestValue) {
+                bestValue = value;
+                bestVictim = playerName;
+            }
+        }
+        return bestVictim;
+    }
+
+    private double getHandSize(double[] hand) {
+        double handSize = 0;
+        for(double count : hand) {
+            handSize += count;
+        }
+        return handSize;
+    }
+
+    private void changeCount(double[] hand, int type, double change) {
+        double newCount = Math.max(0, hand[type] + change);
+        expectedInOpponentsHands[type] += newCount - hand[type];
+        hand[type] = newCount;
+    }
+
+    /**
+     * Remove cards of a type from a hand. If the hand was expected to have fewer cards of this type, the player had them
+     * anyway, so the missing part is removed from the other types of the hand.
+     */
+    private void removeCards(double[] hand, int type, int numberOfCards) {
+        double missing = Math.max(0, numberOfCards - hand[type]);
+        this.changeCount(hand, type, -numberOfCards);
+        double otherCards = this.getHandSize(hand);
+        if(missing > 0 && otherCards > 0) {
+            double factor = Math.max(0, (otherCards - missing) / otherCards);
+            for(int i=0; i<NUMBER_OF_TYPES; i++) {
+                this.changeCount(hand, i, hand[i] * factor - hand[i]);
+            }
+        }
+    }
+
+    /**
+     * The hand has no cards of a type. The expected cards of this type are given to the other types, such that the size
+     * of the hand does not change.
+     */
+    private void removeAllCardsOfType(double[] hand, int type) {
+        double removed = hand[type];
+        this.changeCount(hand, type, -removed);
+        double otherCards = this.getHandSize(hand);
+        if(removed > 0 && otherCards > 0) {
+            double factor = (otherCards + removed) / otherCards;
+            for(int i=0; i<NUMBER_OF_TYPES; i++) {
+                this.changeCount(hand, i, hand[i] * factor - hand[i]);
+            }
+        }
+    }
+
+    private void addToTotal(double[] hand, int sign) {
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            expectedInOpponentsHands[i] += sign * hand[i];
+        }
+    }
+}
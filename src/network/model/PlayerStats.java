@@ -0,0 +1,188 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class for the lifetime statistics of one player: the number of games, wins and eliminations, the number of cards
+ * played of each type, the total number of turns survived and the rating of the Leaderboard. A PlayerStats is not
+ * changed after it is created, so it can be read by any thread while a new PlayerStats which adds a game replaces it.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class PlayerStats {
+    private final String name;
+    private final long games;
+    private final long wins;
+    private final long eliminations;
+    private final long[] cardsPlayed;
+    private final long survivalTurns;
+    private final double rating;
+
+    /**
+     * Create a PlayerStats.
+     * @param name the name of the player
+     * @param games the number of finished games
+     * @param wins the number of won games
+     * @param eliminations the number of games in which the player was out
+     * @param cardsPlayed the number of cards played of each type, indexed by the ordinal of the CardType
+     * @param survivalTurns the total number of turns of the player in all finished games
+     * @param rating the rating of the player, or Double.NaN if the player is not rated
+     * @requires name != null, cardsPlayed != null and cardsPlayed.length == CardType.values().length
+     */
+    public PlayerStats(String name, long games, long wins, long eliminations, long[] cardsPlayed, long survivalTurns, double rating) {
+        this.name = name;
+        this.games = games;
+        this.wins = wins;
+        this.eliminations = eliminations;
+        this.cardsPlayed = cardsPlayed.clone();
+        this.survivalTurns = survivalTurns;
+        this.rating = rating;
+    }
+
+    /**
+     * Create the statistics of one finished game of a player.
+     * @param name the name of the player
+     * @param won true if the player won the game, false if the player was out
+     * @param cardsPlayed the number of cards played of each type in the game, indexed by the ordinal of the CardType
+     * @param turns the number of turns of the player in the game
+     * @requires name != null, cardsPlayed != null and cardsPlayed.length == CardType.values().length
+     * @return the statistics of the game
+     */
+    public static PlayerStats ofGame(String name, boolean won, int[] cardsPlayed, int turns) {
+        long[] cards = new long[cardsPlayed.length];
+        for(int i=0; i<cardsPlayed.length; i++) {
+            cards[i] = cardsPlayed[i];
+        }
+        return new PlayerStats(name, 1, won ? 1 : 0, won ? 0 : 1, cards, turns, Double.NaN);
+    }
+
+    /**
+     * Add the statistics of other games of the same player to these statistics. The rating is kept.
+     * @param other the statistics to add
+     * @requires other != null
+     * @return new statistics with the sums
+     */
+    public PlayerStats plus(PlayerStats other) {
+        long[] cards = new long[cardsPlayed.length];
+        for(int i=0; i<cards.length; i++) {
+            cards[i] = cardsPlayed[i] + other.cardsPlayed[i];
+        }
+        return new PlayerStats(name, games + other.games, wins + other.wins, eliminations + other.eliminations, cards,
+                survivalTurns + other.survivalTurns, rating);
+    }
+
+    /**
+     * Get these statistics with another rating.
+     * @param rating the new rating
+     * @return new statistics with the rating
+     */
+    public PlayerStats withRating(double rating) {
+        return new PlayerStats(name, games, wins, eliminations, cardsPlayed, survivalTurns, rating);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getEliminations() {
+        return eliminations;
+    }
+
+    /**
+     * Get the number of cards of one type which the player played.
+     * @param cardType the type of the cards
+     * @requires cardType != null
+     * @return the number of cards played
+     */
+    public long getCardsPlayed(CardType cardType) {
+        return cardsPlayed[cardType.ordinal()];
+    }
+
+    public long getSurvivalTurns() {
+        return survivalTurns;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    /**
+     * Check if the player has a rating of the Leaderboard.
+     * @return true if the player is rated
+     */
+    public boolean hasRating() {
+        return !Double.isNaN(rating);
+    }
+
+    /**
+     * Get the average number of turns of the player per finished game.
+     * @return the average number of turns, or 0 if the player did not finish a game
+     */
+    public double getAverageSurvivalTurns() {
+        return games == 0 ? 0 : (double) survivalTurns / games;
+    }
+
+    /**
+     * Encode these statistics: name length (2 bytes), name in UTF-8, games, wins, eliminations, survival turns, number of
+     * card types (1 byte), the number of cards played of each type and the rating.
+     * @return the encoded statistics
+     */
+    public byte[] encode() {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(2 + nameBytes.length + 4 * 8 + 1 + 8 * cardsPlayed.length + 8);
+        buffer.putShort((short) nameBytes.length);
+        buffer.put(nameBytes);
+        buffer.putLong(games);
+        buffer.putLong(wins);
+        buffer.putLong(eliminations);
+        buffer.putLong(survivalTurns);
+        buffer.put((byte) cardsPlayed.length);
+        for(long cards : cardsPlayed) {
+            buffer.putLong(cards);
+        }
+        buffer.putDouble(rating);
+        return buffer.array();
+    }
+
+    /**
+     * Decode statistics encoded by encode(). Card types which are not known any more are ignored, and new card types
+     * start at 0. Statistics encoded before ratings were kept are not rated.
+     * @param buffer the buffer positioned at the encoded statistics, whose limit is the end of the encoded statistics
+     * @requires buffer != null
+     * @return the decoded statistics
+     */
+    public static PlayerStats decode(ByteBuffer buffer) {
+        byte[] nameBytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(nameBytes);
+        long games = buffer.getLong();
+        long wins = buffer.getLong();
+        long eliminations = buffer.getLong();
+        long survivalTurns = buffer.getLong();
+        int numberOfCardTypes = buffer.get() & 0xFF;
+        long[] cards = new long[CardType.values().length];
+        for(int i=0; i<numberOfCardTypes; i++) {
+            long value = buffer.getLong();
+            if(i < cards.length) {
+                cards[i] = value;
+            }
+        }
+        double rating = buffer.remaining() >= 8 ? buffer.getDouble() : Double.NaN;
+        return new PlayerStats(new String(nameBytes, StandardCharsets.UTF_8), games, wins, eliminations, cards, survivalTurns, rating);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": games=" + games + ", wins=" + wins + ", eliminations=" + eliminations + ", average survival turns="
+                + String.format("%.1f", getAverageSurvivalTurns());
+    }
+}
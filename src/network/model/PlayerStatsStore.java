@@ -0,0 +1,326 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Class for the store of the lifetime statistics and the ratings of the players, keyed by the names with which they connect.
+ * The statistics are kept in a hash index in memory, so getting the statistics of a player takes constant time. When a
+ * player finishes a game, the index is updated at once and the name of the player is queued, and a writer thread appends
+ * the new statistics of the queued players to a file, so the game thread never waits for the disk. A record of the file
+ * is: length of the payload (4 bytes), the payload encoded by PlayerStats.encode(), and the CRC-32C of the payload.
+ * The last record of a player replaces the previous ones, so the file grows with every game. When it has more than
+ * compactionRatio records per player, the writer thread compacts it: it writes one record per player to a temporary
+ * file, which then replaces the file.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class PlayerStatsStore implements AutoCloseable {
+    public static final int DEFAULT_MIN_COMPACTION_RECORDS = 1024;
+    public static final int DEFAULT_COMPACTION_RATIO = 4;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long POLL_MILLIS = 50;
+    private static final long FLUSH_PARK_NANOS = 200_000;
+
+    private final Path path;
+    private final int minCompactionRecords;
+    private final int compactionRatio;
+    private final ConcurrentHashMap<String, PlayerStats> index;
+    private final LinkedBlockingQueue<String> updatedNames;
+    private final AtomicLong queuedUpdates;
+    private final CRC32C crc;
+    private final Thread writerThread;
+    private volatile long writtenUpdates;
+    private volatile long numberOfCompactions;
+    private volatile boolean closed;
+    private FileChannel channel;
+    private long recordsInFile;
+
+    /**
+     * Open the store of a file with the default compaction thresholds.
+     * @param path the file of the store, which is created if it does not exist
+     * @requires path != null
+     * @throws IOException if the file cannot be read or created
+     */
+    public PlayerStatsStore(Path path) throws IOException {
+        this(path, DEFAULT_MIN_COMPACTION_RECORDS, DEFAULT_COMPACTION_RATIO);
+    }
+
+    /**
+     * Open the store of a file: the records of the file are read into the index, a record which was only partly written
+     * before a crash is cut off, and the writer thread is started.
+     * @param path the file of the store, which is created if it does not exist
+     * @param minCompactionRecords the number of records below which the file is never compacted
+     * @param compactionRatio the number of records per player above which the file is compacted
+     * @requires path != null, minCompactionRecords >= 0, compactionRatio >= 1
+     * @throws IOException if the file cannot be read or created
+     */
+    public PlayerStatsStore(Path path, int minCompactionRecords, int compactionRatio) throws IOException {
+        this.path = path;
+        this.minCompactionRecords = minCompactionRecords;
+        this.compactionRatio = compactionRatio;
+        this.index = new ConcurrentHashMap<>();
+        this.updatedNames = new LinkedBlockingQueue<>();
+        this.queuedUpdates = new AtomicLong();
+        this.crc = new CRC32C();
+        if(path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        long validLength = this.readFile();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+
+        this.writerThread = new Thread(this::writeLoop, "stats-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Read the records of the file into the index.
+     * @return the length of the valid records at the start of the file
+     */
+    private long readFile() throws IOException {
+        if(!Files.exists(path)) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        int validLength = 0;
+        while(buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            if(length <= 0 || length > buffer.remaining() - 4) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), length);
+            if((int) crc.getValue() != buffer.getInt(buffer.position() + length)) {
+                break;
+            }
+            PlayerStats stats = PlayerStats.decode(buffer.slice(buffer.position(), length));
+            index.put(stats.getName(), stats);
+            buffer.position(buffer.position() + length + 4);
+            validLength = buffer.position();
+            recordsInFile += 1;
+        }
+        return validLength;
+    }
+
+    /**
+     * Add a finished game to the statistics of a player. The index is updated before this method returns, the file is
+     * written later by the writer thread.
+     * @param name the name of the player
+     * @param won true if the player won the game, false if the player was out
+     * @param cardsPlayed the number of cards played of each type in the game, indexed by the ordinal of the CardType
+     * @param turns the number of turns of the player in the game
+     * @requires name != null, cardsPlayed != null and cardsPlayed.length == CardType.values().length
+     */
+    public void recordGame(String name, boolean won, int[] cardsPlayed, int turns) {
+        if(closed) {
+            return;
+        }
+        index.merge(name, PlayerStats.ofGame(name, won, cardsPlayed, turns), PlayerStats::plus);
+        queuedUpdates.incrementAndGet();
+        updatedNames.offer(name);
+    }
+
+    /**
+     * Set the rating of a player. The index is updated before this method returns, the file is written later by the
+     * writer thread.
+     * @param name the name of the player
+     * @param rating the new rating
+     * @requires name != null
+     */
+    public void setRating(String name, double rating) {
+        if(closed) {
+            return;
+        }
+        index.compute(name, (key, stats) -> (stats == null ?
+                new PlayerStats(name, 0, 0, 0, new long[CardType.values().length], 0, rating) : stats.withRating(rating)));
+        queuedUpdates.incrementAndGet();
+        updatedNames.offer(name);
+    }
+
+    /**
+     * Get the statistics of a player.
+     * @param name the name of the player
+     * @requires name != null
+     * @return the statistics, or null if the player did not finish a game
+     */
+    public PlayerStats getStats(String name) {
+        return index.get(name);
+    }
+
+    /**
+     * Get the statistics of all players, in no particular order.
+     * @return a new list of the statistics
+     */
+    public List<PlayerStats> getAllStats() {
+        return new ArrayList<>(index.values());
+    }
+
+    public int getNumberOfPlayers() {
+        return index.size();
+    }
+
+    /**
+     * Get the number of records in the file, which is the number of players after a compaction.
+     * @return the number of records
+     */
+    public synchronized long getNumberOfRecordsInFile() {
+        return recordsInFile;
+    }
+
+    public long getNumberOfCompactions() {
+        return numberOfCompactions;
+    }
+
+    private void writeLoop() {
+        List<String> batch = new ArrayList<>();
+        while(true) {
+            String name;
+            try {
+                name = updatedNames.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                name = null;
+            }
+            if(name == null) {
+                if(closed && updatedNames.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(name);
+            updatedNames.drainTo(batch, MAX_BATCH_SIZE);
+            this.writeBatch(batch);
+            writtenUpdates += batch.size();
+            batch.clear();
+        }
+    }
+
+    /**
+     * Append the current statistics of the players of a batch, once for a player who is in the batch several times, and
+     * compact the file if it has too many records.
+     */
+    private synchronized void writeBatch(List<String> batch) {
+        List<byte[]> records = new ArrayList<>();
+        int size = 0;
+        for(String name : new LinkedHashSet<>(batch)) {
+            byte[] payload = index.get(name).encode();
+            records.add(payload);
+            size += payload.length + 8;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for(byte[] payload : records) {
+            this.putRecord(buffer, payload);
+        }
+        buffer.flip();
+        try {
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            recordsInFile += records.size();
+        } catch (IOException e) {
+            System.out.println("Exception " + e);
+        }
+        if(recordsInFile > minCompactionRecords && recordsInFile > (long) compactionRatio * index.size()) {
+            this.compact();
+        }
+    }
+
+    private void putRecord(ByteBuffer buffer, byte[] payload) {
+        crc.reset();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.put(payload);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Replace the file with a file which has one record per player. The statistics which change while the file is written
+     * are appended after it, because their players are still queued.
+     */
+    private void compact() {
+        Path temporary = Paths.get(path + ".tmp");
+        List<PlayerStats> allStats = this.getAllStats();
+        try (FileChannel compacted = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for(PlayerStats stats : allStats) {
+                byte[] payload = stats.encode();
+                ByteBuffer buffer = ByteBuffer.allocate(payload.length + 8);
+                this.putRecord(buffer, payload);
+                buffer.flip();
+                while(buffer.hasRemaining()) {
+                    compacted.write(buffer);
+                }
+            }
+            compacted.force(true);
+            channel.close();
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+            this.recordsInFile = allStats.size();
+            this.numberOfCompactions += 1;
+        } catch (IOException e) {
+            System.out.println("Exception " + e);
+            try {
+                if(!channel.isOpen()) {
+                    this.channel = FileChannel.open(path, StandardOpenOption.WRITE);
+                    channel.position(channel.size());
+                }
+            } catch (IOException reopenException) {
+                System.out.println("Exception " + reopenException);
+            }
+        }
+    }
+
+    /**
+     * Wait until the statistics recorded before this call are written to the file.
+     * @throws InterruptedException if the thread is interrupted while it waits
+     */
+    public void flush() throws InterruptedException {
+        long target = queuedUpdates.get();
+        while(writtenUpdates < target && writerThread.isAlive()) {
+            if(Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(FLUSH_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Write the queued statistics, stop the writer thread and close the file. Games recorded after this call are ignored.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        }
+    }
+}
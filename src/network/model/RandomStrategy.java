@@ -0,0 +1,68 @@
+package network.model;
+
+import protocol.ProtocolCommands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A strategy which makes a random valid decision. It is used to create computer players which generate load on a server.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class RandomStrategy implements ComputerStrategy {
+    private static final String[] CARDS_PLAYED_ALONE = {"Attack", "Favor", "Skip", "Shuffle", "See The Future"};
+
+    /**
+     * Play one of the cards which can be played alone, or draw a card. Each option has the same chance.
+     */
+    @Override
+    public String chooseMove(NetworkComputerPlayer player) {
+        List<String> moves = new ArrayList<>();
+        moves.add(ProtocolCommands.DRAW_CARD);
+        for(String card : CARDS_PLAYED_ALONE) {
+            if(player.checkMyCards(card)) {
+                moves.add(ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + card);
+            }
+        }
+        return moves.get(ThreadLocalRandom.current().nextInt(moves.size()));
+    }
+
+    @Override
+    public String chooseMoveAfterSeeTheFuture(NetworkComputerPlayer player, List<String> first3Cards) {
+        return this.chooseMove(player);
+    }
+
+    @Override
+    public boolean playNope(NetworkComputerPlayer player) {
+        return player.checkMyCards("Nope") && ThreadLocalRandom.current().nextBoolean();
+    }
+
+    @Override
+    public String chooseCardToGive(NetworkComputerPlayer player) {
+        List<String> myCards = player.getMyCards();
+        if(myCards.isEmpty()) {
+            return "";
+        }
+        return myCards.get(ThreadLocalRandom.current().nextInt(myCards.size())).replaceAll("\033\\[[;\\d]*m", "");
+    }
+
+    @Override
+    public String chooseCardToSteal(NetworkComputerPlayer player) {
+        return "Defuse";
+    }
+
+    @Override
+    public String choosePlayerToStealFrom(NetworkComputerPlayer player, String[] playersNames) {
+        String playerToStealCardFrom = player.getName();
+        while(playerToStealCardFrom.equals(player.getName())) {
+            playerToStealCardFrom = playersNames[ThreadLocalRandom.current().nextInt(playersNames.length)];
+        }
+        return playerToStealCardFrom;
+    }
+
+    @Override
+    public int chooseIndexForExplodingKitten(NetworkComputerPlayer player, int drawPileSize) {
+        return ThreadLocalRandom.current().nextInt(drawPileSize + 1);
+    }
+}
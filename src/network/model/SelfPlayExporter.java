@@ -0,0 +1,213 @@
+package network.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class which plays simulated games and streams one SelfPlayRecord for every decision to a binary file, to be used as
+ * training data for the strategies of the computer players.
+ * The file starts with the bytes "EKSP" and a version byte, followed by the records, each with its length.
+ * Every simulation thread collects the records of one game in its own buffer, because the outcome is known only at the end
+ * of the game, and the buffer grows when a long game does not fit in it. The finished game is then copied into a large
+ * buffer which is written with a FileChannel when it is full, so the file is locked once per game and written once per
+ * megabyte.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class SelfPlayExporter implements AutoCloseable {
+    public static final byte[] MAGIC = {'E', 'K', 'S', 'P'};
+    public static final byte VERSION = 1;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int GAME_BUFFER_SIZE = 1 << 14;
+
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer;
+    private final AtomicLong numberOfRecords;
+    private final AtomicLong numberOfGames;
+
+    /**
+     * Create a SelfPlayExporter which writes to a new file, or replaces the file if it exists.
+     * @param path the path of the file
+     * @requires path != null
+     * @throws IOException if the file cannot be opened
+     */
+    public SelfPlayExporter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        this.numberOfRecords = new AtomicLong();
+        this.numberOfGames = new AtomicLong();
+        writeBuffer.put(MAGIC);
+        writeBuffer.put(VERSION);
+    }
+
+    /**
+     * Get the number of records written since the exporter was created.
+     * @return the number of records
+     */
+    public long getNumberOfRecords() {
+        return numberOfRecords.get();
+    }
+
+    /**
+     * Get the number of games written since the exporter was created.
+     * @return the number of games
+     */
+    public long getNumberOfGames() {
+        return numberOfGames.get();
+    }
+
+    /**
+     * Play simulated games on several threads and export all decisions. The players choose random actions, as in
+     * SimulatedGame.playRandomGame().
+     * @param numberOfGames the number of games
+     * @param numberOfPlayers the number of players of each game
+     * @param numberOfThreads the number of simulation threads
+     * @param seed the seed of the random games, the same seed gives the same games for one thread
+     * @requires numberOfGames >= 0, 2 <= numberOfPlayers <= 5, numberOfThreads >= 1
+     * @throws IOException if the file cannot be written
+     */
+    public void exportGames(long numberOfGames, int numberOfPlayers, int numberOfThreads, long seed) throws IOException {
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        List<Thread> threads = new ArrayList<>();
+        List<IOException> errors = new ArrayList<>();
+        for(int i=0; i<numberOfThreads; i++) {
+            long gamesOfThread = numberOfGames / numberOfThreads + (i < numberOfGames % numberOfThreads ? 1 : 0);
+            SplittableRandom random = seedRandom.split();
+            Thread thread = new Thread(() -> {
+                try {
+                    this.simulateGames(gamesOfThread, numberOfPlayers, random);
+                } catch (IOException e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }, "self-play-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while exporting games", e);
+            }
+        }
+        if(!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+    }
+
+    /**
+     * Play games on the calling thread and export their records.
+     */
+    private void simulateGames(long numberOfGames, int numberOfPlayers, SplittableRandom random) throws IOException {
+        SimulatedGame game = new SimulatedGame(numberOfPlayers);
+        ByteBuffer gameBuffer = ByteBuffer.allocate(GAME_BUFFER_SIZE);
+        int[] outcomePositions = new int[GAME_BUFFER_SIZE];
+        int[] players = new int[GAME_BUFFER_SIZE];
+        int[] actions = new int[SimulatedGame.NUMBER_OF_ACTIONS];
+        int recordSize = SelfPlayRecord.getRecordSize(numberOfPlayers) + 1;
+
+        for(long i=0; i<numberOfGames; i++) {
+            game.setUpGame(random);
+            gameBuffer.clear();
+            int numberOfGameRecords = 0;
+            while(!game.isOver()) {
+                int action = game.chooseRandomAction(random, actions);
+                if(action < 0) {
+                    break;
+                }
+                // the records of a game are kept until its outcome is known, so a long game makes the buffer larger
+                if(gameBuffer.remaining() < recordSize) {
+                    gameBuffer = ByteBuffer.allocate(2 * gameBuffer.capacity()).put(gameBuffer.flip());
+                }
+                if(numberOfGameRecords == players.length) {
+                    players = Arrays.copyOf(players, 2 * players.length);
+                    outcomePositions = Arrays.copyOf(outcomePositions, 2 * outcomePositions.length);
+                }
+                players[numberOfGameRecords] = game.getCurrentPlayer();
+                outcomePositions[numberOfGameRecords] = SelfPlayRecord.write(gameBuffer, game, action);
+                numberOfGameRecords += 1;
+                game.play(action, random);
+            }
+            int winner = game.getWinner();
+            for(int j=0; j<numberOfGameRecords; j++) {
+                gameBuffer.put(outcomePositions[j], (byte) (players[j] == winner ? 1 : 0));
+            }
+            gameBuffer.flip();
+            this.writeGame(gameBuffer, numberOfGameRecords);
+        }
+    }
+
+    /**
+     * Copy the records of a finished game into the write buffer, and write the buffer to the file when it is full.
+     * @param gameBuffer the records of the game, ready to be read
+     * @param numberOfGameRecords the number of records in the buffer
+     * @throws IOException if the file cannot be written
+     */
+    private synchronized void writeGame(ByteBuffer gameBuffer, int numberOfGameRecords) throws IOException {
+        if(writeBuffer.remaining() < gameBuffer.remaining()) {
+            this.flush();
+        }
+        if(writeBuffer.remaining() < gameBuffer.remaining()) {
+            while(gameBuffer.hasRemaining()) {
+                channel.write(gameBuffer);
+            }
+        } else {
+            writeBuffer.put(gameBuffer);
+        }
+        numberOfRecords.addAndGet(numberOfGameRecords);
+        numberOfGames.incrementAndGet();
+    }
+
+    /**
+     * Write the buffered records to the file.
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        writeBuffer.flip();
+        while(writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Write the buffered records and close the file.
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.flush();
+        channel.close();
+    }
+
+    /**
+     * Export self-play games. The arguments are optional: output file, number of games, number of players, threads and seed.
+     * For example: selfplay.bin 100000 4 8 1
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "selfplay.bin");
+        long numberOfGames = args.length > 1 ? Long.parseLong(args[1]) : 10000;
+        int numberOfPlayers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int numberOfThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        long start = System.nanoTime();
+        try (SelfPlayExporter exporter = new SelfPlayExporter(path)) {
+            exporter.exportGames(numberOfGames, numberOfPlayers, numberOfThreads, seed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Exported %d records of %d games to %s in %.1f s (%.0f records per minute)%n",
+                    exporter.getNumberOfRecords(), exporter.getNumberOfGames(), path, seconds, exporter.getNumberOfRecords() * 60 / seconds);
+        }
+    }
+}
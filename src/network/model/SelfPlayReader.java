@@ -0,0 +1,81 @@
+package network.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class which reads the records written by the SelfPlayExporter, one after the other, through a buffered FileChannel.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class SelfPlayReader implements AutoCloseable {
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer readBuffer;
+
+    /**
+     * Open a file written by the SelfPlayExporter.
+     * @param path the path of the file
+     * @requires path != null
+     * @throws IOException if the file cannot be read or it is not a self-play file
+     */
+    public SelfPlayReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        readBuffer.flip();
+        byte[] header = new byte[SelfPlayExporter.MAGIC.length + 1];
+        if(!this.fill(header.length)) {
+            channel.close();
+            throw new IOException("Not a self-play file: " + path);
+        }
+        readBuffer.get(header);
+        if(!Arrays.equals(Arrays.copyOf(header, SelfPlayExporter.MAGIC.length), SelfPlayExporter.MAGIC) ||
+                header[SelfPlayExporter.MAGIC.length] != SelfPlayExporter.VERSION) {
+            channel.close();
+            throw new IOException("Not a self-play file: " + path);
+        }
+    }
+
+    /**
+     * Read the next record.
+     * @return the next record, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public SelfPlayRecord next() throws IOException {
+        if(!this.fill(1)) {
+            return null;
+        }
+        int length = readBuffer.get(readBuffer.position()) & 0xff;
+        if(!this.fill(length + 1)) {
+            return null;
+        }
+        return SelfPlayRecord.read(readBuffer);
+    }
+
+    /**
+     * Make sure that the buffer contains at least a number of bytes, reading from the file if needed.
+     * @return false if the end of the file was reached before
+     */
+    private boolean fill(int numberOfBytes) throws IOException {
+        if(readBuffer.remaining() >= numberOfBytes) {
+            return true;
+        }
+        readBuffer.compact();
+        while(readBuffer.position() < numberOfBytes) {
+            if(channel.read(readBuffer) < 0) {
+                break;
+            }
+        }
+        readBuffer.flip();
+        return readBuffer.remaining() >= numberOfBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
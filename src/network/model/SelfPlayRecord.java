@@ -0,0 +1,231 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One decision of a player in a simulated game, as it is stored by the SelfPlayExporter: what every player can see,
+ * the hand of the player, the actions he could make, the action he made and whether he won the game in the end.
+ * The cards are stored as the number of cards of each CardType, in the order of CardType.values().
+ * <p>
+ * The binary format of a record, after its length, is one byte for each of: number of players, player, number of turns
+ * to play and size of the draw pile; then the size of the hand of each player (255 for a player who is out of the game),
+ * the discarded cards of each type, the cards of each type in the hand of the player, the legal actions as a bit mask over
+ * the actions of SimulatedGame, the chosen action and 1 if the player won, 0 otherwise.
+ * The length is one unsigned byte, since a record of 5 players has 43 bytes.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class SelfPlayRecord {
+    public static final int NUMBER_OF_TYPES = CardType.values().length;
+    public static final int PLAYER_OUT = 255;
+
+    private final int numberOfPlayers;
+    private final int player;
+    private final int turnsToPlay;
+    private final int drawPileSize;
+    private final int[] handSizes;
+    private final int[] discardedCards;
+    private final int[] hand;
+    private final int legalActions;
+    private final int action;
+    private final boolean won;
+
+    /**
+     * Create a SelfPlayRecord.
+     * @param numberOfPlayers the number of players of the game
+     * @param player the player who made the decision
+     * @param turnsToPlay the number of turns the player had to play
+     * @param drawPileSize the size of the draw pile
+     * @param handSizes the size of the hand of each player, PLAYER_OUT for the players who are out of the game
+     * @param discardedCards the number of discarded cards of each type
+     * @param hand the number of cards of each type in the hand of the player
+     * @param legalActions the bit mask of the legal actions
+     * @param action the chosen action
+     * @param won true if the player won the game
+     * @requires handSizes.length == numberOfPlayers, discardedCards.length == hand.length == NUMBER_OF_TYPES
+     */
+    public SelfPlayRecord(int numberOfPlayers, int player, int turnsToPlay, int drawPileSize, int[] handSizes,
+                          int[] discardedCards, int[] hand, int legalActions, int action, boolean won) {
+        this.numberOfPlayers = numberOfPlayers;
+        this.player = player;
+        this.turnsToPlay = turnsToPlay;
+        this.drawPileSize = drawPileSize;
+        this.handSizes = handSizes;
+        this.discardedCards = discardedCards;
+        this.hand = hand;
+        this.legalActions = legalActions;
+        this.action = action;
+        this.won = won;
+    }
+
+    /**
+     * Get the number of players of the game.
+     * @return the number of players
+     */
+    public int getNumberOfPlayers() {
+        return numberOfPlayers;
+    }
+
+    /**
+     * Get the player who made the decision.
+     * @return the index of the player
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Get the number of turns the player had to play.
+     * @return the number of turns, more than 1 if the player was attacked
+     */
+    public int getTurnsToPlay() {
+        return turnsToPlay;
+    }
+
+    /**
+     * Get the size of the draw pile.
+     * @return the number of cards in the draw pile
+     */
+    public int getDrawPileSize() {
+        return drawPileSize;
+    }
+
+    /**
+     * Get the size of the hand of each player.
+     * @return the sizes of the hands, PLAYER_OUT for the players who are out of the game
+     */
+    public int[] getHandSizes() {
+        return handSizes;
+    }
+
+    /**
+     * Get the discarded cards.
+     * @return the number of discarded cards of each type
+     */
+    public int[] getDiscardedCards() {
+        return discardedCards;
+    }
+
+    /**
+     * Get the hand of the player.
+     * @return the number of cards of each type in the hand of the player
+     */
+    public int[] getHand() {
+        return hand;
+    }
+
+    /**
+     * Check if an action was legal for the player.
+     * @param action an action of SimulatedGame
+     * @return true if the action was legal
+     */
+    public boolean isLegal(int action) {
+        return (legalActions & (1 << action)) != 0;
+    }
+
+    /**
+     * Get the legal actions of the player.
+     * @return the bit mask of the legal actions
+     */
+    public int getLegalActions() {
+        return legalActions;
+    }
+
+    /**
+     * Get the action chosen by the player.
+     * @return the action of SimulatedGame
+     */
+    public int getAction() {
+        return action;
+    }
+
+    /**
+     * Check if the player won the game.
+     * @return true if the player won the game
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Get the size of a record of a game with a number of players, without its length byte.
+     * @param numberOfPlayers the number of players
+     * @return the size of the record in bytes
+     */
+    public static int getRecordSize(int numberOfPlayers) {
+        return 4 + numberOfPlayers + 2 * NUMBER_OF_TYPES + 3;
+    }
+
+    /**
+     * Write the current decision of a simulated game to a buffer, with its length. The outcome is written as 0, and it
+     * must be set later at the returned position, when the winner is known.
+     * @param buffer the buffer, with at least getRecordSize() + 1 bytes remaining
+     * @param game the game before the action is played
+     * @param action the action chosen by the current player
+     * @requires buffer != null, game != null
+     * @return the position of the outcome byte in the buffer
+     */
+    public static int write(ByteBuffer buffer, SimulatedGame game, int action) {
+        int numberOfPlayers = game.getNumberOfPlayers();
+        int player = game.getCurrentPlayer();
+        buffer.put((byte) getRecordSize(numberOfPlayers));
+        buffer.put((byte) numberOfPlayers);
+        buffer.put((byte) player);
+        buffer.put((byte) game.getTurnsToPlay());
+        buffer.put((byte) game.getDrawPileSize());
+        for(int i=0; i<numberOfPlayers; i++) {
+            buffer.put((byte) (game.isAlive(i) ? game.getHandSize(i) : PLAYER_OUT));
+        }
+        CardType[] cardTypes = CardType.values();
+        for(CardType cardType : cardTypes) {
+            buffer.put((byte) game.getDiscardedCards(cardType));
+        }
+        for(CardType cardType : cardTypes) {
+            buffer.put((byte) game.getCards(player, cardType));
+        }
+        int legalActions = 0;
+        for(int i=0; i<SimulatedGame.NUMBER_OF_ACTIONS; i++) {
+            if(game.isLegal(i)) {
+                legalActions |= 1 << i;
+            }
+        }
+        buffer.put((byte) legalActions);
+        buffer.put((byte) action);
+        buffer.put((byte) 0);
+        return buffer.position() - 1;
+    }
+
+    /**
+     * Read a record from a buffer, starting at its length byte.
+     * @param buffer the buffer
+     * @requires buffer != null, buffer contains a complete record
+     * @return the record
+     */
+    public static SelfPlayRecord read(ByteBuffer buffer) {
+        int length = buffer.get() & 0xff;
+        int start = buffer.position();
+        int numberOfPlayers = buffer.get() & 0xff;
+        int player = buffer.get() & 0xff;
+        int turnsToPlay = buffer.get() & 0xff;
+        int drawPileSize = buffer.get() & 0xff;
+        int[] handSizes = new int[numberOfPlayers];
+        for(int i=0; i<numberOfPlayers; i++) {
+            handSizes[i] = buffer.get() & 0xff;
+        }
+        int[] discardedCards = new int[NUMBER_OF_TYPES];
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            discardedCards[i] = buffer.get() & 0xff;
+        }
+        int[] hand = new int[NUMBER_OF_TYPES];
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            hand[i] = buffer.get() & 0xff;
+        }
+        int legalActions = buffer.get() & 0xff;
+        int action = buffer.get() & 0xff;
+        boolean won = buffer.get() != 0;
+        buffer.position(start + length);
+        return new SelfPlayRecord(numberOfPlayers, player, turnsToPlay, drawPileSize, handSizes, discardedCards, hand,
+                legalActions, action, won);
+    }
+}
@@ -0,0 +1,98 @@
+package network.model;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Class for the session of a player on the server, which lets the player connect again after the connection is lost.
+ * The session has a resume token, which the player receives in the HELLO message, and keeps the last messages sent to the
+ * player after the HELLO in a ring buffer of fixed capacity. The messages are numbered from 0, in the order in which they
+ * were sent, so a player who connects again with the number of messages received can be sent the messages after them.
+ * When the missed messages were already overwritten, the server sends the state of the game instead.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class SessionBacklog {
+    public static final int DEFAULT_CAPACITY = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String token;
+    private final String[] lines;
+    private long numberOfMessages;
+    private String pendingQuestion;
+
+    /**
+     * Create a session with a new random token and the default capacity.
+     */
+    public SessionBacklog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a session with a new random token.
+     * @param capacity the number of messages which are kept
+     * @requires capacity >= 1
+     */
+    public SessionBacklog(int capacity) {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        this.token = HexFormat.of().formatHex(bytes);
+        this.lines = new String[capacity];
+        this.numberOfMessages = 0;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Keep a message sent to the player, in place of the oldest message if the buffer is full. A question sent to the
+     * player is also kept until the player responds, so it can be asked again when the messages were overwritten.
+     * @param line the message
+     * @requires line != null
+     */
+    public synchronized void append(String line) {
+        lines[(int) (numberOfMessages % lines.length)] = line;
+        numberOfMessages += 1;
+        if(line.startsWith("ASK_")) {
+            this.pendingQuestion = line;
+        }
+    }
+
+    /**
+     * Forget the question sent to the player, because the player responded.
+     */
+    public synchronized void clearPendingQuestion() {
+        this.pendingQuestion = null;
+    }
+
+    /**
+     * Get the last question sent to the player to which the player did not respond.
+     * @return the ASK message, or null if there is none
+     */
+    public synchronized String getPendingQuestion() {
+        return pendingQuestion;
+    }
+
+    public synchronized long getNumberOfMessages() {
+        return numberOfMessages;
+    }
+
+    /**
+     * Get the messages sent from a number on, if they are all kept.
+     * @param firstMessage the number of the first message, which is the number of messages the player received
+     * @return a new list of the messages from firstMessage to the last one, or null if some of them were overwritten or
+     * firstMessage is not a number of a message which was sent
+     */
+    public synchronized List<String> getLinesFrom(long firstMessage) {
+        if(firstMessage < numberOfMessages - Math.min(numberOfMessages, lines.length) || firstMessage > numberOfMessages) {
+            return null;
+        }
+        List<String> result = new ArrayList<>();
+        for(long i=firstMessage; i<numberOfMessages; i++) {
+            result.add(lines[(int) (i % lines.length)]);
+        }
+        return result;
+    }
+}
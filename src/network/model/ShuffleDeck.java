@@ -8,15 +8,22 @@ import local.model.Game;
  */
 public class ShuffleDeck extends Thread {
     private final Game game;
+    private final EventLogger logger;
     public ShuffleDeck(Game game) {
         this.game = game;
+        this.logger = EventLogger.getLogger();
     }
 
     @Override
     public void run() {
         while(((NetworkGame) game).isKeepShuffle()) {
             game.playShuffleCard();
-            System.out.println(game.getDeck().getDrawPile());
+            // the draw pile is only turned into a String when it is written
+            if(logger.isEnabled(EventLogger.DEBUG)) {
+                synchronized (game) {
+                    logger.log(EventLogger.DEBUG, "deck.shuffled", "drawPile", game.getDeck().getDrawPile().toString());
+                }
+            }
         }
     }
 }
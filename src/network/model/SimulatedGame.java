@@ -0,0 +1,720 @@
+package network.model;
+
+import local.model.CardType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class which plays an Exploding Kittens game without a server, a user interface or Card objects, such that computer players
+ * can simulate many games in a short time. The hands are arrays with the number of cards of each CardType and the draw pile
+ * is an array of CardType ordinals, where the top of the draw pile is the last card, as in the Stack used by Deck.
+ * The rules are the rules of Game, with these simplifications: Nope cards are never played, the targets of Favor cards and
+ * combos are chosen at random, a player who is asked a Favor gives a random card, and an Exploding Kitten is inserted back
+ * at a random position.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class SimulatedGame {
+    public static final int NUMBER_OF_TYPES = CardType.values().length;
+
+    // the actions of the current player
+    public static final int DRAW = 0;
+    public static final int ATTACK = 1;
+    public static final int SKIP = 2;
+    public static final int SHUFFLE = 3;
+    public static final int SEE_THE_FUTURE = 4;
+    public static final int FAVOR = 5;
+    public static final int TWO_CATS = 6;
+    public static final int THREE_CATS = 7;
+    public static final int NUMBER_OF_ACTIONS = 8;
+
+    private static final int EXPLODING_KITTEN = CardType.EXPLODING_KITTEN.ordinal();
+    private static final int DEFUSE = CardType.DEFUSE.ordinal();
+    private static final CardType[] ACTION_CARDS = {null, CardType.ATTACK, CardType.SKIP, CardType.SHUFFLE,
+            CardType.SEE_THE_FUTURE, CardType.FAVOR, null, null};
+    private static final CardType[] CAT_CARDS = {CardType.TACO_CAT, CardType.HAIRY_POTATO_CAT, CardType.RAINBOW_RALPHING_CAT,
+            CardType.BEARD_CAT, CardType.CATTERMELON};
+    private static final int MAX_DRAW_PILE_SIZE = 64;
+
+    private final int numberOfPlayers;
+    private final int[][] hands;
+    private final int[] handSizes;
+    private final boolean[] alive;
+    private final byte[] drawPile;
+    private final int[] discardPile;
+    private int drawPileSize;
+    private int currentPlayer;
+    private int turnsToPlay;
+    private int numberOfPlayersAlive;
+    private int numberOfMoves;
+
+    /**
+     * Create a SimulatedGame with empty hands and an empty draw pile.
+     * @param numberOfPlayers the number of players
+     * @requires numberOfPlayers >= 2
+     */
+    public SimulatedGame(int numberOfPlayers) {
+        this.numberOfPlayers = numberOfPlayers;
+        this.hands = new int[numberOfPlayers][NUMBER_OF_TYPES];
+        this.handSizes = new int[numberOfPlayers];
+        this.alive = new boolean[numberOfPlayers];
+        this.drawPile = new byte[MAX_DRAW_PILE_SIZE];
+        this.discardPile = new int[NUMBER_OF_TYPES];
+        this.reset();
+    }
+
+    /**
+     * Remove all cards, make all players alive and let player 0 start.
+     */
+    public void reset() {
+        for(int player=0; player<numberOfPlayers; player++) {
+            Arrays.fill(hands[player], 0);
+            handSizes[player] = 0;
+            alive[player] = true;
+        }
+        Arrays.fill(discardPile, 0);
+        drawPileSize = 0;
+        currentPlayer = 0;
+        turnsToPlay = 1;
+        numberOfPlayersAlive = numberOfPlayers;
+        numberOfMoves = 0;
+    }
+
+    /**
+     * Deal the cards as Game.setUpGame() does: each player gets 1 Defuse card and 7 cards from the deck made by Deck.generateCards(),
+     * then the Exploding Kittens and the remaining Defuse cards are added to the draw pile, which is shuffled.
+     * @param random the source of randomness
+     * @requires random != null
+     */
+    public void setUpGame(SplittableRandom random) {
+        this.reset();
+        for(CardType cardType : CardType.values()) {
+            int numberOfCards = switch (cardType) {
+                case EXPLODING_KITTEN, DEFUSE -> 0;
+                case NOPE, SEE_THE_FUTURE -> 5;
+                default -> 4;
+            };
+            for(int i=0; i<numberOfCards; i++) {
+                this.addToDrawPile(cardType);
+            }
+        }
+        this.shuffleDrawPile(random);
+        for(int player=0; player<numberOfPlayers; player++) {
+            this.addCard(player, DEFUSE);
+            for(int i=0; i<7; i++) {
+                this.addCard(player, this.takeTopCard());
+            }
+        }
+        for(int i=0; i<numberOfPlayers - 1; i++) {
+            this.addToDrawPile(CardType.EXPLODING_KITTEN);
+        }
+        int extraDefuseCards = switch (numberOfPlayers) {
+            case 2, 3, 4 -> 2;
+            case 5 -> 1;
+            default -> 0;
+        };
+        for(int i=0; i<extraDefuseCards; i++) {
+            this.addToDrawPile(CardType.DEFUSE);
+        }
+        this.shuffleDrawPile(random);
+    }
+
+    /**
+     * Make this game equal to another game with the same number of players, without creating new arrays.
+     * @param other the game to copy
+     * @requires other != null, other.getNumberOfPlayers() == getNumberOfPlayers()
+     */
+    public void copyFrom(SimulatedGame other) {
+        for(int player=0; player<numberOfPlayers; player++) {
+            System.arraycopy(other.hands[player], 0, hands[player], 0, NUMBER_OF_TYPES);
+        }
+        System.arraycopy(other.handSizes, 0, handSizes, 0, numberOfPlayers);
+        System.arraycopy(other.alive, 0, alive, 0, numberOfPlayers);
+        System.arraycopy(other.drawPile, 0, drawPile, 0, other.drawPileSize);
+        System.arraycopy(other.discardPile, 0, discardPile, 0, NUMBER_OF_TYPES);
+        drawPileSize = other.drawPileSize;
+        currentPlayer = other.currentPlayer;
+        turnsToPlay = other.turnsToPlay;
+        numberOfPlayersAlive = other.numberOfPlayersAlive;
+        numberOfMoves = other.numberOfMoves;
+    }
+
+    /**
+     * Put a card on top of the draw pile.
+     * @param cardType the type of the card
+     * @requires cardType != null
+     */
+    public void addToDrawPile(CardType cardType) {
+        drawPile[drawPileSize] = (byte) cardType.ordinal();
+        drawPileSize += 1;
+    }
+
+    /**
+     * Set the number of cards of a type in the hand of a player.
+     * @param player the player
+     * @param cardType the type of the cards
+     * @param numberOfCards the number of cards
+     * @requires numberOfCards >= 0
+     */
+    public void setCards(int player, CardType cardType, int numberOfCards) {
+        handSizes[player] += numberOfCards - hands[player][cardType.ordinal()];
+        hands[player][cardType.ordinal()] = numberOfCards;
+    }
+
+    /**
+     * Set the player who must move.
+     * @param player the current player
+     * @param turnsToPlay the number of turns the player has to play, more than 1 if he was attacked
+     * @requires turnsToPlay >= 1
+     */
+    public void setCurrentPlayer(int player, int turnsToPlay) {
+        this.currentPlayer = player;
+        this.turnsToPlay = turnsToPlay;
+    }
+
+    /**
+     * Remove a player from the game without a move, for example because he was out of the game before the simulation.
+     * @param player the player
+     */
+    public void removePlayer(int player) {
+        if(alive[player]) {
+            alive[player] = false;
+            numberOfPlayersAlive -= 1;
+            this.discardHand(player);
+        }
+    }
+
+    /**
+     * Get the number of players, including the players who are out of the game.
+     * @return the number of players
+     */
+    public int getNumberOfPlayers() {
+        return numberOfPlayers;
+    }
+
+    /**
+     * Get the player who must move.
+     * @return the index of the current player
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Get the number of turns the current player has to play.
+     * @return the number of turns, more than 1 if the current player was attacked
+     */
+    public int getTurnsToPlay() {
+        return turnsToPlay;
+    }
+
+    /**
+     * Get the number of players who are still in the game.
+     * @return the number of players alive
+     */
+    public int getNumberOfPlayersAlive() {
+        return numberOfPlayersAlive;
+    }
+
+    /**
+     * Check if a player is still in the game.
+     * @param player the player
+     * @return true if the player is alive
+     */
+    public boolean isAlive(int player) {
+        return alive[player];
+    }
+
+    /**
+     * Get the number of cards of a type in the hand of a player.
+     * @param player the player
+     * @param cardType the type of the cards
+     * @return the number of cards
+     */
+    public int getCards(int player, CardType cardType) {
+        return hands[player][cardType.ordinal()];
+    }
+
+    /**
+     * Get the number of cards in the hand of a player.
+     * @param player the player
+     * @return the size of the hand
+     */
+    public int getHandSize(int player) {
+        return handSizes[player];
+    }
+
+    /**
+     * Get the number of cards in the draw pile.
+     * @return the size of the draw pile
+     */
+    public int getDrawPileSize() {
+        return drawPileSize;
+    }
+
+    /**
+     * Get the number of cards of a type in the discard pile, including the cards of the players who are out of the game.
+     * @param cardType the type of the cards
+     * @return the number of discarded cards
+     */
+    public int getDiscardedCards(CardType cardType) {
+        return discardPile[cardType.ordinal()];
+    }
+
+    /**
+     * Get the number of moves made since the start of the game.
+     * @return the number of moves
+     */
+    public int getNumberOfMoves() {
+        return numberOfMoves;
+    }
+
+    /**
+     * Get a card of the draw pile.
+     * @param positionFromTop the position of the card, 0 is the top of the draw pile
+     * @requires 0 <= positionFromTop < getDrawPileSize()
+     * @return the type of the card
+     */
+    public CardType getCardInDrawPile(int positionFromTop) {
+        return CardType.values()[drawPile[drawPileSize - 1 - positionFromTop]];
+    }
+
+    /**
+     * Check if the game is over.
+     * @return true if only one player is alive
+     */
+    public boolean isOver() {
+        return numberOfPlayersAlive <= 1;
+    }
+
+    /**
+     * Get the winner of the game.
+     * @return the last player alive, or -1 if the game is not over
+     */
+    public int getWinner() {
+        if(!this.isOver()) {
+            return -1;
+        }
+        for(int player=0; player<numberOfPlayers; player++) {
+            if(alive[player]) {
+                return player;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if the current player can make an action.
+     * @param action the action
+     * @return true if the action is legal
+     */
+    public boolean isLegal(int action) {
+        if(action == DRAW) {
+            return drawPileSize > 0;
+        }
+        return isLegal(action, hands[currentPlayer], this.hasOpponentWithCards());
+    }
+
+    /**
+     * Check if a player with a hand can make an action, when the draw pile is not empty.
+     * @param action the action
+     * @param hand the number of cards of each type in the hand of the player
+     * @param opponentsHaveCards true if at least one other player has cards which can be taken
+     * @requires hand.length == NUMBER_OF_TYPES
+     * @return true if the action is legal
+     */
+    public static boolean isLegal(int action, int[] hand, boolean opponentsHaveCards) {
+        int mostCopiesOfCat = 0;
+        for(CardType catCard : CAT_CARDS) {
+            mostCopiesOfCat = Math.max(mostCopiesOfCat, hand[catCard.ordinal()]);
+        }
+        return switch (action) {
+            case DRAW -> true;
+            case FAVOR -> hand[CardType.FAVOR.ordinal()] > 0 && opponentsHaveCards;
+            case TWO_CATS -> mostCopiesOfCat >= 2 && opponentsHaveCards;
+            case THREE_CATS -> mostCopiesOfCat >= 3 && opponentsHaveCards;
+            default -> action > 0 && action < NUMBER_OF_ACTIONS && hand[ACTION_CARDS[action].ordinal()] > 0;
+        };
+    }
+
+    /**
+     * Get the legal actions of the current player.
+     * @param actions an array of length at least NUMBER_OF_ACTIONS which receives the legal actions
+     * @requires actions != null
+     * @return the number of legal actions
+     */
+    public int getLegalActions(int[] actions) {
+        int numberOfActions = 0;
+        for(int action=0; action<NUMBER_OF_ACTIONS; action++) {
+            if(this.isLegal(action)) {
+                actions[numberOfActions] = action;
+                numberOfActions += 1;
+            }
+        }
+        return numberOfActions;
+    }
+
+    /**
+     * Get the type of cat card which is played when the current player plays 2 or 3 cats in combo.
+     * @return the type of cat of which the current player has the most cards
+     */
+    public CardType getCatForCombo() {
+        CardType bestCat = CAT_CARDS[0];
+        for(CardType catCard : CAT_CARDS) {
+            if(hands[currentPlayer][catCard.ordinal()] > hands[currentPlayer][bestCat.ordinal()]) {
+                bestCat = catCard;
+            }
+        }
+        return bestCat;
+    }
+
+    /**
+     * The current player makes an action.
+     * @param action the action, it must be legal
+     * @param random the source of randomness for the choices of the other players and for shuffling
+     * @requires isLegal(action), random != null
+     * @return the type of the card drawn with DRAW, or null for the other actions
+     */
+    public CardType play(int action, SplittableRandom random) {
+        numberOfMoves += 1;
+        int player = currentPlayer;
+        switch (action) {
+            case DRAW -> {
+                return this.drawCard(random);
+            }
+            case ATTACK -> {
+                this.discardCards(player, CardType.ATTACK.ordinal(), 1);
+                int turnsOfNextPlayer = turnsToPlay > 1 ? turnsToPlay + 2 : 2;
+                currentPlayer = this.nextAlivePlayer(player);
+                turnsToPlay = turnsOfNextPlayer;
+            }
+            case SKIP -> {
+                this.discardCards(player, CardType.SKIP.ordinal(), 1);
+                this.endTurn();
+            }
+            case SHUFFLE -> {
+                this.discardCards(player, CardType.SHUFFLE.ordinal(), 1);
+                this.shuffleDrawPile(random);
+            }
+            case SEE_THE_FUTURE -> this.discardCards(player, CardType.SEE_THE_FUTURE.ordinal(), 1);
+            case FAVOR -> {
+                this.discardCards(player, CardType.FAVOR.ordinal(), 1);
+                this.takeRandomCard(player, this.randomOpponentWithCards(random), random);
+            }
+            case TWO_CATS -> {
+                this.discardCards(player, this.getCatForCombo().ordinal(), 2);
+                if(this.hasOpponentWithCards()) {
+                    this.takeRandomCard(player, this.randomOpponentWithCards(random), random);
+                }
+            }
+            case THREE_CATS -> {
+                this.discardCards(player, this.getCatForCombo().ordinal(), 3);
+                if(this.hasOpponentWithCards()) {
+                    int victim = this.randomOpponentWithCards(random);
+                    if(hands[victim][DEFUSE] > 0) {
+                        this.removeCard(victim, DEFUSE);
+                        this.addCard(player, DEFUSE);
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown action " + action);
+        }
+        return null;
+    }
+
+    /**
+     * Choose a random legal action, where drawing a card has the same probability as playing any card.
+     * This is the policy used to finish simulated games quickly.
+     * @param random the source of randomness
+     * @param actions an array of length at least NUMBER_OF_ACTIONS used to store the legal actions
+     * @requires random != null, actions != null
+     * @return a legal action, or -1 if the current player cannot move
+     */
+    public int chooseRandomAction(SplittableRandom random, int[] actions) {
+        int numberOfActions = this.getLegalActions(actions);
+        if(numberOfActions == 0) {
+            return -1;
+        }
+        if(numberOfActions == 1 || random.nextBoolean()) {
+            return actions[0];
+        }
+        return actions[1 + random.nextInt(numberOfActions - 1)];
+    }
+
+    /**
+     * Finish the game with random actions for all players.
+     * @param random the source of randomness
+     * @requires random != null
+     * @return the winner of the game, or -1 if the game could not be finished
+     */
+    public int playRandomGame(SplittableRandom random) {
+        int[] actions = new int[NUMBER_OF_ACTIONS];
+        while(!this.isOver()) {
+            int action = this.chooseRandomAction(random, actions);
+            if(action < 0) {
+                break;
+            }
+            this.play(action, random);
+        }
+        return this.getWinner();
+    }
+
+    /**
+     * Create a game which is consistent with what a computer player knows about the current network game.
+     * The hand of the computer player and the known cards of the draw pile are exact. The cards which were not seen are
+     * dealt to the other players following the OpponentModel, and the rest goes to the draw pile in a random order.
+     * @param computerPlayer the computer player
+     * @param random the source of randomness
+     * @requires computerPlayer != null, random != null
+     * @return the sampled game, where the computer player has the index it has in getPlayersInGame(), or null if the
+     * computer player is not in the game
+     */
+    public static SimulatedGame sample(NetworkComputerPlayer computerPlayer, SplittableRandom random) {
+        BeliefTracker beliefTracker = computerPlayer.getBeliefTracker();
+        OpponentModel opponentModel = computerPlayer.getOpponentModel();
+        List<String> playersInGame = computerPlayer.getPlayersInGame();
+        int me = playersInGame.indexOf(computerPlayer.getName());
+        int drawPileSize = Math.min(MAX_DRAW_PILE_SIZE, beliefTracker.getDrawPileSize());
+        if(me < 0 || playersInGame.size() < 2 || drawPileSize == 0) {
+            return null;
+        }
+
+        SimulatedGame game = new SimulatedGame(playersInGame.size());
+        int[] unseenCards = new int[NUMBER_OF_TYPES];
+        for(CardType cardType : CardType.values()) {
+            unseenCards[cardType.ordinal()] = beliefTracker.getRemainingCards(cardType);
+            game.setCards(me, cardType, beliefTracker.getMyCards(cardType));
+        }
+        unseenCards[EXPLODING_KITTEN] = beliefTracker.getExplodingKittensInDrawPile();
+
+        CardType[] knownCards = new CardType[drawPileSize];
+        for(int i=0; i<drawPileSize; i++) {
+            knownCards[i] = beliefTracker.getKnownCard(i);
+            if(knownCards[i] != null) {
+                if(unseenCards[knownCards[i].ordinal()] > 0) {
+                    unseenCards[knownCards[i].ordinal()] -= 1;
+                } else {
+                    knownCards[i] = null;
+                }
+            }
+        }
+
+        double[] weights = new double[NUMBER_OF_TYPES];
+        for(int player=0; player<playersInGame.size(); player++) {
+            if(player == me) {
+                continue;
+            }
+            String playerName = playersInGame.get(player);
+            for(CardType cardType : CardType.values()) {
+                weights[cardType.ordinal()] = opponentModel.getExpectedCards(playerName, cardType);
+            }
+            for(int i=0; i<beliefTracker.getHandSize(playerName); i++) {
+                int cardType = sampleType(unseenCards, weights, random);
+                if(cardType < 0) {
+                    break;
+                }
+                unseenCards[cardType] -= 1;
+                weights[cardType] = Math.max(0, weights[cardType] - 1);
+                game.addCard(player, cardType);
+            }
+        }
+
+        // the unseen cards which are left go to the unknown positions of the draw pile, the others were removed with players
+        int unknownPositions = 0;
+        for(CardType knownCard : knownCards) {
+            if(knownCard == null) {
+                unknownPositions += 1;
+            }
+        }
+        byte[] unknownCards = new byte[unknownPositions];
+        int numberUnknownCards = 0;
+        for(int i=0; i<unseenCards[EXPLODING_KITTEN] && numberUnknownCards<unknownPositions; i++) {
+            unknownCards[numberUnknownCards++] = (byte) EXPLODING_KITTEN;
+        }
+        unseenCards[EXPLODING_KITTEN] = 0;
+        Arrays.fill(weights, 1);
+        while(numberUnknownCards < unknownPositions) {
+            int cardType = sampleType(unseenCards, weights, random);
+            if(cardType < 0) {
+                cardType = CAT_CARDS[random.nextInt(CAT_CARDS.length)].ordinal();
+            } else {
+                unseenCards[cardType] -= 1;
+            }
+            unknownCards[numberUnknownCards++] = (byte) cardType;
+        }
+        shuffle(unknownCards, numberUnknownCards, random);
+
+        int nextUnknownCard = 0;
+        for(int positionFromTop=drawPileSize-1; positionFromTop>=0; positionFromTop--) {
+            if(knownCards[positionFromTop] != null) {
+                game.addToDrawPile(knownCards[positionFromTop]);
+            } else {
+                game.addToDrawPile(CardType.values()[unknownCards[nextUnknownCard++]]);
+            }
+        }
+        game.setCurrentPlayer(me, computerPlayer.getTurnsToPlay());
+        return game;
+    }
+
+    /**
+     * Choose a card type among the available cards, with a probability proportional to the weight of the type.
+     * Types without weight are only chosen when no type with weight is available.
+     */
+    private static int sampleType(int[] availableCards, double[] weights, SplittableRandom random) {
+        double totalWeight = 0;
+        int totalAvailable = 0;
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            if(availableCards[i] > 0) {
+                totalWeight += weights[i];
+                totalAvailable += availableCards[i];
+            }
+        }
+        if(totalAvailable == 0) {
+            return -1;
+        }
+        if(totalWeight > 0) {
+            double r = random.nextDouble() * totalWeight;
+            for(int i=0; i<NUMBER_OF_TYPES; i++) {
+                if(availableCards[i] > 0) {
+                    r -= weights[i];
+                    if(r < 0) {
+                        return i;
+                    }
+                }
+            }
+        }
+        int r = random.nextInt(totalAvailable);
+        for(int i=0; i<NUMBER_OF_TYPES; i++) {
+            r -= availableCards[i];
+            if(r < 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void shuffle(byte[] cards, int numberOfCards, SplittableRandom random) {
+        for(int i=numberOfCards-1; i>0; i--) {
+            int j = random.nextInt(i + 1);
+            byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+
+    private void shuffleDrawPile(SplittableRandom random) {
+        shuffle(drawPile, drawPileSize, random);
+    }
+
+    private int takeTopCard() {
+        drawPileSize -= 1;
+        return drawPile[drawPileSize];
+    }
+
+    private CardType drawCard(SplittableRandom random) {
+        int player = currentPlayer;
+        int card = this.takeTopCard();
+        if(card != EXPLODING_KITTEN) {
+            this.addCard(player, card);
+            this.endTurn();
+            return CardType.values()[card];
+        }
+        if(hands[player][DEFUSE] > 0) {
+            this.discardCards(player, DEFUSE, 1);
+            int index = random.nextInt(drawPileSize + 1);
+            System.arraycopy(drawPile, index, drawPile, index + 1, drawPileSize - index);
+            drawPile[index] = (byte) EXPLODING_KITTEN;
+            drawPileSize += 1;
+            this.endTurn();
+        } else {
+            discardPile[EXPLODING_KITTEN] += 1;
+            this.removePlayer(player);
+            if(!this.isOver()) {
+                currentPlayer = this.nextAlivePlayer(player);
+                turnsToPlay = 1;
+            }
+        }
+        return CardType.EXPLODING_KITTEN;
+    }
+
+    private void endTurn() {
+        turnsToPlay -= 1;
+        if(turnsToPlay <= 0) {
+            currentPlayer = this.nextAlivePlayer(currentPlayer);
+            turnsToPlay = 1;
+        }
+    }
+
+    private int nextAlivePlayer(int player) {
+        int next = (player + 1) % numberOfPlayers;
+        while(!alive[next] && next != player) {
+            next = (next + 1) % numberOfPlayers;
+        }
+        return next;
+    }
+
+    private void addCard(int player, int cardType) {
+        hands[player][cardType] += 1;
+        handSizes[player] += 1;
+    }
+
+    private void removeCard(int player, int cardType) {
+        hands[player][cardType] -= 1;
+        handSizes[player] -= 1;
+    }
+
+    private void discardCards(int player, int cardType, int numberOfCards) {
+        hands[player][cardType] -= numberOfCards;
+        handSizes[player] -= numberOfCards;
+        discardPile[cardType] += numberOfCards;
+    }
+
+    private void discardHand(int player) {
+        for(int cardType=0; cardType<NUMBER_OF_TYPES; cardType++) {
+            discardPile[cardType] += hands[player][cardType];
+            hands[player][cardType] = 0;
+        }
+        handSizes[player] = 0;
+    }
+
+    private void takeRandomCard(int thief, int victim, SplittableRandom random) {
+        int r = random.nextInt(handSizes[victim]);
+        for(int cardType=0; cardType<NUMBER_OF_TYPES; cardType++) {
+            r -= hands[victim][cardType];
+            if(r < 0) {
+                this.removeCard(victim, cardType);
+                this.addCard(thief, cardType);
+                return;
+            }
+        }
+    }
+
+    private boolean hasOpponentWithCards() {
+        for(int player=0; player<numberOfPlayers; player++) {
+            if(player != currentPlayer && alive[player] && handSizes[player] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int randomOpponentWithCards(SplittableRandom random) {
+        int numberOfVictims = 0;
+        for(int player=0; player<numberOfPlayers; player++) {
+            if(player != currentPlayer && alive[player] && handSizes[player] > 0) {
+                numberOfVictims += 1;
+            }
+        }
+        int r = random.nextInt(numberOfVictims);
+        for(int player=0; player<numberOfPlayers; player++) {
+            if(player != currentPlayer && alive[player] && handSizes[player] > 0) {
+                if(r == 0) {
+                    return player;
+                }
+                r -= 1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,77 @@
+package network.model;
+
+import local.model.Card;
+import local.model.Player;
+
+/**
+ * Record of the changes made by one move of a NetworkGame, which NetworkGame.unmakeMove() uses to take the move back.
+ * A move makes at most a few changes, such as a card which leaves a hand or the draw pile, and each change is stored with
+ * the player, the card and the index which it needs to be undone. Together with the current player and the attack state
+ * before the move, this is enough to restore the game exactly, without a copy of the hands and the piles.
+ * A search keeps one UndoRecord for each depth and reuses it for every move at that depth.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class UndoRecord {
+    static final int HAND_ADD = 0;
+    static final int HAND_REMOVE = 1;
+    static final int DRAW_PILE_TAKE = 2;
+    static final int DRAW_PILE_INSERT = 3;
+    static final int DISCARD = 4;
+    static final int PLAYER_REMOVED = 5;
+    static final int SHUFFLE = 6;
+    private static final int MAX_CHANGES = 8;
+
+    final int[] kinds;
+    final Player[] players;
+    final Card[] cards;
+    final int[] indexes;
+    int numberOfChanges;
+    int currentPlayerIndex;
+    int additionalTurnsToPlay;
+    boolean attackOn;
+    Card[] drawPileBeforeShuffle;
+
+    /**
+     * Create an empty UndoRecord.
+     */
+    public UndoRecord() {
+        this.kinds = new int[MAX_CHANGES];
+        this.players = new Player[MAX_CHANGES];
+        this.cards = new Card[MAX_CHANGES];
+        this.indexes = new int[MAX_CHANGES];
+        this.drawPileBeforeShuffle = new Card[0];
+    }
+
+    /**
+     * Get the number of changes of the move.
+     * @return the number of changes, 0 if the move was not legal and did not change the game
+     */
+    public int getNumberOfChanges() {
+        return numberOfChanges;
+    }
+
+    /**
+     * Forget the changes of the previous move and remember the turn state before a new move.
+     */
+    void begin(int currentPlayerIndex, int additionalTurnsToPlay, boolean attackOn) {
+        for(int i=0; i<numberOfChanges; i++) {
+            players[i] = null;
+            cards[i] = null;
+        }
+        this.numberOfChanges = 0;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.additionalTurnsToPlay = additionalTurnsToPlay;
+        this.attackOn = attackOn;
+    }
+
+    /**
+     * Remember one change of the move.
+     */
+    void add(int kind, Player player, Card card, int index) {
+        kinds[numberOfChanges] = kind;
+        players[numberOfChanges] = player;
+        cards[numberOfChanges] = card;
+        indexes[numberOfChanges] = index;
+        numberOfChanges += 1;
+    }
+}
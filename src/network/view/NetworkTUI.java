@@ -17,7 +17,7 @@ public class NetworkTUI {
             You can use the Standard commands on the left or the Custom commands on the right.
             Standard commands ................... Custom commands
             CONNECT~Name~0,1         .....        connect-oliver-0,1
-            ADD_COMPUTER             .....        add computer
+            ADD_COMPUTER~hard        .....        add computer-hard
             REMOVE_COMPUTER          .....        remove computer
             REQUEST_GAME~2           .....        request game-2
             PLAY_CARD~favor          .....        play-favor
@@ -28,6 +28,7 @@ public class NetworkTUI {
             RESPOND_PLAYERNAME~Alex  .....        respond name-Alex
             RESPOND_CARDNAME~Defuse  .....        respond card-Defuse
             STOP_SHUFFLE             .....        stop
+            REQUEST_LEADERBOARD~10   .....        leaderboard-10
             """ + RESET;
 
     /**
@@ -79,6 +80,9 @@ public class NetworkTUI {
                     case ADD_COMPUTER_PLAYER ->{
                         System.out.println(YELLOW_BOLD + "\uD83E\uDD16 Welcome, Computer Whiz! \uD83D\uDCBE Someone just plugged in some digital magic. Ready for the techy vibes?" + RESET);
                         result = ADD_COMPUTER_PLAYER;
+                        if (commandArray.length > 1 && !commandArray[1].isEmpty()){
+                            result = ADD_COMPUTER_PLAYER+ARGUMENT_SEPARATOR+commandArray[1];
+                        }
                     }
                     case REMOVE_COMPUTER_PLAYER ->{
                         System.out.println(YELLOW_BOLD + "\uD83D\uDEA8 Uh-oh, the computer is taking a coffee break! ☕ Adiós, Computer Buddy!" + RESET);
@@ -186,6 +190,12 @@ public class NetworkTUI {
                     case STOP_SHUFFLE->{
                         result = STOP_SHUFFLE;
                     }
+                    case REQUEST_LEADERBOARD->{
+                        result = REQUEST_LEADERBOARD;
+                        if (commandArray.length > 1 && !commandArray[1].isEmpty()){
+                            result = REQUEST_LEADERBOARD+ARGUMENT_SEPARATOR+commandArray[1];
+                        }
+                    }
                     case "COMMAND" -> System.out.println(COMMAND_LINE);
                     default -> System.out.println(unknownCommand);
                 }
@@ -219,6 +229,9 @@ public class NetworkTUI {
                     case "add computer"->{
                         System.out.println(YELLOW_BOLD + "\uD83E\uDD16 Welcome, Computer Whiz! \uD83D\uDCBE Someone just plugged in some digital magic. Ready for the techy vibes?" + RESET);
                         result = ADD_COMPUTER_PLAYER;
+                        if (commandArray.length > 1 && !commandArray[1].isEmpty()){
+                            result = ADD_COMPUTER_PLAYER+ARGUMENT_SEPARATOR+commandArray[1];
+                        }
                     }
                     case "remove computer"->{
                         System.out.println(YELLOW_BOLD + "\uD83D\uDEA8 Uh-oh, the computer is taking a coffee break! ☕ Adiós, Computer Buddy!" + RESET);
@@ -330,6 +343,12 @@ public class NetworkTUI {
                     case "stop"->{
                         result = STOP_SHUFFLE;
                     }
+                    case "leaderboard"->{
+                        result = REQUEST_LEADERBOARD;
+                        if (commandArray.length > 1 && !commandArray[1].isEmpty()){
+                            result = REQUEST_LEADERBOARD+ARGUMENT_SEPARATOR+commandArray[1];
+                        }
+                    }
                     case "command"-> System.out.println(COMMAND_LINE);
                     default -> System.out.println(unknownCommand);
                 }
@@ -418,6 +437,20 @@ public class NetworkTUI {
                             """ + RESET, player, move);
                 }
             }
+            case BROADCAST_STEAL->{
+                String thief = commandArray[1];
+                String victim = commandArray[2];
+                boolean cardTaken = !commandArray[3].equals("0");
+                if(commandArray.length > 4) {
+                    result = String.format(GREEN_BOLD_BRIGHT + """
+                            📢 %s asked %s for a %s and %s! 🎲
+                            """ + RESET, thief, victim, commandArray[4], cardTaken ? "got it" : "got nothing");
+                } else {
+                    result = String.format(GREEN_BOLD_BRIGHT + """
+                            📢 %s took a card from %s! 🎲
+                            """ + RESET, thief, victim);
+                }
+            }
             case PLAYER_OUT->{
                 String player = commandArray[1];
                 result = String.format(YELLOW_BOLD + "\uD83D\uDE22Player %s is out of this game.\uD83D\uDC4B" + RESET, player);
@@ -461,6 +494,32 @@ public class NetworkTUI {
                         🔥 Watch out! %s just drew an \uD83D\uDCA3Exploding Kitten\uD83D\uDCA5! 😱 Hold on tight, it's about to get explosive! 💣
                         """ + RESET, name);
             }
+            case CHAT_HISTORY->{
+                String[] history = messageFromServer.split(ARGUMENT_SEPARATOR, -1);
+                StringBuilder messages = new StringBuilder();
+                for(int i=1; i+1<history.length; i+=2) {
+                    messages.append(String.format("%n\uD83D\uDCE2[%s]: %s", history[i], history[i + 1]));
+                }
+                result = YELLOW_BOLD + "\uD83D\uDCDC Earlier in the chat:" + messages + RESET;
+            }
+            case RESUMED->{
+                result = String.format(YELLOW_BOLD + """
+                        🔌 Connection restored, welcome back %s! Here is what you missed:
+                        """ + RESET, commandArray[1]);
+            }
+            case LEADERBOARD->{
+                String rank = commandArray[1].equals("0") ? "not ranked yet" : "#" + commandArray[1];
+                StringBuilder topPlayers = new StringBuilder();
+                if(commandArray.length > 4) {
+                    for(String topPlayer : commandArray[4].split(ELEMENT_SEPARATOR)) {
+                        String[] rankNameRating = topPlayer.split(":");
+                        topPlayers.append(String.format("%n%4s. %s (%s)", rankNameRating[0],
+                                topPlayer.substring(topPlayer.indexOf(':') + 1, topPlayer.lastIndexOf(':')), rankNameRating[rankNameRating.length - 1]));
+                    }
+                }
+                result = String.format(YELLOW_BOLD + "\uD83C\uDFC6 Leaderboard of %s rated players. You are %s with a rating of %s.%s" + RESET,
+                        commandArray[3], rank, commandArray[2], topPlayers);
+            }
         }
         System.out.println(result);
     }
@@ -0,0 +1,127 @@
+package protocol;
+
+public class EngineProtocol {
+
+    /**
+     * The line protocol between a bridge strategy and an external engine process, which reads its stdin and writes its stdout.
+     * Every line is a command followed by arguments separated by spaces.
+     *
+     * bridge -> engine                          engine -> bridge
+     * engine                                    id name <name>, then engineok
+     * isready                                   readyok
+     * go <request id> <state>                   any number of: info <request id> <text>, then: bestaction <request id> <action>
+     * quit                                      (the engine exits)
+     *
+     * The bridge may send many go commands without waiting for the answers, for example for many tables at the same time,
+     * and the engine may answer them in any order. The request id connects each answer to its request.
+     *
+     * The state is a list of keys, each followed by its value:
+     * players <number of players> me <index of the engine player> turns <turns to play> pile <size of the draw pile>
+     * kittens <Exploding Kittens in the draw pile> hand <cards of each type> discard <discarded cards of each type>
+     * sizes <size of the hand of each player, -1 if out> legal <legal actions>
+     * The cards of each type are counts separated by commas, in the order of CardType.values(), and the legal actions are
+     * action names separated by commas.
+     */
+    public static final String SEPARATOR = " ";
+    public static final String LIST_SEPARATOR = ",";
+
+    /**
+     * Commands sent by the bridge.
+     */
+    public static final String ENGINE = "engine";
+    public static final String IS_READY = "isready";
+    public static final String GO = "go";
+    public static final String QUIT = "quit";
+
+    /**
+     * Commands sent by the engine.
+     */
+    public static final String ID = "id";
+    public static final String ENGINE_OK = "engineok";
+    public static final String READY_OK = "readyok";
+    public static final String INFO = "info";
+    public static final String BEST_ACTION = "bestaction";
+
+    /**
+     * Keys of the state.
+     */
+    public static final String PLAYERS = "players";
+    public static final String ME = "me";
+    public static final String TURNS = "turns";
+    public static final String PILE = "pile";
+    public static final String KITTENS = "kittens";
+    public static final String HAND = "hand";
+    public static final String DISCARD = "discard";
+    public static final String SIZES = "sizes";
+    public static final String LEGAL = "legal";
+
+    /**
+     * Names of the actions, in the order of the actions of SimulatedGame.
+     */
+    public static final String[] ACTIONS = {"draw", "attack", "skip", "shuffle", "seethefuture", "favor", "twocats", "threecats"};
+
+    /**
+     * Get the action with a name.
+     * @param actionName the name of the action
+     * @return the index of the action in ACTIONS, or -1 if there is no action with this name
+     */
+    public static int parseAction(String actionName) {
+        for(int i=0; i<ACTIONS.length; i++) {
+            if(ACTIONS[i].equals(actionName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Encode a state for the go command.
+     * @param numberOfPlayers the number of players
+     * @param me the index of the player who must move
+     * @param turnsToPlay the number of turns the player has to play
+     * @param drawPileSize the size of the draw pile
+     * @param explodingKittens the number of Exploding Kittens in the draw pile
+     * @param hand the number of cards of each type in the hand of the player
+     * @param discardedCards the number of discarded cards of each type
+     * @param handSizes the size of the hand of each player, -1 for the players who are out of the game
+     * @param legalActions the bit mask of the legal actions
+     * @requires hand != null, discardedCards != null, handSizes != null
+     * @return the encoded state
+     */
+    public static String encodeState(int numberOfPlayers, int me, int turnsToPlay, int drawPileSize, int explodingKittens,
+                                     int[] hand, int[] discardedCards, int[] handSizes, int legalActions) {
+        StringBuilder state = new StringBuilder();
+        state.append(PLAYERS).append(SEPARATOR).append(numberOfPlayers).append(SEPARATOR);
+        state.append(ME).append(SEPARATOR).append(me).append(SEPARATOR);
+        state.append(TURNS).append(SEPARATOR).append(turnsToPlay).append(SEPARATOR);
+        state.append(PILE).append(SEPARATOR).append(drawPileSize).append(SEPARATOR);
+        state.append(KITTENS).append(SEPARATOR).append(explodingKittens).append(SEPARATOR);
+        state.append(HAND).append(SEPARATOR);
+        appendList(state, hand);
+        state.append(SEPARATOR).append(DISCARD).append(SEPARATOR);
+        appendList(state, discardedCards);
+        state.append(SEPARATOR).append(SIZES).append(SEPARATOR);
+        appendList(state, handSizes);
+        state.append(SEPARATOR).append(LEGAL).append(SEPARATOR);
+        boolean first = true;
+        for(int action=0; action<ACTIONS.length; action++) {
+            if((legalActions & (1 << action)) != 0) {
+                if(!first) {
+                    state.append(LIST_SEPARATOR);
+                }
+                state.append(ACTIONS[action]);
+                first = false;
+            }
+        }
+        return state.toString();
+    }
+
+    private static void appendList(StringBuilder state, int[] values) {
+        for(int i=0; i<values.length; i++) {
+            if(i > 0) {
+                state.append(LIST_SEPARATOR);
+            }
+            state.append(values[i]);
+        }
+    }
+}
@@ -28,11 +28,13 @@ public class ProtocolCommands {
     public static final String RESPOND_INDEX = "RESPOND_INDEX";
     public static final String RESPOND_YESORNO = "RESPOND_YESORNO";
     public static final String STOP_SHUFFLE = "STOP_SHUFFLE";
+    public static final String REQUEST_LEADERBOARD = "REQUEST_LEADERBOARD"; // (optional number of top players, 10 by default and at most 100)
+    public static final String RESUME_SESSION = "RESUME"; // (instead of CONNECT after the connection was lost: resume token~number of messages received after the HELLO)
 
     /**
      * Commands used when the Server sends a message to a Client.
      */
-    public static final String HELLO = "HELLO";
+    public static final String HELLO = "HELLO"; // (name~flags~resume token)
     public static final String PLAYER_LIST = "PLAYER_LIST";
     public static final String QUEUE = "QUEUE";
     public static final String NEW_GAME = "NEW_GAME";
@@ -50,4 +52,8 @@ public class ProtocolCommands {
     public static final String ASK_FOR_CARDNAME = "ASK_FOR_CARDNAME"; // (if Favor card is played / 3 cards were played in combo)
     public static final String SHOW_FIRST_3_CARDS = "SHOW_FIRST_3_CARDS"; // (if See The Future card is played)
     public static final String EXPLODING_KITTEN = "EXPLODING_KITTEN"; // (if Exploding Kitten is taken by a player)
+    public static final String BROADCAST_STEAL = "BROADCAST_STEAL"; // (if a card is taken with a Favor card / combo: thief~victim~number of cards~card name if it was named)
+    public static final String CHAT_HISTORY = "CHAT_HISTORY"; // (when a player connects: name~text of each of the last chat messages, from the oldest)
+    public static final String RESUMED = "RESUMED"; // (name~number of the next message after the HELLO: the missed messages follow, or the state of the game if they are no longer kept)
+    public static final String LEADERBOARD = "LEADERBOARD"; // (rank of the player or 0 if not rated~rating of the player~number of rated players~rank:name:rating of each top player)
 }
@@ -0,0 +1,68 @@
+package test;
+
+import network.controller.Arena;
+import network.controller.Server;
+import network.model.GreedyStrategy;
+import network.model.NetworkComputerPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Arena, with one room of 2 computer players.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class ArenaTest {
+    private static final int PORT = 6950;
+
+    /**
+     * The computer players of a room play games one after another, the seats rotate between the games, and each game
+     * gives one line in the file of the results.
+     */
+    @Test
+    public void testGamesArePlayedAndRecorded() throws IOException, InterruptedException {
+        Path resultsPath = Files.createTempFile("arena", ".csv");
+        Arena arena = new Arena(2, 10_000, resultsPath);
+
+        Server server = new Server();
+        server.startServer(PORT);
+        Thread listener = new Thread(server::listenForConnections);
+        listener.setDaemon(true);
+        listener.start();
+        for(int seat=0; seat<2; seat++) {
+            NetworkComputerPlayer computerPlayer = new NetworkComputerPlayer("Computer " + seat, new GreedyStrategy());
+            computerPlayer.connectToServer("localhost", PORT);
+            Thread thread = new Thread(computerPlayer);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        arena.addRoom(server);
+
+        long end = System.currentTimeMillis() + 60_000;
+        while(arena.getGamesPlayed() + arena.getStalledGames() < 3 && System.currentTimeMillis() < end) {
+            Thread.sleep(100);
+        }
+        arena.stop();
+        server.stopServer();
+
+        assertTrue(arena.getGamesPlayed() >= 2);
+        assertEquals(1.0, arena.getWinRate(0) + arena.getWinRate(1), 1e-9);
+        assertTrue(arena.getGamesPerSecond() > 0);
+        assertEquals(arena.getGamesPlayed(), arena.getWins("Computer 0") + arena.getWins("Computer 1"));
+
+        List<String> lines = Files.readAllLines(resultsPath);
+        assertEquals(arena.getGamesPlayed(), lines.size());
+        // the player who sits first in a game sits last in the next game
+        if(arena.getStalledGames() == 0) {
+            String[] firstGame = lines.get(0).split(",");
+            String[] secondGame = lines.get(1).split(",");
+            assertEquals(firstGame[1].split(";")[0], secondGame[1].split(";")[1]);
+        }
+        Files.delete(resultsPath);
+    }
+}
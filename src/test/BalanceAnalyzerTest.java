@@ -0,0 +1,62 @@
+package test;
+
+import local.model.CardType;
+import network.model.BalanceAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the BalanceAnalyzer.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class BalanceAnalyzerTest {
+
+    /**
+     * Every game gives a winning seat and a length, and every player gives one starting hand with exactly 1 Defuse card.
+     */
+    @Test
+    public void testCounts() throws InterruptedException {
+        BalanceAnalyzer analyzer = new BalanceAnalyzer();
+        analyzer.analyze(5000, 3, 3, 1);
+
+        assertEquals(5000, analyzer.getNumberOfGames(3));
+        assertEquals(0, analyzer.getNumberOfGames(4));
+        long wins = 0;
+        for(int seat=0; seat<3; seat++) {
+            wins += analyzer.getWins(3, seat);
+            assertTrue(analyzer.getWinRate(3, seat) > 0.2);
+        }
+        assertEquals(5000 - analyzer.getNumberOfUnfinishedGames(3), wins);
+
+        long games = 0;
+        for(int length=0; length<=BalanceAnalyzer.MAX_GAME_LENGTH; length++) {
+            games += analyzer.getNumberOfGamesOfLength(3, length);
+        }
+        assertEquals(5000, games);
+        assertTrue(analyzer.getGameLengthPercentile(3, 0.1) <= analyzer.getGameLengthPercentile(3, 0.5));
+        assertTrue(analyzer.getGameLengthPercentile(3, 0.5) <= analyzer.getGameLengthPercentile(3, 0.9));
+        assertTrue(analyzer.getAverageGameLength(3) > 0);
+
+        assertEquals(15000, analyzer.getNumberOfStartingHands(3, CardType.DEFUSE, 1));
+        assertEquals(15000, analyzer.getNumberOfStartingHands(3, CardType.EXPLODING_KITTEN, 0));
+    }
+
+    /**
+     * The results do not depend on the order in which the threads add their counts.
+     */
+    @Test
+    public void testSameSeedSameResults() throws InterruptedException {
+        BalanceAnalyzer first = new BalanceAnalyzer();
+        BalanceAnalyzer second = new BalanceAnalyzer();
+        first.analyze(10000, 4, 4, 7);
+        second.analyze(10000, 4, 4, 7);
+
+        for(int seat=0; seat<4; seat++) {
+            assertEquals(first.getWins(4, seat), second.getWins(4, seat));
+        }
+        assertEquals(first.getAverageGameLength(4), second.getAverageGameLength(4));
+        assertEquals(first.getWinRateByStartingCards(4, CardType.ATTACK, 2), second.getWinRateByStartingCards(4, CardType.ATTACK, 2));
+        assertEquals(first.report(4), second.report(4));
+    }
+}
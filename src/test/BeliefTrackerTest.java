@@ -0,0 +1,107 @@
+package test;
+
+import local.model.CardType;
+import network.model.BeliefTracker;
+import network.model.NetworkGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the BeliefTracker used by the computer players.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class BeliefTrackerTest {
+    private BeliefTracker beliefTracker;
+    private ArrayList<String> playersNames;
+
+    /**
+     * Start a new game with 2 players for the BeliefTracker of "Computer Player 1".
+     */
+    @BeforeEach
+    public void setUp() {
+        playersNames = new ArrayList<>();
+        playersNames.add("Computer Player 1");
+        playersNames.add("Alex");
+        beliefTracker = new BeliefTracker();
+        beliefTracker.startNewGame(playersNames, "Computer Player 1");
+    }
+
+    /**
+     * The size of the draw pile computed by the tracker must be equal to the size of the draw pile of a real game.
+     */
+    @Test
+    public void testDrawPileSizeAtStart() {
+        NetworkGame networkGame = new NetworkGame(playersNames);
+        networkGame.setUpGame();
+        assertEquals(networkGame.getDeck().getDrawPile().size(), beliefTracker.getDrawPileSize());
+    }
+
+    /**
+     * With 2 players there is 1 Exploding Kitten in a draw pile of 35 cards.
+     */
+    @Test
+    public void testProbabilityTopIsExplodingKitten() {
+        assertEquals(1.0 / 35, beliefTracker.getProbabilityTopIsExplodingKitten(), 1e-9);
+        beliefTracker.cardDrawn("Alex");
+        assertEquals(1.0 / 34, beliefTracker.getProbabilityTopIsExplodingKitten(), 1e-9);
+    }
+
+    /**
+     * The cards seen with See The Future stay known while cards are taken from the draw pile, until a Shuffle card is played.
+     */
+    @Test
+    public void testSeeTheFutureAndShuffle() {
+        beliefTracker.seeTheFuture(Arrays.asList("Skip", "Exploding Kitten", "Taco Cat"));
+        assertEquals(CardType.SKIP, beliefTracker.getKnownCard(0));
+        assertEquals(0, beliefTracker.getProbabilityTopIsExplodingKitten(), 1e-9);
+
+        beliefTracker.cardDrawn("Computer Player 1");
+        assertEquals(CardType.EXPLODING_KITTEN, beliefTracker.getKnownCard(0));
+        assertEquals(CardType.TACO_CAT, beliefTracker.getKnownCard(1));
+        assertEquals(1, beliefTracker.getProbabilityTopIsExplodingKitten(), 1e-9);
+
+        beliefTracker.cardsPlayed("Alex", CardType.SHUFFLE, 1);
+        assertNull(beliefTracker.getKnownCard(0));
+        assertEquals(1.0 / 34, beliefTracker.getProbabilityTopIsExplodingKitten(), 1e-9);
+    }
+
+    /**
+     * When the computer player defuses an Exploding Kitten, it knows where the Exploding Kitten is.
+     */
+    @Test
+    public void testOwnDefuse() {
+        beliefTracker.explodingKittenDrawn("Computer Player 1");
+        assertEquals(34, beliefTracker.getDrawPileSize());
+        assertEquals(0, beliefTracker.getProbabilityTopIsExplodingKitten(), 1e-9);
+
+        beliefTracker.insertExplodingKitten(34);
+        beliefTracker.turnAnnounced();
+        assertEquals(35, beliefTracker.getDrawPileSize());
+        assertEquals(CardType.EXPLODING_KITTEN, beliefTracker.getKnownCard(0));
+    }
+
+    /**
+     * The remaining cards of a type do not include the cards in the hand of the computer player and the discarded cards.
+     */
+    @Test
+    public void testRemainingCards() {
+        List<String> myHand = Arrays.asList("Defuse", "Nope", "Nope", "Attack");
+        beliefTracker.updateMyHand(myHand);
+        assertEquals(3, beliefTracker.getRemainingCards(CardType.DEFUSE));
+        assertEquals(3, beliefTracker.getRemainingCards(CardType.NOPE));
+
+        beliefTracker.cardsPlayed("Alex", CardType.ATTACK, 1);
+        assertEquals(2, beliefTracker.getRemainingCards(CardType.ATTACK));
+        assertEquals(7, beliefTracker.getHandSize("Alex"));
+
+        beliefTracker.explodingKittenDrawn("Alex");
+        beliefTracker.playerOut("Alex");
+        assertEquals(0, beliefTracker.getRemainingCards(CardType.EXPLODING_KITTEN));
+    }
+}
@@ -0,0 +1,58 @@
+package test;
+
+import network.model.BotCpuBudget;
+import network.model.BotTier;
+import network.model.GreedyStrategy;
+import network.model.MctsStrategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the BotTier and the BotCpuBudget.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class BotTierTest {
+
+    /**
+     * The tiers are found by name in any case, no name gives the easy tier, and an unknown name gives null.
+     */
+    @Test
+    public void testFromName() {
+        assertEquals(BotTier.HARD, BotTier.fromName("Hard"));
+        assertEquals(BotTier.MEDIUM, BotTier.fromName("medium"));
+        assertEquals(BotTier.EASY, BotTier.fromName(null));
+        assertNull(BotTier.fromName("impossible"));
+    }
+
+    /**
+     * The easy tier does not search, the other tiers search with a larger budget for each tier.
+     */
+    @Test
+    public void testStrategies() {
+        BotCpuBudget budget = new BotCpuBudget(2);
+        assertTrue(BotTier.EASY.createStrategy(budget) instanceof GreedyStrategy);
+        assertTrue(BotTier.MEDIUM.createStrategy(budget) instanceof MctsStrategy);
+        assertTrue(BotTier.HARD.createStrategy(budget) instanceof MctsStrategy);
+        assertTrue(BotTier.HARD.getTimeBudgetMillis() > BotTier.MEDIUM.getTimeBudgetMillis());
+        assertTrue(BotTier.HARD.getNumberOfThreads() >= BotTier.MEDIUM.getNumberOfThreads());
+    }
+
+    /**
+     * A search gets at most the free threads, and no thread when all threads are taken.
+     */
+    @Test
+    public void testBudget() {
+        BotCpuBudget budget = new BotCpuBudget(3);
+        assertEquals(2, budget.acquire(2));
+        assertEquals(1, budget.acquire(4));
+        assertEquals(0, budget.acquire(1));
+        assertEquals(0, budget.getFreeThreads());
+        assertEquals(1, budget.getDeniedRequests());
+        budget.release(2);
+        assertEquals(2, budget.getFreeThreads());
+        budget.release(1);
+        assertEquals(budget.getMaxThreads(), budget.getFreeThreads());
+        assertEquals(2, budget.getGrantedRequests());
+    }
+}
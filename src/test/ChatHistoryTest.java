@@ -0,0 +1,98 @@
+package test;
+
+import network.controller.Server;
+import network.model.ChatHistory;
+import org.junit.jupiter.api.Test;
+import protocol.ProtocolCommands;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the ChatHistory and the chat of the Server.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class ChatHistoryTest {
+    private static final int PORT = 6960;
+
+    /**
+     * The history keeps the last messages in order, overwrites the oldest one when it is full, and builds the frame from
+     * the encoded lines.
+     */
+    @Test
+    public void testRingBuffer() {
+        ChatHistory chatHistory = new ChatHistory(3);
+        assertNull(chatHistory.getHistoryFrame());
+        assertEquals("MESSAGE~Alice~hello", chatHistory.append("Alice", "hello"));
+        chatHistory.append("Bob", "hi");
+        assertEquals("CHAT_HISTORY~Alice~hello~Bob~hi", chatHistory.getHistoryFrame());
+
+        chatHistory.append("Alice", "ready?");
+        chatHistory.append("Bob", "yes");
+        assertEquals(3, chatHistory.size());
+        assertEquals(4, chatHistory.getNumberOfMessages());
+        assertEquals(List.of("MESSAGE~Bob~hi", "MESSAGE~Alice~ready?", "MESSAGE~Bob~yes"), chatHistory.getLines());
+        assertEquals("CHAT_HISTORY~Bob~hi~Alice~ready?~Bob~yes", chatHistory.getHistoryFrame());
+    }
+
+    /**
+     * A player who connects receives the earlier messages in one frame after the HELLO, and chat messages are delivered
+     * while another thread holds the lock of the server.
+     */
+    @Test
+    public void testBackfillAndDeliveryWithoutServerLock() throws IOException, InterruptedException {
+        Server server = new Server();
+        server.startServer(PORT);
+        Thread listener = new Thread(server::listenForConnections);
+        listener.setDaemon(true);
+        listener.start();
+
+        try (Socket alice = new Socket("localhost", PORT); Socket bob = new Socket("localhost", PORT)) {
+            alice.setSoTimeout(5000);
+            bob.setSoTimeout(5000);
+            BufferedReader aliceReader = new BufferedReader(new InputStreamReader(alice.getInputStream()));
+            BufferedWriter aliceWriter = new BufferedWriter(new OutputStreamWriter(alice.getOutputStream()));
+            BufferedReader bobReader = new BufferedReader(new InputStreamReader(bob.getInputStream()));
+            BufferedWriter bobWriter = new BufferedWriter(new OutputStreamWriter(bob.getOutputStream()));
+
+            send(aliceWriter, ProtocolCommands.CONNECT_TO_SERVER + "~Alice~0");
+            assertTrue(aliceReader.readLine().startsWith(ProtocolCommands.HELLO));
+            send(aliceWriter, ProtocolCommands.SEND_MESSAGE + "~first");
+            send(aliceWriter, ProtocolCommands.SEND_MESSAGE + "~second");
+            while(server.getChatHistory().getNumberOfMessages() < 2) {
+                Thread.sleep(10);
+            }
+
+            send(bobWriter, ProtocolCommands.CONNECT_TO_SERVER + "~Bob~0");
+            // Bob was already sent the player list and queue of the lobby when Alice connected
+            String line = bobReader.readLine();
+            while(!line.startsWith(ProtocolCommands.HELLO)) {
+                assertFalse(line.startsWith(ProtocolCommands.SHOW_MESSAGE));
+                line = bobReader.readLine();
+            }
+            assertEquals("CHAT_HISTORY~Alice~first~Alice~second", bobReader.readLine());
+            assertTrue(bobReader.readLine().startsWith(ProtocolCommands.PLAYER_LIST));
+            assertTrue(bobReader.readLine().startsWith(ProtocolCommands.QUEUE));
+
+            synchronized (server) {
+                send(aliceWriter, ProtocolCommands.SEND_MESSAGE + "~while the server is busy");
+                assertEquals("MESSAGE~Alice~while the server is busy", bobReader.readLine());
+            }
+        } finally {
+            server.stopServer();
+        }
+    }
+
+    private static void send(BufferedWriter writer, String message) throws IOException {
+        writer.write(message);
+        writer.newLine();
+        writer.flush();
+    }
+}
@@ -0,0 +1,72 @@
+package test;
+
+import network.model.CachingStrategy;
+import network.model.DecisionCache;
+import network.model.GreedyStrategy;
+import network.model.NetworkComputerPlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the DecisionCache and the CachingStrategy.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class DecisionCacheTest {
+    private DecisionCache decisionCache;
+
+    /**
+     * Create a small cache for each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        decisionCache = new DecisionCache(32);
+    }
+
+    /**
+     * The cache never holds more states than its capacity, and the hits and misses are counted.
+     */
+    @Test
+    public void testBoundedAndHitRate() {
+        for(long state=0; state<1000; state++) {
+            decisionCache.put(state, "DRAW_CARD");
+        }
+        assertTrue(decisionCache.size() <= 32);
+        assertEquals("DRAW_CARD", decisionCache.get(999));
+        assertNull(decisionCache.get(-1));
+        assertEquals(1, decisionCache.getHits());
+        assertEquals(1, decisionCache.getMisses());
+        assertEquals(0.5, decisionCache.getHitRate(), 1e-9);
+    }
+
+    /**
+     * Two computer players with the same hand in the same situation share the move computed by the first one.
+     */
+    @Test
+    public void testSharedBetweenPlayers() {
+        List<String> messages = new ArrayList<>();
+        int[] computedMoves = {0};
+        GreedyStrategy countingStrategy = new GreedyStrategy() {
+            @Override
+            public String chooseMove(NetworkComputerPlayer player) {
+                computedMoves[0] += 1;
+                return super.chooseMove(player);
+            }
+        };
+        for(String name : new String[] {"Computer A", "Computer B"}) {
+            NetworkComputerPlayer player = new NetworkComputerPlayer(name, new CachingStrategy(countingStrategy, decisionCache));
+            player.setMessageSender(messages::add);
+            player.checkServerMessage("SHOW_HAND~Defuse,Skip,Nope,Taco Cat,Beard Cat,Cattermelon,Shuffle,Favor");
+            player.checkServerMessage("NEW_GAME~Alex," + name);
+            player.checkServerMessage("CURRENT~" + name);
+        }
+        assertEquals(2, messages.size());
+        assertEquals(messages.get(0), messages.get(1));
+        assertEquals(1, computedMoves[0]);
+        assertEquals(1, decisionCache.getHits());
+    }
+}
@@ -0,0 +1,98 @@
+package test;
+
+import network.model.EndgameSolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the EndgameSolver used by the computer players.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class EndgameSolverTest {
+    private EndgameSolver endgameSolver;
+
+    /**
+     * Create a new EndgameSolver for each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        endgameSolver = new EndgameSolver(100000, 1 << 16);
+    }
+
+    /**
+     * Without cards to play, a player must draw. With 1 Exploding Kitten in 2 cards, the first player loses with probability 1/2.
+     */
+    @Test
+    public void testOnlyDraw() {
+        EndgameSolver.Position position = new EndgameSolver.Position(2, 1);
+        position.addToDrawPile(EndgameSolver.EXPLODING_KITTEN, 1);
+        position.addToDrawPile(EndgameSolver.OTHER, 1);
+        assertEquals(EndgameSolver.DRAW, endgameSolver.chooseAction(position));
+        double[] probabilityToWin = endgameSolver.evaluate(position);
+        assertEquals(0.5, probabilityToWin[0], 1e-9);
+        assertEquals(0.5, probabilityToWin[1], 1e-9);
+    }
+
+    /**
+     * When the Exploding Kitten is known to be on top, a Skip card wins the game against a player without Defuse.
+     */
+    @Test
+    public void testSkipKnownExplodingKitten() {
+        EndgameSolver.Position position = new EndgameSolver.Position(2, 1);
+        position.addToDrawPile(EndgameSolver.EXPLODING_KITTEN, 1);
+        position.addToDrawPile(EndgameSolver.OTHER, 2);
+        position.addKnownCard(EndgameSolver.EXPLODING_KITTEN);
+        position.setCards(0, EndgameSolver.SKIP, 1);
+        assertEquals(EndgameSolver.SKIP, endgameSolver.chooseAction(position));
+        assertEquals(1, endgameSolver.evaluate(position)[0], 1e-9);
+    }
+
+    /**
+     * An attacked player who must play 2 turns and has an Attack card passes both turns to the opponent.
+     */
+    @Test
+    public void testAttackWhenAttacked() {
+        EndgameSolver.Position position = new EndgameSolver.Position(2, 2);
+        position.addToDrawPile(EndgameSolver.EXPLODING_KITTEN, 1);
+        position.addToDrawPile(EndgameSolver.OTHER, 1);
+        position.setCards(0, EndgameSolver.ATTACK, 1);
+        assertEquals(EndgameSolver.ATTACK, endgameSolver.chooseAction(position));
+        assertEquals(1, endgameSolver.evaluate(position)[0], 1e-9);
+    }
+
+    /**
+     * A player with a Defuse card puts the Exploding Kitten back on top, so the opponent without Defuse loses.
+     */
+    @Test
+    public void testDefuseAndInsertOnTop() {
+        EndgameSolver.Position position = new EndgameSolver.Position(2, 1);
+        position.addToDrawPile(EndgameSolver.EXPLODING_KITTEN, 1);
+        position.addToDrawPile(EndgameSolver.OTHER, 3);
+        position.addKnownCard(EndgameSolver.EXPLODING_KITTEN);
+        position.setCards(0, EndgameSolver.DEFUSE, 1);
+        assertEquals(1, endgameSolver.evaluate(position)[0], 1e-9);
+    }
+
+    /**
+     * The probabilities to win of 3 players sum up to 1, and positions which are too large are not solved.
+     */
+    @Test
+    public void testThreePlayersAndNodeLimit() {
+        EndgameSolver.Position position = new EndgameSolver.Position(3, 1);
+        position.addToDrawPile(EndgameSolver.EXPLODING_KITTEN, 2);
+        position.addToDrawPile(EndgameSolver.SKIP, 2);
+        position.addToDrawPile(EndgameSolver.OTHER, 2);
+        for(int player=0; player<3; player++) {
+            position.setCards(player, EndgameSolver.SEE_THE_FUTURE, 1);
+            position.setCards(player, EndgameSolver.SHUFFLE, 1);
+        }
+        double[] probabilityToWin = endgameSolver.evaluate(position);
+        assertEquals(1, probabilityToWin[0] + probabilityToWin[1] + probabilityToWin[2], 1e-9);
+
+        EndgameSolver smallSolver = new EndgameSolver(10, 1 << 12);
+        assertNull(smallSolver.evaluate(position));
+        assertEquals(-1, smallSolver.chooseAction(position));
+    }
+}
@@ -0,0 +1,108 @@
+package test;
+
+import network.model.EngineProcess;
+import network.model.SimulatedGame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import protocol.EngineProtocol;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the EngineProcess, with the ExampleEngine as child process.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class EngineProcessTest {
+    private EngineProcess engine;
+
+    /**
+     * Start the ExampleEngine with the class path of the tests.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        engine = new EngineProcess(List.of(java, "-cp", System.getProperty("java.class.path"), "network.model.ExampleEngine"), null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.close();
+    }
+
+    /**
+     * The engine introduces itself when it is started.
+     */
+    @Test
+    public void testHandshake() {
+        assertEquals("ExampleEngine", engine.getEngineName());
+    }
+
+    /**
+     * Many requests of different games are sent before any answer is read, and every request gets a legal action.
+     */
+    @Test
+    public void testPipelinedRequests() throws Exception {
+        SplittableRandom random = new SplittableRandom(7);
+        List<SimulatedGame> games = new ArrayList<>();
+        List<CompletableFuture<Integer>> answers = new ArrayList<>();
+        for(int i=0; i<100; i++) {
+            SimulatedGame game = new SimulatedGame(2 + i % 4);
+            game.setUpGame(random);
+            games.add(game);
+            answers.add(engine.requestAction(game));
+        }
+        for(int i=0; i<games.size(); i++) {
+            int action = answers.get(i).get(10, TimeUnit.SECONDS);
+            assertTrue(games.get(i).isLegal(action));
+        }
+        assertEquals(0, engine.getNumberOfPendingRequests());
+    }
+
+    /**
+     * Cancelled requests are no longer pending, their late answers are ignored, and the engine keeps answering new requests.
+     */
+    @Test
+    public void testCancelledRequests() throws Exception {
+        SplittableRandom random = new SplittableRandom(9);
+        List<CompletableFuture<Integer>> answers = new ArrayList<>();
+        for(int i=0; i<50; i++) {
+            SimulatedGame game = new SimulatedGame(3);
+            game.setUpGame(random);
+            answers.add(engine.requestAction(game));
+        }
+        for(CompletableFuture<Integer> answer : answers) {
+            engine.cancel(answer);
+            assertTrue(answer.isDone());
+        }
+        assertEquals(0, engine.getNumberOfPendingRequests());
+
+        SimulatedGame game = new SimulatedGame(2);
+        game.setUpGame(random);
+        assertTrue(game.isLegal(engine.requestAction(game).get(10, TimeUnit.SECONDS)));
+        assertEquals(0, engine.getNumberOfPendingRequests());
+    }
+
+    /**
+     * The state lists the counts of each card type and the names of the legal actions.
+     */
+    @Test
+    public void testEncodeState() {
+        int[] hand = new int[SimulatedGame.NUMBER_OF_TYPES];
+        hand[1] = 1;
+        String state = EngineProtocol.encodeState(2, 0, 1, 30, 1, hand, new int[SimulatedGame.NUMBER_OF_TYPES],
+                new int[] {1, -1}, 1 << SimulatedGame.DRAW | 1 << SimulatedGame.SKIP);
+        assertTrue(state.startsWith("players 2 me 0 turns 1 pile 30 kittens 1 hand 0,1,0,"));
+        assertTrue(state.endsWith("sizes 1,-1 legal draw,skip"));
+        assertEquals(SimulatedGame.SEE_THE_FUTURE, EngineProtocol.parseAction("seethefuture"));
+        assertEquals(-1, EngineProtocol.parseAction("nope"));
+    }
+}
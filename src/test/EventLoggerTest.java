@@ -0,0 +1,167 @@
+package test;
+
+import network.model.EventLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the EventLogger.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class EventLoggerTest {
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for(Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * The events of several threads are all written, and the events of each thread are written in the order in which
+     * they were logged.
+     */
+    @Test
+    public void testEventsOfThreadsAreWrittenInOrder() throws IOException, InterruptedException {
+        Path path = directory.resolve("server.log");
+        try (EventLogger logger = new EventLogger(EventLogger.INFO, path, 1 << 16, EventLogger.DEFAULT_MAX_FILE_SIZE, 2)) {
+            List<Thread> threads = new ArrayList<>();
+            for(int t=0; t<4; t++) {
+                String threadName = "thread" + t;
+                Thread thread = new Thread(() -> {
+                    for(int i=0; i<5000; i++) {
+                        logger.log(EventLogger.INFO, "test.event", "thread", threadName, "index", String.valueOf(i));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for(Thread thread : threads) {
+                thread.join();
+            }
+            logger.flush();
+            assertEquals(20000, logger.getNumberOfWrittenEvents());
+            assertEquals(0, logger.getNumberOfDroppedEvents());
+        }
+
+        List<String> lines = Files.readAllLines(path);
+        assertEquals(20000, lines.size());
+        int[] lastIndex = {-1, -1, -1, -1};
+        for(String line : lines) {
+            String[] parts = line.split(" ");
+            assertEquals("INFO", parts[1]);
+            assertEquals("test.event", parts[2]);
+            int thread = Integer.parseInt(parts[3].substring("thread=thread".length()));
+            int index = Integer.parseInt(parts[4].substring("index=".length()));
+            assertEquals(lastIndex[thread] + 1, index);
+            lastIndex[thread] = index;
+        }
+    }
+
+    /**
+     * The events dropped because the ring buffer was full are reported in log.dropped events, whose counts add up to the
+     * number of dropped events.
+     */
+    @Test
+    public void testDroppedEventsAreReported() throws IOException {
+        Path path = directory.resolve("dropped.log");
+        EventLogger logger = new EventLogger(EventLogger.INFO, path, 2, EventLogger.DEFAULT_MAX_FILE_SIZE, 2);
+        for(int i=0; i<100000; i++) {
+            logger.log(EventLogger.INFO, "test.event", "index", String.valueOf(i));
+        }
+        logger.close();
+        long droppedEvents = logger.getNumberOfDroppedEvents();
+        long writtenEvents = logger.getNumberOfWrittenEvents();
+        assertTrue(droppedEvents > 0);
+        assertEquals(100000, droppedEvents + writtenEvents);
+
+        long reportedEvents = 0;
+        long events = 0;
+        for(String line : Files.readAllLines(path)) {
+            String[] parts = line.split(" ");
+            if(parts[2].equals("log.dropped")) {
+                assertEquals("WARN", parts[1]);
+                reportedEvents += Long.parseLong(parts[3].substring("count=".length()));
+            } else {
+                events += 1;
+            }
+        }
+        assertEquals(writtenEvents, events);
+        assertEquals(droppedEvents, reportedEvents);
+    }
+
+    /**
+     * Events below the level of the logger are not written and do not allocate memory.
+     */
+    @Test
+    public void testDisabledLevel() throws IOException, InterruptedException {
+        try (EventLogger logger = new EventLogger(EventLogger.WARN, directory.resolve("server.log"))) {
+            String message = "DRAW_CARD";
+            assertFalse(logger.isEnabled(EventLogger.DEBUG));
+            assertTrue(logger.isEnabled(EventLogger.ERROR));
+
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+            for(int i=0; i<100_000; i++) {
+                logger.log(EventLogger.DEBUG, "message.received", "player", "Alice", "message", message);
+            }
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+            for(int i=0; i<1_000_000; i++) {
+                logger.log(EventLogger.DEBUG, "message.received", "player", "Alice", "message", message);
+            }
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+            assertTrue(allocated < 10_000, "allocated " + allocated + " bytes");
+
+            logger.log(EventLogger.ERROR, "test.error");
+            logger.flush();
+            assertEquals(1, logger.getNumberOfWrittenEvents());
+        }
+    }
+
+    /**
+     * A file which reaches its maximum size is renamed, and only the given number of renamed files is kept.
+     */
+    @Test
+    public void testRotation() throws IOException, InterruptedException {
+        Path path = directory.resolve("server.log");
+        try (EventLogger logger = new EventLogger(EventLogger.DEBUG, path, 1024, 1000, 2)) {
+            for(int i=0; i<500; i++) {
+                logger.log(EventLogger.DEBUG, "test.event", "index", String.valueOf(i));
+                if(i % 100 == 0) {
+                    logger.flush();
+                }
+            }
+            logger.flush();
+        }
+        assertTrue(Files.exists(path));
+        assertTrue(Files.exists(Paths.get(path + ".1")));
+        assertTrue(Files.exists(Paths.get(path + ".2")));
+        assertFalse(Files.exists(Paths.get(path + ".3")));
+        for(String name : List.of("", ".1", ".2")) {
+            assertTrue(Files.size(Paths.get(path + name)) <= 1000);
+        }
+        List<String> lastLines = Files.readAllLines(path);
+        assertTrue(lastLines.get(lastLines.size() - 1).endsWith("index=499"));
+    }
+}
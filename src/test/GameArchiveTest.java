@@ -0,0 +1,124 @@
+package test;
+
+import network.model.ArchivedGame;
+import network.model.GameArchive;
+import network.model.GameReplay;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the GameArchive.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameArchiveTest {
+
+    /**
+     * The games which are scanned are the games which were appended, and their replays have the same hashes.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path path = Files.createTempFile("games", ".ekar");
+        Files.delete(path);
+        SplittableRandom random = new SplittableRandom(5);
+        List<GameReplay> replays = new ArrayList<>();
+        try (GameArchive archive = new GameArchive(path, 512)) {
+            for(int i=0; i<200; i++) {
+                GameReplay replay = GameReplay.recordRandomGame(random.nextLong(), 2 + i % 4, random);
+                replays.add(replay);
+                archive.append(replay, GameArchive.parseFlags(i % 2 == 0 ? "0,4" : ""));
+            }
+            assertEquals(200, archive.getNumberOfGames());
+        }
+
+        List<ArchivedGame> games = new ArrayList<>();
+        try {
+            assertEquals(200, GameArchive.scan(path, games::add));
+            for(int i=0; i<replays.size(); i++) {
+                GameReplay expected = replays.get(i);
+                ArchivedGame game = games.get(i);
+                assertEquals(expected.getSeed(), game.getSeed());
+                assertEquals(expected.getNames(), game.getNames());
+                assertEquals(i % 2 == 0, game.hasFlag(0));
+                assertEquals(i % 2 == 0, game.hasFlag(4));
+                assertFalse(game.hasFlag(1));
+                assertEquals(expected.getNumberOfActions(), game.getNumberOfActions());
+                GameReplay replay = game.toReplay();
+                for(int j=0; j<expected.getNumberOfActions(); j++) {
+                    assertEquals(expected.getAction(j), game.getAction(j));
+                    assertEquals(expected.getHash(j), replay.getHash(j));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * An archive which is opened again keeps its games and appends after them, and a block which was only partly written
+     * is cut off.
+     */
+    @Test
+    public void testReopenAndTornBlock() throws IOException {
+        Path path = Files.createTempFile("games", ".ekar");
+        Files.delete(path);
+        SplittableRandom random = new SplittableRandom(8);
+        try {
+            try (GameArchive archive = new GameArchive(path)) {
+                for(int i=0; i<10; i++) {
+                    archive.append(GameReplay.recordRandomGame(random.nextLong(), 3, random), 0);
+                }
+            }
+            long sizeAfterFirstBlock = Files.size(path);
+            try (GameArchive archive = new GameArchive(path)) {
+                assertEquals(10, archive.getNumberOfGames());
+                for(int i=0; i<5; i++) {
+                    archive.append(GameReplay.recordRandomGame(random.nextLong(), 3, random), 0);
+                }
+            }
+            assertEquals(15, GameArchive.scan(path, game -> { }));
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(path) - 3);
+            }
+            assertEquals(10, GameArchive.scan(path, game -> { }));
+            try (GameArchive archive = new GameArchive(path)) {
+                assertEquals(10, archive.getNumberOfGames());
+                assertEquals(sizeAfterFirstBlock, archive.getFileSize());
+                archive.append(GameReplay.recordRandomGame(random.nextLong(), 3, random), 0);
+            }
+            assertEquals(11, GameArchive.scan(path, game -> { }));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Games of random moves by the same players take well under 100 bytes each.
+     */
+    @Test
+    public void testSizePerGame() throws IOException {
+        Path path = Files.createTempFile("games", ".ekar");
+        Files.delete(path);
+        SplittableRandom random = new SplittableRandom(13);
+        int numberOfGames = 5000;
+        try (GameArchive archive = new GameArchive(path)) {
+            for(int i=0; i<numberOfGames; i++) {
+                archive.append(GameReplay.recordRandomGame(random.nextLong(), 4, random), GameArchive.parseFlags("0"));
+            }
+            archive.flush();
+            assertTrue((double) archive.getFileSize() / numberOfGames < 70, "bytes per game: " + (double) archive.getFileSize() / numberOfGames);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package test;
+
+import local.model.CardType;
+import network.model.GameEvent;
+import network.model.GameEventBus;
+import network.model.GameEventListener;
+import network.model.GameStatsRecorder;
+import network.model.Leaderboard;
+import network.model.PlayerStats;
+import network.model.PlayerStatsStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the GameEventBus and the GameStatsRecorder.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameEventBusTest {
+
+    /**
+     * Every listener receives every event in order, even when a slow listener makes the ring buffer full many times.
+     */
+    @Test
+    public void testListenersReceiveAllEventsInOrder() throws InterruptedException {
+        GameEventBus eventBus = new GameEventBus(8);
+        int numberOfEvents = 20000;
+        long[] fastReceived = new long[1];
+        long[] slowReceived = new long[1];
+        List<String> errors = new ArrayList<>();
+        eventBus.addListener("fast", checkingListener(fastReceived, errors, false));
+        eventBus.addListener("slow", checkingListener(slowReceived, errors, true));
+        assertEquals(2, eventBus.getNumberOfListeners());
+
+        for(int i=0; i<numberOfEvents; i++) {
+            eventBus.publish(GameEvent.CARD_PLAYED, "Player " + i, "Skip", null);
+        }
+        eventBus.flush();
+        assertEquals(numberOfEvents - 1, eventBus.getCursor());
+        assertEquals(numberOfEvents, fastReceived[0]);
+        assertEquals(numberOfEvents, slowReceived[0]);
+        synchronized (errors) {
+            assertEquals(List.of(), errors);
+        }
+        eventBus.close();
+        assertEquals(0, eventBus.getNumberOfListeners());
+    }
+
+    private static GameEventListener checkingListener(long[] received, List<String> errors, boolean slow) {
+        return (event, sequence, endOfBatch) -> {
+            if(sequence != received[0] || !event.getPlayerName().equals("Player " + sequence)) {
+                synchronized (errors) {
+                    errors.add(sequence + ": " + event.getPlayerName());
+                }
+            }
+            received[0] += 1;
+            if(slow && sequence % 1000 == 0) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    /**
+     * A listener which is added later only receives the later events, a removed listener receives no more events, and a
+     * listener which throws an exception keeps receiving events.
+     */
+    @Test
+    public void testAddRemoveAndFailingListener() throws InterruptedException {
+        GameEventBus eventBus = new GameEventBus(4);
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        GameEventListener firstListener = (event, sequence, endOfBatch) -> {
+            first.add(event.getPlayerName());
+            if(event.getPlayerName().equals("Bob")) {
+                throw new IllegalStateException("failing listener");
+            }
+        };
+        eventBus.addListener("first", firstListener);
+        eventBus.publish(GameEvent.CURRENT_PLAYER, "Alice", null, null);
+        eventBus.publish(GameEvent.CURRENT_PLAYER, "Bob", null, null);
+        eventBus.flush();
+
+        GameEventListener secondListener = (event, sequence, endOfBatch) -> second.add(sequence + ":" + event.getPlayerName());
+        eventBus.addListener("second", secondListener);
+        eventBus.publish(GameEvent.CURRENT_PLAYER, "Carol", null, null);
+        eventBus.flush();
+        assertEquals(2, eventBus.getSequence(secondListener));
+
+        assertTrue(eventBus.removeListener(firstListener));
+        assertFalse(eventBus.removeListener(firstListener));
+        for(int i=0; i<10; i++) {
+            eventBus.publish(GameEvent.CURRENT_PLAYER, "Dave", null, null);
+        }
+        eventBus.close();
+        eventBus.publish(GameEvent.CURRENT_PLAYER, "Eve", null, null);
+
+        assertEquals(List.of("Alice", "Bob", "Carol"), first);
+        assertEquals(11, second.size());
+        assertEquals("2:Carol", second.get(0));
+        assertEquals("12:Dave", second.get(10));
+        assertThrows(IllegalArgumentException.class, () -> new GameEventBus(6));
+    }
+
+    /**
+     * The GameStatsRecorder keeps the statistics and the ratings of the players from the events of a game.
+     */
+    @Test
+    public void testStatsRecorder() throws IOException {
+        Path directory = Files.createTempDirectory("events");
+        Path path = directory.resolve("players.stats");
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            Leaderboard leaderboard = new Leaderboard();
+            GameStatsRecorder statsRecorder = new GameStatsRecorder(leaderboard);
+            statsRecorder.setStatsStore(store);
+            GameEventBus eventBus = new GameEventBus();
+            eventBus.addListener("stats", statsRecorder);
+
+            eventBus.publish(GameEvent.GAME_STARTED, null, null, "Alice,Bob,Carol");
+            eventBus.publish(GameEvent.CURRENT_PLAYER, "Alice", null, null);
+            eventBus.publish(GameEvent.CARD_PLAYED, "Alice", "Skip", null);
+            eventBus.publish(GameEvent.CURRENT_PLAYER, "Bob", null, null);
+            eventBus.publish(GameEvent.CURRENT_PLAYER, "Bob", null, null);
+            eventBus.publish(GameEvent.CARD_DRAWN, "Bob", "Exploding Kitten", null);
+            eventBus.publish(GameEvent.PLAYER_OUT, "Bob", null, null);
+            eventBus.publish(GameEvent.CURRENT_PLAYER, "Carol", null, null);
+            eventBus.publish(GameEvent.CARD_PLAYED, "Carol", "Taco Cat,Taco Cat", null);
+            eventBus.publish(GameEvent.CURRENT_PLAYER, "Alice", null, null);
+            eventBus.publish(GameEvent.CARD_DRAWN, "Alice", "Exploding Kitten", null);
+            eventBus.publish(GameEvent.PLAYER_OUT, "Alice", null, null);
+            eventBus.publish(GameEvent.GAME_OVER, "Carol", null, null);
+            eventBus.close();
+
+            PlayerStats alice = store.getStats("Alice");
+            assertEquals(1, alice.getEliminations());
+            assertEquals(2, alice.getSurvivalTurns());
+            assertEquals(1, alice.getCardsPlayed(CardType.SKIP));
+            PlayerStats carol = store.getStats("Carol");
+            assertEquals(1, carol.getWins());
+            assertEquals(2, carol.getCardsPlayed(CardType.TACO_CAT));
+            assertEquals(1, store.getStats("Bob").getSurvivalTurns());
+            assertEquals(List.of("Carol", "Alice", "Bob"), leaderboard.getTop(3));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
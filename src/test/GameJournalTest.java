@@ -0,0 +1,311 @@
+package test;
+
+import local.model.Card;
+import local.model.CardType;
+import local.model.PackedGameState;
+import local.model.Player;
+import network.model.GameJournal;
+import network.model.JournalRecord;
+import network.model.NetworkGame;
+import network.model.UndoRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the GameJournal and the recovery of a NetworkGame from its journal.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameJournalTest {
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for(Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * The records are read back in order, also when they continue in a second segment, and a journal which is opened
+     * again finds them as recovered records.
+     */
+    @Test
+    public void testAppendAndRead() throws IOException {
+        try (GameJournal journal = new GameJournal(directory, 1024, 1)) {
+            for(int i=0; i<300; i++) {
+                journal.append(GameJournal.PLAY, i % 5, i % 13, 1);
+            }
+            assertEquals(300, journal.getNumberOfAppendedRecords());
+            assertTrue(journal.getSegmentNumber() > 1);
+        }
+        List<JournalRecord> records = GameJournal.readRecords(directory);
+        assertEquals(300, records.size());
+        for(int i=0; i<300; i++) {
+            assertEquals(GameJournal.PLAY, records.get(i).getType());
+            assertEquals(i % 13, records.get(i).get(1));
+        }
+        try (GameJournal journal = new GameJournal(directory, 1024, 1)) {
+            assertEquals(300, journal.getRecoveredRecords().size());
+            assertEquals(0, journal.getNumberOfAppendedRecords());
+        }
+    }
+
+    /**
+     * Many records appended between two commits are forced to the disk together.
+     */
+    @Test
+    public void testGroupCommit() throws IOException, InterruptedException {
+        try (GameJournal journal = new GameJournal(directory, GameJournal.DEFAULT_SEGMENT_SIZE, 50)) {
+            long last = 0;
+            for(int i=0; i<10000; i++) {
+                last = journal.append(GameJournal.DRAW, i % 5, i % 13);
+            }
+            journal.awaitCommit(last);
+            assertEquals(10000, journal.getNumberOfCommittedRecords());
+            assertTrue(journal.getNumberOfCommits() < 100);
+        }
+    }
+
+    /**
+     * A record which was only partly written is ignored, with the records after it.
+     */
+    @Test
+    public void testTornRecord() throws IOException {
+        try (GameJournal journal = new GameJournal(directory, 1024, 1)) {
+            journal.append(GameJournal.NOPE, 1);
+            journal.append(GameJournal.NOPE, 2);
+            journal.append(GameJournal.NOPE, 3);
+        }
+        Path segment;
+        try (Stream<Path> paths = Files.list(directory)) {
+            segment = paths.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // each record has 3 bytes of header, 1 byte of payload and 2 bytes of check
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 9}), 6 + 3);
+        }
+        List<JournalRecord> records = GameJournal.readRecords(directory);
+        assertEquals(1, records.size());
+        assertEquals(1, records.get(0).get(0));
+    }
+
+    /**
+     * A game played with random events is recovered from its journal with the same state after every event, and a
+     * finished game is not recovered.
+     */
+    @Test
+    public void testRecoverGame() throws IOException {
+        Random random = new Random(3);
+        try (GameJournal journal = new GameJournal(directory)) {
+            ArrayList<String> playersNames = new ArrayList<>();
+            for(int i=1; i<=4; i++) {
+                playersNames.add("Player " + i);
+            }
+            NetworkGame game = new NetworkGame(playersNames);
+            game.setJournal(journal);
+            game.setUpGame();
+            assertRecovered(game);
+
+            for(int step=0; step<500 && !game.gameOver(); step++) {
+                playRandomEvent(game, random);
+                if(!game.gameOver()) {
+                    assertRecovered(game);
+                }
+            }
+            assertTrue(game.gameOver());
+            assertNull(NetworkGame.recover(GameJournal.readRecords(directory)));
+        }
+    }
+
+    /**
+     * A new game deletes the segments of the previous game.
+     */
+    @Test
+    public void testNewGameStartsNewSegment() throws IOException {
+        try (GameJournal journal = new GameJournal(directory)) {
+            ArrayList<String> playersNames = new ArrayList<>(List.of("A", "B"));
+            NetworkGame first = new NetworkGame(playersNames);
+            first.setJournal(journal);
+            first.setUpGame();
+            first.drawCard(first.getCurrentPlayer());
+            NetworkGame second = new NetworkGame(playersNames);
+            second.setJournal(journal);
+            second.setUpGame();
+            try (Stream<Path> paths = Files.list(directory)) {
+                assertEquals(1, paths.count());
+            }
+            assertEquals(1, GameJournal.readRecords(directory).size());
+        }
+    }
+
+    /**
+     * A game recovered after an Exploding Kitten was drawn journals that the Exploding Kitten is put back, so the game can be
+     * recovered again after it crashes a second time.
+     */
+    @Test
+    public void testRecoverTwiceAfterExplodingKittenDrawn() throws IOException {
+        Random random = new Random(11);
+        try (GameJournal journal = new GameJournal(directory)) {
+            NetworkGame game = new NetworkGame(new ArrayList<>(List.of("A", "B", "C")));
+            game.setJournal(journal);
+            game.setUpGame();
+            List<Card> drawPile = game.getDeck().getDrawPile();
+            while(drawPile.get(drawPile.size() - 1).getCardType() != CardType.EXPLODING_KITTEN) {
+                playRandomEvent(game, random);
+            }
+            assertEquals(CardType.EXPLODING_KITTEN, game.drawCard(game.getCurrentPlayer()).getCardType());
+        }
+
+        PackedGameState stateAfterFirstRecovery;
+        try (GameJournal journal = new GameJournal(directory)) {
+            NetworkGame recovered = NetworkGame.recover(journal.getRecoveredSnapshot(), journal.getRecoveredRecords());
+            assertNotNull(recovered);
+            stateAfterFirstRecovery = PackedGameState.fromGame(recovered);
+            recovered.setJournal(journal);
+            assertEquals(CardType.EXPLODING_KITTEN, recovered.drawCard(recovered.getCurrentPlayer()).getCardType());
+        }
+
+        try (GameJournal journal = new GameJournal(directory)) {
+            NetworkGame recovered = NetworkGame.recover(journal.getRecoveredSnapshot(), journal.getRecoveredRecords());
+            assertNotNull(recovered);
+            assertEquals(stateAfterFirstRecovery, PackedGameState.fromGame(recovered));
+            recovered.setJournal(journal);
+            assertEquals(CardType.EXPLODING_KITTEN, recovered.drawCard(recovered.getCurrentPlayer()).getCardType());
+        }
+    }
+
+    /**
+     * The moves made and taken back by a search are not journaled, also when they change the current player or eliminate
+     * a player.
+     */
+    @Test
+    public void testMovesTakenBackAreNotJournaled() throws IOException {
+        Random random = new Random(17);
+        try (GameJournal journal = new GameJournal(directory)) {
+            NetworkGame game = new NetworkGame(new ArrayList<>(List.of("A", "B", "C")));
+            game.setJournal(journal);
+            game.setUpGame();
+            List<UndoRecord> undoRecords = new ArrayList<>();
+            for(int i=0; i<100 && game.getPlayers().size() > 1 && !game.getDeck().getDrawPile().isEmpty(); i++) {
+                UndoRecord undo = new UndoRecord();
+                Player current = game.getCurrentPlayer();
+                int lastCard = current.getPlayerHandList().size() - 1;
+                if(lastCard >= 0 && current.getPlayerHandList().get(lastCard).getCardType() == CardType.EXPLODING_KITTEN) {
+                    if(!game.makeDefuseMove(random.nextInt(game.getDeck().getDrawPile().size() + 1), undo)) {
+                        game.makeExplodingKittenMove(undo);
+                    }
+                } else if(!game.makeAttackMove(undo)) {
+                    game.makeDrawMove(undo);
+                }
+                undoRecords.add(undo);
+            }
+            assertEquals(1, GameJournal.readRecords(directory).size());
+            for(int i=undoRecords.size() - 1; i>=0; i--) {
+                game.unmakeMove(undoRecords.get(i));
+            }
+            assertEquals(1, GameJournal.readRecords(directory).size());
+            game.drawCard(game.getCurrentPlayer());
+            assertEquals(2, GameJournal.readRecords(directory).size());
+        }
+    }
+
+    private static void assertRecovered(NetworkGame game) throws IOException {
+        NetworkGame recovered = NetworkGame.recover(GameJournal.readRecords(directoryOf(game)));
+        assertNotNull(recovered);
+        assertEquals(PackedGameState.fromGame(game), PackedGameState.fromGame(recovered));
+        assertEquals(game.getStateHash(), recovered.getStateHash());
+        assertEquals(game.getCurrentPlayer().getName(), recovered.getCurrentPlayer().getName());
+    }
+
+    private static Path directoryOf(NetworkGame game) {
+        return game.getJournal().getDirectory();
+    }
+
+    /**
+     * Play one event as the server would: a card of the current player, a Nope of another player or a draw.
+     */
+    static void playRandomEvent(NetworkGame game, Random random) {
+        Player current = game.getCurrentPlayer();
+        Player other = game.getPlayers().get((game.getPlayers().indexOf(current) + 1) % game.getPlayers().size());
+        switch (random.nextInt(7)) {
+            case 0 -> {
+                if(game.hasCard(current.getName(), "Skip")) {
+                    game.playSkipCard();
+                    return;
+                }
+            }
+            case 1 -> {
+                if(game.hasCard(current.getName(), "Attack")) {
+                    game.discardCard("Attack", current.getName());
+                    game.playAttackCard();
+                    return;
+                }
+            }
+            case 2 -> {
+                if(game.hasCard(other.getName(), "Nope")) {
+                    game.playNopeCard(other.getName());
+                    return;
+                }
+            }
+            case 3 -> {
+                if(game.hasCard(current.getName(), "Favor") && !other.getPlayerHandList().isEmpty()) {
+                    game.playFavorCard(other, other.getPlayerHandList().get(0).toString());
+                    return;
+                }
+            }
+            case 4 -> {
+                if(game.hasCards(current.getName(), "Taco Cat,Taco Cat") && !other.getPlayerHandList().isEmpty()) {
+                    game.discardCards("Taco Cat", 2);
+                    game.playSpecialComboTwoCards(other);
+                    return;
+                }
+            }
+            case 5 -> {
+                if(game.hasCard(current.getName(), "Shuffle")) {
+                    game.discardCard("Shuffle", current.getName());
+                    game.setKeepShuffle(true);
+                    for(int i=0; i<3; i++) {
+                        game.playShuffleCard();
+                    }
+                    game.setKeepShuffle(false);
+                    return;
+                }
+            }
+            default -> {
+            }
+        }
+        Card card = game.drawCard(current);
+        if(card.getCardType() == CardType.EXPLODING_KITTEN) {
+            if(game.checkForDefuseCard()) {
+                game.playDefuseCard(String.valueOf(random.nextInt(game.getDeck().getDrawPile().size() + 1)));
+            } else {
+                game.playExplodingKittenCard();
+                return;
+            }
+        }
+        game.changeTurnToNextPlayer();
+        game.checkAttackOn();
+    }
+}
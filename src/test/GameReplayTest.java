@@ -0,0 +1,92 @@
+package test;
+
+import network.model.GameReplay;
+import network.model.NetworkGame;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the GameReplay.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameReplayTest {
+
+    /**
+     * Two games set up with the same seed have the same state, and recorded games are replayed with the same hashes.
+     */
+    @Test
+    public void testReplayIsDeterministic() {
+        GameReplay replay = GameReplay.recordRandomGame(42, 4, new SplittableRandom(1));
+        NetworkGame first = replay.newGame();
+        NetworkGame second = replay.newGame();
+        assertEquals(first.getStateHash(), second.getStateHash());
+
+        SplittableRandom random = new SplittableRandom(2);
+        for(int i=0; i<200; i++) {
+            GameReplay game = GameReplay.recordRandomGame(random.nextLong(), 2 + i % 4, random);
+            assertTrue(game.getNumberOfActions() > 0);
+            assertEquals(-1, game.verify());
+        }
+    }
+
+    /**
+     * A replay which is written and read again has the same seed, names, actions and hashes, and a wrong hash is found at
+     * the action after which it was recorded.
+     */
+    @Test
+    public void testWriteReadAndWrongHash() throws IOException {
+        GameReplay replay = GameReplay.recordRandomGame(7, 3, new SplittableRandom(3));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        replay.write(new DataOutputStream(bytes));
+        byte[] written = bytes.toByteArray();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(written));
+        GameReplay read = GameReplay.read(in);
+        assertNull(GameReplay.read(in));
+        assertEquals(replay.getSeed(), read.getSeed());
+        assertEquals(replay.getNames(), read.getNames());
+        assertEquals(replay.getNumberOfActions(), read.getNumberOfActions());
+        for(int i=0; i<replay.getNumberOfActions(); i++) {
+            assertEquals(replay.getAction(i), read.getAction(i));
+            assertEquals(replay.getHash(i), read.getHash(i));
+        }
+
+        // seed, number of players, 3 names of 8 bytes with their lengths, number of actions, the actions, then the hashes
+        int wrongAction = replay.getNumberOfActions() / 2;
+        int hashPosition = 8 + 1 + 3 * 9 + 4 + 4 * replay.getNumberOfActions() + 8 * wrongAction;
+        written[hashPosition] ^= 1;
+        GameReplay damaged = GameReplay.read(new DataInputStream(new ByteArrayInputStream(written)));
+        assertEquals(wrongAction, damaged.verify());
+    }
+
+    /**
+     * A game with another seed is dealt differently, so the recorded hashes do not match from the first action.
+     */
+    @Test
+    public void testOtherSeedDiffers() {
+        GameReplay replay = GameReplay.recordRandomGame(11, 4, new SplittableRandom(4));
+        GameReplay otherSeed = new GameReplay(12, replay.getNames());
+        NetworkGame game = otherSeed.newGame();
+        assertNotEquals(replay.newGame().getStateHash(), game.getStateHash());
+    }
+
+    /**
+     * An action keeps its code and arguments.
+     */
+    @Test
+    public void testAction() {
+        int action = GameReplay.action(GameReplay.THREE_CATS, 8, 2, 255);
+        assertEquals(GameReplay.THREE_CATS, GameReplay.getCode(action));
+        assertEquals(8, GameReplay.getArgument(action, 0));
+        assertEquals(2, GameReplay.getArgument(action, 1));
+        assertEquals(255, GameReplay.getArgument(action, 2));
+    }
+}
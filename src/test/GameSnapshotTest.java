@@ -0,0 +1,158 @@
+package test;
+
+import local.model.PackedGameState;
+import network.model.GameJournal;
+import network.model.GameSnapshot;
+import network.model.JournalRecord;
+import network.model.NetworkGame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the snapshots of a NetworkGame and the recovery from a snapshot and the journal after it.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class GameSnapshotTest {
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for(Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * A snapshot which is encoded and decoded has the same names, flags, place and state, and its game has the same hash.
+     */
+    @Test
+    public void testEncodeAndDecode() throws IOException {
+        try (GameJournal journal = new GameJournal(directory)) {
+            NetworkGame game = newGame(journal, 3);
+            Random random = new Random(5);
+            for(int i=0; i<20 && !game.gameOver(); i++) {
+                GameJournalTest.playRandomEvent(game, random);
+            }
+            GameSnapshot snapshot = game.takeSnapshot("0,4");
+            GameSnapshot decoded = GameSnapshot.decode(snapshot.encode());
+            assertNotNull(decoded);
+            assertEquals(List.of("Player 1", "Player 2", "Player 3"), decoded.getNames());
+            assertEquals("0,4", decoded.getFlags());
+            assertEquals(snapshot.getSegmentNumber(), decoded.getSegmentNumber());
+            assertEquals(snapshot.getPosition(), decoded.getPosition());
+            assertEquals(PackedGameState.fromGame(game), decoded.getState());
+            assertEquals(game.getStateHash(), decoded.createGame().getStateHash());
+
+            byte[] damaged = snapshot.encode();
+            damaged[damaged.length / 2] ^= 1;
+            assertNull(GameSnapshot.decode(damaged));
+        }
+    }
+
+    /**
+     * A journal which is opened again recovers only the records after the snapshot, the segments before the snapshot are
+     * deleted, and the game recovered from the snapshot and these records is the game which was played.
+     */
+    @Test
+    public void testRecoverFromSnapshotAndTail() throws IOException, ExecutionException, InterruptedException {
+        NetworkGame game;
+        int recordsAfterSnapshot = 0;
+        try (GameJournal journal = new GameJournal(directory, 1024, 1)) {
+            game = newGame(journal, 4);
+            long firstSegmentNumber = journal.getSegmentNumber();
+            Random random = new Random(7);
+            // play until the records of the game continue in a second segment, with a new game if the game is over before
+            while(journal.getSegmentNumber() == firstSegmentNumber || game.gameOver()) {
+                if(game.gameOver()) {
+                    game = newGame(journal, 4);
+                    firstSegmentNumber = journal.getSegmentNumber();
+                }
+                GameJournalTest.playRandomEvent(game, random);
+            }
+            GameSnapshot snapshot = game.takeSnapshot("");
+            journal.writeSnapshot(snapshot).get();
+            long appendedBeforeSnapshot = journal.getNumberOfAppendedRecords();
+            for(int i=0; i<5 && !game.gameOver(); i++) {
+                GameJournalTest.playRandomEvent(game, random);
+            }
+            recordsAfterSnapshot = (int) (journal.getNumberOfAppendedRecords() - appendedBeforeSnapshot);
+            try (Stream<Path> paths = Files.list(directory)) {
+                List<String> segments = paths.map(path -> path.getFileName().toString()).filter(name -> name.startsWith("segment-")).toList();
+                assertFalse(segments.contains(String.format("segment-%08d.journal", firstSegmentNumber)));
+                assertTrue(segments.contains(String.format("segment-%08d.journal", snapshot.getSegmentNumber())));
+            }
+        }
+
+        try (GameJournal journal = new GameJournal(directory, 1024, 1)) {
+            assertNotNull(journal.getRecoveredSnapshot());
+            assertEquals(recordsAfterSnapshot, journal.getRecoveredRecords().size());
+            NetworkGame recovered = NetworkGame.recover(journal.getRecoveredSnapshot(), journal.getRecoveredRecords());
+            if(game.gameOver()) {
+                assertNull(recovered);
+                return;
+            }
+            assertNotNull(recovered);
+            assertEquals(PackedGameState.fromGame(game), PackedGameState.fromGame(recovered));
+            assertEquals(game.getStateHash(), recovered.getStateHash());
+            assertEquals(game.getCurrentPlayer().getName(), recovered.getCurrentPlayer().getName());
+        }
+    }
+
+    /**
+     * A game dealt after the snapshot is recovered from its deal, and a game which is over after the snapshot is not recovered.
+     */
+    @Test
+    public void testSnapshotOfPreviousGame() throws IOException, ExecutionException, InterruptedException {
+        try (GameJournal journal = new GameJournal(directory)) {
+            NetworkGame first = newGame(journal, 2);
+            journal.writeSnapshot(first.takeSnapshot("")).get();
+            NetworkGame second = newGame(journal, 3);
+            GameSnapshot snapshot = GameJournal.readSnapshot(directory);
+            List<JournalRecord> records = GameJournal.readRecords(directory, snapshot.getSegmentNumber(), snapshot.getPosition());
+            assertEquals(1, records.size());
+            NetworkGame recovered = NetworkGame.recover(snapshot, records);
+            assertEquals(3, recovered.getPlayers().size());
+            assertEquals(second.getStateHash(), recovered.getStateHash());
+
+            Random random = new Random(1);
+            while(!second.gameOver()) {
+                GameJournalTest.playRandomEvent(second, random);
+            }
+            journal.commit();
+        }
+        try (GameJournal journal = new GameJournal(directory)) {
+            assertNull(NetworkGame.recover(journal.getRecoveredSnapshot(), journal.getRecoveredRecords()));
+        }
+    }
+
+    private static NetworkGame newGame(GameJournal journal, int numberOfPlayers) {
+        ArrayList<String> playersNames = new ArrayList<>();
+        for(int i=1; i<=numberOfPlayers; i++) {
+            playersNames.add("Player " + i);
+        }
+        NetworkGame game = new NetworkGame(playersNames);
+        game.setJournal(journal);
+        game.setUpGame();
+        return game;
+    }
+}
@@ -0,0 +1,132 @@
+package test;
+
+import network.controller.Server;
+import network.model.Leaderboard;
+import network.model.PlayerStatsStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Leaderboard.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class LeaderboardTest {
+
+    /**
+     * The winner of a game gains rating and the player who was out first loses it, and the sum of the ratings is kept.
+     */
+    @Test
+    public void testRecordGame() {
+        Leaderboard leaderboard = new Leaderboard();
+        List<Double> ratings = leaderboard.recordGame(List.of("Alice", "Bob"));
+        assertEquals(Leaderboard.INITIAL_RATING + Leaderboard.K_FACTOR / 2, ratings.get(0), 1e-9);
+        assertEquals(Leaderboard.INITIAL_RATING - Leaderboard.K_FACTOR / 2, ratings.get(1), 1e-9);
+
+        ratings = leaderboard.recordGame(List.of("Carol", "Alice", "Dave", "Bob"));
+        assertTrue(ratings.get(0) > Leaderboard.INITIAL_RATING);
+        assertTrue(ratings.get(3) < leaderboard.getRating("Alice"));
+        double sum = 0;
+        for(String name : List.of("Alice", "Bob", "Carol", "Dave")) {
+            sum += leaderboard.getRating(name);
+        }
+        assertEquals(4 * Leaderboard.INITIAL_RATING, sum, 1e-9);
+        // Alice won the first game, so she is still first after being second to Carol
+        assertEquals(1, leaderboard.getRank("Alice"));
+        assertEquals(2, leaderboard.getRank("Carol"));
+        assertEquals(4, leaderboard.getRank("Bob"));
+        assertEquals(0, leaderboard.getRank("Eve"));
+    }
+
+    /**
+     * The ranks and the top players are the same as when all ratings are compared, while the ratings change.
+     */
+    @Test
+    public void testRanksAndTopMatchSorting() {
+        Leaderboard leaderboard = new Leaderboard();
+        Map<String, Double> ratings = new HashMap<>();
+        Random random = new Random(3);
+        for(int i=0; i<20000; i++) {
+            String name = "Player " + random.nextInt(5000);
+            double rating = 1000 + random.nextDouble() * 1000;
+            leaderboard.setRating(name, rating);
+            ratings.put(name, rating);
+        }
+        assertEquals(ratings.size(), leaderboard.getNumberOfPlayers());
+
+        for(String name : List.of("Player 1", "Player 77", "Player 4999")) {
+            if(ratings.containsKey(name)) {
+                int higher = 0;
+                for(double rating : ratings.values()) {
+                    if(Math.floor(rating) > Math.floor(ratings.get(name))) {
+                        higher += 1;
+                    }
+                }
+                assertEquals(higher + 1, leaderboard.getRank(name));
+            }
+        }
+
+        List<String> expected = new ArrayList<>(ratings.keySet());
+        expected.sort((first, second) -> {
+            int comparison = Double.compare(ratings.get(second), ratings.get(first));
+            return comparison != 0 ? comparison : first.compareTo(second);
+        });
+        assertEquals(expected.subList(0, Leaderboard.MAX_TOP), leaderboard.getTop(Leaderboard.MAX_TOP));
+        assertEquals(1, leaderboard.getRank(expected.get(0)));
+
+        Leaderboard small = new Leaderboard();
+        small.setRating("Alice", 1400);
+        small.setRating("Bob", 1600.5);
+        small.setRating("Carol", 1600.2);
+        assertEquals(List.of("Bob", "Carol", "Alice"), small.getTop(10));
+        assertEquals(1, small.getRank("Carol"));
+        assertEquals(3, small.getRank("Alice"));
+    }
+
+    /**
+     * The ratings are saved in the PlayerStatsStore and a new Leaderboard of the store starts with them.
+     */
+    @Test
+    public void testRatingsAreStored() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("leaderboard");
+        Path path = directory.resolve("players.stats");
+        double aliceRating;
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            Leaderboard leaderboard = new Leaderboard(store);
+            leaderboard.recordGame(List.of("Alice", "Bob", "Carol"));
+            aliceRating = leaderboard.getRating("Alice");
+            store.flush();
+        }
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            Leaderboard leaderboard = new Leaderboard(store);
+            assertEquals(3, leaderboard.getNumberOfPlayers());
+            assertEquals(aliceRating, leaderboard.getRating("Alice"));
+            assertEquals(List.of("Alice", "Bob", "Carol"), leaderboard.getTop(3));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * The LEADERBOARD message contains the rank and rating of the player, the number of rated players and the top players.
+     */
+    @Test
+    public void testLeaderboardMessage() {
+        Server server = new Server();
+        server.getLeaderboard().recordGame(List.of("Alice", "Bob"));
+        assertEquals("LEADERBOARD~2~1484~2~1:Alice:1516,2:Bob:1484", server.getLeaderboardMessage(null, "Bob"));
+        assertEquals("LEADERBOARD~0~1500~2~1:Alice:1516", server.getLeaderboardMessage("1", "Carol"));
+        assertThrows(NumberFormatException.class, () -> server.getLeaderboardMessage("ten", "Bob"));
+        server.stopServer();
+    }
+}
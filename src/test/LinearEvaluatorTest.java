@@ -0,0 +1,79 @@
+package test;
+
+import network.model.LinearEvaluator;
+import network.model.LinearEvaluatorTrainer;
+import network.model.SelfPlayExporter;
+import network.model.SimulatedGame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the LinearEvaluator and the LinearEvaluatorTrainer.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class LinearEvaluatorTest {
+    private Path recordsPath;
+    private Path weightsPath;
+
+    /**
+     * Export a small set of self-play games for each test.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        recordsPath = Files.createTempFile("selfplay", ".bin");
+        weightsPath = Files.createTempFile("weights", ".bin");
+        try (SelfPlayExporter exporter = new SelfPlayExporter(recordsPath)) {
+            exporter.exportGames(2000, 2, 1, 3);
+        }
+    }
+
+    /**
+     * Delete the temporary files.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(recordsPath);
+        Files.deleteIfExists(weightsPath);
+    }
+
+    /**
+     * Training lowers the loss below the loss of a model which always predicts 1/2, and the written weights give the same
+     * predictions when they are loaded again.
+     */
+    @Test
+    public void testTrainWriteAndLoad() throws IOException {
+        LinearEvaluatorTrainer trainer = new LinearEvaluatorTrainer(0.01);
+        trainer.trainEpoch(recordsPath);
+        double loss = trainer.trainEpoch(recordsPath);
+        assertTrue(loss < Math.log(2));
+
+        LinearEvaluator.write(weightsPath, trainer.getWeights());
+        LinearEvaluator evaluator = LinearEvaluator.load(weightsPath);
+        assertSame(evaluator, LinearEvaluator.load(weightsPath));
+
+        double[] features = new double[LinearEvaluator.NUMBER_OF_FEATURES];
+        int[] hand = new int[LinearEvaluator.NUMBER_OF_TYPES];
+        hand[1] = 1;
+        LinearEvaluator.features(hand, new int[LinearEvaluator.NUMBER_OF_TYPES], 30, 1, 1, 2, 8, features);
+        for(int action=0; action<SimulatedGame.NUMBER_OF_ACTIONS; action++) {
+            double probability = evaluator.evaluate(features, action);
+            assertTrue(probability > 0 && probability < 1);
+        }
+    }
+
+    /**
+     * A file which is not a weight file is refused.
+     */
+    @Test
+    public void testWrongFile() throws IOException {
+        Files.write(weightsPath, new byte[] {'E', 'K', 'L', 'W', 1, 0, 0, 0, 2, 0, 0, 0});
+        assertThrows(IOException.class, () -> LinearEvaluator.load(weightsPath));
+    }
+}
@@ -150,5 +150,17 @@ public class NetworkTUITest {
         System.out.println("\nMessage printed:");
         networkTUI.printMessageFromServer(ProtocolCommands.EXPLODING_KITTEN + ProtocolCommands.ARGUMENT_SEPARATOR + "Player 1");
 
+        String chatHistory = ProtocolCommands.CHAT_HISTORY + ProtocolCommands.ARGUMENT_SEPARATOR + "Player 1" + ProtocolCommands.ARGUMENT_SEPARATOR +
+                "hello" + ProtocolCommands.ARGUMENT_SEPARATOR + "Player 2" + ProtocolCommands.ARGUMENT_SEPARATOR + "good luck";
+        System.out.println("\nMessage to test:\n" + chatHistory);
+        System.out.println("\nMessage printed:");
+        networkTUI.printMessageFromServer(chatHistory);
+
+        String leaderboard = ProtocolCommands.LEADERBOARD + ProtocolCommands.ARGUMENT_SEPARATOR + "2" + ProtocolCommands.ARGUMENT_SEPARATOR +
+                "1516" + ProtocolCommands.ARGUMENT_SEPARATOR + "3" + ProtocolCommands.ARGUMENT_SEPARATOR + "1:Player 2:1532,2:Player 1:1516,3:Player 3:1452";
+        System.out.println("\nMessage to test:\n" + leaderboard);
+        System.out.println("\nMessage printed:");
+        networkTUI.printMessageFromServer(leaderboard);
+
     }
 }
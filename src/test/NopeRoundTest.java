@@ -0,0 +1,234 @@
+package test;
+
+import local.model.CardType;
+import network.controller.Server;
+import network.model.GameEvent;
+import network.model.PlayerStatsStore;
+import org.junit.jupiter.api.Test;
+import protocol.ProtocolCommands;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the events of a card which could be stopped with a Nope card, when every player refuses to play one.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class NopeRoundTest {
+    private static final int PORT = 6980;
+    private static final int STATS_PORT = 6981;
+    private static final CardType[] PLAYABLE_CARDS = {CardType.SKIP, CardType.ATTACK, CardType.SEE_THE_FUTURE};
+
+    /**
+     * A card which a player with a Nope card refuses to stop is played again by the server, but it is published only once.
+     */
+    @Test
+    public void testCardRefusedByNopeIsPublishedOnce() throws IOException, InterruptedException {
+        Server server = new Server();
+        List<String> cardsPlayed = new ArrayList<>();
+        server.getEventBus().addListener("cards", (event, sequence, endOfBatch) -> {
+            if(event.getType() == GameEvent.CARD_PLAYED) {
+                synchronized (cardsPlayed) {
+                    cardsPlayed.add(event.getPlayerName() + ":" + event.getCards());
+                }
+            }
+        });
+        try {
+            List<String> plays = playUntilNopeIsRefused(server, PORT);
+            synchronized (cardsPlayed) {
+                assertEquals(plays, cardsPlayed);
+            }
+        } finally {
+            server.stopServer();
+        }
+    }
+
+    /**
+     * A card which a player with a Nope card refuses to stop is counted once in the statistics of the player who played it.
+     */
+    @Test
+    public void testCardRefusedByNopeIsCountedOnce() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("nope");
+        Path path = directory.resolve("players.stats");
+        Server server = new Server();
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            server.setStatsStore(store);
+            List<String> plays = playUntilNopeIsRefused(server, STATS_PORT);
+            for(String player : List.of("Alice", "Bob")) {
+                for(CardType cardType : PLAYABLE_CARDS) {
+                    int count = 0;
+                    for(String play : plays) {
+                        if(play.equals(player + ":" + cardType.getCardName())) {
+                            count++;
+                        }
+                    }
+                    assertEquals(count, store.getStats(player).getCardsPlayed(cardType));
+                }
+            }
+        } finally {
+            server.stopServer();
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Play games of 2 players who draw a card in each turn, until a player plays a card while the other player has a Nope
+     * card, and the other player refuses to play it. The game in which this happens is played until it is over.
+     * @return the player and the name of each card which was played, separated by a colon
+     */
+    static List<String> playUntilNopeIsRefused(Server server, int port) throws IOException, InterruptedException {
+        server.startServer(port);
+        Thread listener = new Thread(server::listenForConnections);
+        listener.setDaemon(true);
+        listener.start();
+
+        ConcurrentHashMap<String, List<CardType>> hands = new ConcurrentHashMap<>();
+        AtomicBoolean nopeRefused = new AtomicBoolean(false);
+        List<String> plays = new ArrayList<>();
+        try (Socket alice = new Socket("localhost", port); Socket bob = new Socket("localhost", port)) {
+            ScriptedPlayer first = new ScriptedPlayer("Alice", "Bob", alice, hands, nopeRefused, plays);
+            ScriptedPlayer second = new ScriptedPlayer("Bob", "Alice", bob, hands, nopeRefused, plays);
+            first.send(ProtocolCommands.CONNECT_TO_SERVER + "~Alice~0");
+            first.readUntil(ProtocolCommands.HELLO);
+            second.send(ProtocolCommands.CONNECT_TO_SERVER + "~Bob~0");
+            second.readUntil(ProtocolCommands.HELLO);
+
+            for(int game=0; game<50 && !nopeRefused.get(); game++) {
+                first.gameOver = new CountDownLatch(1);
+                second.gameOver = new CountDownLatch(1);
+                Thread firstThread = new Thread(first);
+                Thread secondThread = new Thread(second);
+                firstThread.start();
+                secondThread.start();
+                first.send(ProtocolCommands.REQUEST_GAME + "~2");
+                assertTrue(first.gameOver.await(30, TimeUnit.SECONDS));
+                assertTrue(second.gameOver.await(30, TimeUnit.SECONDS));
+                firstThread.join();
+                secondThread.join();
+            }
+        }
+        assertTrue(nopeRefused.get());
+        // the events of the last game are published while the server is locked
+        synchronized (server) {
+            server.getEventBus().flush();
+        }
+        synchronized (plays) {
+            return new ArrayList<>(plays);
+        }
+    }
+
+    /**
+     * A player who draws a card in each turn, answers NO to every Nope question and defuses an Exploding Kitten at the
+     * bottom of the draw pile. Until a Nope card was refused, a player who has a card to play while the other player seems
+     * to have a Nope card plays the card instead of drawing. The hand of the other player can be the hand of the previous
+     * game, so the other player is not always asked.
+     */
+    private static class ScriptedPlayer implements Runnable {
+        private final String name;
+        private final String opponent;
+        private final BufferedReader reader;
+        private final BufferedWriter writer;
+        private final ConcurrentHashMap<String, List<CardType>> hands;
+        private final AtomicBoolean nopeRefused;
+        private final List<String> plays;
+        private volatile CountDownLatch gameOver;
+
+        private ScriptedPlayer(String name, String opponent, Socket socket, ConcurrentHashMap<String, List<CardType>> hands,
+                               AtomicBoolean nopeRefused, List<String> plays) throws IOException {
+            socket.setSoTimeout(30000);
+            this.name = name;
+            this.opponent = opponent;
+            this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
+            this.hands = hands;
+            this.nopeRefused = nopeRefused;
+            this.plays = plays;
+        }
+
+        @Override
+        public void run() {
+            try {
+                String line;
+                while((line = reader.readLine()) != null) {
+                    String[] parts = line.split(ProtocolCommands.ARGUMENT_SEPARATOR);
+                    switch (parts[0]) {
+                        case ProtocolCommands.SHOW_HAND -> {
+                            List<CardType> hand = new ArrayList<>();
+                            if(parts.length > 1) {
+                                for(String card : parts[1].split(ProtocolCommands.ELEMENT_SEPARATOR)) {
+                                    hand.add(CardType.fromCardName(card));
+                                }
+                            }
+                            hands.put(name, hand);
+                        }
+                        case ProtocolCommands.CURRENT -> {
+                            if(parts[1].equals(name)) {
+                                this.playTurn();
+                            }
+                        }
+                        case ProtocolCommands.ASK_FOR_YESORNO -> {
+                            nopeRefused.set(true);
+                            this.send(ProtocolCommands.RESPOND_YESORNO + "~NO");
+                        }
+                        case ProtocolCommands.ASK_FOR_INDEX -> this.send(ProtocolCommands.RESPOND_INDEX + "~0");
+                        case ProtocolCommands.GAME_OVER -> {
+                            gameOver.countDown();
+                            return;
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Exception " + e);
+            }
+        }
+
+        private void playTurn() throws IOException {
+            List<CardType> hand = hands.getOrDefault(name, List.of());
+            List<CardType> opponentHand = hands.getOrDefault(opponent, List.of());
+            if(!nopeRefused.get() && opponentHand.contains(CardType.NOPE)) {
+                for(CardType cardType : PLAYABLE_CARDS) {
+                    if(hand.contains(cardType)) {
+                        synchronized (plays) {
+                            plays.add(name + ":" + cardType.getCardName());
+                        }
+                        this.send(ProtocolCommands.PLAY_CARD + ProtocolCommands.ARGUMENT_SEPARATOR + cardType.getCardName());
+                        return;
+                    }
+                }
+            }
+            this.send(ProtocolCommands.DRAW_CARD);
+        }
+
+        private void readUntil(String command) throws IOException {
+            String line = reader.readLine();
+            while(!line.startsWith(command)) {
+                line = reader.readLine();
+            }
+        }
+
+        private void send(String message) throws IOException {
+            synchronized (writer) {
+                writer.write(message);
+                writer.newLine();
+                writer.flush();
+            }
+        }
+    }
+}
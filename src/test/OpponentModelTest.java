@@ -0,0 +1,119 @@
+package test;
+
+import local.model.CardType;
+import network.model.BeliefTracker;
+import network.model.GreedyStrategy;
+import network.model.NetworkComputerPlayer;
+import network.model.OpponentModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the OpponentModel used by the computer players.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class OpponentModelTest {
+    private OpponentModel opponentModel;
+
+    /**
+     * Start a new game with 3 players for the OpponentModel of "Computer Player 1".
+     */
+    @BeforeEach
+    public void setUp() {
+        ArrayList<String> playersNames = new ArrayList<>(Arrays.asList("Computer Player 1", "Alex", "Oliver"));
+        ArrayList<String> myHand = new ArrayList<>(Arrays.asList("Defuse", "Nope", "Skip", "Attack", "Favor", "Taco Cat", "Taco Cat", "Shuffle"));
+        BeliefTracker beliefTracker = new BeliefTracker();
+        beliefTracker.startNewGame(playersNames, "Computer Player 1");
+        beliefTracker.updateMyHand(myHand);
+        opponentModel = new OpponentModel(beliefTracker);
+        opponentModel.startNewGame(playersNames, "Computer Player 1", myHand);
+    }
+
+    /**
+     * Each opponent starts with 8 cards and exactly 1 Defuse card.
+     */
+    @Test
+    public void testStartOfGame() {
+        assertEquals(8, opponentModel.getHandSize("Alex"), 1e-9);
+        assertEquals(1, opponentModel.getExpectedCards("Alex", CardType.DEFUSE), 1e-9);
+        assertEquals(0, opponentModel.getExpectedCards("Alex", CardType.EXPLODING_KITTEN), 1e-9);
+        assertEquals(0, opponentModel.getHandSize("Computer Player 1"), 1e-9);
+    }
+
+    /**
+     * Played and drawn cards change the size of the hand.
+     */
+    @Test
+    public void testPlayAndDraw() {
+        opponentModel.cardsPlayed("Alex", CardType.NOPE, 1);
+        assertEquals(7, opponentModel.getHandSize("Alex"), 1e-9);
+        opponentModel.cardDrawn("Alex");
+        assertEquals(8, opponentModel.getHandSize("Alex"), 1e-9);
+
+        opponentModel.defuseUsed("Alex");
+        assertEquals(7, opponentModel.getHandSize("Alex"), 1e-9);
+        assertEquals(0, opponentModel.getExpectedCards("Alex", CardType.DEFUSE), 0.2);
+    }
+
+    /**
+     * A named card which was not found is removed from the estimate, without changing the size of the hand.
+     * A named card which was found moves from the victim to the thief.
+     */
+    @Test
+    public void testNamedSteal() {
+        opponentModel.cardStolen("Oliver", "Alex", 0, CardType.DEFUSE);
+        assertEquals(0, opponentModel.getExpectedCards("Alex", CardType.DEFUSE), 1e-9);
+        assertEquals(8, opponentModel.getHandSize("Alex"), 1e-9);
+
+        opponentModel.cardStolen("Alex", "Oliver", 1, CardType.DEFUSE);
+        assertEquals(1, opponentModel.getExpectedCards("Alex", CardType.DEFUSE), 1e-9);
+        assertEquals(0, opponentModel.getExpectedCards("Oliver", CardType.DEFUSE), 1e-9);
+        assertEquals("Alex", opponentModel.chooseVictim(new String[] {"Alex", "Oliver"}, CardType.DEFUSE));
+    }
+
+    /**
+     * A secret card taken from a player has the distribution of a random card of that player.
+     */
+    @Test
+    public void testSecretSteal() {
+        opponentModel.cardStolen("Oliver", "Alex", 1, null);
+        assertEquals(7, opponentModel.getHandSize("Alex"), 1e-9);
+        assertEquals(9, opponentModel.getHandSize("Oliver"), 1e-9);
+        assertEquals(7.0 / 8, opponentModel.getExpectedCards("Alex", CardType.DEFUSE), 1e-9);
+        assertEquals(1 + 1.0 / 8, opponentModel.getExpectedCards("Oliver", CardType.DEFUSE), 1e-9);
+    }
+
+    /**
+     * A secret card which the computer player takes or gives is found from its new hand: the cards played to steal are
+     * not counted as given, and the card stays secret when more than one type of card changed.
+     */
+    @Test
+    public void testComputerPlayerResolvesSecretSteal() {
+        NetworkComputerPlayer thief = new NetworkComputerPlayer("Thief", new GreedyStrategy());
+        thief.checkServerMessage("SHOW_HAND~Defuse,Taco Cat,Taco Cat,Skip");
+        thief.checkServerMessage("NEW_GAME~Alex,Thief");
+        thief.checkServerMessage("BROADCAST_MOVE~Thief~Taco Cat,Taco Cat");
+        thief.checkServerMessage("BROADCAST_STEAL~Thief~Alex~1");
+        thief.checkServerMessage("SHOW_HAND~Defuse,Skip,Nope");
+        assertEquals(0, thief.getOpponentModel().getExpectedCards("Alex", CardType.NOPE), 1e-9);
+        assertEquals(7, thief.getOpponentModel().getHandSize("Alex"), 1e-9);
+
+        NetworkComputerPlayer victim = new NetworkComputerPlayer("Victim", new GreedyStrategy());
+        victim.checkServerMessage("SHOW_HAND~Defuse,Skip,Nope");
+        victim.checkServerMessage("NEW_GAME~Alex,Victim");
+        double expectedSkips = victim.getOpponentModel().getExpectedCards("Alex", CardType.SKIP);
+        victim.checkServerMessage("BROADCAST_STEAL~Alex~Victim~1");
+        victim.checkServerMessage("SHOW_HAND~Defuse,Nope");
+        assertEquals(expectedSkips + 1, victim.getOpponentModel().getExpectedCards("Alex", CardType.SKIP), 1e-9);
+
+        victim.checkServerMessage("BROADCAST_STEAL~Alex~Victim~1");
+        victim.checkServerMessage("SHOW_HAND~Skip,Taco Cat");
+        assertEquals(9, victim.getOpponentModel().getHandSize("Alex"), 1e-9);
+        assertEquals(expectedSkips + 1, victim.getOpponentModel().getExpectedCards("Alex", CardType.SKIP), 1e-9);
+    }
+}
@@ -0,0 +1,84 @@
+package test;
+
+import local.model.CardType;
+import local.model.PackedGameState;
+import network.model.NetworkGame;
+import network.model.UndoRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PackedGameState.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class PackedGameStateTest {
+    private NetworkGame networkGame;
+
+    /**
+     * Create a NetworkGame with 4 players, set it up and play a few moves.
+     */
+    @BeforeEach
+    public void setUp() {
+        ArrayList<String> playersNames = new ArrayList<>();
+        for(int i=1; i<=4; i++) {
+            playersNames.add("Player " + i);
+        }
+        networkGame = new NetworkGame(playersNames);
+        networkGame.setUpGame();
+        UndoRecord undo = new UndoRecord();
+        networkGame.makeDrawMove(undo);
+        networkGame.makeDiscardMove(networkGame.getCurrentPlayer(), CardType.DEFUSE, undo);
+    }
+
+    /**
+     * The packed state has the same cards as the game, and a game which receives the packed state has the same hash.
+     */
+    @Test
+    public void testRoundTrip() {
+        PackedGameState state = PackedGameState.fromGame(networkGame);
+        assertEquals(4, state.getNumberOfSeats());
+        assertEquals(networkGame.getDeck().getDrawPile().size(), state.getDrawPileSize());
+        for(int seat=0; seat<4; seat++) {
+            assertEquals(networkGame.getPlayers().get(seat).getPlayerHandList().size(), state.getHandSize(seat));
+        }
+        assertEquals(CardType.DEFUSE, state.getDiscardTop());
+
+        ArrayList<String> playersNames = new ArrayList<>();
+        for(int i=1; i<=4; i++) {
+            playersNames.add("Other " + i);
+        }
+        NetworkGame otherGame = new NetworkGame(playersNames);
+        state.writeGame(otherGame);
+        assertEquals(networkGame.getStateHash(), otherGame.getStateHash());
+        assertEquals(state, PackedGameState.fromGame(otherGame));
+    }
+
+    /**
+     * A copy does not change when the original changes, and the counts of a hand are updated by drawing and discarding.
+     */
+    @Test
+    public void testCopyAndMoves() {
+        PackedGameState state = PackedGameState.fromGame(networkGame);
+        PackedGameState copy = state.copy();
+        assertEquals(state, copy);
+
+        int seat = state.getCurrentSeat();
+        int handSize = state.getHandSize(seat);
+        CardType top = state.getCardInDrawPile(state.getDrawPileSize() - 1);
+        int cardsOfType = state.getCards(seat, top);
+        assertEquals(top, state.drawCard());
+        assertEquals(handSize + 1, state.getHandSize(seat));
+        assertEquals(cardsOfType + 1, state.getCards(seat, top));
+        state.discardCard(top);
+        assertEquals(top, state.getDiscardTop());
+        assertEquals(handSize, state.getHandSize(seat));
+        state.insertIntoDrawPile(0, CardType.EXPLODING_KITTEN);
+        assertEquals(CardType.EXPLODING_KITTEN, state.getCardInDrawPile(0));
+        assertNotEquals(state, copy);
+        assertEquals(PackedGameState.fromGame(networkGame), copy);
+    }
+}
@@ -0,0 +1,154 @@
+package test;
+
+import local.model.CardType;
+import network.model.PlayerStats;
+import network.model.PlayerStatsStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PlayerStats and the PlayerStatsStore.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class PlayerStatsStoreTest {
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("stats");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for(Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * The statistics of the games of a player are added, and they are encoded and decoded without change.
+     */
+    @Test
+    public void testPlayerStats() {
+        int[] cardsPlayed = new int[CardType.values().length];
+        cardsPlayed[CardType.SKIP.ordinal()] = 2;
+        cardsPlayed[CardType.NOPE.ordinal()] = 1;
+        PlayerStats stats = PlayerStats.ofGame("Alice", true, cardsPlayed, 6).plus(PlayerStats.ofGame("Alice", false, cardsPlayed, 3));
+        assertEquals(2, stats.getGames());
+        assertEquals(1, stats.getWins());
+        assertEquals(1, stats.getEliminations());
+        assertEquals(4, stats.getCardsPlayed(CardType.SKIP));
+        assertEquals(2, stats.getCardsPlayed(CardType.NOPE));
+        assertEquals(0, stats.getCardsPlayed(CardType.ATTACK));
+        assertEquals(4.5, stats.getAverageSurvivalTurns());
+
+        PlayerStats decoded = PlayerStats.decode(ByteBuffer.wrap(stats.encode()));
+        assertEquals("Alice", decoded.getName());
+        assertEquals(stats.getGames(), decoded.getGames());
+        assertEquals(stats.getWins(), decoded.getWins());
+        assertEquals(stats.getEliminations(), decoded.getEliminations());
+        assertEquals(stats.getSurvivalTurns(), decoded.getSurvivalTurns());
+        for(CardType cardType : CardType.values()) {
+            assertEquals(stats.getCardsPlayed(cardType), decoded.getCardsPlayed(cardType));
+        }
+    }
+
+    /**
+     * Recorded games are in the index at once and in the file after a flush, so a store opened again has the same statistics.
+     */
+    @Test
+    public void testRecordAndReopen() throws IOException, InterruptedException {
+        Path path = directory.resolve("players.stats");
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            assertNull(store.getStats("Alice"));
+            store.recordGame("Alice", true, cardsPlayed(CardType.ATTACK, 3), 5);
+            store.recordGame("Bob", false, cardsPlayed(CardType.FAVOR, 1), 4);
+            store.recordGame("Alice", false, cardsPlayed(CardType.ATTACK, 1), 2);
+            assertEquals(2, store.getStats("Alice").getGames());
+            store.flush();
+            assertEquals(2, store.getNumberOfPlayers());
+        }
+
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            PlayerStats alice = store.getStats("Alice");
+            assertEquals(2, alice.getGames());
+            assertEquals(1, alice.getWins());
+            assertEquals(4, alice.getCardsPlayed(CardType.ATTACK));
+            assertEquals(3.5, alice.getAverageSurvivalTurns());
+            PlayerStats bob = store.getStats("Bob");
+            assertEquals(1, bob.getEliminations());
+            assertEquals(1, bob.getCardsPlayed(CardType.FAVOR));
+        }
+    }
+
+    /**
+     * The file is compacted when it has too many records per player, and the compacted file has the same statistics.
+     */
+    @Test
+    public void testCompaction() throws IOException, InterruptedException {
+        Path path = directory.resolve("players.stats");
+        try (PlayerStatsStore store = new PlayerStatsStore(path, 10, 2)) {
+            for(int i=0; i<300; i++) {
+                store.recordGame("Player " + (i % 3), i % 3 == 0, cardsPlayed(CardType.SKIP, 1), 1);
+                if(i % 10 == 0) {
+                    store.flush();
+                }
+            }
+            store.flush();
+            assertTrue(store.getNumberOfCompactions() > 0);
+            assertTrue(store.getNumberOfRecordsInFile() <= 10);
+        }
+
+        try (PlayerStatsStore store = new PlayerStatsStore(path, 10, 2)) {
+            assertEquals(3, store.getNumberOfPlayers());
+            for(int player=0; player<3; player++) {
+                PlayerStats stats = store.getStats("Player " + player);
+                assertEquals(100, stats.getGames());
+                assertEquals(player == 0 ? 100 : 0, stats.getWins());
+                assertEquals(100, stats.getCardsPlayed(CardType.SKIP));
+            }
+        }
+    }
+
+    /**
+     * A record which was only partly written is cut off, and the records appended after it can be read.
+     */
+    @Test
+    public void testPartlyWrittenRecord() throws IOException, InterruptedException {
+        Path path = directory.resolve("players.stats");
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            store.recordGame("Alice", true, cardsPlayed(CardType.NOPE, 1), 3);
+            store.flush();
+        }
+        Files.write(path, new byte[]{0, 0, 0, 100, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            assertEquals(1, store.getStats("Alice").getGames());
+            store.recordGame("Bob", true, cardsPlayed(CardType.NOPE, 1), 3);
+            store.flush();
+        }
+        try (PlayerStatsStore store = new PlayerStatsStore(path)) {
+            assertEquals(1, store.getStats("Alice").getGames());
+            assertEquals(1, store.getStats("Bob").getWins());
+        }
+    }
+
+    private static int[] cardsPlayed(CardType cardType, int count) {
+        int[] cardsPlayed = new int[CardType.values().length];
+        cardsPlayed[cardType.ordinal()] = count;
+        return cardsPlayed;
+    }
+}
@@ -0,0 +1,85 @@
+package test;
+
+import network.model.SelfPlayExporter;
+import network.model.SelfPlayReader;
+import network.model.SelfPlayRecord;
+import network.model.SimulatedGame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the SelfPlayExporter and the SelfPlayReader.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class SelfPlayExporterTest {
+    private Path path;
+
+    /**
+     * Create an empty temporary file for each test.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        path = Files.createTempFile("selfplay", ".bin");
+    }
+
+    /**
+     * Delete the temporary file.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * All exported records are read back, every chosen action was legal, and each game has exactly one winner.
+     */
+    @Test
+    public void testExportAndRead() throws IOException {
+        long numberOfRecords;
+        try (SelfPlayExporter exporter = new SelfPlayExporter(path)) {
+            exporter.exportGames(50, 3, 2, 7);
+            numberOfRecords = exporter.getNumberOfRecords();
+            assertEquals(50, exporter.getNumberOfGames());
+        }
+        assertTrue(numberOfRecords > 0);
+        assertEquals(5 + numberOfRecords * (SelfPlayRecord.getRecordSize(3) + 1), Files.size(path));
+
+        long recordsRead = 0;
+        long recordsWon = 0;
+        try (SelfPlayReader reader = new SelfPlayReader(path)) {
+            SelfPlayRecord record;
+            while((record = reader.next()) != null) {
+                recordsRead += 1;
+                assertEquals(3, record.getNumberOfPlayers());
+                assertTrue(record.isLegal(record.getAction()));
+                assertTrue(record.isLegal(SimulatedGame.DRAW));
+                int handSize = 0;
+                for(int count : record.getHand()) {
+                    handSize += count;
+                }
+                assertEquals(record.getHandSizes()[record.getPlayer()], handSize);
+                if(record.isWon()) {
+                    recordsWon += 1;
+                }
+            }
+        }
+        assertEquals(numberOfRecords, recordsRead);
+        assertTrue(recordsWon > 0 && recordsWon < recordsRead);
+    }
+
+    /**
+     * A file which was not written by the exporter is refused.
+     */
+    @Test
+    public void testWrongFile() throws IOException {
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6});
+        assertThrows(IOException.class, () -> new SelfPlayReader(path));
+    }
+}
@@ -0,0 +1,150 @@
+package test;
+
+import network.controller.Server;
+import network.model.SessionBacklog;
+import org.junit.jupiter.api.Test;
+import protocol.ProtocolCommands;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the SessionBacklog and the sessions of the Server.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class SessionResumeTest {
+    private static final int PORT = 6970;
+
+    /**
+     * The session keeps the last messages, gives the messages after a number only while they are all kept, and keeps the
+     * question to which the player did not respond.
+     */
+    @Test
+    public void testBacklog() {
+        SessionBacklog session = new SessionBacklog(3);
+        assertEquals(32, session.getToken().length());
+        assertNotEquals(session.getToken(), new SessionBacklog().getToken());
+        assertEquals(List.of(), session.getLinesFrom(0));
+
+        session.append("CURRENT~Alice");
+        session.append("ASK_FOR_YESORNO");
+        session.append("CURRENT~Bob");
+        assertEquals(List.of("ASK_FOR_YESORNO", "CURRENT~Bob"), session.getLinesFrom(1));
+        assertEquals("ASK_FOR_YESORNO", session.getPendingQuestion());
+        session.append("SHOW_HAND~Defuse");
+        assertNull(session.getLinesFrom(0));
+        assertEquals(List.of("ASK_FOR_YESORNO", "CURRENT~Bob", "SHOW_HAND~Defuse"), session.getLinesFrom(1));
+        assertNull(session.getLinesFrom(5));
+        session.clearPendingQuestion();
+        assertNull(session.getPendingQuestion());
+    }
+
+    /**
+     * A player who loses the connection during a game keeps the seat. With the resume token, the player receives the
+     * missed messages on a new connection, or the state of the game when too many messages were missed.
+     */
+    @Test
+    public void testResumeDuringGame() throws IOException, InterruptedException {
+        Server server = new Server();
+        server.startServer(PORT);
+        Thread listener = new Thread(server::listenForConnections);
+        listener.setDaemon(true);
+        listener.start();
+
+        try (Socket alice = new Socket("localhost", PORT)) {
+            alice.setSoTimeout(5000);
+            BufferedReader aliceReader = new BufferedReader(new InputStreamReader(alice.getInputStream()));
+            BufferedWriter aliceWriter = new BufferedWriter(new OutputStreamWriter(alice.getOutputStream()));
+            send(aliceWriter, ProtocolCommands.CONNECT_TO_SERVER + "~Alice~0");
+            assertTrue(aliceReader.readLine().startsWith(ProtocolCommands.HELLO));
+
+            Socket bob = new Socket("localhost", PORT);
+            bob.setSoTimeout(5000);
+            BufferedReader bobReader = new BufferedReader(new InputStreamReader(bob.getInputStream()));
+            send(new BufferedWriter(new OutputStreamWriter(bob.getOutputStream())), ProtocolCommands.CONNECT_TO_SERVER + "~Bob~0");
+            String line = bobReader.readLine();
+            while(!line.startsWith(ProtocolCommands.HELLO)) {
+                line = bobReader.readLine();
+            }
+            String token = line.split(ProtocolCommands.ARGUMENT_SEPARATOR)[3];
+
+            send(aliceWriter, ProtocolCommands.REQUEST_GAME + "~2");
+            long received = 0;
+            do {
+                line = bobReader.readLine();
+                received += 1;
+            } while(!line.startsWith(ProtocolCommands.NEW_GAME));
+            bob.close();
+
+            send(aliceWriter, ProtocolCommands.SEND_MESSAGE + "~are you there?");
+            waitForChatMessages(server, 1);
+
+            bob = new Socket("localhost", PORT);
+            bob.setSoTimeout(5000);
+            bobReader = new BufferedReader(new InputStreamReader(bob.getInputStream()));
+            BufferedWriter bobWriter = new BufferedWriter(new OutputStreamWriter(bob.getOutputStream()));
+            send(bobWriter, ProtocolCommands.RESUME_SESSION + "~unknown~0");
+            assertTrue(bobReader.readLine().startsWith(ProtocolCommands.ERROR));
+            send(bobWriter, ProtocolCommands.RESUME_SESSION + "~" + token + "~" + received);
+            assertEquals("RESUMED~Bob~" + received, bobReader.readLine());
+            List<String> missed = new ArrayList<>();
+            do {
+                missed.add(bobReader.readLine());
+            } while(!missed.get(missed.size() - 1).startsWith(ProtocolCommands.SHOW_MESSAGE));
+            assertEquals("MESSAGE~Alice~are you there?", missed.get(missed.size() - 1));
+            for(String missedLine : missed) {
+                assertFalse(missedLine.startsWith(ProtocolCommands.NEW_GAME));
+            }
+            received += missed.size();
+
+            // the new connection is the connection of Bob
+            send(bobWriter, ProtocolCommands.SEND_MESSAGE + "~back");
+            line = aliceReader.readLine();
+            while(!line.startsWith(ProtocolCommands.SHOW_MESSAGE)) {
+                line = aliceReader.readLine();
+            }
+            assertEquals("MESSAGE~Bob~back", line);
+
+            bob.close();
+            for(int i=0; i<SessionBacklog.DEFAULT_CAPACITY + 10; i++) {
+                send(aliceWriter, ProtocolCommands.SEND_MESSAGE + "~message " + i);
+            }
+            waitForChatMessages(server, SessionBacklog.DEFAULT_CAPACITY + 12);
+
+            bob = new Socket("localhost", PORT);
+            bob.setSoTimeout(5000);
+            bobReader = new BufferedReader(new InputStreamReader(bob.getInputStream()));
+            send(new BufferedWriter(new OutputStreamWriter(bob.getOutputStream())), ProtocolCommands.RESUME_SESSION + "~" + token + "~" + received);
+            String[] resumed = bobReader.readLine().split(ProtocolCommands.ARGUMENT_SEPARATOR);
+            assertEquals(ProtocolCommands.RESUMED, resumed[0]);
+            assertTrue(Long.parseLong(resumed[2]) > received + SessionBacklog.DEFAULT_CAPACITY);
+            assertEquals("PLAYER_LIST~Alice,Bob", bobReader.readLine());
+            assertTrue(bobReader.readLine().endsWith("~Alice~message " + (SessionBacklog.DEFAULT_CAPACITY + 9)));
+            assertTrue(bobReader.readLine().startsWith(ProtocolCommands.SHOW_HAND));
+            assertTrue(bobReader.readLine().startsWith(ProtocolCommands.CURRENT));
+            bob.close();
+        } finally {
+            server.stopServer();
+        }
+    }
+
+    private static void waitForChatMessages(Server server, long numberOfMessages) throws InterruptedException {
+        while(server.getChatHistory().getNumberOfMessages() < numberOfMessages) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void send(BufferedWriter writer, String message) throws IOException {
+        writer.write(message);
+        writer.newLine();
+        writer.flush();
+    }
+}
@@ -0,0 +1,86 @@
+package test;
+
+import local.model.CardType;
+import network.model.MonteCarloTreeSearch;
+import network.model.NetworkGame;
+import network.model.SimulatedGame;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the SimulatedGame and the MonteCarloTreeSearch which uses it.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class SimulatedGameTest {
+
+    /**
+     * The cards are dealt as in a real game.
+     */
+    @Test
+    public void testSetUpGame() {
+        for(int numberOfPlayers=2; numberOfPlayers<=5; numberOfPlayers++) {
+            ArrayList<String> playersNames = new ArrayList<>();
+            for(int i=0; i<numberOfPlayers; i++) {
+                playersNames.add("Player " + i);
+            }
+            NetworkGame networkGame = new NetworkGame(playersNames);
+            networkGame.setUpGame();
+
+            SimulatedGame simulatedGame = new SimulatedGame(numberOfPlayers);
+            simulatedGame.setUpGame(new SplittableRandom(numberOfPlayers));
+            assertEquals(networkGame.getDeck().getDrawPile().size(), simulatedGame.getDrawPileSize());
+            assertEquals(8, simulatedGame.getHandSize(0));
+            assertTrue(simulatedGame.getCards(0, CardType.DEFUSE) >= 1);
+        }
+    }
+
+    /**
+     * A game played with random actions ends with exactly one player alive, and no card is lost.
+     */
+    @Test
+    public void testRandomGame() {
+        SplittableRandom random = new SplittableRandom(42);
+        for(int i=0; i<100; i++) {
+            SimulatedGame game = new SimulatedGame(4);
+            game.setUpGame(random);
+            int winner = game.playRandomGame(random);
+            assertTrue(winner >= 0 && winner < 4);
+            assertEquals(1, game.getNumberOfPlayersAlive());
+
+            int totalCards = game.getDrawPileSize();
+            for(CardType cardType : CardType.values()) {
+                totalCards += game.getDiscardedCards(cardType) + game.getCards(winner, cardType);
+            }
+            assertEquals(46 + 4 + 3 + 2, totalCards);
+        }
+    }
+
+    /**
+     * When the Exploding Kitten is on top and the opponent cannot defuse it, the search plays the Skip card, with 1 or more threads.
+     */
+    @Test
+    public void testSearchSkipsExplodingKitten() {
+        SimulatedGame position = new SimulatedGame(2);
+        for(CardType cardType : Arrays.asList(CardType.TACO_CAT, CardType.NOPE, CardType.EXPLODING_KITTEN)) {
+            position.addToDrawPile(cardType);
+        }
+        position.setCards(0, CardType.SKIP, 1);
+        position.setCards(1, CardType.NOPE, 1);
+
+        for(int numberOfThreads=1; numberOfThreads<=2; numberOfThreads++) {
+            MonteCarloTreeSearch search = new MonteCarloTreeSearch(numberOfThreads, 50);
+            int action = search.chooseAction(random -> {
+                SimulatedGame game = new SimulatedGame(2);
+                game.copyFrom(position);
+                return game;
+            });
+            assertEquals(SimulatedGame.SKIP, action);
+            assertTrue(search.getTotalIterations() > 0);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package test;
+
+import local.model.Card;
+import local.model.CardType;
+import local.model.Player;
+import network.model.NetworkGame;
+import network.model.UndoRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the moves of a NetworkGame which can be taken back with an UndoRecord.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class UndoRecordTest {
+    private NetworkGame networkGame;
+
+    /**
+     * Create a NetworkGame with 3 players and set it up.
+     */
+    @BeforeEach
+    public void setUp() {
+        ArrayList<String> playersNames = new ArrayList<>();
+        playersNames.add("Player 1");
+        playersNames.add("Player 2");
+        playersNames.add("Player 3");
+        networkGame = new NetworkGame(playersNames);
+        networkGame.setUpGame();
+    }
+
+    /**
+     * Describe everything a move can change, to compare the game before and after moves are taken back.
+     */
+    private String describe(NetworkGame game) {
+        StringBuilder description = new StringBuilder();
+        for(Player player : game.getPlayers()) {
+            description.append(player.getName()).append(':').append(player.getPlayerHandString()).append(';');
+        }
+        description.append(game.getDeck().getDrawPile()).append(';').append(game.getDeck().getDiscardPile()).append(';');
+        description.append(game.getCurrentPlayer().getName()).append(';').append(game.getStateHash());
+        return description.toString();
+    }
+
+    /**
+     * A single move and its undo restore the game exactly.
+     */
+    @Test
+    public void testDrawAndUndo() {
+        String before = describe(networkGame);
+        UndoRecord undo = new UndoRecord();
+        Card card = networkGame.makeDrawMove(undo);
+        assertTrue(networkGame.getPlayers().get(0).getPlayerHandList().contains(card));
+        assertNotEquals(before, describe(networkGame));
+        networkGame.unmakeMove(undo);
+        assertEquals(before, describe(networkGame));
+    }
+
+    /**
+     * A long random sequence of moves is taken back in reverse order, and after each step the game is in the state it had
+     * before the move, with a hash equal to the hash computed from the beginning.
+     */
+    @Test
+    public void testRandomMovesAndUndo() {
+        Random random = new Random(11);
+        ArrayList<UndoRecord> undoRecords = new ArrayList<>();
+        ArrayList<String> states = new ArrayList<>();
+        for(int i=0; i<200 && networkGame.getPlayers().size() > 1 && !networkGame.getDeck().getDrawPile().isEmpty(); i++) {
+            states.add(describe(networkGame));
+            UndoRecord undo = new UndoRecord();
+            Player current = networkGame.getCurrentPlayer();
+            int lastCard = current.getPlayerHandList().size() - 1;
+            if(lastCard >= 0 && current.getPlayerHandList().get(lastCard).getCardType() == CardType.EXPLODING_KITTEN) {
+                if(!networkGame.makeDefuseMove(random.nextInt(networkGame.getDeck().getDrawPile().size() + 1), undo)) {
+                    networkGame.makeExplodingKittenMove(undo);
+                }
+            } else {
+                boolean played = switch (random.nextInt(5)) {
+                    case 0 -> networkGame.makeSkipMove(undo);
+                    case 1 -> networkGame.makeAttackMove(undo);
+                    case 2 -> networkGame.makeShuffleMove(undo);
+                    case 3 -> networkGame.makeDiscardMove(current, CardType.SEE_THE_FUTURE, undo);
+                    default -> false;
+                };
+                if(!played) {
+                    networkGame.makeDrawMove(undo);
+                }
+            }
+            assertTrue(undo.getNumberOfChanges() > 0);
+            assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+            undoRecords.add(undo);
+        }
+        assertTrue(undoRecords.size() > 20);
+        for(int i=undoRecords.size()-1; i>=0; i--) {
+            networkGame.unmakeMove(undoRecords.get(i));
+            assertEquals(states.get(i), describe(networkGame));
+            assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+        }
+    }
+
+    /**
+     * A move which is not possible does not change the game.
+     */
+    @Test
+    public void testIllegalMoveChangesNothing() {
+        Player current = networkGame.getCurrentPlayer();
+        current.getPlayerHandList().removeIf(card -> card.getCardType() == CardType.SKIP);
+        networkGame.resetStateHash();
+        String before = describe(networkGame);
+        UndoRecord undo = new UndoRecord();
+        assertFalse(networkGame.makeSkipMove(undo));
+        assertEquals(0, undo.getNumberOfChanges());
+        assertEquals(before, describe(networkGame));
+    }
+}
@@ -0,0 +1,95 @@
+package test;
+
+import local.model.Card;
+import local.model.CardType;
+import local.model.Player;
+import network.model.NetworkGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Zobrist hash of the state of a NetworkGame.
+ * @author Alexandru-Cristian Enescu and Oliver Li
+ */
+public class ZobristHashTest {
+    private NetworkGame networkGame;
+
+    /**
+     * Create a NetworkGame with 3 players and set it up.
+     */
+    @BeforeEach
+    public void setUp() {
+        ArrayList<String> playersNames = new ArrayList<>();
+        playersNames.add("Player 1");
+        playersNames.add("Player 2");
+        playersNames.add("Player 3");
+        networkGame = new NetworkGame(playersNames);
+        networkGame.setUpGame();
+    }
+
+    /**
+     * After every move, the hash which is updated incrementally is equal to the hash computed from the beginning,
+     * and the moves which change the state change the hash.
+     */
+    @Test
+    public void testIncrementalHashMatchesFullHash() {
+        Player firstPlayer = networkGame.getCurrentPlayer();
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+
+        long hash = networkGame.getStateHash();
+        networkGame.drawCard(firstPlayer);
+        assertNotEquals(hash, networkGame.getStateHash());
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+
+        firstPlayer.addCard(new Card(CardType.ATTACK));
+        networkGame.resetStateHash();
+        networkGame.playAttackCard();
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+        networkGame.checkAttackOn();
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+
+        networkGame.playFavorCard(firstPlayer, "Defuse");
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+        networkGame.playSpecialComboTwoCards(firstPlayer);
+        networkGame.playSpecialComboThreeCards(networkGame.getPlayers().get(2), "Defuse");
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+
+        networkGame.playShuffleCard();
+        networkGame.playSeeTheFutureCard();
+        networkGame.discardCards("Defuse", 1);
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+
+        Player current = networkGame.getCurrentPlayer();
+        current.getPlayerHandList().add(new Card(CardType.DEFUSE));
+        networkGame.getDeck().getDrawPile().push(new Card(CardType.EXPLODING_KITTEN));
+        networkGame.resetStateHash();
+        networkGame.drawCard(current);
+        networkGame.playDefuseCard("3");
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+
+        networkGame.changeTurnToNextPlayer();
+        networkGame.playExplodingKittenCard();
+        assertEquals(networkGame.computeStateHash(), networkGame.getStateHash());
+    }
+
+    /**
+     * Two games in the same state have the same hash, and a card which moves to another player changes the hash.
+     */
+    @Test
+    public void testEqualStatesHaveEqualHashes() {
+        ArrayList<String> playersNames = new ArrayList<>();
+        playersNames.add("A");
+        playersNames.add("B");
+        NetworkGame game1 = new NetworkGame(playersNames);
+        NetworkGame game2 = new NetworkGame(playersNames);
+        assertEquals(game1.getStateHash(), game2.getStateHash());
+
+        game1.drawCard(game1.getPlayers().get(0));
+        game2.drawCard(game2.getPlayers().get(1));
+        assertNotEquals(game1.getStateHash(), game2.getStateHash());
+    }
+}